@@ -0,0 +1,15 @@
+#!/usr/bin/env bash
+# Starts JPay with the Spring AOT initializers and the AppCDS archive produced by `mvn -Paot package`.
+# Extra arguments are passed to the application, e.g. scripts/run-fast.sh --server.port=8081
+set -euo pipefail
+
+CDS_DIR="$(cd "$(dirname "$0")/.." && pwd)/target/cds"
+JAR="$(ls "$CDS_DIR"/JPay-*.jar 2>/dev/null | head -1 || true)"
+
+if [[ -z "$JAR" || ! -f "$CDS_DIR/application.jsa" ]]; then
+  echo "AOT/CDS build not found in $CDS_DIR, run: mvn -Paot package" >&2
+  exit 1
+fi
+
+exec java -XX:SharedArchiveFile="$CDS_DIR/application.jsa" -Xlog:cds=off -Xlog:cds+dynamic=off \
+  -Dspring.aot.enabled=true ${JAVA_OPTS:-} -jar "$JAR" "$@"
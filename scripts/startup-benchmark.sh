@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+# Measures time-to-first-request of the plain jar against the AOT + AppCDS launch mode.
+# Requires `mvn -Paot package` first. Usage: scripts/startup-benchmark.sh [runs] [port]
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${2:-18080}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+URL="http://localhost:$PORT/api/categories/active"
+WORK_DIR="$(mktemp -d)"
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+measure() {
+  local label="$1"; shift
+  local total=0
+  for run in $(seq 1 "$RUNS"); do
+    local start end elapsed pid
+    start=$(date +%s%N)
+    "$@" --server.port="$PORT" --jpay.storage.directory="$WORK_DIR/$label-$run" \
+      --jpay.audit.directory="$WORK_DIR/$label-$run/audit" > "$WORK_DIR/$label-$run.log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "$URL"; do
+      if ! kill -0 "$pid" 2>/dev/null; then
+        echo "$label: application exited, see log below" >&2
+        cat "$WORK_DIR/$label-$run.log" >&2
+        exit 1
+      fi
+      sleep 0.05
+    done
+    end=$(date +%s%N)
+    elapsed=$(( (end - start) / 1000000 ))
+    total=$(( total + elapsed ))
+    printf '%-10s run %d: %6d ms\n' "$label" "$run" "$elapsed"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+  done
+  printf '%-10s average: %6d ms\n\n' "$label" $(( total / RUNS ))
+}
+
+JAR="$(ls "$ROOT"/target/cds/JPay-*.jar 2>/dev/null | head -1 || true)"
+if [[ -z "$JAR" ]]; then
+  echo "AOT/CDS build not found, run: mvn -Paot package" >&2
+  exit 1
+fi
+
+measure plain java -jar "$JAR"
+measure aot-cds "$ROOT/scripts/run-fast.sh"
@@ -0,0 +1,63 @@
+package com.challenge.JPay.analytics;
+
+public final class ColumnarAggregate {
+
+    private final long histogramWidth;
+    private final long[] histogram;
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    ColumnarAggregate(ColumnarQuery query) {
+        this.histogramWidth = query.histogramWidth();
+        this.histogram = histogramWidth > 0 ? new long[query.histogramBuckets()] : null;
+    }
+
+    void add(long amountCents) {
+        count++;
+        sum += amountCents;
+        min = Math.min(min, amountCents);
+        max = Math.max(max, amountCents);
+        if (histogram != null) {
+            histogram[(int) Math.min(Math.max(amountCents, 0) / histogramWidth, histogram.length - 1)]++;
+        }
+    }
+
+    ColumnarAggregate merge(ColumnarAggregate other) {
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        if (histogram != null) {
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] += other.histogram[i];
+            }
+        }
+        return this;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long sum() {
+        return sum;
+    }
+
+    public long min() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long max() {
+        return count == 0 ? 0 : max;
+    }
+
+    public long histogramWidth() {
+        return histogramWidth;
+    }
+
+    public long[] histogram() {
+        return histogram;
+    }
+}
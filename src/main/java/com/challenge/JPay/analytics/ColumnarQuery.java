@@ -0,0 +1,16 @@
+package com.challenge.JPay.analytics;
+
+/** Datas em epoch-day e -1 para "qualquer"; valores acima da última faixa do histograma caem nela. */
+public record ColumnarQuery(
+        int expirationFrom,
+        int expirationTo,
+        int paymentFrom,
+        int paymentTo,
+        boolean filtersPayment,
+        int categoryId,
+        int bankAccountId,
+        int typeOrdinal,
+        int statusOrdinal,
+        long histogramWidth,
+        int histogramBuckets
+) { }
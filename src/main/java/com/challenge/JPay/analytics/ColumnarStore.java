@@ -0,0 +1,211 @@
+package com.challenge.JPay.analytics;
+
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.model.enums.TransactionType;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/** A linha de um lançamento é o próprio id, o que dispensa um mapa id → linha; segmentos vazios não são alocados. */
+public class ColumnarStore {
+
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final int PRESENT = 1;
+    private static final int TYPE_SHIFT = 1;
+    private static final int STATUS_SHIFT = 2;
+    private static final int BYTES_PER_ROW = Long.BYTES + 4 * Integer.BYTES + 1;
+
+    private final int segmentBits;
+    private final int segmentMask;
+    private final int sliceRows;
+    private final List<Segment> segments = new ArrayList<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile long rows;
+
+    public ColumnarStore(int segmentBits, int sliceRows) {
+        this.segmentBits = segmentBits;
+        this.segmentMask = (1 << segmentBits) - 1;
+        this.sliceRows = sliceRows;
+    }
+
+    public void put(long id, long amountCents, int expirationDay, int paymentDay, long categoryId,
+                    long bankAccountId, TransactionType type, Status status) {
+        lock.writeLock().lock();
+        try {
+            Segment segment = segmentFor(id, true);
+            int row = (int) (id & segmentMask);
+            if ((segment.flags.get(row) & PRESENT) == 0) {
+                rows++;
+                segment.rows++;
+            }
+            segment.amounts.put(row, amountCents);
+            segment.expirations.put(row, expirationDay);
+            segment.payments.put(row, paymentDay);
+            segment.categories.put(row, Math.toIntExact(categoryId));
+            segment.accounts.put(row, Math.toIntExact(bankAccountId));
+            segment.flags.put(row, (byte) (PRESENT | type.ordinal() << TYPE_SHIFT | status.ordinal() << STATUS_SHIFT));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Segment segment = segmentFor(id, false);
+            int row = (int) (id & segmentMask);
+            if (segment != null && (segment.flags.get(row) & PRESENT) != 0) {
+                segment.flags.put(row, (byte) 0);
+                segment.rows--;
+                rows--;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            segments.clear();
+            rows = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return segments.stream().filter(segment -> segment != null).count() * ((long) BYTES_PER_ROW << segmentBits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public ColumnarAggregate scan(ColumnarQuery query, ForkJoinPool pool) {
+        lock.readLock().lock();
+        try {
+            List<Segment> snapshot = segments.stream().filter(segment -> segment != null && segment.rows > 0).toList();
+            return pool.invoke(new ScanTask(snapshot, query, 0, snapshot.size() << segmentBits));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Segment segmentFor(long id, boolean create) {
+        int index = Math.toIntExact(id >>> segmentBits);
+        while (segments.size() <= index) {
+            if (!create) {
+                return null;
+            }
+            segments.add(null);
+        }
+        Segment segment = segments.get(index);
+        if (segment == null && create) {
+            segment = new Segment(1 << segmentBits);
+            segments.set(index, segment);
+        }
+        return segment;
+    }
+
+    private static ByteBuffer allocate(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    private static final class Segment {
+
+        private final LongBuffer amounts;
+        private final IntBuffer expirations;
+        private final IntBuffer payments;
+        private final IntBuffer categories;
+        private final IntBuffer accounts;
+        private final ByteBuffer flags;
+        private int rows;
+
+        private Segment(int capacity) {
+            amounts = allocate(capacity * Long.BYTES).asLongBuffer();
+            expirations = allocate(capacity * Integer.BYTES).asIntBuffer();
+            payments = allocate(capacity * Integer.BYTES).asIntBuffer();
+            categories = allocate(capacity * Integer.BYTES).asIntBuffer();
+            accounts = allocate(capacity * Integer.BYTES).asIntBuffer();
+            flags = allocate(capacity);
+        }
+    }
+
+    private final class ScanTask extends RecursiveTask<ColumnarAggregate> {
+
+        private final List<Segment> segments;
+        private final ColumnarQuery query;
+        private final int from;
+        private final int to;
+
+        private ScanTask(List<Segment> segments, ColumnarQuery query, int from, int to) {
+            this.segments = segments;
+            this.query = query;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ColumnarAggregate compute() {
+            if (to - from > sliceRows) {
+                int middle = (from + to) >>> 1;
+                ScanTask left = new ScanTask(segments, query, from, middle);
+                left.fork();
+                ColumnarAggregate right = new ScanTask(segments, query, middle, to).compute();
+                return left.join().merge(right);
+            }
+
+            ColumnarAggregate aggregate = new ColumnarAggregate(query);
+            int position = from;
+            while (position < to) {
+                Segment segment = segments.get(position >>> segmentBits);
+                int start = position & segmentMask;
+                int end = Math.min(segmentMask + 1, start + (to - position));
+                scanSegment(segment, start, end, aggregate);
+                position += end - start;
+            }
+            return aggregate;
+        }
+
+        private void scanSegment(Segment segment, int start, int end, ColumnarAggregate aggregate) {
+            ColumnarQuery q = query;
+            for (int row = start; row < end; row++) {
+                int flags = segment.flags.get(row);
+                if ((flags & PRESENT) == 0
+                        || (q.typeOrdinal() >= 0 && (flags >> TYPE_SHIFT & 1) != q.typeOrdinal())
+                        || (q.statusOrdinal() >= 0 && (flags >> STATUS_SHIFT & 3) != q.statusOrdinal())) {
+                    continue;
+                }
+                int expiration = segment.expirations.get(row);
+                if (expiration < q.expirationFrom() || expiration > q.expirationTo()) {
+                    continue;
+                }
+                if (q.filtersPayment()) {
+                    int payment = segment.payments.get(row);
+                    if (payment == NO_DATE || payment < q.paymentFrom() || payment > q.paymentTo()) {
+                        continue;
+                    }
+                }
+                if ((q.categoryId() >= 0 && segment.categories.get(row) != q.categoryId())
+                        || (q.bankAccountId() >= 0 && segment.accounts.get(row) != q.bankAccountId())) {
+                    continue;
+                }
+                aggregate.add(segment.amounts.get(row));
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.challenge.JPay.analytics;
+
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.model.enums.TransactionType;
+
+import java.time.YearMonth;
+
+public record CubeFilter(
+        YearMonth fromMonth,
+        YearMonth toMonth,
+        Long categoryId,
+        Long bankAccountId,
+        TransactionType type,
+        Status status
+) {
+
+    public boolean matches(CubeKey key) {
+        return (fromMonth == null || !key.month().isBefore(fromMonth))
+                && (toMonth == null || !key.month().isAfter(toMonth))
+                && (categoryId == null || categoryId.equals(key.categoryId()))
+                && (bankAccountId == null || bankAccountId.equals(key.bankAccountId()))
+                && (type == null || type == key.type())
+                && (status == null || status == key.status());
+    }
+}
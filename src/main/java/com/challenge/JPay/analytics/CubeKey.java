@@ -0,0 +1,41 @@
+package com.challenge.JPay.analytics;
+
+import com.challenge.JPay.model.TransactionState;
+import com.challenge.JPay.model.enums.CubeDimension;
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.model.enums.TransactionType;
+
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.Set;
+
+/** Nas linhas de resultado de uma consulta, as dimensões fora do agrupamento ficam nulas. */
+public record CubeKey(
+        YearMonth month,
+        Long categoryId,
+        Long bankAccountId,
+        TransactionType type,
+        Status status
+) {
+
+    public static final Comparator<CubeKey> ORDER = Comparator
+            .comparing(CubeKey::month, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(CubeKey::categoryId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(CubeKey::bankAccountId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(CubeKey::type, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(CubeKey::status, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    public static CubeKey of(TransactionState state) {
+        return new CubeKey(YearMonth.from(state.expirationDate()), state.categoryId(), state.bankAccountId(),
+                state.transactionType(), state.status());
+    }
+
+    public CubeKey rollUp(Set<CubeDimension> groupBy) {
+        return new CubeKey(
+                groupBy.contains(CubeDimension.MONTH) ? month : null,
+                groupBy.contains(CubeDimension.CATEGORY) ? categoryId : null,
+                groupBy.contains(CubeDimension.BANK_ACCOUNT) ? bankAccountId : null,
+                groupBy.contains(CubeDimension.TYPE) ? type : null,
+                groupBy.contains(CubeDimension.STATUS) ? status : null);
+    }
+}
@@ -0,0 +1,321 @@
+package com.challenge.JPay.audit;
+
+import com.challenge.JPay.model.enums.AuditRecordType;
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.tenant.TenantContext;
+import com.challenge.JPay.util.MoneyUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class AuditJournal {
+
+    private static final int MAX_BATCH = 4096;
+    private static final long MAX_RETRY_DELAY_MS = 30_000;
+
+    private final Path directory;
+    private final long segmentSizeBytes;
+    private final boolean fsync;
+    private final BlockingQueue<AuditRecord> queue;
+    private final List<Path> segments = new CopyOnWriteArrayList<>();
+    private final Map<Path, AuditSegment> readers = new HashMap<>();
+    private final List<AuditRecord> batch = new ArrayList<>(MAX_BATCH);
+
+    private AuditSegment active;
+    private long nextSequence;
+    private Thread writer;
+    private volatile boolean running;
+    private volatile Long failingSince;
+    private volatile String lastError;
+    private volatile int retryingRecords;
+
+    public AuditJournal(@Value("${jpay.audit.directory:./data/audit}") String directory,
+                        @Value("${jpay.audit.segment-size-mb:16}") int segmentSizeMb,
+                        @Value("${jpay.audit.queue-capacity:65536}") int queueCapacity,
+                        @Value("${jpay.audit.fsync:true}") boolean fsync) {
+        this.directory = Path.of(directory);
+        this.segmentSizeBytes = AuditSegment.HEADER_SIZE + ((long) segmentSizeMb * 1024 * 1024 / AuditRecord.SIZE) * AuditRecord.SIZE;
+        this.fsync = fsync;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(this::isSegment).sorted().forEach(segments::add);
+        }
+
+        if (segments.isEmpty()) {
+            nextSequence = 1;
+            rollSegment(0L);
+        } else {
+            active = AuditSegment.openForWrite(segments.get(segments.size() - 1));
+            nextSequence = active.firstSequence() + active.recordCount();
+        }
+        log.info("Audit journal opened at {} ({} segments, next sequence {})", directory, segments.size(), nextSequence);
+
+        running = true;
+        writer = new Thread(this::writeLoop, "audit-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException, IOException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        flush(drain(batch));
+        active.close();
+    }
+
+    public void recordBalanceChange(Long bankAccountId, Long transactionId, BigDecimal oldBalance, BigDecimal newBalance) {
+        if (MoneyUtils.toCents(oldBalance) == MoneyUtils.toCents(newBalance)) {
+            return;
+        }
+        enqueueAfterCommit(new AuditRecord(0, System.currentTimeMillis(), AuditRecordType.BALANCE_CHANGED,
+                transactionId == null ? 0 : transactionId, bankAccountId,
+                MoneyUtils.toCents(oldBalance), MoneyUtils.toCents(newBalance), null, null, currentTenant(), 0));
+    }
+
+    public void recordStatusChange(Long transactionId, Long bankAccountId, BigDecimal amount, Status oldStatus, Status newStatus) {
+        if (oldStatus == newStatus) {
+            return;
+        }
+        long cents = MoneyUtils.toCents(amount);
+        enqueueAfterCommit(new AuditRecord(0, System.currentTimeMillis(), AuditRecordType.STATUS_CHANGED,
+                transactionId, bankAccountId, cents, cents, oldStatus, newStatus, currentTenant(), 0));
+    }
+
+    public void recordDeletion(Long transactionId, Long bankAccountId, BigDecimal amount, Status status) {
+        enqueueAfterCommit(new AuditRecord(0, System.currentTimeMillis(), AuditRecordType.TRANSACTION_DELETED,
+                transactionId, bankAccountId, MoneyUtils.toCents(amount), 0, status, null, currentTenant(), 0));
+    }
+
+    /** Só devolve registros do tenant corrente: todos os tenants gravam no mesmo journal. */
+    public List<AuditRecord> scan(long fromMillis, long toMillis, Long bankAccountId, int limit) {
+        int tenant = currentTenant();
+        List<AuditRecord> result = new ArrayList<>();
+        for (Path path : segments) {
+            AuditSegment segment = reader(path);
+            if (!segment.overlaps(fromMillis, toMillis)) {
+                continue;
+            }
+            for (int i = 0, count = segment.recordCount(); i < count; i++) {
+                long timestamp = segment.timestampAt(i);
+                if (timestamp < fromMillis || timestamp > toMillis) {
+                    continue;
+                }
+                if (segment.tenantAt(i) != tenant || bankAccountId != null && segment.bankAccountIdAt(i) != bankAccountId) {
+                    continue;
+                }
+                result.add(segment.read(i));
+                if (result.size() >= limit) {
+                    return result;
+                }
+            }
+        }
+        return result;
+    }
+
+    public AuditVerification verify() {
+        long previous = 0L;
+        long records = 0;
+        for (Path path : segments) {
+            AuditSegment segment = reader(path);
+            if (segment.seedChecksum() != previous) {
+                return new AuditVerification(records, false, segment.firstSequence());
+            }
+            for (int i = 0, count = segment.recordCount(); i < count; i++) {
+                long checksum = segment.computeChecksum(i, previous);
+                if (checksum != segment.checksumAt(i)) {
+                    return new AuditVerification(records, false, segment.firstSequence() + i);
+                }
+                previous = checksum;
+                records++;
+            }
+        }
+        return new AuditVerification(records, true, null);
+    }
+
+    public WriterStatus status() {
+        return new WriterStatus(failingSince == null, queue.size() + retryingRecords, failingSince, lastError);
+    }
+
+    private static int currentTenant() {
+        return TenantContext.key(TenantContext.current());
+    }
+
+    private void enqueueAfterCommit(AuditRecord record) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(record);
+                }
+            });
+        } else {
+            enqueue(record);
+        }
+    }
+
+    private void enqueue(AuditRecord record) {
+        try {
+            queue.put(record);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while enqueuing audit record {}", record);
+        }
+    }
+
+    private void writeLoop() {
+        int failures = 0;
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    AuditRecord first = queue.poll(1, TimeUnit.SECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    drain(batch);
+                }
+                flush(batch);
+                if (failures > 0) {
+                    log.info("Audit journal writer recovered after {} failed attempts", failures);
+                    failures = 0;
+                    failingSince = null;
+                    lastError = null;
+                    retryingRecords = 0;
+                }
+            } catch (InterruptedException e) {
+                if (running) {
+                    log.warn("Audit journal writer interrupted unexpectedly");
+                }
+            } catch (RuntimeException e) {
+                failures++;
+                if (failingSince == null) {
+                    failingSince = System.currentTimeMillis();
+                }
+                lastError = e.toString();
+                retryingRecords = batch.size();
+                log.error("Failed to write audit batch of {} records (attempt {}), retrying", batch.size(), failures, e);
+                sleepBeforeRetry(failures);
+            }
+        }
+    }
+
+    private void sleepBeforeRetry(int failures) {
+        try {
+            Thread.sleep(Math.min(100L << Math.min(failures, 10), MAX_RETRY_DELAY_MS));
+        } catch (InterruptedException e) {
+            if (running) {
+                log.warn("Audit journal writer interrupted unexpectedly");
+            }
+        }
+    }
+
+    private List<AuditRecord> drain(List<AuditRecord> batch) {
+        queue.drainTo(batch, MAX_BATCH - batch.size());
+        return batch;
+    }
+
+    /** Se falhar no meio, tira do lote só os registros já gravados. */
+    private synchronized void flush(List<AuditRecord> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        int written = 0;
+        try {
+            for (AuditRecord record : batch) {
+                if (active.isFull()) {
+                    active.writeHeader();
+                    active.force();
+                    rollSegment(active.lastChecksum());
+                }
+                active.append(record.withSequence(nextSequence));
+                nextSequence++;
+                written++;
+            }
+            active.writeHeader();
+            if (fsync) {
+                active.force();
+            }
+        } finally {
+            batch.subList(0, written).clear();
+        }
+    }
+
+    private void rollSegment(long previousChecksum) {
+        Path path = AuditSegment.fileName(directory, nextSequence);
+        try {
+            if (active != null) {
+                active.close();
+                AuditSegment reader = readers.get(active.path());
+                if (reader != null) {
+                    reader.refreshHeader();
+                }
+            }
+            active = AuditSegment.create(path, segmentSizeBytes, nextSequence, previousChecksum);
+            segments.add(path);
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** O cabeçalho do segmento ativo é relido a cada consulta. */
+    private synchronized AuditSegment reader(Path path) {
+        AuditSegment segment = readers.get(path);
+        if (segment == null) {
+            segment = openForRead(path);
+            readers.put(path, segment);
+        } else if (path.equals(active.path())) {
+            segment.refreshHeader();
+        }
+        return segment;
+    }
+
+    private AuditSegment openForRead(Path path) {
+        try {
+            return AuditSegment.openForRead(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(AuditSegment.PREFIX) && name.endsWith(AuditSegment.SUFFIX);
+    }
+
+    public record AuditVerification(long records, boolean valid, Long brokenAtSequence) { }
+
+    public record WriterStatus(boolean healthy, int pendingRecords, Long failingSince, String lastError) { }
+}
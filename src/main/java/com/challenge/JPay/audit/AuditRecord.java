@@ -0,0 +1,72 @@
+package com.challenge.JPay.audit;
+
+import com.challenge.JPay.model.enums.AuditRecordType;
+import com.challenge.JPay.model.enums.Status;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Registro de 64 bytes do journal; o checksum é um CRC32C encadeado com o do registro anterior.
+ */
+public record AuditRecord(
+        long sequence,
+        long timestamp,
+        AuditRecordType type,
+        long transactionId,
+        long bankAccountId,
+        long oldValueCents,
+        long newValueCents,
+        Status oldStatus,
+        Status newStatus,
+        int tenant,
+        long checksum
+) {
+
+    public static final int SIZE = 64;
+    public static final int CHECKSUM_OFFSET = 56;
+
+    private static final AuditRecordType[] TYPES = AuditRecordType.values();
+    private static final Status[] STATUSES = Status.values();
+
+    AuditRecord withSequence(long sequence) {
+        return new AuditRecord(sequence, timestamp, type, transactionId, bankAccountId,
+                oldValueCents, newValueCents, oldStatus, newStatus, tenant, checksum);
+    }
+
+    void writeBody(ByteBuffer buffer, int offset) {
+        buffer.putLong(offset, sequence);
+        buffer.putLong(offset + 8, timestamp);
+        buffer.put(offset + 16, (byte) type.ordinal());
+        buffer.put(offset + 17, statusByte(oldStatus));
+        buffer.put(offset + 18, statusByte(newStatus));
+        buffer.put(offset + 19, (byte) 0);
+        buffer.putInt(offset + 20, tenant);
+        buffer.putLong(offset + 24, transactionId);
+        buffer.putLong(offset + 32, bankAccountId);
+        buffer.putLong(offset + 40, oldValueCents);
+        buffer.putLong(offset + 48, newValueCents);
+    }
+
+    static AuditRecord read(ByteBuffer buffer, int offset) {
+        return new AuditRecord(
+                buffer.getLong(offset),
+                buffer.getLong(offset + 8),
+                TYPES[buffer.get(offset + 16)],
+                buffer.getLong(offset + 24),
+                buffer.getLong(offset + 32),
+                buffer.getLong(offset + 40),
+                buffer.getLong(offset + 48),
+                status(buffer.get(offset + 17)),
+                status(buffer.get(offset + 18)),
+                buffer.getInt(offset + 20),
+                buffer.getLong(offset + CHECKSUM_OFFSET));
+    }
+
+    private static byte statusByte(Status status) {
+        return status == null ? (byte) -1 : (byte) status.ordinal();
+    }
+
+    private static Status status(byte value) {
+        return value < 0 ? null : STATUSES[value];
+    }
+}
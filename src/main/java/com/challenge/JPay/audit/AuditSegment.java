@@ -0,0 +1,221 @@
+package com.challenge.JPay.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+class AuditSegment implements AutoCloseable {
+
+    static final int HEADER_SIZE = 64;
+    static final String PREFIX = "audit-";
+    static final String SUFFIX = ".seg";
+
+    private static final int MAGIC = 0x4A504155;
+    private static final int VERSION = 1;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int FIRST_SEQUENCE_OFFSET = 8;
+    private static final int FIRST_TIMESTAMP_OFFSET = 16;
+    private static final int LAST_TIMESTAMP_OFFSET = 24;
+    private static final int RECORD_COUNT_OFFSET = 32;
+    private static final int LAST_CHECKSUM_OFFSET = 40;
+    private static final int SEED_CHECKSUM_OFFSET = 48;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    private int recordCount;
+    private long firstTimestamp;
+    private long lastTimestamp;
+    private long lastChecksum;
+
+    private AuditSegment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = (buffer.capacity() - HEADER_SIZE) / AuditRecord.SIZE;
+        this.recordCount = (int) buffer.getLong(RECORD_COUNT_OFFSET);
+        this.firstTimestamp = buffer.getLong(FIRST_TIMESTAMP_OFFSET);
+        this.lastTimestamp = buffer.getLong(LAST_TIMESTAMP_OFFSET);
+        this.lastChecksum = buffer.getLong(LAST_CHECKSUM_OFFSET);
+    }
+
+    static Path fileName(Path directory, long firstSequence) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX));
+    }
+
+    static AuditSegment create(Path path, long sizeBytes, long firstSequence, long previousChecksum) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, sizeBytes);
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(VERSION_OFFSET, VERSION);
+        buffer.putLong(FIRST_SEQUENCE_OFFSET, firstSequence);
+        buffer.putLong(FIRST_TIMESTAMP_OFFSET, Long.MAX_VALUE);
+        buffer.putLong(LAST_TIMESTAMP_OFFSET, Long.MIN_VALUE);
+        buffer.putLong(RECORD_COUNT_OFFSET, 0);
+        buffer.putLong(LAST_CHECKSUM_OFFSET, previousChecksum);
+        buffer.putLong(SEED_CHECKSUM_OFFSET, previousChecksum);
+        buffer.force();
+        return new AuditSegment(path, channel, buffer);
+    }
+
+    static AuditSegment openForWrite(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        AuditSegment segment = new AuditSegment(path, channel, buffer);
+        segment.validateHeader();
+        segment.recoverTail();
+        return segment;
+    }
+
+    static AuditSegment openForRead(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            AuditSegment segment = new AuditSegment(path, null, buffer);
+            segment.validateHeader();
+            return segment;
+        }
+    }
+
+    static long chain(long previousChecksum, ByteBuffer buffer, int offset) {
+        CRC32C crc = new CRC32C();
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            crc.update((int) (previousChecksum >>> shift) & 0xFF);
+        }
+        crc.update(buffer.duplicate().position(offset).limit(offset + AuditRecord.CHECKSUM_OFFSET));
+        return crc.getValue();
+    }
+
+    boolean isFull() {
+        return recordCount >= capacity;
+    }
+
+    long append(AuditRecord record) {
+        int offset = offsetOf(recordCount);
+        record.writeBody(buffer, offset);
+        long checksum = chain(lastChecksum, buffer, offset);
+        buffer.putLong(offset + AuditRecord.CHECKSUM_OFFSET, checksum);
+
+        recordCount++;
+        lastChecksum = checksum;
+        firstTimestamp = Math.min(firstTimestamp, record.timestamp());
+        lastTimestamp = Math.max(lastTimestamp, record.timestamp());
+        return checksum;
+    }
+
+    void writeHeader() {
+        buffer.putLong(FIRST_TIMESTAMP_OFFSET, firstTimestamp);
+        buffer.putLong(LAST_TIMESTAMP_OFFSET, lastTimestamp);
+        buffer.putLong(LAST_CHECKSUM_OFFSET, lastChecksum);
+        buffer.putLong(RECORD_COUNT_OFFSET, recordCount);
+    }
+
+    void refreshHeader() {
+        recordCount = (int) buffer.getLong(RECORD_COUNT_OFFSET);
+        firstTimestamp = buffer.getLong(FIRST_TIMESTAMP_OFFSET);
+        lastTimestamp = buffer.getLong(LAST_TIMESTAMP_OFFSET);
+        lastChecksum = buffer.getLong(LAST_CHECKSUM_OFFSET);
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    AuditRecord read(int index) {
+        return AuditRecord.read(buffer, offsetOf(index));
+    }
+
+    int tenantAt(int index) {
+        return buffer.getInt(offsetOf(index) + 20);
+    }
+
+    long bankAccountIdAt(int index) {
+        return buffer.getLong(offsetOf(index) + 32);
+    }
+
+    long timestampAt(int index) {
+        return buffer.getLong(offsetOf(index) + 8);
+    }
+
+    long checksumAt(int index) {
+        return buffer.getLong(offsetOf(index) + AuditRecord.CHECKSUM_OFFSET);
+    }
+
+    long computeChecksum(int index, long previousChecksum) {
+        return chain(previousChecksum, buffer, offsetOf(index));
+    }
+
+    boolean overlaps(long from, long to) {
+        return recordCount > 0 && firstTimestamp <= to && lastTimestamp >= from;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int recordCount() {
+        return recordCount;
+    }
+
+    long firstSequence() {
+        return buffer.getLong(FIRST_SEQUENCE_OFFSET);
+    }
+
+    long lastSequence() {
+        return firstSequence() + recordCount - 1;
+    }
+
+    long lastChecksum() {
+        return lastChecksum;
+    }
+
+    long seedChecksum() {
+        return buffer.getLong(SEED_CHECKSUM_OFFSET);
+    }
+
+    private void validateHeader() throws IOException {
+        if (buffer.getInt(MAGIC_OFFSET) != MAGIC || buffer.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException("Segmento de auditoria inválido: " + path);
+        }
+    }
+
+    private void recoverTail() {
+        // Registros gravados após a última atualização do cabeçalho (ex.: queda do processo) são recuperados
+        // enquanto o encadeamento dos checksums continuar válido.
+        long previous = recordCount == 0 ? seedChecksum() : checksumAt(recordCount - 1);
+        while (recordCount < capacity) {
+            int offset = offsetOf(recordCount);
+            long expectedSequence = firstSequence() + recordCount;
+            if (buffer.getLong(offset) != expectedSequence
+                    || buffer.getLong(offset + AuditRecord.CHECKSUM_OFFSET) != chain(previous, buffer, offset)) {
+                break;
+            }
+            previous = buffer.getLong(offset + AuditRecord.CHECKSUM_OFFSET);
+            long timestamp = buffer.getLong(offset + 8);
+            firstTimestamp = Math.min(firstTimestamp, timestamp);
+            lastTimestamp = Math.max(lastTimestamp, timestamp);
+            recordCount++;
+        }
+        lastChecksum = previous;
+        writeHeader();
+    }
+
+    private int offsetOf(int index) {
+        return HEADER_SIZE + index * AuditRecord.SIZE;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.challenge.JPay.cache;
+
+import com.challenge.JPay.dto.response.TransactionResponseDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/** Só escreve o JSON guardado em JSON sem indentação; nos demais casos delega ao serializador padrão. */
+public class CachedJsonSerializer extends StdSerializer<TransactionResponseDTO> implements ContextualSerializer, ResolvableSerializer {
+
+    private final JsonSerializer<Object> delegate;
+    private final PaidTransactionCache cache;
+
+    @SuppressWarnings("unchecked")
+    public CachedJsonSerializer(JsonSerializer<?> delegate, PaidTransactionCache cache) {
+        super(TransactionResponseDTO.class);
+        this.delegate = (JsonSerializer<Object>) delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public void serialize(TransactionResponseDTO value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        SerializableString json = gen instanceof JsonGeneratorImpl && gen.getPrettyPrinter() == null ? cache.jsonOf(value) : null;
+        if (json != null) {
+            gen.writeRawValue(json);
+        } else {
+            delegate.serialize(value, gen, provider);
+        }
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        if (delegate instanceof ResolvableSerializer resolvable) {
+            resolvable.resolve(provider);
+        }
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+        if (delegate instanceof ContextualSerializer contextual) {
+            JsonSerializer<?> contextualized = contextual.createContextual(provider, property);
+            if (contextualized != delegate) {
+                return new CachedJsonSerializer(contextualized, cache);
+            }
+        }
+        return this;
+    }
+}
@@ -0,0 +1,180 @@
+package com.challenge.JPay.cache;
+
+import com.challenge.JPay.datasource.ReplicaPool;
+import com.challenge.JPay.dto.response.TransactionResponseDTO;
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.tenant.TenantContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Uma leitura só entra no cache se nenhuma invalidação aconteceu desde o seu {@link #stamp()} e, se pode ter vindo
+ * de uma réplica, se todas as réplicas foram sincronizadas depois da última invalidação.
+ */
+@Slf4j
+@Component
+public class PaidTransactionCache {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 512;
+
+    private final ObjectProvider<ObjectMapper> objectMapper;
+    private final ObjectProvider<ReplicaPool> replicaPool;
+    private final long maxBytes;
+    private final boolean replicasEnabled;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(1024, 0.75f, true);
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile long lastInvalidationAt = System.nanoTime();
+    private long bytes;
+
+    public PaidTransactionCache(ObjectProvider<ObjectMapper> objectMapper,
+                                ObjectProvider<ReplicaPool> replicaPool,
+                                @Value("${jpay.transaction-cache.max-bytes:33554432}") long maxBytes,
+                                @Value("${jpay.replicas.enabled:false}") boolean replicasEnabled,
+                                @Value("${jpay.replicas.feed.enabled:false}") boolean replicasFed) {
+        this.objectMapper = objectMapper;
+        this.replicaPool = replicaPool;
+        this.maxBytes = maxBytes;
+        this.replicasEnabled = replicasEnabled;
+        if (isEnabled() && replicasEnabled && !replicasFed) {
+            log.info("Read replicas do not report when they were synced: paid transactions read from them are not cached");
+        }
+    }
+
+    private record Key(String tenant, long id) { }
+
+    private record Entry(TransactionResponseDTO dto, SerializedString json, int weight) { }
+
+    public boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    /** Tomada antes de ler o lançamento do banco. */
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    public TransactionResponseDTO get(long id) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(new Key(TenantContext.current(), id));
+        }
+        return entry == null ? null : entry.dto();
+    }
+
+    /** Devolve o DTO que deve ser usado na resposta. */
+    public TransactionResponseDTO admit(TransactionResponseDTO dto, long stamp) {
+        if (!isEnabled() || dto.status() != Status.PAID || stamp != invalidations.get() || mayBeStale()) {
+            return dto;
+        }
+        SerializedString json;
+        try {
+            json = new SerializedString(new String(objectMapper.getObject().writeValueAsBytes(dto), StandardCharsets.UTF_8));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize transaction {} for the response cache", dto.id(), e);
+            return dto;
+        }
+        int weight = json.asUnquotedUTF8().length + ENTRY_OVERHEAD_BYTES;
+
+        synchronized (this) {
+            if (stamp != invalidations.get()) {
+                return dto;
+            }
+            Entry previous = entries.put(new Key(TenantContext.current(), dto.id()), new Entry(dto, json, weight));
+            if (previous != null) {
+                bytes -= previous.weight();
+            }
+            bytes += weight;
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= eldest.next().weight();
+                eldest.remove();
+            }
+        }
+        return dto;
+    }
+
+    private boolean mayBeStale() {
+        return replicasEnabled && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !replicaPool.getObject().replicasSyncedAfter(lastInvalidationAt);
+    }
+
+    /** Só se o DTO for exatamente a instância guardada no cache. */
+    SerializableString jsonOf(TransactionResponseDTO dto) {
+        if (!isEnabled() || dto.id() == null || dto.status() != Status.PAID) {
+            return null;
+        }
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(new Key(TenantContext.current(), dto.id()));
+        }
+        return entry != null && entry.dto() == dto ? entry.json() : null;
+    }
+
+    public void evict(long id) {
+        Key key = new Key(TenantContext.current(), id);
+        invalidate(() -> remove(key));
+    }
+
+    public void evictByBankAccount(long bankAccountId) {
+        invalidate(() -> removeIf(entry -> entry.dto().bankAccount().id() == bankAccountId));
+    }
+
+    public void evictByCategory(long categoryId) {
+        invalidate(() -> removeIf(entry -> entry.dto().category().id() == categoryId));
+    }
+
+    private void invalidate(Runnable removal) {
+        if (!isEnabled()) {
+            return;
+        }
+        removal.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removal.run();
+                }
+            });
+        }
+    }
+
+    private synchronized void remove(Key key) {
+        invalidations.incrementAndGet();
+        lastInvalidationAt = System.nanoTime();
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            bytes -= entry.weight();
+        }
+    }
+
+    private synchronized void removeIf(Predicate<Entry> filter) {
+        invalidations.incrementAndGet();
+        lastInvalidationAt = System.nanoTime();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (filter.test(entry)) {
+                bytes -= entry.weight();
+                iterator.remove();
+            }
+        }
+    }
+}
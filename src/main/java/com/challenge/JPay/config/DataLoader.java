@@ -8,9 +8,12 @@ import com.challenge.JPay.model.enums.TransactionType;
 import com.challenge.JPay.repository.TransactionRepository;
 import com.challenge.JPay.repository.BankAccountRepository;
 import com.challenge.JPay.repository.CategoryRepository;
+import com.challenge.JPay.service.PendingExposureService;
+import com.challenge.JPay.service.ReconciliationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -19,11 +22,14 @@ import java.time.LocalDate;
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "jpay.seed.enabled", havingValue = "true", matchIfMissing = true)
 public class DataLoader implements CommandLineRunner {
 
     private final CategoryRepository categoryRepository;
     private final BankAccountRepository bankAccountRepository;
     private final TransactionRepository accountRepository;
+    private final PendingExposureService pendingExposureService;
+    private final ReconciliationService reconciliationService;
 
     @Override
     public void run(String... args) {
@@ -211,6 +217,11 @@ public class DataLoader implements CommandLineRunner {
 
         log.info("Contas criadas: {}", accountRepository.count());
 
+        // Os lançamentos acima não passam pelo TransactionService, então os contadores de pendências são recalculados
+        // e o saldo de abertura de cada conta é ajustado para que o saldo informado acima já esteja conciliado
+        pendingExposureService.recalculateAll();
+        reconciliationService.rebaseOpeningBalances();
+
         // ========== RESUMO ==========
         log.info("=== RESUMO DOS DADOS CRIADOS ===");
         log.info("Categorias: {} (4 ativas, 1 inativa)", categoryRepository.count());
@@ -0,0 +1,83 @@
+package com.challenge.JPay.config;
+
+import com.challenge.JPay.datasource.ReplicaFeeder;
+import com.challenge.JPay.datasource.ReplicaPool;
+import com.challenge.JPay.datasource.SessionWriteTracker;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A conexão física só é obtida no primeiro comando, quando o Spring já marcou a transação como {@code readOnly};
+ * só então o {@link ReplicaPool} sabe se ela pode ir para uma réplica.
+ */
+@Configuration
+@ConditionalOnProperty(name = "jpay.replicas.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public SessionWriteTracker sessionWriteTracker(@Value("${jpay.replicas.session-header:X-Session-Id}") String header,
+                                                   @Value("${jpay.replicas.read-your-writes-ms:0}") long windowMs) {
+        return new SessionWriteTracker(header, windowMs);
+    }
+
+    @Bean
+    public ReplicaPool replicaPool(DataSourceProperties properties,
+                                   Environment environment,
+                                   SessionWriteTracker sessionWriteTracker,
+                                   @Value("${jpay.replicas.urls}") List<String> urls,
+                                   @Value("${jpay.replicas.username:${spring.datasource.username:}}") String username,
+                                   @Value("${jpay.replicas.password:${spring.datasource.password:}}") String password,
+                                   @Value("${jpay.replicas.pool-size:5}") int poolSize,
+                                   @Value("${jpay.replicas.connection-timeout-ms:1000}") long connectionTimeoutMs,
+                                   @Value("${jpay.replicas.feed.enabled:false}") boolean fed) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        List<ReplicaPool.Replica> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(urls.get(i).trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            replica.setPoolName("replica-" + i);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setConnectionTimeout(connectionTimeoutMs);
+            replica.setReadOnly(true);
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(new ReplicaPool.Replica(replica.getPoolName(), replica, fed));
+        }
+        return new ReplicaPool(primary, replicas, sessionWriteTracker);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaPool replicaPool) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(replicaPool.writeDataSource());
+        dataSource.setReadOnlyDataSource(replicaPool.readOnlyDataSource());
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "jpay.replicas.feed.enabled", havingValue = "true")
+    public ReplicaFeeder replicaFeeder(ReplicaPool replicaPool) {
+        return new ReplicaFeeder(replicaPool);
+    }
+}
@@ -1,12 +1,14 @@
 package com.challenge.JPay.config;
 import com.challenge.JPay.exception.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -105,6 +107,48 @@ public class GlobalCustomExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<GlobalErrorResponse> handleTooManyRequestsException(TooManyRequestsException ex) {
+        GlobalErrorResponse errorResponse = GlobalErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("Muitas requisições")
+                .message(ex.getMessage())
+                .build();
+        log.debug("Request throttled: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<GlobalErrorResponse> handleServiceOverloadedException(ServiceOverloadedException ex) {
+        GlobalErrorResponse errorResponse = GlobalErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Serviço indisponível")
+                .message(ex.getMessage())
+                .build();
+        log.debug("Request shed: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<GlobalErrorResponse> handleMaxUploadSizeExceededException(MaxUploadSizeExceededException ex) {
+        GlobalErrorResponse errorResponse = GlobalErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.PAYLOAD_TOO_LARGE.value())
+                .error("Arquivo muito grande")
+                .message("O arquivo excede o tamanho máximo permitido")
+                .build();
+        log.warn("Upload rejected: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(errorResponse);
+    }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<GlobalErrorResponse> handleGenericException(Exception ex) {
@@ -0,0 +1,139 @@
+package com.challenge.JPay.config;
+
+import com.challenge.JPay.tenant.DefaultTenantOnlyInterceptor;
+import com.challenge.JPay.tenant.TenantContext;
+import com.challenge.JPay.tenant.TenantDataSourceProperties;
+import com.challenge.JPay.tenant.TenantInterceptor;
+import com.challenge.JPay.tenant.TenantRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "jpay.tenancy.enabled", havingValue = "true")
+public class TenancyConfig {
+
+    private static final String[] DEFAULT_TENANT_ONLY_PATHS = {"/api/stream/**", "/api/analytics/cube/**", "/api/analytics/columnar/**"};
+
+    @Bean
+    public static TenantDataSourcePostProcessor tenantDataSourcePostProcessor(Environment environment) {
+        return new TenantDataSourcePostProcessor(environment);
+    }
+
+    @Bean
+    public WebMvcConfigurer tenantInterceptorConfigurer(Environment environment,
+                                                        @Value("${jpay.tenancy.header:X-Tenant-Id}") String header) {
+        TenantInterceptor interceptor = new TenantInterceptor(header, tenants(environment).keySet());
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns("/api/**");
+                registry.addInterceptor(new DefaultTenantOnlyInterceptor()).addPathPatterns(DEFAULT_TENANT_ONLY_PATHS);
+            }
+        };
+    }
+
+    private static Map<String, TenantDataSourceProperties> tenants(Environment environment) {
+        return TenantDataSourceProperties.bindAll(environment);
+    }
+
+    /**
+     * Envolve o {@code dataSource} antes dos demais post-processors, para que a instrumentação de SQL continue por fora.
+     */
+    public static final class TenantDataSourcePostProcessor implements BeanPostProcessor, Ordered, DisposableBean {
+
+        private final Environment environment;
+        private final List<HikariDataSource> pools = new ArrayList<>();
+
+        private TenantDataSourcePostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+
+            Map<Integer, String> keys = new HashMap<>(Map.of(TenantContext.key(TenantContext.DEFAULT_TENANT), TenantContext.DEFAULT_TENANT));
+            for (String tenant : tenants(environment).keySet()) {
+                String clash = keys.putIfAbsent(TenantContext.key(tenant), tenant);
+                if (clash != null) {
+                    throw new IllegalStateException("Tenants " + clash + " and " + tenant + " have the same key, rename one of them");
+                }
+            }
+
+            Map<String, DataSource> tenants = new HashMap<>();
+            tenants(environment).forEach((tenant, properties) -> tenants.put(tenant, createTenantDataSource(tenant, properties)));
+            log.info("Tenant routing enabled for tenants {} (plus '{}')", tenants.keySet(), TenantContext.DEFAULT_TENANT);
+            return new TenantRoutingDataSource(dataSource, tenants);
+        }
+
+        private DataSource createTenantDataSource(String tenant, TenantDataSourceProperties properties) {
+            if (TenantContext.DEFAULT_TENANT.equals(tenant)) {
+                throw new IllegalStateException("'" + tenant + "' is reserved for the default datasource");
+            }
+            if (properties.url() == null && properties.schema() == null) {
+                throw new IllegalStateException("Tenant " + tenant + " needs " + TenantDataSourceProperties.PREFIX + "." + tenant + ".url or .schema");
+            }
+
+            String url = properties.url() != null ? properties.url() : environment.getRequiredProperty("spring.datasource.url");
+            String username = properties.username() != null ? properties.username() : environment.getProperty("spring.datasource.username", "");
+            String password = properties.password() != null ? properties.password() : environment.getProperty("spring.datasource.password", "");
+
+            FluentConfiguration flyway = Flyway.configure()
+                    .dataSource(url, username, password)
+                    .locations("classpath:db/migration");
+            if (properties.schema() != null) {
+                flyway.schemas(properties.schema()).defaultSchema(properties.schema()).createSchemas(true);
+            }
+            int applied = flyway.load().migrate().migrationsExecuted;
+            log.info("Tenant {} schema is up to date ({} migrations applied)", tenant, applied);
+
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(url)
+                    .username(username)
+                    .password(password)
+                    .build();
+            dataSource.setPoolName("tenant-" + tenant);
+            pools.add(dataSource);
+            if (properties.poolSize() != null) {
+                dataSource.setMaximumPoolSize(properties.poolSize());
+            }
+            if (properties.schema() != null) {
+                dataSource.setSchema(properties.schema());
+            }
+            return dataSource;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void destroy() {
+            pools.forEach(HikariDataSource::close);
+        }
+    }
+}
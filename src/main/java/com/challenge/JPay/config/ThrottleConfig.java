@@ -0,0 +1,57 @@
+package com.challenge.JPay.config;
+
+import com.challenge.JPay.throttle.ConcurrencyLimiter;
+import com.challenge.JPay.throttle.RequestThrottle;
+import com.challenge.JPay.throttle.ThrottleInterceptor;
+import com.challenge.JPay.throttle.ThrottleRule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Map;
+import java.util.Set;
+
+/** O stream SSE fica de fora: suas conexões ficam abertas por muito tempo sem usar o banco. */
+@Configuration
+@ConditionalOnProperty(name = "jpay.throttle.enabled", havingValue = "true")
+public class ThrottleConfig {
+
+    @Bean
+    public RequestThrottle requestThrottle(Environment environment,
+                                           @Value("${jpay.throttle.write.capacity:50}") int writeCapacity,
+                                           @Value("${jpay.throttle.write.refill-per-second:25}") double writeRefillPerSecond) {
+        Map<String, ThrottleRule> routes = Binder.get(environment)
+                .bind("jpay.throttle.routes", Bindable.mapOf(String.class, ThrottleRule.class))
+                .orElse(Map.of());
+        return new RequestThrottle(routes.values(), new ThrottleRule("*", "*", writeCapacity, writeRefillPerSecond));
+    }
+
+    @Bean
+    public ConcurrencyLimiter concurrencyLimiter(
+            @Value("${jpay.throttle.max-concurrent:40}") int maxConcurrent,
+            @Value("${jpay.throttle.max-wait-ms:500}") long maxWaitMs) {
+        return new ConcurrencyLimiter(maxConcurrent, maxWaitMs);
+    }
+
+    @Bean
+    public WebMvcConfigurer throttleInterceptorConfigurer(RequestThrottle requestThrottle,
+                                                          ConcurrencyLimiter concurrencyLimiter,
+                                                          @Value("${jpay.throttle.client-header:X-Client-Id}") String clientHeader,
+                                                          @Value("${jpay.throttle.trusted-proxies:}") Set<String> trustedProxies,
+                                                          @Value("${jpay.throttle.overload-retry-after-seconds:1}") long retryAfterSeconds) {
+        ThrottleInterceptor interceptor = new ThrottleInterceptor(requestThrottle, concurrencyLimiter, clientHeader, trustedProxies,
+                retryAfterSeconds);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns("/api/**").excludePathPatterns("/api/stream/**");
+            }
+        };
+    }
+}
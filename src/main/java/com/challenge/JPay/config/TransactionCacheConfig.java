@@ -0,0 +1,31 @@
+package com.challenge.JPay.config;
+
+import com.challenge.JPay.cache.CachedJsonSerializer;
+import com.challenge.JPay.cache.PaidTransactionCache;
+import com.challenge.JPay.dto.response.TransactionResponseDTO;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TransactionCacheConfig {
+
+    @Bean
+    public Module paidTransactionCacheModule(PaidTransactionCache cache) {
+        SimpleModule module = new SimpleModule("paid-transaction-cache");
+        module.setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription description, JsonSerializer<?> serializer) {
+                return description.getBeanClass() == TransactionResponseDTO.class
+                        ? new CachedJsonSerializer(serializer, cache)
+                        : serializer;
+            }
+        });
+        return module;
+    }
+}
@@ -0,0 +1,78 @@
+package com.challenge.JPay.controller;
+
+import com.challenge.JPay.analytics.CubeFilter;
+import com.challenge.JPay.dto.response.CubeCellResponseDTO;
+import com.challenge.JPay.dto.response.CubeRebuildResponseDTO;
+import com.challenge.JPay.model.enums.CubeDimension;
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.model.enums.TransactionType;
+import com.challenge.JPay.service.AnalyticsCubeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Análises", description = "Consultas ao cubo pré-agregado de lançamentos")
+public class AnalyticsController {
+
+    private final AnalyticsCubeService analyticsCubeService;
+
+    @GetMapping("/cube")
+    @Operation(summary = "Consultar cubo de lançamentos",
+            description = "Soma e quantidade de lançamentos agrupadas pelas dimensões informadas (MONTH, CATEGORY, BANK_ACCOUNT, TYPE, STATUS); sem agrupamento retorna o total geral")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Consulta realizada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Dimensão ou filtro inválido")
+    })
+    public ResponseEntity<List<CubeCellResponseDTO>> queryCube(
+            @Parameter(description = "Dimensões de agrupamento")
+            @RequestParam(required = false) List<String> groupBy,
+            @Parameter(description = "Mês de vencimento inicial (yyyy-MM)")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth fromMonth,
+            @Parameter(description = "Mês de vencimento final (yyyy-MM)")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth toMonth,
+            @Parameter(description = "ID da categoria")
+            @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "ID da conta bancária")
+            @RequestParam(required = false) Long bankAccountId,
+            @Parameter(description = "Tipo do lançamento (ATIVO, PASSIVO)")
+            @RequestParam(required = false) String type,
+            @Parameter(description = "Status do lançamento (PENDING, PAID)")
+            @RequestParam(required = false) String status) {
+        log.info("GET /api/analytics/cube - Querying cube grouped by {}", groupBy);
+
+        Set<CubeDimension> dimensions = EnumSet.noneOf(CubeDimension.class);
+        if (groupBy != null) {
+            groupBy.forEach(dimension -> dimensions.add(Enum.valueOf(CubeDimension.class, dimension)));
+        }
+        var filter = new CubeFilter(fromMonth, toMonth, categoryId, bankAccountId,
+                type == null ? null : Enum.valueOf(TransactionType.class, type),
+                status == null ? null : Enum.valueOf(Status.class, status));
+
+        return ResponseEntity.ok(analyticsCubeService.query(filter, dimensions));
+    }
+
+    @PostMapping("/cube/rebuild")
+    @Operation(summary = "Reconstruir cubo", description = "Recalcula todas as células do cubo a partir dos lançamentos")
+    @ApiResponse(responseCode = "200", description = "Cubo reconstruído com sucesso")
+    public ResponseEntity<CubeRebuildResponseDTO> rebuildCube() {
+        log.info("POST /api/analytics/cube/rebuild - Rebuilding analytics cube");
+
+        return ResponseEntity.ok(analyticsCubeService.rebuild());
+    }
+}
@@ -0,0 +1,74 @@
+package com.challenge.JPay.controller;
+
+import com.challenge.JPay.dto.response.AuditRecordResponseDTO;
+import com.challenge.JPay.dto.response.AuditVerificationResponseDTO;
+import com.challenge.JPay.dto.response.AuditWriterStatusDTO;
+import com.challenge.JPay.service.AuditService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/audit")
+@RequiredArgsConstructor
+@Tag(name = "Auditoria", description = "Consulta ao journal de auditoria de saldos e status")
+public class AuditController {
+
+    private final AuditService auditService;
+
+    @GetMapping
+    @Operation(summary = "Listar registros de auditoria", description = "Buscar registros do journal por intervalo de tempo e/ou conta bancária")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Registros recuperados com sucesso"),
+            @ApiResponse(responseCode = "409", description = "Intervalo de datas inválido")
+    })
+    public ResponseEntity<List<AuditRecordResponseDTO>> getAuditRecords(
+            @Parameter(description = "Início do intervalo (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Fim do intervalo (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "ID da conta bancária")
+            @RequestParam(required = false) Long bankAccountId,
+            @Parameter(description = "Quantidade máxima de registros")
+            @RequestParam(defaultValue = "1000") int limit) {
+        log.info("GET /api/audit - Scanning audit journal from {} to {} for bank account {}", from, to, bankAccountId);
+
+        var records = auditService.findRecords(from, to, bankAccountId, limit);
+        return ResponseEntity.ok(records);
+    }
+
+    @GetMapping("/verify")
+    @Operation(summary = "Verificar integridade do journal", description = "Recalcula a cadeia de checksums de todos os registros")
+    @ApiResponse(responseCode = "200", description = "Verificação concluída")
+    public ResponseEntity<AuditVerificationResponseDTO> verifyAuditJournal() {
+        log.info("GET /api/audit/verify - Verifying audit journal");
+
+        var verification = auditService.verify();
+        return ResponseEntity.ok(verification);
+    }
+
+    @GetMapping("/status")
+    @Operation(summary = "Estado da gravação do journal", description = "Registros aguardando gravação e a falha atual, se houver")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Journal gravando normalmente"),
+            @ApiResponse(responseCode = "503", description = "Gravação falhando; os registros ficam na fila e são regravados")
+    })
+    public ResponseEntity<AuditWriterStatusDTO> getWriterStatus() {
+        log.info("GET /api/audit/status - Reading audit journal writer status");
+
+        var status = auditService.writerStatus();
+        return ResponseEntity.status(status.healthy() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(status);
+    }
+}
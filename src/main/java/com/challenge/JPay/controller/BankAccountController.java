@@ -1,8 +1,12 @@
 package com.challenge.JPay.controller;
 
 import com.challenge.JPay.dto.request.BankAccountRequestDTO;
+import com.challenge.JPay.dto.request.BulkIdsRequestDTO;
 import com.challenge.JPay.dto.response.BankAccountResponseDTO;
+import com.challenge.JPay.dto.response.BulkOperationResponseDTO;
+import com.challenge.JPay.dto.response.ReconciliationReportDTO;
 import com.challenge.JPay.service.BankAccountService;
+import com.challenge.JPay.service.ReconciliationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -20,6 +24,7 @@ import org.springframework.web.bind.annotation.*;
 
         import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -29,6 +34,7 @@ import java.util.List;
 public class BankAccountController {
 
     private final BankAccountService bankAccountService;
+    private final ReconciliationService reconciliationService;
 
     @GetMapping
     @Operation(summary = "Listar contas bancárias com paginação")
@@ -44,6 +50,21 @@ public class BankAccountController {
         return ResponseEntity.ok(bankAccounts);
     }
 
+    @GetMapping(params = "fields")
+    @Operation(summary = "Listar contas bancárias com campos selecionados", description = "Consulta e retorna apenas os campos pedidos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Contas bancárias recuperadas com sucesso"),
+            @ApiResponse(responseCode = "409", description = "Campo desconhecido")
+    })
+    public ResponseEntity<Page<Map<String, Object>>> getAllBankAccountFields(
+            @Parameter(description = "Campos separados por vírgula (ex.: id,name,currentBalance)", required = true)
+            @RequestParam String fields,
+            @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+        log.info("GET /api/bank-accounts?fields={} - Finding bank accounts with pagination: {}", fields, pageable);
+
+        return ResponseEntity.ok(bankAccountService.findAll(fields, pageable));
+    }
+
     @GetMapping("/active")
     @Operation(summary = "Listar contas bancárias ativas")
     @ApiResponse(responseCode = "200", description = "Contas bancárias ativas recuperadas com sucesso")
@@ -69,6 +90,23 @@ public class BankAccountController {
         return ResponseEntity.ok(bankAccount);
     }
 
+    @GetMapping(value = "/{id}", params = "fields")
+    @Operation(summary = "Buscar conta bancária por ID com campos selecionados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Conta bancária encontrada"),
+            @ApiResponse(responseCode = "404", description = "Conta bancária não encontrada"),
+            @ApiResponse(responseCode = "409", description = "Campo desconhecido")
+    })
+    public ResponseEntity<Map<String, Object>> getBankAccountFieldsById(
+            @Parameter(description = "ID da conta bancária", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Campos separados por vírgula (ex.: id,name,currentBalance)", required = true)
+            @RequestParam String fields) {
+        log.info("GET /api/bank-accounts/{}?fields={} - Finding bank account by id", id, fields);
+
+        return ResponseEntity.ok(bankAccountService.findById(id, fields));
+    }
+
     @GetMapping("/search")
     @Operation(summary = "Buscar contas bancárias por banco", description = "Buscar contas bancárias por nome do banco com paginação")
     @ApiResponses(value = {
@@ -164,6 +202,63 @@ public class BankAccountController {
         return ResponseEntity.noContent().build();
     }
 
+    @PatchMapping("/bulk/deactivate")
+    @Operation(summary = "Desativar contas bancárias em massa", description = "Desativa várias contas bancárias de uma vez; nenhuma pode ter lançamentos pendentes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Contas bancárias desativadas com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Conta bancária não encontrada"),
+            @ApiResponse(responseCode = "409", description = "Alguma conta bancária possui lançamentos pendentes")
+    })
+    public ResponseEntity<BulkOperationResponseDTO> deactivateBankAccounts(
+            @Parameter(description = "IDs das contas bancárias", required = true)
+            @Valid @RequestBody BulkIdsRequestDTO dto) {
+        log.info("PATCH /api/bank-accounts/bulk/deactivate - Deactivating {} bank accounts", dto.ids().size());
+
+        return ResponseEntity.ok(bankAccountService.setActive(dto.ids(), false));
+    }
+
+    @PostMapping("/reconciliation")
+    @Operation(summary = "Reconciliar saldos", description = "Recalcula o saldo esperado de cada conta (saldo de abertura + lançamentos pagos) e, opcionalmente, corrige as divergências")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reconciliação concluída"),
+            @ApiResponse(responseCode = "409", description = "Já existe uma reconciliação em andamento")
+    })
+    public ResponseEntity<ReconciliationReportDTO> reconcileBalances(
+            @Parameter(description = "Corrigir o saldo das contas divergentes")
+            @RequestParam(defaultValue = "false") boolean autoCorrect) {
+        log.info("POST /api/bank-accounts/reconciliation - Reconciling balances (auto-correct: {})", autoCorrect);
+
+        var report = reconciliationService.reconcile(autoCorrect);
+        return ResponseEntity.ok(report);
+    }
+
+    @GetMapping("/reconciliation")
+    @Operation(summary = "Última reconciliação de saldos", description = "Relatório da última reconciliação, manual ou agendada")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Relatório recuperado com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Nenhuma reconciliação foi executada")
+    })
+    public ResponseEntity<ReconciliationReportDTO> getLastReconciliation() {
+        log.info("GET /api/bank-accounts/reconciliation - Finding last reconciliation report");
+
+        var report = reconciliationService.findLastReport();
+        return ResponseEntity.ok(report);
+    }
+
+    @PatchMapping("/bulk/activate")
+    @Operation(summary = "Ativar contas bancárias em massa", description = "Ativa várias contas bancárias de uma vez")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Contas bancárias ativadas com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Conta bancária não encontrada")
+    })
+    public ResponseEntity<BulkOperationResponseDTO> activateBankAccounts(
+            @Parameter(description = "IDs das contas bancárias", required = true)
+            @Valid @RequestBody BulkIdsRequestDTO dto) {
+        log.info("PATCH /api/bank-accounts/bulk/activate - Activating {} bank accounts", dto.ids().size());
+
+        return ResponseEntity.ok(bankAccountService.setActive(dto.ids(), true));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Excluir conta bancária", description = "Excluir permanentemente uma conta bancária")
     @ApiResponses(value = {
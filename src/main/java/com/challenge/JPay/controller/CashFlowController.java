@@ -0,0 +1,44 @@
+package com.challenge.JPay.controller;
+
+import com.challenge.JPay.dto.response.CashFlowProjectionResponseDTO;
+import com.challenge.JPay.service.CashFlowProjectionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/cash-flow")
+@RequiredArgsConstructor
+@Tag(name = "Fluxo de caixa", description = "Projeção de saldo das contas bancárias")
+public class CashFlowController {
+
+    private final CashFlowProjectionService cashFlowProjectionService;
+
+    @GetMapping("/projection")
+    @Operation(summary = "Projetar saldo diário", description = "Série diária de saldo projetado por conta e consolidada, a partir dos lançamentos pendentes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Projeção calculada com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Conta bancária não encontrada"),
+            @ApiResponse(responseCode = "409", description = "Horizonte inválido")
+    })
+    public ResponseEntity<CashFlowProjectionResponseDTO> getProjection(
+            @Parameter(description = "Quantidade de dias projetados, a partir de hoje")
+            @RequestParam(defaultValue = "90") int days,
+            @Parameter(description = "Saldo mínimo; o primeiro dia abaixo dele é sinalizado")
+            @RequestParam(required = false) BigDecimal threshold,
+            @Parameter(description = "ID da conta bancária (todas as ativas se omitido)")
+            @RequestParam(required = false) Long bankAccountId) {
+        log.info("GET /api/cash-flow/projection - Projecting {} days for bank account {}", days, bankAccountId);
+
+        return ResponseEntity.ok(cashFlowProjectionService.project(days, threshold, bankAccountId));
+    }
+}
@@ -1,6 +1,8 @@
 package com.challenge.JPay.controller;
 
+import com.challenge.JPay.dto.request.BulkIdsRequestDTO;
 import com.challenge.JPay.dto.request.CategoryRequestDTO;
+import com.challenge.JPay.dto.response.BulkOperationResponseDTO;
 import com.challenge.JPay.dto.response.CategoryResponseDTO;
 import com.challenge.JPay.dto.response.CategoryTotalsResponseDTO;
 import com.challenge.JPay.service.CategoryService;
@@ -20,6 +22,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -41,6 +44,21 @@ public class CategoryController {
         return ResponseEntity.ok(categories);
     }
 
+    @GetMapping(params = "fields")
+    @Operation(summary = "Pesquisar categorias com campos selecionados", description = "Consulta e retorna apenas os campos pedidos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Categorias retornadas com sucesso"),
+            @ApiResponse(responseCode = "409", description = "Campo desconhecido")
+    })
+    public ResponseEntity<Page<Map<String, Object>>> getAllCategoryFields(
+            @Parameter(description = "Campos separados por vírgula (ex.: id,name)", required = true)
+            @RequestParam String fields,
+            @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+        log.info("GET /api/categories?fields={} - Finding categories with pagination: {}", fields, pageable);
+
+        return ResponseEntity.ok(service.findAll(fields, pageable));
+    }
+
     @GetMapping("/most-used")
     @Operation(summary = "Pesquisar categoria mais utilizada ")
     @ApiResponse(responseCode = "200", description = "Categoria mais utilizada retornada com sucesso")
@@ -86,6 +104,23 @@ public class CategoryController {
         return ResponseEntity.ok(category);
     }
 
+    @GetMapping(value = "/{id}", params = "fields")
+    @Operation(summary = "Pesquisar categoria por ID com campos selecionados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Categoria retornada"),
+            @ApiResponse(responseCode = "404", description = "Categoria não encontrada"),
+            @ApiResponse(responseCode = "409", description = "Campo desconhecido")
+    })
+    public ResponseEntity<Map<String, Object>> getCategoryFieldsById(
+            @Parameter(description = "ID da categoria", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Campos separados por vírgula (ex.: id,name)", required = true)
+            @RequestParam String fields) {
+        log.info("GET /api/categories/{}?fields={} - Finding category by id", id, fields);
+
+        return ResponseEntity.ok(service.findById(id, fields));
+    }
+
     @GetMapping("/search")
     @Operation(summary = "Pesquisar categorias pelo nome", description = "Pesquisa as categorias ordenadas pelo nome e paganidas")
     @ApiResponses(value = {
@@ -153,6 +188,35 @@ public class CategoryController {
         return ResponseEntity.noContent().build();
     }
 
+    @PatchMapping("/bulk/deactivate")
+    @Operation(summary = "Desativar categorias em massa", description = "Desativa várias categorias de uma vez; nenhuma pode ter lançamentos pendentes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Categorias desativadas com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Categoria não encontrada"),
+            @ApiResponse(responseCode = "409", description = "Alguma categoria possui lançamentos pendentes")
+    })
+    public ResponseEntity<BulkOperationResponseDTO> deactivateCategories(
+            @Parameter(description = "IDs das categorias", required = true)
+            @Valid @RequestBody BulkIdsRequestDTO dto) {
+        log.info("PATCH /api/categories/bulk/deactivate - Deactivating {} categories", dto.ids().size());
+
+        return ResponseEntity.ok(service.setActive(dto.ids(), false));
+    }
+
+    @PatchMapping("/bulk/activate")
+    @Operation(summary = "Ativar categorias em massa", description = "Ativa várias categorias de uma vez")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Categorias ativadas com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Categoria não encontrada")
+    })
+    public ResponseEntity<BulkOperationResponseDTO> activateCategories(
+            @Parameter(description = "IDs das categorias", required = true)
+            @Valid @RequestBody BulkIdsRequestDTO dto) {
+        log.info("PATCH /api/categories/bulk/activate - Activating {} categories", dto.ids().size());
+
+        return ResponseEntity.ok(service.setActive(dto.ids(), true));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Deletar categoria")
     @ApiResponses(value = {
@@ -0,0 +1,71 @@
+package com.challenge.JPay.controller;
+
+import com.challenge.JPay.dto.response.ColumnarAggregateResponseDTO;
+import com.challenge.JPay.service.ColumnarAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/analytics/columnar")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jpay.columnar.enabled", havingValue = "true")
+@Tag(name = "Análises", description = "Consultas ao cubo pré-agregado de lançamentos")
+public class ColumnarAnalyticsController {
+
+    private final ColumnarAnalyticsService columnarAnalyticsService;
+
+    @GetMapping
+    @Operation(summary = "Agregar lançamentos em memória", description = "Varre a cópia colunar dos lançamentos em paralelo e retorna quantidade, soma, mínimo, máximo, média e histograma opcional de valores")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Agregação realizada com sucesso"),
+            @ApiResponse(responseCode = "409", description = "Armazenamento ainda em carga ou histograma inválido")
+    })
+    public ResponseEntity<ColumnarAggregateResponseDTO> aggregate(
+            @Parameter(description = "Vencimento a partir de")
+            @RequestParam(required = false) LocalDate expirationFrom,
+            @Parameter(description = "Vencimento até")
+            @RequestParam(required = false) LocalDate expirationTo,
+            @Parameter(description = "Pagamento a partir de")
+            @RequestParam(required = false) LocalDate paymentFrom,
+            @Parameter(description = "Pagamento até")
+            @RequestParam(required = false) LocalDate paymentTo,
+            @Parameter(description = "ID da categoria")
+            @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "ID da conta bancária")
+            @RequestParam(required = false) Long bankAccountId,
+            @Parameter(description = "Tipo do lançamento (ATIVO, PASSIVO)")
+            @RequestParam(required = false) String type,
+            @Parameter(description = "Status do lançamento (PENDING, PAID)")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Largura de cada faixa do histograma de valores")
+            @RequestParam(required = false) BigDecimal histogramWidth,
+            @Parameter(description = "Quantidade de faixas do histograma")
+            @RequestParam(defaultValue = "20") int histogramBuckets) {
+        log.info("GET /api/analytics/columnar - Aggregating columnar store");
+
+        return ResponseEntity.ok(columnarAnalyticsService.aggregate(expirationFrom, expirationTo, paymentFrom, paymentTo,
+                categoryId, bankAccountId, type, status, histogramWidth, histogramBuckets));
+    }
+
+    @PostMapping("/reload")
+    @Operation(summary = "Recarregar armazenamento colunar", description = "Descarta a cópia em memória e recarrega todos os lançamentos")
+    @ApiResponse(responseCode = "204", description = "Recarga concluída")
+    public ResponseEntity<Void> reload() {
+        log.info("POST /api/analytics/columnar/reload - Reloading columnar store");
+
+        columnarAnalyticsService.load();
+        return ResponseEntity.noContent().build();
+    }
+}
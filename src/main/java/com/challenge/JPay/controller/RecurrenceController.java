@@ -0,0 +1,103 @@
+package com.challenge.JPay.controller;
+
+import com.challenge.JPay.dto.request.RecurrenceRequestDTO;
+import com.challenge.JPay.dto.response.RecurrenceGenerationResponseDTO;
+import com.challenge.JPay.dto.response.RecurrenceResponseDTO;
+import com.challenge.JPay.service.RecurrenceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/recurrences")
+@RequiredArgsConstructor
+@Tag(name = "Recorrências", description = "Lançamentos recorrentes gerados a partir de um lançamento modelo")
+public class RecurrenceController {
+
+    private final RecurrenceService recurrenceService;
+
+    @GetMapping
+    @Operation(summary = "Listar recorrências com paginação")
+    @ApiResponse(responseCode = "200", description = "Recorrências recuperadas com sucesso")
+    public ResponseEntity<Page<RecurrenceResponseDTO>> getAllRecurrences(
+            @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        log.info("GET /api/recurrences - Finding recurrence rules with pagination: {}", pageable);
+
+        var recurrences = recurrenceService.findAll(pageable);
+        return ResponseEntity.ok(recurrences);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Buscar recorrência por ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recorrência encontrada"),
+            @ApiResponse(responseCode = "404", description = "Recorrência não encontrada")
+    })
+    public ResponseEntity<RecurrenceResponseDTO> getRecurrenceById(
+            @Parameter(description = "ID da recorrência", required = true)
+            @PathVariable Long id) {
+        log.info("GET /api/recurrences/{} - Finding recurrence rule by id", id);
+
+        var recurrence = recurrenceService.findById(id);
+        return ResponseEntity.ok(recurrence);
+    }
+
+    @PostMapping
+    @Operation(summary = "Criar recorrência", description = "Associa uma regra de recorrência a um lançamento modelo e gera as próximas ocorrências")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Recorrência criada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Dados da recorrência inválidos"),
+            @ApiResponse(responseCode = "404", description = "Lançamento modelo não encontrado"),
+            @ApiResponse(responseCode = "409", description = "Lançamento já possui recorrência")
+    })
+    public ResponseEntity<RecurrenceResponseDTO> createRecurrence(
+            @Parameter(description = "Dados da recorrência", required = true)
+            @Valid @RequestBody RecurrenceRequestDTO dto) {
+        log.info("POST /api/recurrences - Creating recurrence for template transaction: {}", dto.templateTransactionId());
+
+        var recurrence = recurrenceService.create(dto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(recurrence);
+    }
+
+    @PostMapping("/generate")
+    @Operation(summary = "Gerar ocorrências", description = "Materializa as ocorrências de todas as recorrências ativas até o horizonte informado")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ocorrências geradas com sucesso"),
+            @ApiResponse(responseCode = "409", description = "Horizonte inválido ou geração já em andamento")
+    })
+    public ResponseEntity<RecurrenceGenerationResponseDTO> generateOccurrences(
+            @Parameter(description = "Horizonte em dias a partir de hoje")
+            @RequestParam(defaultValue = "90") int horizonDays) {
+        log.info("POST /api/recurrences/generate - Generating occurrences for the next {} days", horizonDays);
+
+        var result = recurrenceService.generate(horizonDays);
+        return ResponseEntity.ok(result);
+    }
+
+    @PatchMapping("/{id}/deactivate")
+    @Operation(summary = "Desativar recorrência", description = "Interrompe a geração de novas ocorrências")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Recorrência desativada com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Recorrência não encontrada")
+    })
+    public ResponseEntity<Void> deactivateRecurrence(
+            @Parameter(description = "ID da recorrência", required = true)
+            @PathVariable Long id) {
+        log.info("PATCH /api/recurrences/{}/deactivate - Deactivating recurrence rule", id);
+
+        recurrenceService.deactivate(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.challenge.JPay.controller;
+
+import com.challenge.JPay.dto.response.StatementImportResponseDTO;
+import com.challenge.JPay.exception.BusinessException;
+import com.challenge.JPay.service.StatementImportService;
+import com.challenge.JPay.statement.StatementFormat;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/bank-accounts/{bankAccountId}/statements")
+@RequiredArgsConstructor
+@Tag(name = "Extratos", description = "Importação de extratos bancários e conciliação com os lançamentos pendentes")
+public class StatementController {
+
+    private final StatementImportService statementImportService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Importar extrato bancário",
+            description = "Concilia cada linha do extrato (CSV ou OFX) com um lançamento pendente da conta de mesmo valor e vencimento próximo e paga os conciliados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Extrato importado; o relatório lista as linhas conciliadas, sem par e inválidas"),
+            @ApiResponse(responseCode = "404", description = "Conta bancária não encontrada"),
+            @ApiResponse(responseCode = "409", description = "Formato não suportado, extrato vazio, conta inativa ou lançamentos alterados durante a importação"),
+            @ApiResponse(responseCode = "413", description = "Arquivo maior que o permitido")
+    })
+    public ResponseEntity<StatementImportResponseDTO> importStatement(
+            @Parameter(description = "ID da conta bancária", required = true)
+            @PathVariable Long bankAccountId,
+            @Parameter(description = "Arquivo do extrato", required = true)
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Formato do extrato (csv ou ofx); por padrão, a extensão do arquivo. O parâmetro format continua escolhendo o formato da resposta")
+            @RequestParam(required = false) String fileFormat,
+            @Parameter(description = "Diferença máxima, em dias, entre a data da linha e o vencimento do lançamento")
+            @RequestParam(required = false) Integer toleranceDays,
+            @Parameter(description = "Apenas conciliar, sem pagar os lançamentos")
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            @Parameter(description = "Codificação do arquivo")
+            @RequestParam(defaultValue = "UTF-8") String charset) throws IOException {
+        log.info("POST /api/bank-accounts/{}/statements - Importing statement {} ({} bytes, dry run: {})",
+                bankAccountId, file.getOriginalFilename(), file.getSize(), dryRun);
+
+        var report = statementImportService.importStatement(bankAccountId,
+                StatementFormat.of(fileFormat, file.getOriginalFilename()), file.getInputStream(), charset(charset),
+                toleranceDays, dryRun);
+        return ResponseEntity.ok(report);
+    }
+
+    private static Charset charset(String name) {
+        try {
+            return Charset.forName(name);
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            throw new BusinessException("Codificação não suportada: " + name);
+        }
+    }
+}
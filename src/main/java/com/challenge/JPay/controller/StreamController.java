@@ -0,0 +1,35 @@
+package com.challenge.JPay.controller;
+
+import com.challenge.JPay.service.StreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/stream")
+@RequiredArgsConstructor
+@Tag(name = "Stream", description = "Atualizações de saldos e lançamentos via Server-Sent Events")
+public class StreamController {
+
+    private final StreamService streamService;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Assinar atualizações", description = "Envia eventos 'balance', 'total-balance', 'transaction' e 'resync' conforme as alterações são confirmadas")
+    @ApiResponse(responseCode = "200", description = "Stream aberto com sucesso")
+    public void subscribe(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("GET /api/stream - Opening update stream");
+
+        streamService.subscribe(request, response);
+    }
+}
@@ -1,9 +1,21 @@
 package com.challenge.JPay.controller;
 
+import com.challenge.JPay.dto.request.BulkReassignRequestDTO;
+import com.challenge.JPay.dto.request.BulkRescheduleRequestDTO;
+import com.challenge.JPay.dto.request.InstallmentRequestDTO;
+import com.challenge.JPay.dto.request.InstallmentRescheduleRequestDTO;
 import com.challenge.JPay.dto.request.TransactionRequestDTO;
 import com.challenge.JPay.dto.request.PaymentRequestDTO;
+import com.challenge.JPay.dto.response.ArchiveReportDTO;
+import com.challenge.JPay.dto.response.AutoDebitCycleDTO;
+import com.challenge.JPay.dto.response.AutoDebitStatsDTO;
+import com.challenge.JPay.dto.response.BulkOperationResponseDTO;
+import com.challenge.JPay.dto.response.DuplicateFilterStatsDTO;
 import com.challenge.JPay.dto.response.TransactionResponseDTO;
 import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.service.DuplicateDetectionService;
+import com.challenge.JPay.service.AutoDebitService;
+import com.challenge.JPay.service.TransactionArchiveService;
 import com.challenge.JPay.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -23,6 +35,8 @@ import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -32,6 +46,9 @@ import java.time.LocalDate;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final TransactionArchiveService transactionArchiveService;
+    private final AutoDebitService autoDebitService;
 
     @GetMapping
     @Operation(summary = "Listar lançamentos com paginação")
@@ -47,6 +64,21 @@ public class TransactionController {
         return ResponseEntity.ok(transactions);
     }
 
+    @GetMapping(params = "fields")
+    @Operation(summary = "Listar lançamentos com campos selecionados", description = "Consulta e retorna apenas os campos pedidos; categoria e conta bancária só entram com join quando algum campo delas além do id é pedido")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lançamentos recuperados com sucesso"),
+            @ApiResponse(responseCode = "409", description = "Campo desconhecido")
+    })
+    public ResponseEntity<Page<Map<String, Object>>> getAllTransactionFields(
+            @Parameter(description = "Campos separados por vírgula (ex.: id,description,amount,category.name)", required = true)
+            @RequestParam String fields,
+            @PageableDefault(size = 20, sort = "expirationDate", direction = Sort.Direction.ASC) Pageable pageable) {
+        log.info("GET /api/transactions?fields={} - Finding transactions with pagination: {}", fields, pageable);
+
+        return ResponseEntity.ok(transactionService.findAll(fields, pageable));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar conta por ID")
     @ApiResponses(value = {
@@ -62,6 +94,23 @@ public class TransactionController {
         return ResponseEntity.ok(transaction);
     }
 
+    @GetMapping(value = "/{id}", params = "fields")
+    @Operation(summary = "Buscar lançamento por ID com campos selecionados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lançamento encontrado"),
+            @ApiResponse(responseCode = "404", description = "Lançamento não encontrado"),
+            @ApiResponse(responseCode = "409", description = "Campo desconhecido")
+    })
+    public ResponseEntity<Map<String, Object>> getTransactionFieldsById(
+            @Parameter(description = "ID do lançamento", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Campos separados por vírgula (ex.: id,description,amount,category.name)", required = true)
+            @RequestParam String fields) {
+        log.info("GET /api/transactions/{}?fields={} - Finding transaction by id", id, fields);
+
+        return ResponseEntity.ok(transactionService.findById(id, fields));
+    }
+
     @GetMapping("/status/{status}")
     @Operation(summary = "Listar lançamentos por status")
     @ApiResponses(value = {
@@ -147,12 +196,68 @@ public class TransactionController {
         return ResponseEntity.ok(total);
     }
 
+    @PostMapping("/archive")
+    @Operation(summary = "Arquivar lançamentos pagos antigos", description = "Move para o arquivo, em blocos, os lançamentos pagos com vencimento e pagamento há mais de N dias")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arquivamento concluído"),
+            @ApiResponse(responseCode = "409", description = "Idade inválida ou já existe um arquivamento em andamento")
+    })
+    public ResponseEntity<ArchiveReportDTO> archiveTransactions(
+            @Parameter(description = "Idade mínima em dias (padrão: jpay.archive.min-age-days)")
+            @RequestParam(required = false) Integer olderThanDays) {
+        log.info("POST /api/transactions/archive - Archiving paid transactions older than {} days", olderThanDays);
+
+        var report = transactionArchiveService.archive(olderThanDays);
+        return ResponseEntity.ok(report);
+    }
+
+    @GetMapping("/archive")
+    @Operation(summary = "Último arquivamento de lançamentos", description = "Relatório do último arquivamento, manual ou agendado")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Relatório recuperado com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Nenhum arquivamento foi executado")
+    })
+    public ResponseEntity<ArchiveReportDTO> getLastArchive() {
+        log.info("GET /api/transactions/archive - Finding last archive report");
+
+        var report = transactionArchiveService.findLastReport();
+        return ResponseEntity.ok(report);
+    }
+
+    @PostMapping("/auto-debit")
+    @Operation(summary = "Executar o débito automático", description = "Paga agora os lançamentos em débito automático vencidos até hoje, sem esperar o próximo ciclo agendado")
+    @ApiResponse(responseCode = "200", description = "Ciclo de débito automático concluído")
+    public ResponseEntity<AutoDebitCycleDTO> runAutoDebit() {
+        log.info("POST /api/transactions/auto-debit - Running auto-debit cycle");
+
+        return ResponseEntity.ok(autoDebitService.runCycle());
+    }
+
+    @GetMapping("/auto-debit")
+    @Operation(summary = "Estatísticas do débito automático", description = "Pagamentos, vazão, atraso e lançamentos vencidos ainda pendentes")
+    @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
+    public ResponseEntity<AutoDebitStatsDTO> getAutoDebitStats() {
+        log.info("GET /api/transactions/auto-debit - Reading auto-debit stats");
+
+        return ResponseEntity.ok(autoDebitService.stats());
+    }
+
+    @GetMapping("/duplicate-filter")
+    @Operation(summary = "Estatísticas da detecção de duplicados", description = "Tamanho do filtro, consultas evitadas e taxa de falsos positivos")
+    @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
+    public ResponseEntity<DuplicateFilterStatsDTO> getDuplicateFilterStats() {
+        log.info("GET /api/transactions/duplicate-filter - Reading duplicate filter stats");
+
+        return ResponseEntity.ok(duplicateDetectionService.stats());
+    }
+
     @PostMapping
     @Operation(summary = "Criar novo lançamento")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Lançamento criado com sucesso"),
             @ApiResponse(responseCode = "400", description = "Dados do lançamento inválidos"),
-            @ApiResponse(responseCode = "404", description = "Categoria ou conta bancária não encontrada")
+            @ApiResponse(responseCode = "404", description = "Categoria ou conta bancária não encontrada"),
+            @ApiResponse(responseCode = "409", description = "Lançamento duplicado (com jpay.duplicates.mode=REJECT)")
     })
     public ResponseEntity<TransactionResponseDTO> createTransaction(
             @Parameter(description = "Dados do lançamento", required = true)
@@ -212,6 +317,115 @@ public class TransactionController {
         return ResponseEntity.ok(paidTransaction);
     }
 
+    @PostMapping("/installments")
+    @Operation(summary = "Criar lançamento parcelado", description = "Divide o valor total em parcelas vinculadas, criadas em um único lote")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Parcelas criadas com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Dados do parcelamento inválidos"),
+            @ApiResponse(responseCode = "404", description = "Categoria ou conta bancária não encontrada")
+    })
+    public ResponseEntity<List<TransactionResponseDTO>> createInstallments(
+            @Parameter(description = "Dados do parcelamento", required = true)
+            @Valid @RequestBody InstallmentRequestDTO dto) {
+        log.info("POST /api/transactions/installments - Creating {} installments: {}", dto.installments(), dto.description());
+
+        var installments = transactionService.createInstallments(dto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(installments);
+    }
+
+    @GetMapping("/installments/{group}")
+    @Operation(summary = "Listar parcelas de um parcelamento")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Parcelas encontradas"),
+            @ApiResponse(responseCode = "404", description = "Parcelamento não encontrado")
+    })
+    public ResponseEntity<List<TransactionResponseDTO>> getInstallments(
+            @Parameter(description = "Identificador do parcelamento", required = true)
+            @PathVariable String group) {
+        log.info("GET /api/transactions/installments/{} - Finding installments", group);
+
+        return ResponseEntity.ok(transactionService.findInstallments(group));
+    }
+
+    @PostMapping("/installments/{group}/pay")
+    @Operation(summary = "Pagar parcelas restantes", description = "Paga todas as parcelas pendentes do parcelamento")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Parcelas pagas com sucesso"),
+            @ApiResponse(responseCode = "409", description = "O parcelamento não possui parcelas pendentes"),
+            @ApiResponse(responseCode = "404", description = "Parcelamento não encontrado")
+    })
+    public ResponseEntity<List<TransactionResponseDTO>> payRemainingInstallments(
+            @Parameter(description = "Identificador do parcelamento", required = true)
+            @PathVariable String group) {
+        log.info("POST /api/transactions/installments/{}/pay - Paying remaining installments", group);
+
+        return ResponseEntity.ok(transactionService.payRemainingInstallments(group));
+    }
+
+    @PatchMapping("/installments/{group}/reschedule")
+    @Operation(summary = "Reagendar parcelas restantes", description = "Desloca o vencimento de todas as parcelas pendentes do parcelamento")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Parcelas reagendadas com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Deslocamento inválido"),
+            @ApiResponse(responseCode = "409", description = "O parcelamento não possui parcelas pendentes"),
+            @ApiResponse(responseCode = "404", description = "Parcelamento não encontrado")
+    })
+    public ResponseEntity<List<TransactionResponseDTO>> rescheduleRemainingInstallments(
+            @Parameter(description = "Identificador do parcelamento", required = true)
+            @PathVariable String group,
+            @Parameter(description = "Deslocamento em dias e/ou meses", required = true)
+            @Valid @RequestBody InstallmentRescheduleRequestDTO dto) {
+        log.info("PATCH /api/transactions/installments/{}/reschedule - Rescheduling remaining installments", group);
+
+        return ResponseEntity.ok(transactionService.rescheduleRemainingInstallments(group, dto));
+    }
+
+    @DeleteMapping("/installments/{group}")
+    @Operation(summary = "Cancelar parcelas restantes", description = "Exclui todas as parcelas pendentes do parcelamento")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Parcelas canceladas com sucesso"),
+            @ApiResponse(responseCode = "409", description = "O parcelamento não possui parcelas pendentes"),
+            @ApiResponse(responseCode = "404", description = "Parcelamento não encontrado")
+    })
+    public ResponseEntity<Void> cancelRemainingInstallments(
+            @Parameter(description = "Identificador do parcelamento", required = true)
+            @PathVariable String group) {
+        log.info("DELETE /api/transactions/installments/{} - Cancelling remaining installments", group);
+
+        transactionService.cancelRemainingInstallments(group);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PatchMapping("/bulk/reassign")
+    @Operation(summary = "Mover lançamentos pendentes", description = "Move os lançamentos pendentes de uma categoria e/ou conta bancária para outra")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lançamentos movidos com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Categoria ou conta bancária de destino não encontrada"),
+            @ApiResponse(responseCode = "409", description = "Filtro vazio, destino inativo ou nenhum lançamento pendente encontrado")
+    })
+    public ResponseEntity<BulkOperationResponseDTO> reassignPendingTransactions(
+            @Parameter(description = "Origem e destino", required = true)
+            @Valid @RequestBody BulkReassignRequestDTO dto) {
+        log.info("PATCH /api/transactions/bulk/reassign - Reassigning pending transactions");
+
+        return ResponseEntity.ok(transactionService.reassignPending(dto));
+    }
+
+    @PatchMapping("/bulk/reschedule")
+    @Operation(summary = "Reagendar lançamentos pendentes", description = "Desloca o vencimento dos lançamentos pendentes que atendem o filtro")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lançamentos reagendados com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Deslocamento inválido"),
+            @ApiResponse(responseCode = "409", description = "Filtro vazio ou nenhum lançamento pendente encontrado")
+    })
+    public ResponseEntity<BulkOperationResponseDTO> reschedulePendingTransactions(
+            @Parameter(description = "Filtro e deslocamento em dias e/ou meses", required = true)
+            @Valid @RequestBody BulkRescheduleRequestDTO dto) {
+        log.info("PATCH /api/transactions/bulk/reschedule - Rescheduling pending transactions");
+
+        return ResponseEntity.ok(transactionService.reschedulePending(dto));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Excluir lançamento", description = "Excluir permanentemente um lançamento")
     @ApiResponses(value = {
@@ -0,0 +1,95 @@
+package com.challenge.JPay.controller;
+
+import com.challenge.JPay.dto.request.BatchTransferRequestDTO;
+import com.challenge.JPay.dto.request.TransferRequestDTO;
+import com.challenge.JPay.dto.response.TransferResponseDTO;
+import com.challenge.JPay.service.TransferService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/transfers")
+@RequiredArgsConstructor
+@Tag(name = "Transferências", description = "Transferências entre contas bancárias")
+public class TransferController {
+
+    private final TransferService transferService;
+
+    @GetMapping
+    @Operation(summary = "Listar transferências de uma conta bancária", description = "Transferências em que a conta é origem ou destino")
+    @ApiResponse(responseCode = "200", description = "Transferências recuperadas com sucesso")
+    public ResponseEntity<Page<TransferResponseDTO>> getTransfers(
+            @Parameter(description = "ID da conta bancária", required = true)
+            @RequestParam Long bankAccountId,
+            @PageableDefault(size = 20, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
+        log.info("GET /api/transfers - Finding transfers of bank account {} with pagination: {}", bankAccountId, pageable);
+
+        var transfers = transferService.findByBankAccount(bankAccountId, pageable);
+        return ResponseEntity.ok(transfers);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Buscar transferência por ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Transferência encontrada"),
+            @ApiResponse(responseCode = "404", description = "Transferência não encontrada")
+    })
+    public ResponseEntity<TransferResponseDTO> getTransferById(
+            @Parameter(description = "ID da transferência", required = true)
+            @PathVariable Long id) {
+        log.info("GET /api/transfers/{} - Finding transfer by id", id);
+
+        var transfer = transferService.findById(id);
+        return ResponseEntity.ok(transfer);
+    }
+
+    @PostMapping
+    @Operation(summary = "Transferir entre contas bancárias", description = "Debita a conta de origem e credita a de destino na mesma transação")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Transferência realizada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Dados da transferência inválidos"),
+            @ApiResponse(responseCode = "404", description = "Conta bancária não encontrada"),
+            @ApiResponse(responseCode = "409", description = "Saldo insuficiente, conta inativa ou origem igual ao destino")
+    })
+    public ResponseEntity<TransferResponseDTO> createTransfer(
+            @Parameter(description = "Dados da transferência", required = true)
+            @Valid @RequestBody TransferRequestDTO dto) {
+        log.info("POST /api/transfers - Transferring {} from bank account {} to {}", dto.amount(), dto.sourceBankAccountId(), dto.targetBankAccountId());
+
+        TransferResponseDTO transfer = transferService.transfer(dto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(transfer);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Transferir em lote", description = "Executa todas as transferências ou nenhuma, em ordem")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Transferências realizadas com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Dados das transferências inválidos"),
+            @ApiResponse(responseCode = "404", description = "Conta bancária não encontrada"),
+            @ApiResponse(responseCode = "409", description = "Alguma transferência não pode ser realizada")
+    })
+    public ResponseEntity<List<TransferResponseDTO>> createTransfers(
+            @Parameter(description = "Transferências do lote", required = true)
+            @Valid @RequestBody BatchTransferRequestDTO dto) {
+        log.info("POST /api/transfers/batch - Executing {} transfers", dto.transfers().size());
+
+        List<TransferResponseDTO> transfers = transferService.transferAll(dto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(transfers);
+    }
+}
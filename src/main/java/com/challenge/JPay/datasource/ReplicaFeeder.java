@@ -0,0 +1,81 @@
+package com.challenge.JPay.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Replicação simulada com {@code SCRIPT}/{@code RUNSCRIPT}, para rodar réplicas H2 localmente. A réplica fica
+ * suspensa enquanto é recriada e só volta ao rodízio depois da primeira carga bem-sucedida.
+ */
+@Slf4j
+public class ReplicaFeeder {
+
+    private static final long IDLE_TIMEOUT_MS = 5000;
+
+    private final ReplicaPool pool;
+    private final String scriptFile;
+
+    public ReplicaFeeder(ReplicaPool pool) {
+        this.pool = pool;
+        try {
+            Path file = Files.createTempFile("jpay-replica", ".sql");
+            file.toFile().deleteOnExit();
+            this.scriptFile = file.toAbsolutePath().toString().replace('\\', '/');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialFeed() {
+        feed();
+    }
+
+    @Scheduled(fixedDelayString = "${jpay.replicas.feed.interval-ms:5000}",
+            initialDelayString = "${jpay.replicas.feed.interval-ms:5000}")
+    public void scheduledFeed() {
+        feed();
+    }
+
+    public synchronized void feed() {
+        long start = System.currentTimeMillis();
+        long snapshotAt = System.nanoTime();
+        try (Connection connection = pool.primary().getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SCRIPT TO '" + scriptFile + "'");
+        } catch (SQLException e) {
+            log.error("Could not export the primary database for the replicas", e);
+            return;
+        }
+
+        for (ReplicaPool.Replica replica : pool.replicas()) {
+            replica.suspend();
+            try {
+                if (!replica.awaitIdle(IDLE_TIMEOUT_MS)) {
+                    log.warn("Replica {} still has connections in use after {} ms, refreshing anyway", replica.name(), IDLE_TIMEOUT_MS);
+                }
+                try (Connection connection = replica.dataSource().getConnection(); Statement statement = connection.createStatement()) {
+                    statement.execute("DROP ALL OBJECTS");
+                    statement.execute("RUNSCRIPT FROM '" + scriptFile + "'");
+                }
+                replica.synced(snapshotAt);
+                replica.resume();
+            } catch (SQLException e) {
+                log.error("Could not refresh replica {}, it stays out of the read rotation", replica.name(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        log.debug("Replicas refreshed from the primary in {} ms", System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,184 @@
+package com.challenge.JPay.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Sem réplica disponível, ou com a sessão na janela do {@link SessionWriteTracker}, a leitura cai no primário. */
+@Slf4j
+public class ReplicaPool implements DisposableBean {
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final SessionWriteTracker writeTracker;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong replicaReads = new AtomicLong();
+    private final AtomicLong primaryReads = new AtomicLong();
+
+    public ReplicaPool(HikariDataSource primary, List<Replica> replicas, SessionWriteTracker writeTracker) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.writeTracker = writeTracker;
+    }
+
+    public DataSource primary() {
+        return primary;
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    /** Réplicas sem instante de sincronização conhecido nunca contam como atualizadas. */
+    public boolean replicasSyncedAfter(long nanoTime) {
+        for (Replica replica : replicas) {
+            if (!replica.synced || replica.syncedAt - nanoTime <= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Marca a sessão corrente como tendo escrito. */
+    public DataSource writeDataSource() {
+        return new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                writeTracker.writeConnectionAcquired();
+                return super.getConnection();
+            }
+        };
+    }
+
+    public DataSource readOnlyDataSource() {
+        return new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return readConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return readConnection();
+            }
+        };
+    }
+
+    private Connection readConnection() throws SQLException {
+        if (!writeTracker.requiresPrimary()) {
+            int start = next.getAndIncrement();
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+                if (!replica.available()) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    if (!replica.available()) {
+                        connection.close();
+                        continue;
+                    }
+                    replicaReads.incrementAndGet();
+                    return connection;
+                } catch (SQLException e) {
+                    markHealthy(replica, false, e.getMessage());
+                }
+            }
+        }
+        primaryReads.incrementAndGet();
+        return primary.getConnection();
+    }
+
+    @Scheduled(fixedDelayString = "${jpay.replicas.health-check-interval-ms:5000}",
+            initialDelayString = "${jpay.replicas.health-check-interval-ms:5000}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                markHealthy(replica, connection.isValid(2), "validation failed");
+            } catch (SQLException e) {
+                markHealthy(replica, false, e.getMessage());
+            }
+        }
+        writeTracker.evictExpired();
+        log.debug("Read routing: {} reads on replicas, {} on primary", replicaReads.get(), primaryReads.get());
+    }
+
+    private void markHealthy(Replica replica, boolean healthy, String reason) {
+        if (replica.healthy != healthy) {
+            replica.healthy = healthy;
+            if (healthy) {
+                log.info("Replica {} is healthy again", replica.name);
+            } else {
+                log.warn("Replica {} marked as unavailable, reads fall back to the primary: {}", replica.name, reason);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.dataSource.close());
+        primary.close();
+    }
+
+    public static final class Replica {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile boolean suspended;
+        private volatile long syncedAt;
+        private volatile boolean synced;
+
+        public Replica(String name, HikariDataSource dataSource, boolean suspended) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.suspended = suspended;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        public void suspend() {
+            suspended = true;
+        }
+
+        public void resume() {
+            suspended = false;
+        }
+
+        public void synced(long nanoTime) {
+            syncedAt = nanoTime;
+            synced = true;
+        }
+
+        public boolean awaitIdle(long timeoutMs) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + timeoutMs;
+            while (dataSource.getHikariPoolMXBean() != null && dataSource.getHikariPoolMXBean().getActiveConnections() > 0) {
+                if (System.currentTimeMillis() > deadline) {
+                    return false;
+                }
+                Thread.sleep(10);
+            }
+            return true;
+        }
+
+        boolean available() {
+            return healthy && !suspended;
+        }
+    }
+}
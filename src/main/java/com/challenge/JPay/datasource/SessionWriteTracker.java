@@ -0,0 +1,84 @@
+package com.challenge.JPay.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A janela conta a partir do fim da requisição que escreveu, depois do commit. Requisições sem o header de sessão
+ * nunca forçam o primário.
+ */
+public class SessionWriteTracker extends OncePerRequestFilter {
+
+    private static final ThreadLocal<RequestState> CURRENT = new ThreadLocal<>();
+
+    private final String header;
+    private final long windowMs;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public SessionWriteTracker(String header, long windowMs) {
+        this.header = header;
+        this.windowMs = windowMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String session = request.getHeader(header);
+        if (session == null || session.isBlank() || windowMs <= 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        RequestState state = new RequestState(session);
+        CURRENT.set(state);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+            if (state.wrote) {
+                lastWrites.put(session, System.currentTimeMillis());
+            }
+        }
+    }
+
+    void writeConnectionAcquired() {
+        RequestState state = CURRENT.get();
+        if (state != null) {
+            state.wrote = true;
+        }
+    }
+
+    boolean requiresPrimary() {
+        RequestState state = CURRENT.get();
+        if (state == null) {
+            return false;
+        }
+        if (state.wrote) {
+            return true;
+        }
+        Long lastWrite = lastWrites.get(state.session);
+        return lastWrite != null && System.currentTimeMillis() - lastWrite < windowMs;
+    }
+
+    void evictExpired() {
+        long limit = System.currentTimeMillis() - windowMs;
+        lastWrites.values().removeIf(lastWrite -> lastWrite < limit);
+    }
+
+    private static final class RequestState {
+
+        private final String session;
+        private boolean wrote;
+
+        private RequestState(String session) {
+            this.session = session;
+        }
+    }
+}
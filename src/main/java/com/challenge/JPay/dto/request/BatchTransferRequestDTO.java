@@ -0,0 +1,14 @@
+package com.challenge.JPay.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchTransferRequestDTO(
+        @NotEmpty(message = "Informe ao menos uma transferência")
+        @Size(max = 1000, message = "Informe no máximo 1000 transferências por lote")
+        List<@NotNull(message = "A transferência é obrigatória") @Valid TransferRequestDTO> transfers
+) { }
@@ -0,0 +1,14 @@
+package com.challenge.JPay.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkIdsRequestDTO(
+        @NotEmpty(message = "Informe ao menos um id")
+        @Size(max = 1000, message = "Informe no máximo 1000 ids por requisição")
+        List<@NotNull(message = "O id é obrigatório") @Positive(message = "O id não atende os requisitos") Long> ids
+) { }
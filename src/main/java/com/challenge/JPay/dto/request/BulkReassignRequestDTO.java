@@ -0,0 +1,17 @@
+package com.challenge.JPay.dto.request;
+
+import jakarta.validation.constraints.Positive;
+
+public record BulkReassignRequestDTO(
+        @Positive(message = "O id da categoria de origem não atende os requisitos")
+        Long fromCategoryId,
+
+        @Positive(message = "O id da conta bancária de origem não atende os requisitos")
+        Long fromBankAccountId,
+
+        @Positive(message = "O id da categoria de destino não atende os requisitos")
+        Long toCategoryId,
+
+        @Positive(message = "O id da conta bancária de destino não atende os requisitos")
+        Long toBankAccountId
+) { }
@@ -0,0 +1,32 @@
+package com.challenge.JPay.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+
+import java.time.LocalDate;
+
+public record BulkRescheduleRequestDTO(
+        @Positive(message = "O id da categoria não atende os requisitos")
+        Long categoryId,
+
+        @Positive(message = "O id da conta bancária não atende os requisitos")
+        Long bankAccountId,
+
+        String type,
+
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        LocalDate startDate,
+
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        LocalDate endDate,
+
+        @Min(value = -3650, message = "O deslocamento em dias precisa estar entre -3650 e 3650")
+        @Max(value = 3650, message = "O deslocamento em dias precisa estar entre -3650 e 3650")
+        Integer days,
+
+        @Min(value = -120, message = "O deslocamento em meses precisa estar entre -120 e 120")
+        @Max(value = 120, message = "O deslocamento em meses precisa estar entre -120 e 120")
+        Integer months
+) { }
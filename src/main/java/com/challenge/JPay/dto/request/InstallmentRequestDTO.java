@@ -0,0 +1,46 @@
+package com.challenge.JPay.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record InstallmentRequestDTO(
+    @NotBlank(message = "A descrição é obrigatória")
+    @Size(max = 240, message = "A descrição não pode ter mais de 240 caracteres")
+    String description,
+
+    @NotNull
+    @DecimalMin(value = "0.01", message = "O valor precisa ser maior que 0")
+    @Digits(integer = 10, fraction = 2, message = "O valor só pode ter no máximo 10 digitos inteiros e 2 decimais")
+    BigDecimal amount,
+
+    @NotNull(message = "A data da primeira parcela é obrigatória")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    LocalDate expirationDate,
+
+    @NotNull(message = "A categoria é obrigatória")
+    @Positive(message = "O id da categoria não atende os requisitos")
+    Long categoryId,
+
+    @NotNull(message = "A conta bancária é obrigatória")
+    @Positive(message = "O id da conta bancária não atende os requisitos")
+    Long bankAccountId,
+
+    @NotEmpty(message = "O tipo da transação é obrigatório")
+    String type,
+
+    @NotNull(message = "A quantidade de parcelas é obrigatória")
+    @Min(value = 2, message = "A quantidade de parcelas precisa ser maior que 1")
+    @Max(value = 360, message = "A quantidade de parcelas não pode ser maior que 360")
+    Integer installments,
+
+    String frequency,
+
+    @Min(value = 1, message = "O intervalo precisa ser maior que 0")
+    @Max(value = 52, message = "O intervalo não pode ser maior que 52")
+    Integer interval,
+
+    Boolean autoPay
+) { }
@@ -0,0 +1,14 @@
+package com.challenge.JPay.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+public record InstallmentRescheduleRequestDTO(
+        @Min(value = -3650, message = "O deslocamento em dias precisa estar entre -3650 e 3650")
+        @Max(value = 3650, message = "O deslocamento em dias precisa estar entre -3650 e 3650")
+        Integer days,
+
+        @Min(value = -120, message = "O deslocamento em meses precisa estar entre -120 e 120")
+        @Max(value = 120, message = "O deslocamento em meses precisa estar entre -120 e 120")
+        Integer months
+) { }
@@ -0,0 +1,29 @@
+package com.challenge.JPay.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.*;
+
+import java.time.LocalDate;
+
+public record RecurrenceRequestDTO(
+        @NotNull(message = "O lançamento modelo é obrigatório")
+        @Positive(message = "O id do lançamento modelo não atende os requisitos")
+        Long templateTransactionId,
+
+        @NotEmpty(message = "A frequência é obrigatória")
+        String frequency,
+
+        @Min(value = 1, message = "O intervalo precisa ser maior que 0")
+        @Max(value = 52, message = "O intervalo não pode ser maior que 52")
+        Integer interval,
+
+        @Min(value = 1, message = "O dia do mês precisa estar entre 1 e 31")
+        @Max(value = 31, message = "O dia do mês precisa estar entre 1 e 31")
+        Integer dayOfMonth,
+
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        LocalDate endDate,
+
+        @Min(value = 2, message = "A quantidade de ocorrências precisa ser maior que 1")
+        Integer maxOccurrences
+) { }
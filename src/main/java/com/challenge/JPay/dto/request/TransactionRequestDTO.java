@@ -30,5 +30,7 @@ public record TransactionRequestDTO(
 
     @NotEmpty(message = "O tipo da transação é obrigatório")
     String type,
-    String status
+    String status,
+
+    Boolean autoPay
 ) { }
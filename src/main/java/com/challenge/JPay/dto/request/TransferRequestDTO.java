@@ -0,0 +1,29 @@
+package com.challenge.JPay.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+@Builder
+public record TransferRequestDTO(
+        @NotNull(message = "A conta bancária de origem é obrigatória")
+        @Positive(message = "O id da conta bancária de origem não atende os requisitos")
+        Long sourceBankAccountId,
+
+        @NotNull(message = "A conta bancária de destino é obrigatória")
+        @Positive(message = "O id da conta bancária de destino não atende os requisitos")
+        Long targetBankAccountId,
+
+        @NotNull(message = "O valor é obrigatório")
+        @DecimalMin(value = "0.01", message = "O valor precisa ser maior que 0")
+        @Digits(integer = 10, fraction = 2, message = "O valor só pode ter no máximo 10 digitos inteiros e 2 decimais")
+        BigDecimal amount,
+
+        @Size(max = 255, message = "A descrição não pode ter mais de 255 caracteres")
+        String description
+) { }
@@ -0,0 +1,18 @@
+package com.challenge.JPay.dto.response;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+@Builder
+public record AccountDriftDTO(
+        Long bankAccountId,
+        BigDecimal openingBalance,
+        BigDecimal storedBalance,
+        BigDecimal expectedBalance,
+        BigDecimal drift,
+        long paidTransactions,
+        long transfers,
+        BigDecimal netTransfers,
+        boolean corrected
+) { }
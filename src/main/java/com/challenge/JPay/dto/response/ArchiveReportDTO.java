@@ -0,0 +1,20 @@
+package com.challenge.JPay.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Builder
+public record ArchiveReportDTO(
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime startedAt,
+
+        long elapsedMs,
+        int olderThanDays,
+        LocalDate cutoff,
+        int chunkSize,
+        int chunks,
+        long archived
+) { }
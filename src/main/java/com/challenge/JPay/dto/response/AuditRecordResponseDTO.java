@@ -0,0 +1,25 @@
+package com.challenge.JPay.dto.response;
+
+import com.challenge.JPay.model.enums.AuditRecordType;
+import com.challenge.JPay.model.enums.Status;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Builder
+public record AuditRecordResponseDTO(
+        long sequence,
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSS")
+        LocalDateTime timestamp,
+
+        AuditRecordType type,
+        Long transactionId,
+        Long bankAccountId,
+        BigDecimal oldValue,
+        BigDecimal newValue,
+        Status oldStatus,
+        Status newStatus
+) { }
@@ -0,0 +1,10 @@
+package com.challenge.JPay.dto.response;
+
+import lombok.Builder;
+
+@Builder
+public record AuditVerificationResponseDTO(
+        long records,
+        boolean valid,
+        Long brokenAtSequence
+) { }
@@ -0,0 +1,17 @@
+package com.challenge.JPay.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+@Builder
+public record AuditWriterStatusDTO(
+        boolean healthy,
+        int pendingRecords,
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime failingSince,
+
+        String lastError
+) { }
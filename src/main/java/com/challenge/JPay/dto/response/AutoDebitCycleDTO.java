@@ -0,0 +1,33 @@
+package com.challenge.JPay.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Builder
+public record AutoDebitCycleDTO(
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime startedAt,
+
+        long elapsedMs,
+
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        LocalDate dueDate,
+
+        int batchSize,
+        int batches,
+        long candidates,
+        long paid,
+        long skippedLocked,
+        long insufficientBalance,
+        long inactiveAccount,
+        int failedBatches,
+        BigDecimal debited,
+        BigDecimal credited,
+        double paidPerSecond,
+        double averageLagDays,
+        long maxLagDays
+) { }
@@ -0,0 +1,29 @@
+package com.challenge.JPay.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+@Builder
+public record AutoDebitStatsDTO(
+        boolean enabled,
+        long intervalMs,
+        int batchSize,
+        long cycles,
+        long paid,
+        long insufficientBalance,
+        long inactiveAccount,
+        long failedBatches,
+        long backlog,
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        LocalDate oldestDueDate,
+
+        long backlogLagDays,
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        AutoDebitCycleDTO lastCycle
+) { }
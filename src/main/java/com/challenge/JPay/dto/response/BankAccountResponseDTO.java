@@ -13,6 +13,10 @@ public record BankAccountResponseDTO(
         String bank,
         BigDecimal currentBalance,
         Boolean active,
+        Long pendingCount,
+        BigDecimal pendingPayable,
+        BigDecimal pendingReceivable,
+        BigDecimal projectedBalance,
 
         @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
         LocalDateTime createdAt,
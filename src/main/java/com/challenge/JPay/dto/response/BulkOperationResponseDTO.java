@@ -0,0 +1,9 @@
+package com.challenge.JPay.dto.response;
+
+import lombok.Builder;
+
+@Builder
+public record BulkOperationResponseDTO(
+        int matched,
+        int updated
+) { }
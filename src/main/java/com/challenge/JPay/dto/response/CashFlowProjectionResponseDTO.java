@@ -0,0 +1,20 @@
+package com.challenge.JPay.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Builder
+public record CashFlowProjectionResponseDTO(
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        LocalDate startDate,
+
+        int days,
+        BigDecimal threshold,
+        CashFlowSeriesDTO consolidated,
+        List<CashFlowSeriesDTO> accounts,
+        long elapsedMs
+) { }
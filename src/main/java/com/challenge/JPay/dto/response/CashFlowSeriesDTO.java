@@ -0,0 +1,27 @@
+package com.challenge.JPay.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CashFlowSeriesDTO(
+        Long bankAccountId,
+        String name,
+        BigDecimal currentBalance,
+        BigDecimal finalBalance,
+        BigDecimal minimumBalance,
+
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        LocalDate minimumBalanceDate,
+
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        LocalDate firstDayBelowThreshold,
+
+        List<BigDecimal> balances
+) { }
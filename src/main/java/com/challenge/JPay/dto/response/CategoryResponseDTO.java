@@ -3,6 +3,7 @@ package com.challenge.JPay.dto.response;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.Builder;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Builder
@@ -11,6 +12,9 @@ public record CategoryResponseDTO(
         String name,
         String description,
         Boolean active,
+        Long pendingCount,
+        BigDecimal pendingPayable,
+        BigDecimal pendingReceivable,
 
         @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
         LocalDateTime createdAt,
@@ -0,0 +1,23 @@
+package com.challenge.JPay.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ColumnarAggregateResponseDTO(
+        long count,
+        BigDecimal total,
+        BigDecimal min,
+        BigDecimal max,
+        BigDecimal average,
+        List<HistogramBucket> histogram,
+        long storedRows,
+        long elapsedMicros
+) {
+
+    public record HistogramBucket(BigDecimal from, BigDecimal to, long count) { }
+}
@@ -0,0 +1,24 @@
+package com.challenge.JPay.dto.response;
+
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.model.enums.TransactionType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CubeCellResponseDTO(
+        @JsonFormat(pattern = "yyyy-MM")
+        YearMonth month,
+
+        Long categoryId,
+        Long bankAccountId,
+        TransactionType type,
+        Status status,
+        BigDecimal total,
+        long count
+) { }
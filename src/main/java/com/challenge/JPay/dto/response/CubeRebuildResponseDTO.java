@@ -0,0 +1,16 @@
+package com.challenge.JPay.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+@Builder
+public record CubeRebuildResponseDTO(
+        int cells,
+        long transactions,
+        long elapsedMs,
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime rebuiltAt
+) { }
@@ -0,0 +1,30 @@
+package com.challenge.JPay.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+@Builder
+public record DuplicateFilterStatsDTO(
+        String mode,
+        String tenant,
+        boolean ready,
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime rebuiltAt,
+
+        long rebuildMs,
+        long loadedRows,
+        long capacity,
+        long insertions,
+        long bits,
+        int hashFunctions,
+        double expectedFalsePositiveRate,
+        long checks,
+        long lookupsAvoided,
+        long exactLookups,
+        long duplicates,
+        long falsePositives,
+        double falsePositiveRate
+) { }
@@ -0,0 +1,24 @@
+package com.challenge.JPay.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Builder
+public record ReconciliationReportDTO(
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime startedAt,
+
+        long elapsedMs,
+        int parallelism,
+        boolean autoCorrect,
+        int accountsChecked,
+        long transactionsScanned,
+        int driftedAccounts,
+        int correctedAccounts,
+        BigDecimal totalDrift,
+        List<AccountDriftDTO> drifts
+) { }
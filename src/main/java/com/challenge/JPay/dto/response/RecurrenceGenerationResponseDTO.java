@@ -0,0 +1,16 @@
+package com.challenge.JPay.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+@Builder
+public record RecurrenceGenerationResponseDTO(
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        LocalDate horizon,
+
+        int rulesProcessed,
+        int occurrencesCreated,
+        long elapsedMs
+) { }
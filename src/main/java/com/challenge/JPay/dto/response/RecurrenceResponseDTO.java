@@ -0,0 +1,32 @@
+package com.challenge.JPay.dto.response;
+
+import com.challenge.JPay.model.enums.RecurrenceFrequency;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Builder
+public record RecurrenceResponseDTO(
+        Long id,
+        Long templateTransactionId,
+        String description,
+        RecurrenceFrequency frequency,
+        Integer interval,
+        Integer dayOfMonth,
+
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        LocalDate endDate,
+
+        Integer maxOccurrences,
+        Integer generatedCount,
+
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        LocalDate generatedUntil,
+
+        Boolean active,
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime createdAt
+) { }
@@ -0,0 +1,23 @@
+package com.challenge.JPay.dto.response;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Builder
+public record StatementImportResponseDTO(
+        Long bankAccountId,
+        String format,
+        boolean dryRun,
+        int toleranceDays,
+        int lines,
+        int matched,
+        int unmatched,
+        int invalid,
+        BigDecimal balanceChange,
+        long elapsedMs,
+        List<StatementLineDTO> matches,
+        List<StatementLineDTO> unmatchedLines,
+        List<StatementLineDTO> invalidLines
+) { }
@@ -0,0 +1,16 @@
+package com.challenge.JPay.dto.response;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Builder
+public record StatementLineDTO(
+        int line,
+        LocalDate date,
+        BigDecimal amount,
+        String description,
+        Long transactionId,
+        String reason
+) { }
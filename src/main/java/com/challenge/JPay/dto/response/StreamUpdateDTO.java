@@ -0,0 +1,33 @@
+package com.challenge.JPay.dto.response;
+
+import com.challenge.JPay.model.enums.LifecycleEventType;
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.model.enums.TransactionType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record StreamUpdateDTO(
+        LifecycleEventType eventType,
+        Long transactionId,
+        Long bankAccountId,
+        Long categoryId,
+        BigDecimal balance,
+        BigDecimal totalBalance,
+        BigDecimal amount,
+        TransactionType type,
+        Status status,
+
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        LocalDate expirationDate,
+
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        LocalDate paymentDate,
+
+        Boolean deleted
+) { }
@@ -3,6 +3,7 @@ package com.challenge.JPay.dto.response;
 import com.challenge.JPay.model.enums.Status;
 import com.challenge.JPay.model.enums.TransactionType;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 
 import java.math.BigDecimal;
@@ -24,9 +25,19 @@ public record TransactionResponseDTO(
         TransactionType type,
         Status status,
         boolean isExpired,
+        boolean autoPay,
         CategoryResponseDTO category,
         BankAccountResponseDTO bankAccount,
 
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        String installmentGroup,
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Integer installmentNumber,
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Integer installmentCount,
+
         @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
         LocalDateTime createdAt,
 
@@ -0,0 +1,20 @@
+package com.challenge.JPay.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Builder
+public record TransferResponseDTO(
+        Long id,
+        Long sourceBankAccountId,
+        Long targetBankAccountId,
+        BigDecimal amount,
+        String description,
+        String batchId,
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime createdAt
+) { }
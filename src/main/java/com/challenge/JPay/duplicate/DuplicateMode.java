@@ -0,0 +1,8 @@
+package com.challenge.JPay.duplicate;
+
+/** {@code WARN} só registra em log; {@code REJECT} recusa com 409. */
+public enum DuplicateMode {
+    OFF,
+    WARN,
+    REJECT
+}
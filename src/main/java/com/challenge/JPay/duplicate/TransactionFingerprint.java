@@ -0,0 +1,54 @@
+package com.challenge.JPay.duplicate;
+
+import com.challenge.JPay.model.Transaction;
+import com.challenge.JPay.util.MoneyUtils;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/** A descrição é comparada normalizada: sem acentos, caixa ou espaços repetidos. */
+public record TransactionFingerprint(String description, long cents, LocalDate expirationDate, long bankAccountId) {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    public static TransactionFingerprint of(String description, BigDecimal amount, LocalDate expirationDate, long bankAccountId) {
+        return new TransactionFingerprint(normalize(description), MoneyUtils.toCents(amount), expirationDate, bankAccountId);
+    }
+
+    public static TransactionFingerprint of(Transaction transaction) {
+        return of(transaction.getDescription(), transaction.getAmount(), transaction.getExpirationDate(),
+                transaction.getBankAccount().getId());
+    }
+
+    public static String normalize(String description) {
+        if (description == null) {
+            return "";
+        }
+        String plain = MARKS.matcher(Normalizer.normalize(description, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(plain.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    public BigDecimal amount() {
+        return MoneyUtils.fromCents(cents);
+    }
+
+    public long hash() {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < description.length(); i++) {
+            hash = (hash ^ description.charAt(i)) * 0x100000001b3L;
+        }
+        hash = (hash ^ cents) * 0x100000001b3L;
+        hash = (hash ^ expirationDate.toEpochDay()) * 0x100000001b3L;
+        hash = (hash ^ bankAccountId) * 0x100000001b3L;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,157 @@
+package com.challenge.JPay.event;
+
+import com.challenge.JPay.interfaces.LifecycleEventListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ring buffer com um produtor (o {@link OutboxDispatcher}) e um consumidor por {@link LifecycleEventListener}.
+ * A sequência de um consumidor só avança depois que o lote foi processado, inclusive quando ele precisou ser
+ * reenviado; é ela que o dispatcher usa para saber o que já pode ser confirmado no outbox.
+ */
+@Slf4j
+@Component
+public class EventBus implements SmartLifecycle {
+
+    static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 2048;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MAX_RETRY_PARK_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final LifecycleEvent[] ring;
+    private final int mask;
+    private final int maxBatch;
+    private final ObjectProvider<LifecycleEventListener> listeners;
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final List<Consumer> consumers = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+
+    public EventBus(@Value("${jpay.events.ring-size:16384}") int ringSize,
+                    @Value("${jpay.events.consumer-batch-size:512}") int maxBatch,
+                    ObjectProvider<LifecycleEventListener> listeners) {
+        if (Integer.bitCount(ringSize) != 1) {
+            throw new IllegalArgumentException("jpay.events.ring-size must be a power of two");
+        }
+        this.ring = new LifecycleEvent[ringSize];
+        this.mask = ringSize - 1;
+        this.maxBatch = maxBatch;
+        this.listeners = listeners;
+    }
+
+    public void publish(List<LifecycleEvent> events) {
+        int published = 0;
+        while (published < events.size()) {
+            long next = cursor.get() + 1;
+            int chunk = Math.min(events.size() - published, ring.length);
+            long last = next + chunk - 1;
+            while (running && last - minimumConsumerSequence() > ring.length) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            for (long sequence = next; sequence <= last; sequence++) {
+                ring[(int) sequence & mask] = events.get(published++);
+            }
+            cursor.set(last);
+            consumers.forEach(consumer -> LockSupport.unpark(consumer.thread));
+        }
+    }
+
+    public long publishedSequence() {
+        return cursor.get();
+    }
+
+    public long minimumConsumerSequence() {
+        long minimum = cursor.get();
+        for (Consumer consumer : consumers) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return minimum;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listeners.orderedStream().forEach(listener -> {
+            Consumer consumer = new Consumer(listener);
+            consumer.sequence.set(cursor.get());
+            consumer.thread = new Thread(consumer, "event-bus-" + listener.getClass().getSimpleName());
+            consumer.thread.setDaemon(true);
+            consumers.add(consumer);
+            consumer.thread.start();
+        });
+        log.info("Event bus started with ring size {} and {} consumers", ring.length, consumers.size());
+    }
+
+    @Override
+    public void stop() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (minimumConsumerSequence() < cursor.get() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        running = false;
+        consumers.forEach(consumer -> LockSupport.unpark(consumer.thread));
+        consumers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private final class Consumer implements Runnable {
+
+        private final LifecycleEventListener listener;
+        private final AtomicLong sequence = new AtomicLong(-1);
+        private volatile Thread thread;
+
+        private Consumer(LifecycleEventListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void run() {
+            int failures = 0;
+            while (running) {
+                long next = sequence.get() + 1;
+                long available = cursor.get();
+                if (available < next) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    continue;
+                }
+
+                long end = Math.min(available, next + maxBatch - 1);
+                List<LifecycleEvent> batch = new ArrayList<>((int) (end - next + 1));
+                for (long s = next; s <= end; s++) {
+                    batch.add(ring[(int) s & mask]);
+                }
+
+                try {
+                    listener.onEvents(Collections.unmodifiableList(batch));
+                    sequence.set(end);
+                    failures = 0;
+                } catch (RuntimeException e) {
+                    failures++;
+                    log.error("Listener {} failed to process events {} to {} (attempt {}), retrying",
+                            listener.getClass().getSimpleName(), batch.get(0).id(), batch.get(batch.size() - 1).id(), failures, e);
+                    LockSupport.parkNanos(Math.min(IDLE_PARK_NANOS << Math.min(failures, 12), MAX_RETRY_PARK_NANOS));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.challenge.JPay.event;
+
+import com.challenge.JPay.model.OutboxEvent;
+import com.challenge.JPay.model.TransactionState;
+import com.challenge.JPay.model.enums.LifecycleEventType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record LifecycleEvent(
+        long id,
+        LifecycleEventType type,
+        Long transactionId,
+        Long bankAccountId,
+        TransactionState before,
+        TransactionState after,
+        BigDecimal previousBalance,
+        BigDecimal balance,
+        LocalDateTime occurredAt
+) {
+
+    public static LifecycleEvent from(OutboxEvent event) {
+        return new LifecycleEvent(
+                event.getId(),
+                event.getEventType(),
+                event.getTransactionId(),
+                event.getBankAccountId(),
+                event.getBefore(),
+                event.getAfter(),
+                event.getPreviousBalance(),
+                event.getBalance(),
+                event.getCreatedAt());
+    }
+
+    public boolean isTransactionEvent() {
+        return type != LifecycleEventType.BALANCE_CHANGED;
+    }
+}
@@ -0,0 +1,190 @@
+package com.challenge.JPay.event;
+
+import com.challenge.JPay.model.OutboxEvent;
+import com.challenge.JPay.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Um evento só é marcado como despachado depois que todos os consumidores processaram seu lote (entrega
+ * at-least-once). As confirmações podem sair fora da ordem dos ids, por isso a leitura usa a lista de não
+ * despachados e não um cursor por id.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher implements SmartLifecycle {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EventBus eventBus;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final long retentionMinutes;
+    private final Semaphore signal = new Semaphore(0);
+    private final Set<Long> inFlight = new HashSet<>();
+    private final Deque<PublishedBatch> unacknowledged = new ArrayDeque<>();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            EventBus eventBus,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${jpay.events.dispatch-batch-size:1000}") int batchSize,
+                            @Value("${jpay.events.poll-interval-ms:250}") long pollIntervalMs,
+                            @Value("${jpay.events.retention-minutes:60}") long retentionMinutes) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventBus = eventBus;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.retentionMinutes = retentionMinutes;
+    }
+
+    public void signal() {
+        if (signal.availablePermits() == 0) {
+            signal.release();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jpay.events.purge-interval-ms:60000}")
+    public void purgeDispatched() {
+        Integer purged = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteDispatchedBefore(LocalDateTime.now().minusMinutes(retentionMinutes)));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} dispatched outbox events", purged);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::dispatchLoop, "outbox-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        signal.release();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (eventBus.minimumConsumerSequence() < eventBus.publishedSequence() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        try {
+            acknowledge();
+        } catch (RuntimeException e) {
+            log.warn("Could not mark the last outbox events as dispatched, they will be dispatched again on startup", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return EventBus.PHASE + 1;
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                int dispatched = dispatchBatch();
+                if (dispatched < batchSize) {
+                    signal.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                    signal.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to dispatch outbox events", e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    private int dispatchBatch() {
+        acknowledge();
+
+        List<OutboxEvent> events = transactionTemplate.execute(status -> {
+            List<Long> ids = outboxEventRepository.findUndispatchedIds(PageRequest.of(0, inFlight.size() + batchSize)).stream()
+                    .filter(id -> !inFlight.contains(id))
+                    .limit(batchSize)
+                    .toList();
+            if (ids.isEmpty()) {
+                return List.<OutboxEvent>of();
+            }
+            List<OutboxEvent> loaded = new ArrayList<>(outboxEventRepository.findAllById(ids));
+            loaded.sort(Comparator.comparing(OutboxEvent::getId));
+            return loaded;
+        });
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+
+        eventBus.publish(events.stream().map(LifecycleEvent::from).toList());
+        List<Long> ids = events.stream().map(OutboxEvent::getId).toList();
+        inFlight.addAll(ids);
+        unacknowledged.add(new PublishedBatch(eventBus.publishedSequence(), ids));
+        return events.size();
+    }
+
+    private void acknowledge() {
+        long processed = eventBus.minimumConsumerSequence();
+        List<PublishedBatch> batches = new ArrayList<>();
+        for (PublishedBatch batch : unacknowledged) {
+            if (batch.lastSequence() > processed) {
+                break;
+            }
+            batches.add(batch);
+        }
+        if (batches.isEmpty()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> batches.forEach(batch -> outboxEventRepository.markDispatched(batch.ids())));
+        batches.forEach(batch -> {
+            unacknowledged.poll();
+            batch.ids().forEach(inFlight::remove);
+        });
+    }
+
+    private record PublishedBatch(long lastSequence, List<Long> ids) { }
+
+    private void sleepQuietly() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(pollIntervalMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.challenge.JPay.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(long retryAfterSeconds) {
+        super(String.format("Serviço sobrecarregado, tente novamente em %d s", retryAfterSeconds));
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,7 @@
+package com.challenge.JPay.exception;
+
+public class TenantNotFoundException extends ResourceNotFoundException {
+    public TenantNotFoundException(String tenant) {
+        super(String.format("Tenant não configurado (X-Tenant-Id: %s)", tenant));
+    }
+}
@@ -0,0 +1,13 @@
+package com.challenge.JPay.interfaces;
+
+import com.challenge.JPay.event.LifecycleEvent;
+
+import java.util.List;
+
+public interface LifecycleEventListener {
+
+    /**
+     * Um lote que lança exceção é reenviado: implementações devem descartar repetições pelo {@link LifecycleEvent#id()}.
+     */
+    void onEvents(List<LifecycleEvent> events);
+}
@@ -0,0 +1,80 @@
+package com.challenge.JPay.model;
+
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.model.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/** Mantém o id do lançamento original; as leituras passam por {@link TransactionView}. */
+@Entity
+@Table(name = "accounts_payables_archive", indexes = {
+        @Index(name = "idx_accounts_payables_archive_expiration", columnList = "expiration_date"),
+        @Index(name = "idx_accounts_payables_archive_installment_group", columnList = "installment_group")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(of = "id")
+public class ArchivedTransaction {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 255)
+    private String description;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "expiration_date", nullable = false)
+    private LocalDate expirationDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private Status status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType transactionType;
+
+    @Column(name = "payment_date")
+    private LocalDate paymentDate;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "bank_account_id", nullable = false)
+    private BankAccount bankAccount;
+
+    @Column(name = "generation_key", unique = true, length = 64)
+    private String generationKey;
+
+    @Column(name = "installment_group", length = 36)
+    private String installmentGroup;
+
+    @Column(name = "installment_number")
+    private Integer installmentNumber;
+
+    @Column(name = "installment_count")
+    private Integer installmentCount;
+
+    @Column(name = "auto_pay", nullable = false)
+    private Boolean autoPay;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
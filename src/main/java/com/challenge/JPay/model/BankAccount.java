@@ -34,10 +34,19 @@ public class BankAccount {
     @Column(name = "current_balance", nullable = false, precision = 12, scale = 2)
     private BigDecimal currentBalance = BigDecimal.ZERO;
 
+    /** Saldo na abertura da conta, base da reconciliação (saldo esperado = abertura + pagamentos + transferências). */
+    @Builder.Default
+    @Column(name = "opening_balance", nullable = false, precision = 12, scale = 2, updatable = false)
+    private BigDecimal openingBalance = BigDecimal.ZERO;
+
     @Builder.Default
     @Column(nullable = false)
     private Boolean active = true;
 
+    @Embedded
+    @Builder.Default
+    private PendingExposure pendingExposure = PendingExposure.ZERO;
+
     @OneToMany(mappedBy = "bankAccount", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @Builder.Default
     private List<Transaction> transactions = new ArrayList<>();
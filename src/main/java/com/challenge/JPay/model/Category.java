@@ -33,6 +33,10 @@ public class Category {
     @Column(nullable = false)
     private Boolean active = true;
 
+    @Embedded
+    @Builder.Default
+    private PendingExposure pendingExposure = PendingExposure.ZERO;
+
     @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @Builder.Default
     private List<Transaction> transactions = new ArrayList<>();
@@ -0,0 +1,72 @@
+package com.challenge.JPay.model;
+
+import com.challenge.JPay.model.enums.LifecycleEventType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_events", indexes = @Index(name = "idx_outbox_events_dispatched", columnList = "dispatched, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(of = "id")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 40)
+    private LifecycleEventType eventType;
+
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @Column(name = "bank_account_id")
+    private Long bankAccountId;
+
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "bankAccountId", column = @Column(name = "before_bank_account_id")),
+            @AttributeOverride(name = "categoryId", column = @Column(name = "before_category_id")),
+            @AttributeOverride(name = "transactionType", column = @Column(name = "before_transaction_type", length = 30)),
+            @AttributeOverride(name = "status", column = @Column(name = "before_status", length = 30)),
+            @AttributeOverride(name = "amount", column = @Column(name = "before_amount", precision = 12, scale = 2)),
+            @AttributeOverride(name = "expirationDate", column = @Column(name = "before_expiration_date")),
+            @AttributeOverride(name = "paymentDate", column = @Column(name = "before_payment_date"))
+    })
+    private TransactionState before;
+
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "bankAccountId", column = @Column(name = "after_bank_account_id")),
+            @AttributeOverride(name = "categoryId", column = @Column(name = "after_category_id")),
+            @AttributeOverride(name = "transactionType", column = @Column(name = "after_transaction_type", length = 30)),
+            @AttributeOverride(name = "status", column = @Column(name = "after_status", length = 30)),
+            @AttributeOverride(name = "amount", column = @Column(name = "after_amount", precision = 12, scale = 2)),
+            @AttributeOverride(name = "expirationDate", column = @Column(name = "after_expiration_date")),
+            @AttributeOverride(name = "paymentDate", column = @Column(name = "after_payment_date"))
+    })
+    private TransactionState after;
+
+    @Column(name = "previous_balance", precision = 12, scale = 2)
+    private BigDecimal previousBalance;
+
+    @Column(precision = 12, scale = 2)
+    private BigDecimal balance;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Boolean dispatched = false;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
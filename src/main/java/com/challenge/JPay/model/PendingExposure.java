@@ -0,0 +1,53 @@
+package com.challenge.JPay.model;
+
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.model.enums.TransactionType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.math.BigDecimal;
+
+/**
+ * Mantido pelo {@link com.challenge.JPay.service.PendingExposureService} com UPDATEs relativos na transação de cada
+ * escrita de lançamentos; o Hibernate apenas lê as colunas.
+ */
+@Embeddable
+public record PendingExposure(
+        @ColumnDefault("0")
+        @Column(name = "pending_count", nullable = false, insertable = false, updatable = false)
+        long count,
+
+        @ColumnDefault("0")
+        @Column(name = "pending_payable", nullable = false, precision = 14, scale = 2, insertable = false, updatable = false)
+        BigDecimal payable,
+
+        @ColumnDefault("0")
+        @Column(name = "pending_receivable", nullable = false, precision = 14, scale = 2, insertable = false, updatable = false)
+        BigDecimal receivable
+) {
+
+    public static final PendingExposure ZERO = new PendingExposure(0, BigDecimal.ZERO, BigDecimal.ZERO);
+
+    /** Zero se o lançamento não existe ou não está pendente. */
+    public static PendingExposure of(TransactionState state) {
+        if (state == null || state.status() != Status.PENDING) {
+            return ZERO;
+        }
+        return state.transactionType() == TransactionType.ATIVO
+                ? new PendingExposure(1, BigDecimal.ZERO, state.amount())
+                : new PendingExposure(1, state.amount(), BigDecimal.ZERO);
+    }
+
+    public PendingExposure plus(PendingExposure other) {
+        return new PendingExposure(count + other.count, payable.add(other.payable), receivable.add(other.receivable));
+    }
+
+    public PendingExposure minus(PendingExposure other) {
+        return new PendingExposure(count - other.count, payable.subtract(other.payable), receivable.subtract(other.receivable));
+    }
+
+    public boolean isZero() {
+        return count == 0 && payable.signum() == 0 && receivable.signum() == 0;
+    }
+}
@@ -0,0 +1,83 @@
+package com.challenge.JPay.model;
+
+import com.challenge.JPay.model.enums.RecurrenceFrequency;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "recurrence_rules")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(of = "id")
+public class RecurrenceRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "template_transaction_id", nullable = false, unique = true)
+    private Transaction template;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private RecurrenceFrequency frequency;
+
+    @Builder.Default
+    @Column(name = "repeat_interval", nullable = false)
+    private Integer interval = 1;
+
+    @Column(name = "day_of_month")
+    private Integer dayOfMonth;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(name = "max_occurrences")
+    private Integer maxOccurrences;
+
+    @Builder.Default
+    @Column(name = "generated_count", nullable = false)
+    private Integer generatedCount = 0;
+
+    @Column(name = "generated_until")
+    private LocalDate generatedUntil;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Boolean active = true;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /** Calculada sempre a partir da data base, para que ajustes de fim de mês não se acumulem. */
+    public LocalDate occurrenceDate(LocalDate baseDate, int index) {
+        long steps = (long) index * interval;
+        return switch (frequency) {
+            case WEEKLY -> baseDate.plusWeeks(steps);
+            case MONTHLY -> baseDate.plusMonths(steps);
+            case DAY_OF_MONTH -> {
+                LocalDate month = baseDate.withDayOfMonth(1).plusMonths(steps);
+                yield month.withDayOfMonth(Math.min(dayOfMonth, month.lengthOfMonth()));
+            }
+        };
+    }
+
+    public boolean isExhausted(int index, LocalDate date) {
+        return (maxOccurrences != null && index >= maxOccurrences)
+                || (endDate != null && date.isAfter(endDate));
+    }
+}
@@ -12,7 +12,12 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "accounts_payables")
+@Table(name = "accounts_payables", indexes = {
+        @Index(name = "idx_accounts_payables_installment_group", columnList = "installment_group"),
+        @Index(name = "idx_accounts_payables_duplicate_lookup", columnList = "bank_account_id, expiration_date, amount"),
+        @Index(name = "idx_accounts_payables_status_expiration", columnList = "status, expiration_date"),
+        @Index(name = "idx_accounts_payables_auto_pay", columnList = "auto_pay, status, expiration_date")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -46,6 +51,13 @@ public class Transaction {
     @Column(name = "payment_date")
     private LocalDate paymentDate;
 
+    /**
+     * Débito automático: o lançamento pendente é pago pelo agendador na data de vencimento.
+     */
+    @Builder.Default
+    @Column(name = "auto_pay", nullable = false)
+    private Boolean autoPay = false;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
@@ -54,6 +66,18 @@ public class Transaction {
     @JoinColumn(name = "bank_account_id", nullable = false)
     private BankAccount bankAccount;
 
+    @Column(name = "generation_key", unique = true, length = 64)
+    private String generationKey;
+
+    @Column(name = "installment_group", length = 36)
+    private String installmentGroup;
+
+    @Column(name = "installment_number")
+    private Integer installmentNumber;
+
+    @Column(name = "installment_count")
+    private Integer installmentCount;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -66,11 +90,21 @@ public class Transaction {
         return status == Status.PENDING && expirationDate.isBefore(LocalDate.now());
     }
 
+    /** Ao voltar para pendente a data de pagamento é apagada. */
     public void markAsPaid() {
-        this.status = this.status.equals(Status.PAID) ? Status.PENDING: Status.PAID;
-        if(this.status.equals(Status.PENDING)) {
+        if (this.status == Status.PAID) {
+            this.status = Status.PENDING;
             this.paymentDate = null;
+        } else {
+            this.status = Status.PAID;
+            this.paymentDate = LocalDate.now();
         }
-        this.paymentDate = LocalDate.now();
+    }
+
+    /**
+     * Efeito do pagamento no saldo da conta: lançamentos ATIVO entram, PASSIVO saem.
+     */
+    public BigDecimal balanceEffect() {
+        return transactionType == TransactionType.ATIVO ? amount : amount.negate();
     }
 }
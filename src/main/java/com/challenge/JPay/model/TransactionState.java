@@ -0,0 +1,49 @@
+package com.challenge.JPay.model;
+
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.model.enums.TransactionType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Embeddable
+public record TransactionState(
+        @Column(name = "bank_account_id")
+        Long bankAccountId,
+
+        @Column(name = "category_id")
+        Long categoryId,
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "transaction_type", length = 30)
+        TransactionType transactionType,
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "status", length = 30)
+        Status status,
+
+        @Column(name = "amount", precision = 12, scale = 2)
+        BigDecimal amount,
+
+        @Column(name = "expiration_date")
+        LocalDate expirationDate,
+
+        @Column(name = "payment_date")
+        LocalDate paymentDate
+) {
+
+    public static TransactionState of(Transaction transaction) {
+        return new TransactionState(
+                transaction.getBankAccount().getId(),
+                transaction.getCategory().getId(),
+                transaction.getTransactionType(),
+                transaction.getStatus(),
+                transaction.getAmount(),
+                transaction.getExpirationDate(),
+                transaction.getPaymentDate());
+    }
+}
@@ -0,0 +1,105 @@
+package com.challenge.JPay.model;
+
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.model.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Mesmos nomes de propriedade de {@link Transaction}, para que as mesmas consultas e ordenações valham para os dois.
+ */
+@Entity
+@Immutable
+@Subselect("""
+        SELECT id, description, amount, expiration_date, payment_date, status, transaction_type, category_id,
+               bank_account_id, installment_group, installment_number, installment_count, auto_pay, created_at,
+               updated_at, FALSE AS archived
+        FROM accounts_payables
+        UNION ALL
+        SELECT id, description, amount, expiration_date, payment_date, status, transaction_type, category_id,
+               bank_account_id, installment_group, installment_number, installment_count, auto_pay, created_at,
+               updated_at, TRUE AS archived
+        FROM accounts_payables_archive
+        """)
+@Synchronize({"accounts_payables", "accounts_payables_archive"})
+@Getter
+@NoArgsConstructor
+public class TransactionView {
+
+    @Id
+    private Long id;
+
+    private String description;
+
+    private BigDecimal amount;
+
+    @Column(name = "expiration_date")
+    private LocalDate expirationDate;
+
+    @Column(name = "payment_date")
+    private LocalDate paymentDate;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type")
+    private TransactionType transactionType;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    private Category category;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "bank_account_id")
+    private BankAccount bankAccount;
+
+    @Column(name = "installment_group")
+    private String installmentGroup;
+
+    @Column(name = "installment_number")
+    private Integer installmentNumber;
+
+    @Column(name = "installment_count")
+    private Integer installmentCount;
+
+    @Column(name = "auto_pay")
+    private Boolean autoPay;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    private boolean archived;
+
+    /** Cópia desanexada, para montar a resposta com o mesmo código dos lançamentos ativos. */
+    public Transaction toTransaction() {
+        return Transaction.builder()
+                .id(id)
+                .description(description)
+                .amount(amount)
+                .expirationDate(expirationDate)
+                .paymentDate(paymentDate)
+                .status(status)
+                .transactionType(transactionType)
+                .category(category)
+                .bankAccount(bankAccount)
+                .installmentGroup(installmentGroup)
+                .installmentNumber(installmentNumber)
+                .installmentCount(installmentCount)
+                .autoPay(autoPay)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.challenge.JPay.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/** Transferências de um lote compartilham o {@code batchId}. */
+@Entity
+@Table(name = "transfers", indexes = {
+        @Index(name = "idx_transfers_source_account", columnList = "source_account_id"),
+        @Index(name = "idx_transfers_target_account", columnList = "target_account_id"),
+        @Index(name = "idx_transfers_batch", columnList = "batch_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(of = "id")
+public class Transfer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "source_account_id", nullable = false)
+    private BankAccount source;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "target_account_id", nullable = false)
+    private BankAccount target;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal amount;
+
+    @Column(length = 255)
+    private String description;
+
+    @Column(name = "batch_id", length = 36)
+    private String batchId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,7 @@
+package com.challenge.JPay.model.enums;
+
+public enum AuditRecordType {
+    BALANCE_CHANGED,
+    STATUS_CHANGED,
+    TRANSACTION_DELETED
+}
@@ -0,0 +1,9 @@
+package com.challenge.JPay.model.enums;
+
+public enum CubeDimension {
+    MONTH,
+    CATEGORY,
+    BANK_ACCOUNT,
+    TYPE,
+    STATUS
+}
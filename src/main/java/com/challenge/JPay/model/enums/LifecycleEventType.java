@@ -0,0 +1,9 @@
+package com.challenge.JPay.model.enums;
+
+public enum LifecycleEventType {
+    TRANSACTION_CREATED,
+    TRANSACTION_UPDATED,
+    TRANSACTION_STATUS_CHANGED,
+    TRANSACTION_DELETED,
+    BALANCE_CHANGED
+}
@@ -0,0 +1,7 @@
+package com.challenge.JPay.model.enums;
+
+public enum RecurrenceFrequency {
+    WEEKLY,
+    MONTHLY,
+    DAY_OF_MONTH
+}
@@ -0,0 +1,93 @@
+package com.challenge.JPay.repository;
+
+import com.challenge.JPay.analytics.CubeKey;
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.model.enums.TransactionType;
+import com.challenge.JPay.util.MoneyUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.function.LongConsumer;
+
+@Repository
+@RequiredArgsConstructor
+public class AnalyticsRepository {
+
+    /*
+     * Agregados e ids de eventos do outbox vêm no mesmo comando para enxergarem o mesmo snapshot: todo
+     * evento listado aqui já está refletido nos agregados e não pode ser aplicado de novo ao cubo.
+     */
+    private static final String CUBE_SNAPSHOT = """
+        SELECT 0, EXTRACT(YEAR FROM expiration_date), EXTRACT(MONTH FROM expiration_date), category_id,
+               bank_account_id, transaction_type, status, SUM(amount), COUNT(*), CAST(NULL AS BIGINT)
+        FROM (SELECT expiration_date, category_id, bank_account_id, transaction_type, status, amount FROM accounts_payables
+              UNION ALL
+              SELECT expiration_date, category_id, bank_account_id, transaction_type, status, amount FROM accounts_payables_archive) a
+        GROUP BY EXTRACT(YEAR FROM expiration_date), EXTRACT(MONTH FROM expiration_date), category_id,
+                 bank_account_id, transaction_type, status
+        UNION ALL
+        SELECT 1, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, id
+        FROM outbox_events
+        WHERE event_type <> 'BALANCE_CHANGED' AND dispatched = FALSE
+        """;
+
+    private static final String TRANSACTION_COLUMNS = """
+        SELECT id, amount, expiration_date, payment_date, category_id, bank_account_id, transaction_type, status
+        FROM accounts_payables
+        UNION ALL
+        SELECT id, amount, expiration_date, payment_date, category_id, bank_account_id, transaction_type, status
+        FROM accounts_payables_archive
+        """;
+
+    private static final int STREAM_FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void loadCubeSnapshot(CellHandler cells, LongConsumer reflectedEventIds) {
+        jdbcTemplate.query(CUBE_SNAPSHOT, rs -> {
+            if (rs.getInt(1) == 1) {
+                reflectedEventIds.accept(rs.getLong(10));
+                return;
+            }
+            CubeKey key = new CubeKey(
+                    YearMonth.of(rs.getInt(2), rs.getInt(3)),
+                    rs.getLong(4),
+                    rs.getLong(5),
+                    TransactionType.valueOf(rs.getString(6)),
+                    Status.valueOf(rs.getString(7)));
+            cells.accept(key, MoneyUtils.toCents(rs.getBigDecimal(8)), rs.getLong(9));
+        });
+    }
+
+    @FunctionalInterface
+    public interface CellHandler {
+        void accept(CubeKey key, long sumCents, long count);
+    }
+
+    public void forEachTransaction(TransactionRowHandler handler) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(TRANSACTION_COLUMNS);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            return statement;
+        }, rs -> {
+            LocalDate payment = rs.getObject(4, LocalDate.class);
+            handler.accept(rs.getLong(1),
+                    MoneyUtils.toCents(rs.getBigDecimal(2)),
+                    rs.getObject(3, LocalDate.class),
+                    payment,
+                    rs.getLong(5),
+                    rs.getLong(6),
+                    TransactionType.valueOf(rs.getString(7)),
+                    Status.valueOf(rs.getString(8)));
+        });
+    }
+
+    @FunctionalInterface
+    public interface TransactionRowHandler {
+        void accept(long id, long amountCents, LocalDate expirationDate, LocalDate paymentDate, long categoryId,
+                    long bankAccountId, TransactionType type, Status status);
+    }
+}
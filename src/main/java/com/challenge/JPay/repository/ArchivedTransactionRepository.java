@@ -0,0 +1,54 @@
+package com.challenge.JPay.repository;
+
+import com.challenge.JPay.model.ArchivedTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedTransactionRepository extends JpaRepository<ArchivedTransaction, Long> {
+
+    /**
+     * A trava impede que um estorno concorrente altere os lançamentos entre a cópia e a remoção. Modelos de recorrência
+     * ficam na tabela ativa, referenciados pela regra.
+     */
+    @Query(value = """
+        SELECT a.id FROM accounts_payables a
+        WHERE a.status = 'PAID' AND a.expiration_date < :cutoff AND a.payment_date < :cutoff
+          AND NOT EXISTS (SELECT 1 FROM recurrence_rules r WHERE r.template_transaction_id = a.id)
+        LIMIT :limit
+        FOR UPDATE
+    """, nativeQuery = true)
+    List<Long> lockArchivable(@Param("cutoff") LocalDate cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO accounts_payables_archive (id, description, amount, expiration_date, payment_date, status,
+            transaction_type, category_id, bank_account_id, generation_key, installment_group, installment_number,
+            installment_count, auto_pay, created_at, updated_at, archived_at)
+        SELECT id, description, amount, expiration_date, payment_date, status, transaction_type, category_id,
+               bank_account_id, generation_key, installment_group, installment_number, installment_count,
+               auto_pay, created_at, updated_at, :archivedAt
+        FROM accounts_payables
+        WHERE id IN (:ids) AND status = 'PAID'
+    """, nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query(value = "DELETE FROM accounts_payables WHERE id IN (:ids) AND status = 'PAID'", nativeQuery = true)
+    int deleteFromHot(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ArchivedTransaction a WHERE a.id = :id")
+    int deleteArchived(@Param("id") Long id);
+
+    @Query("SELECT MAX(a.expirationDate) FROM ArchivedTransaction a")
+    LocalDate findLatestExpirationDate();
+}
@@ -1,14 +1,18 @@
 package com.challenge.JPay.repository;
 
 import com.challenge.JPay.model.BankAccount;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,14 +21,54 @@ public interface BankAccountRepository extends JpaRepository<BankAccount, Long>
 
     List<BankAccount> findByActiveTrue();
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ba FROM BankAccount ba WHERE ba.id = :id")
+    Optional<BankAccount> findByIdForUpdate(@Param("id") Long id);
+
     Page<BankAccount> findByBankContainingIgnoreCase(String bank, Pageable pageable);
 
     @Query("SELECT SUM(ba.currentBalance) FROM BankAccount ba WHERE ba.active = true")
     Optional<BigDecimal> sumCurrentBalanceByActiveTrue();
 
-    @Query("SELECT COUNT(a) FROM Transaction a WHERE a.bankAccount.id = :bankAccountId AND a.status = 'PENDING'")
-    long countPendingTransactionsByBankAccount(@Param("bankAccountId") Long bankAccountId);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BankAccount ba SET ba.active = true, ba.updatedAt = LOCAL DATETIME WHERE ba.id IN :ids AND ba.active = false")
+    int activateAll(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE BankAccount ba SET ba.active = false, ba.updatedAt = LOCAL DATETIME
+        WHERE ba.id IN :ids AND ba.active = true
+        AND ba.pendingExposure.count = 0
+    """)
+    int deactivateAllWithoutPending(@Param("ids") Collection<Long> ids);
+
+    /**
+     * O UPDATE relativo trava a linha da conta até o fim da transação: alterações de saldo concorrentes não se perdem.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE BankAccount ba SET ba.currentBalance = ba.currentBalance + :delta, ba.updatedAt = LOCAL DATETIME WHERE ba.id = :id")
+    int addToBalance(@Param("id") Long id, @Param("delta") BigDecimal delta);
 
-    @Query("SELECT COUNT(a) FROM Transaction a WHERE a.bankAccount.id = :bankAccountId")
+    @Query("SELECT ba.currentBalance FROM BankAccount ba WHERE ba.id = :id")
+    Optional<BigDecimal> findCurrentBalance(@Param("id") Long id);
+
+    /** Usado depois da carga inicial, para deixar todas as contas conciliadas. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+        UPDATE bank_accounts b SET opening_balance = b.current_balance - (
+            SELECT COALESCE(SUM(CASE WHEN a.transaction_type = 'ATIVO' THEN a.amount ELSE -a.amount END), 0)
+            FROM accounts_payables a
+            WHERE a.bank_account_id = b.id AND a.status = 'PAID')
+            - (SELECT COALESCE(SUM(CASE WHEN a.transaction_type = 'ATIVO' THEN a.amount ELSE -a.amount END), 0)
+               FROM accounts_payables_archive a WHERE a.bank_account_id = b.id)
+            - (SELECT COALESCE(SUM(t.amount), 0) FROM transfers t WHERE t.target_account_id = b.id)
+            + (SELECT COALESCE(SUM(t.amount), 0) FROM transfers t WHERE t.source_account_id = b.id)
+    """, nativeQuery = true)
+    int rebaseOpeningBalances();
+
+    @Query("SELECT COUNT(a) FROM TransactionView a WHERE a.bankAccount.id = :bankAccountId")
     long countTransactionsByBankAccount(@Param("bankAccountId") Long bankAccountId);
+
+    @Query("SELECT COUNT(t) FROM Transfer t WHERE t.source.id = :bankAccountId OR t.target.id = :bankAccountId")
+    long countTransfersByBankAccount(@Param("bankAccountId") Long bankAccountId);
 }
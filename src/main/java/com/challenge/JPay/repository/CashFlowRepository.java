@@ -0,0 +1,61 @@
+package com.challenge.JPay.repository;
+
+import com.challenge.JPay.model.enums.TransactionType;
+import com.challenge.JPay.util.MoneyUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+@RequiredArgsConstructor
+public class CashFlowRepository {
+
+    private static final String ACTIVE_ACCOUNTS = """
+        SELECT id, name, current_balance FROM bank_accounts
+        WHERE active = TRUE AND (CAST(:bankAccountId AS BIGINT) IS NULL OR id = :bankAccountId)
+        ORDER BY id
+        """;
+
+    private static final String PENDING_DAILY_TOTALS = """
+        SELECT a.bank_account_id, a.expiration_date, a.transaction_type, SUM(a.amount) AS total
+        FROM accounts_payables a
+        JOIN bank_accounts b ON b.id = a.bank_account_id
+        WHERE a.status = 'PENDING' AND a.expiration_date <= :horizon AND b.active = TRUE
+          AND (CAST(:bankAccountId AS BIGINT) IS NULL OR a.bank_account_id = :bankAccountId)
+        GROUP BY a.bank_account_id, a.expiration_date, a.transaction_type
+        """;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public void forEachActiveAccount(Long bankAccountId, AccountHandler handler) {
+        namedParameterJdbcTemplate.query(ACTIVE_ACCOUNTS, new MapSqlParameterSource("bankAccountId", bankAccountId), rs -> {
+            handler.accept(rs.getLong(1), rs.getString(2), MoneyUtils.toCents(rs.getBigDecimal(3)));
+        });
+    }
+
+    /** Percorre as linhas sem materializar o resultado. */
+    public void forEachPendingDailyTotal(LocalDate horizon, Long bankAccountId, DailyTotalHandler handler) {
+        var params = new MapSqlParameterSource()
+                .addValue("horizon", horizon)
+                .addValue("bankAccountId", bankAccountId);
+        namedParameterJdbcTemplate.query(PENDING_DAILY_TOTALS, params, rs -> {
+            handler.accept(rs.getLong(1),
+                    rs.getObject(2, LocalDate.class),
+                    TransactionType.valueOf(rs.getString(3)),
+                    MoneyUtils.toCents(rs.getBigDecimal(4)));
+        });
+    }
+
+    @FunctionalInterface
+    public interface AccountHandler {
+        void accept(long bankAccountId, String name, long balanceCents);
+    }
+
+    @FunctionalInterface
+    public interface DailyTotalHandler {
+        void accept(long bankAccountId, LocalDate expirationDate, TransactionType type, long cents);
+    }
+}
@@ -5,11 +5,13 @@ import com.challenge.JPay.model.Category;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,19 +25,28 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     Page<Category> findByNameContainingIgnoreCase(String name, Pageable pageable);
 
-    @Query("SELECT COUNT(a) FROM Transaction a WHERE a.category.id = :categoryId AND a.status = 'PENDING'")
-    long countPendingTransactionsByCategory(@Param("categoryId") Long categoryId);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Category c SET c.active = true, c.updatedAt = LOCAL DATETIME WHERE c.id IN :ids AND c.active = false")
+    int activateAll(@Param("ids") Collection<Long> ids);
 
-    @Query("SELECT COUNT(a) FROM Transaction a WHERE a.category.id = :categoryId")
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Category c SET c.active = false, c.updatedAt = LOCAL DATETIME
+        WHERE c.id IN :ids AND c.active = true
+        AND c.pendingExposure.count = 0
+    """)
+    int deactivateAllWithoutPending(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COUNT(a) FROM TransactionView a WHERE a.category.id = :categoryId")
     long countTransactionsByCategory(@Param("categoryId") Long categoryId);
 
-    @Query("SELECT c FROM Transaction a JOIN Category c ON c.id = a.category.id group by a.category.id order by COUNT(a) DESC LIMIT 1")
+    @Query("SELECT c FROM TransactionView a JOIN Category c ON c.id = a.category.id group by a.category.id order by COUNT(a) DESC LIMIT 1")
     Category getMostUsedCategory();
 
     @Query("""
         SELECT c as category,
                SUM(a.amount) as totalAmount
-        FROM Transaction a
+        FROM TransactionView a
         JOIN a.category c
         WHERE a.category.active = true
         AND a.transactionType = 'PASSIVO'
@@ -0,0 +1,172 @@
+package com.challenge.JPay.repository;
+
+import com.challenge.JPay.exception.BusinessException;
+import com.challenge.JPay.model.BankAccount;
+import com.challenge.JPay.model.Category;
+import com.challenge.JPay.model.Transaction;
+import com.challenge.JPay.model.TransactionView;
+import com.challenge.JPay.model.enums.Status;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/** Um campo aninhado só gera join se algum campo dele além do id for pedido; o id é lido da chave estrangeira. */
+public final class FieldCatalog {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    public static final FieldCatalog CATEGORY = new FieldCatalog(Category.class)
+            .column("id")
+            .column("name")
+            .column("description")
+            .column("active")
+            .column("pendingCount", (path, cb) -> path.get("pendingExposure").get("count"))
+            .column("pendingPayable", (path, cb) -> path.get("pendingExposure").get("payable"))
+            .column("pendingReceivable", (path, cb) -> path.get("pendingExposure").get("receivable"))
+            .timestamp("createdAt")
+            .timestamp("updatedAt");
+
+    public static final FieldCatalog BANK_ACCOUNT = new FieldCatalog(BankAccount.class)
+            .column("id")
+            .column("name")
+            .column("bank")
+            .column("currentBalance")
+            .column("active")
+            .column("pendingCount", (path, cb) -> path.get("pendingExposure").get("count"))
+            .column("pendingPayable", (path, cb) -> path.get("pendingExposure").get("payable"))
+            .column("pendingReceivable", (path, cb) -> path.get("pendingExposure").get("receivable"))
+            .column("projectedBalance", (path, cb) -> cb.diff(
+                    cb.sum(path.<BigDecimal>get("currentBalance"), path.get("pendingExposure").<BigDecimal>get("receivable")),
+                    path.get("pendingExposure").<BigDecimal>get("payable")))
+            .timestamp("createdAt")
+            .timestamp("updatedAt");
+
+    public static final FieldCatalog TRANSACTION = new FieldCatalog(Transaction.class)
+            .column("id")
+            .column("description")
+            .column("amount")
+            .column("expirationDate")
+            .column("paymentDate")
+            .column("type", (path, cb) -> path.get("transactionType"))
+            .column("status")
+            .column("isExpired", (path, cb) -> cb.selectCase()
+                    .when(cb.and(cb.equal(path.get("status"), Status.PENDING),
+                            cb.lessThan(path.<LocalDate>get("expirationDate"), LocalDate.now())), true)
+                    .otherwise(false))
+            .nested("category", new FieldCatalog(Category.class).column("id").column("name"))
+            .nested("bankAccount", new FieldCatalog(BankAccount.class).column("id").column("name").column("bank"))
+            .column("installmentGroup")
+            .column("installmentNumber")
+            .column("installmentCount")
+            .column("autoPay")
+            .timestamp("createdAt")
+            .timestamp("updatedAt");
+
+    public static final FieldCatalog TRANSACTION_WITH_ARCHIVE = TRANSACTION.over(TransactionView.class);
+
+    private final Class<?> entityType;
+    private final Map<String, Field> fields = new LinkedHashMap<>();
+
+    private FieldCatalog(Class<?> entityType) {
+        this.entityType = entityType;
+    }
+
+    public Class<?> entityType() {
+        return entityType;
+    }
+
+    /** A ordem da resposta segue a ordem do pedido. */
+    public Selection select(String requested) {
+        Map<String, Selection> selected = new LinkedHashMap<>();
+        for (String token : requested.split(",")) {
+            String name = token.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            int dot = name.indexOf('.');
+            Field field = field(dot < 0 ? name : name.substring(0, dot));
+            if (field.nested() == null) {
+                if (dot >= 0) {
+                    throw new BusinessException("O campo '" + field.name() + "' não possui subcampos");
+                }
+                selected.putIfAbsent(field.name(), null);
+                continue;
+            }
+
+            Selection current = selected.get(field.name());
+            Selection requestedNested = field.nested().select(dot < 0 ? String.join(",", field.nested().fields.keySet()) : name.substring(dot + 1));
+            selected.put(field.name(), current == null ? requestedNested : current.merge(requestedNested));
+        }
+
+        if (selected.isEmpty()) {
+            throw new BusinessException("Informe ao menos um campo em 'fields' (disponíveis: " + String.join(", ", fields.keySet()) + ")");
+        }
+
+        List<Selected> result = new ArrayList<>(selected.size());
+        selected.forEach((name, nested) -> result.add(new Selected(fields.get(name), nested)));
+        return new Selection(result);
+    }
+
+    private Field field(String name) {
+        Field field = fields.get(name);
+        if (field == null) {
+            throw new BusinessException("Campo '" + name + "' desconhecido (disponíveis: " + String.join(", ", fields.keySet()) + ")");
+        }
+        return field;
+    }
+
+    private FieldCatalog over(Class<?> otherEntityType) {
+        FieldCatalog catalog = new FieldCatalog(otherEntityType);
+        catalog.fields.putAll(fields);
+        return catalog;
+    }
+
+    private FieldCatalog column(String name) {
+        return column(name, (path, cb) -> path.get(name));
+    }
+
+    private FieldCatalog column(String name, BiFunction<Path<?>, CriteriaBuilder, Expression<?>> expression) {
+        fields.put(name, new Field(name, expression, Function.identity(), null));
+        return this;
+    }
+
+    private FieldCatalog timestamp(String name) {
+        fields.put(name, new Field(name, (path, cb) -> path.get(name),
+                value -> value == null ? null : TIMESTAMP.format((LocalDateTime) value), null));
+        return this;
+    }
+
+    private FieldCatalog nested(String name, FieldCatalog catalog) {
+        fields.put(name, new Field(name, null, null, catalog));
+        return this;
+    }
+
+    record Field(String name,
+                 BiFunction<Path<?>, CriteriaBuilder, Expression<?>> expression,
+                 Function<Object, Object> converter,
+                 FieldCatalog nested) { }
+
+    record Selected(Field field, Selection nested) { }
+
+    public record Selection(List<Selected> fields) {
+
+        boolean onlyId() {
+            return fields.size() == 1 && fields.get(0).field().name().equals("id");
+        }
+
+        private Selection merge(Selection other) {
+            Map<String, Selected> merged = new LinkedHashMap<>();
+            fields.forEach(selected -> merged.put(selected.field().name(), selected));
+            other.fields.forEach(selected -> merged.putIfAbsent(selected.field().name(), selected));
+            return new Selection(List.copyOf(merged.values()));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.challenge.JPay.repository;
+
+import com.challenge.JPay.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.dispatched = false ORDER BY e.id")
+    List<Long> findUndispatchedIds(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.dispatched = true WHERE e.id IN :ids")
+    int markDispatched(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.dispatched = true AND e.createdAt < :before")
+    int deleteDispatchedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,99 @@
+package com.challenge.JPay.repository;
+
+import com.challenge.JPay.model.PendingExposure;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+@Repository
+@RequiredArgsConstructor
+public class PendingExposureRepository {
+
+    private static final RowMapper<PendingExposure> EXPOSURE = (rs, row) -> new PendingExposure(
+            rs.getLong("pending_count"), rs.getBigDecimal("pending_payable"), rs.getBigDecimal("pending_receivable"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public enum Owner {
+        BANK_ACCOUNT("bank_accounts", "bank_account_id"),
+        CATEGORY("categories", "category_id");
+
+        private final String table;
+        private final String foreignKey;
+
+        Owner(String table, String foreignKey) {
+            this.table = table;
+            this.foreignKey = foreignKey;
+        }
+    }
+
+    public record Drift(Long id, PendingExposure stored, PendingExposure actual) { }
+
+    /** Na ordem dos ids, para que transações concorrentes travem as linhas sempre na mesma ordem. */
+    public void add(Owner owner, SortedMap<Long, PendingExposure> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        for (Map.Entry<Long, PendingExposure> delta : deltas.entrySet()) {
+            args.add(new Object[]{delta.getValue().count(), delta.getValue().payable(), delta.getValue().receivable(), delta.getKey()});
+        }
+        jdbcTemplate.batchUpdate("UPDATE " + owner.table + """
+                 SET pending_count = pending_count + ?, pending_payable = pending_payable + ?,
+                     pending_receivable = pending_receivable + ?
+                WHERE id = ?
+                """, args);
+    }
+
+    public List<Drift> findDrift(Owner owner) {
+        return jdbcTemplate.query("SELECT o.id, o.pending_count, o.pending_payable, o.pending_receivable, "
+                + "COALESCE(p.pending_count, 0) AS actual_count, COALESCE(p.pending_payable, 0) AS actual_payable, "
+                + "COALESCE(p.pending_receivable, 0) AS actual_receivable "
+                + "FROM " + owner.table + " o LEFT JOIN (" + aggregate(owner, "GROUP BY " + owner.foreignKey) + ") p "
+                + "ON p.owner_id = o.id "
+                + "WHERE o.pending_count <> COALESCE(p.pending_count, 0) "
+                + "OR o.pending_payable <> COALESCE(p.pending_payable, 0) "
+                + "OR o.pending_receivable <> COALESCE(p.pending_receivable, 0) "
+                + "ORDER BY o.id", (rs, row) -> new Drift(
+                rs.getLong("id"),
+                new PendingExposure(rs.getLong("pending_count"), rs.getBigDecimal("pending_payable"), rs.getBigDecimal("pending_receivable")),
+                new PendingExposure(rs.getLong("actual_count"), rs.getBigDecimal("actual_payable"), rs.getBigDecimal("actual_receivable"))));
+    }
+
+    /**
+     * Escritas em andamento já travaram a linha ou vão aplicar seu delta sobre o valor recalculado, que não as inclui.
+     */
+    public PendingExposure lockAndRecalculate(Owner owner, Long id) {
+        jdbcTemplate.queryForObject("SELECT id FROM " + owner.table + " WHERE id = ? FOR UPDATE", Long.class, id);
+        return jdbcTemplate.query(aggregate(owner, "AND " + owner.foreignKey + " = ? GROUP BY " + owner.foreignKey), EXPOSURE, id)
+                .stream().findFirst().orElse(PendingExposure.ZERO);
+    }
+
+    public void set(Owner owner, Long id, PendingExposure exposure) {
+        jdbcTemplate.update("UPDATE " + owner.table
+                        + " SET pending_count = ?, pending_payable = ?, pending_receivable = ? WHERE id = ?",
+                exposure.count(), exposure.payable(), exposure.receivable(), id);
+    }
+
+    public int recalculateAll(Owner owner) {
+        return jdbcTemplate.update("UPDATE " + owner.table + " o SET "
+                + "pending_count = (SELECT COUNT(*) FROM accounts_payables a WHERE a." + owner.foreignKey + " = o.id AND a.status = 'PENDING'), "
+                + "pending_payable = (SELECT COALESCE(SUM(a.amount), 0) FROM accounts_payables a WHERE a." + owner.foreignKey
+                + " = o.id AND a.status = 'PENDING' AND a.transaction_type = 'PASSIVO'), "
+                + "pending_receivable = (SELECT COALESCE(SUM(a.amount), 0) FROM accounts_payables a WHERE a." + owner.foreignKey
+                + " = o.id AND a.status = 'PENDING' AND a.transaction_type = 'ATIVO')");
+    }
+
+    private static String aggregate(Owner owner, String tail) {
+        return "SELECT " + owner.foreignKey + " AS owner_id, COUNT(*) AS pending_count, "
+                + "COALESCE(SUM(CASE WHEN transaction_type = 'PASSIVO' THEN amount END), 0) AS pending_payable, "
+                + "COALESCE(SUM(CASE WHEN transaction_type = 'ATIVO' THEN amount END), 0) AS pending_receivable "
+                + "FROM accounts_payables WHERE status = 'PENDING' " + tail;
+    }
+}
@@ -0,0 +1,94 @@
+package com.challenge.JPay.repository;
+
+import com.challenge.JPay.util.MoneyUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@Repository
+public class ReconciliationRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingTemplate;
+
+    public ReconciliationRepository(JdbcTemplate jdbcTemplate, DataSource dataSource,
+                                    @Value("${jpay.reconciliation.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingTemplate = new JdbcTemplate(dataSource);
+        this.streamingTemplate.setFetchSize(fetchSize);
+    }
+
+    public record AccountBalance(long id, long openingCents, long currentCents) { }
+
+    public record PaidTotals(long rows, long incomeCents, long expenseCents) {
+
+        public long netCents() {
+            return incomeCents - expenseCents;
+        }
+    }
+
+    public record TransferTotals(long count, long incomingCents, long outgoingCents) {
+
+        public long netCents() {
+            return incomingCents - outgoingCents;
+        }
+    }
+
+    public List<Long> findAccountIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM bank_accounts ORDER BY id", Long.class);
+    }
+
+    public AccountBalance findBalance(long bankAccountId) {
+        return jdbcTemplate.queryForObject("SELECT opening_balance, current_balance FROM bank_accounts WHERE id = ?",
+                (rs, row) -> new AccountBalance(bankAccountId,
+                        MoneyUtils.toCents(rs.getBigDecimal(1)), MoneyUtils.toCents(rs.getBigDecimal(2))),
+                bankAccountId);
+    }
+
+    public AccountBalance lockBalance(long bankAccountId) {
+        return jdbcTemplate.queryForObject("SELECT opening_balance, current_balance FROM bank_accounts WHERE id = ? FOR UPDATE",
+                (rs, row) -> new AccountBalance(bankAccountId,
+                        MoneyUtils.toCents(rs.getBigDecimal(1)), MoneyUtils.toCents(rs.getBigDecimal(2))),
+                bankAccountId);
+    }
+
+    /** Inclui os lançamentos arquivados. */
+    public PaidTotals sumPaid(long bankAccountId) {
+        long[] totals = new long[3];
+        streamingTemplate.query("""
+                SELECT transaction_type, amount FROM accounts_payables
+                WHERE bank_account_id = ? AND status = 'PAID'
+                UNION ALL
+                SELECT transaction_type, amount FROM accounts_payables_archive
+                WHERE bank_account_id = ?
+                """, rs -> {
+            long cents = rs.getBigDecimal(2).movePointRight(2).longValueExact();
+            if ("ATIVO".equals(rs.getString(1))) {
+                totals[1] += cents;
+            } else {
+                totals[2] += cents;
+            }
+            totals[0]++;
+        }, bankAccountId, bankAccountId);
+        return new PaidTotals(totals[0], totals[1], totals[2]);
+    }
+
+    public TransferTotals sumTransfers(long bankAccountId) {
+        long[] incoming = sumTransfers("target_account_id", bankAccountId);
+        long[] outgoing = sumTransfers("source_account_id", bankAccountId);
+        return new TransferTotals(incoming[0] + outgoing[0], incoming[1], outgoing[1]);
+    }
+
+    private long[] sumTransfers(String column, long bankAccountId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*), COALESCE(SUM(amount), 0) FROM transfers WHERE " + column + " = ?",
+                (rs, row) -> new long[]{rs.getLong(1), MoneyUtils.toCents(rs.getBigDecimal(2))}, bankAccountId);
+    }
+
+    public void setBalance(long bankAccountId, long cents) {
+        jdbcTemplate.update("UPDATE bank_accounts SET current_balance = ?, updated_at = LOCALTIMESTAMP WHERE id = ?",
+                MoneyUtils.fromCents(cents), bankAccountId);
+    }
+}
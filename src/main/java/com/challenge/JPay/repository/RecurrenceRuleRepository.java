@@ -0,0 +1,34 @@
+package com.challenge.JPay.repository;
+
+import com.challenge.JPay.model.RecurrenceRule;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RecurrenceRuleRepository extends JpaRepository<RecurrenceRule, Long> {
+
+    boolean existsByTemplateId(Long templateId);
+
+    @Query(value = "SELECT r FROM RecurrenceRule r JOIN FETCH r.template t JOIN FETCH t.category JOIN FETCH t.bankAccount",
+            countQuery = "SELECT COUNT(r) FROM RecurrenceRule r")
+    Page<RecurrenceRule> findAllWithTemplate(Pageable pageable);
+
+    @Query("""
+        SELECT r FROM RecurrenceRule r
+        JOIN FETCH r.template t
+        JOIN FETCH t.category
+        JOIN FETCH t.bankAccount
+        WHERE r.active = true
+        AND r.id > :afterId
+        AND (r.generatedUntil IS NULL OR r.generatedUntil < :horizon)
+        ORDER BY r.id
+    """)
+    List<RecurrenceRule> findDueForGeneration(@Param("afterId") Long afterId, @Param("horizon") LocalDate horizon, Pageable pageable);
+}
@@ -0,0 +1,98 @@
+package com.challenge.JPay.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class SparseFieldRepository {
+
+    private final EntityManager entityManager;
+
+    public Page<Map<String, Object>> findAll(FieldCatalog catalog, FieldCatalog.Selection selection, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = query.from(catalog.entityType());
+
+        List<Selection<?>> selections = new ArrayList<>();
+        List<Slot> slots = select(root, selection, cb, selections);
+        query.multiselect(selections);
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> content = typedQuery.getResultList().stream().map(tuple -> toMap(tuple, slots)).toList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(catalog));
+    }
+
+    public Optional<Map<String, Object>> findById(FieldCatalog catalog, FieldCatalog.Selection selection, Long id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = query.from(catalog.entityType());
+
+        List<Selection<?>> selections = new ArrayList<>();
+        List<Slot> slots = select(root, selection, cb, selections);
+        query.multiselect(selections).where(cb.equal(root.get("id"), id));
+
+        return entityManager.createQuery(query).getResultList().stream().findFirst().map(tuple -> toMap(tuple, slots));
+    }
+
+    private long count(FieldCatalog catalog) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        query.select(cb.count(query.from(catalog.entityType())));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private List<Slot> select(Path<?> path, FieldCatalog.Selection selection, CriteriaBuilder cb, List<Selection<?>> selections) {
+        List<Slot> slots = new ArrayList<>(selection.fields().size());
+        for (FieldCatalog.Selected selected : selection.fields()) {
+            FieldCatalog.Field field = selected.field();
+            if (selected.nested() != null) {
+                Path<?> nestedPath = selected.nested().onlyId() ? path.get(field.name()) : ((From<?, ?>) path).join(field.name());
+                slots.add(new Slot(field, -1, select(nestedPath, selected.nested(), cb, selections)));
+            } else {
+                slots.add(new Slot(field, selections.size(), null));
+                selections.add(field.expression().apply(path, cb));
+            }
+        }
+        return slots;
+    }
+
+    private static Map<String, Object> toMap(Tuple tuple, List<Slot> slots) {
+        Map<String, Object> row = new LinkedHashMap<>(slots.size() * 2);
+        for (Slot slot : slots) {
+            row.put(slot.field().name(), slot.nested() != null
+                    ? toMap(tuple, slot.nested())
+                    : slot.field().converter().apply(tuple.get(slot.index())));
+        }
+        return row;
+    }
+
+    private record Slot(FieldCatalog.Field field, int index, List<Slot> nested) { }
+}
@@ -0,0 +1,276 @@
+package com.challenge.JPay.repository;
+
+import com.challenge.JPay.model.Transaction;
+import com.challenge.JPay.model.TransactionState;
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.model.enums.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class TransactionBatchRepository {
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_IF_ABSENT = """
+        INSERT INTO accounts_payables (description, amount, expiration_date, status, transaction_type,
+                                       payment_date, category_id, bank_account_id, generation_key,
+                                       installment_group, installment_number, installment_count, auto_pay,
+                                       created_at, updated_at)
+        SELECT ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?
+        WHERE NOT EXISTS (SELECT 1 FROM accounts_payables WHERE generation_key = ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /** Ignora os que já têm a mesma {@code generationKey}; retorna as chaves inseridas. */
+    public List<String> insertIfAbsent(List<Transaction> transactions) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<String> inserted = new ArrayList<>();
+
+        for (int from = 0; from < transactions.size(); from += BATCH_SIZE) {
+            List<Transaction> chunk = transactions.subList(from, Math.min(from + BATCH_SIZE, transactions.size()));
+            int[] counts = jdbcTemplate.batchUpdate(INSERT_IF_ABSENT, chunk.stream().map(t -> new Object[]{
+                    t.getDescription(),
+                    t.getAmount(),
+                    t.getExpirationDate(),
+                    t.getStatus().name(),
+                    t.getTransactionType().name(),
+                    t.getPaymentDate(),
+                    t.getCategory().getId(),
+                    t.getBankAccount().getId(),
+                    t.getGenerationKey(),
+                    t.getInstallmentGroup(),
+                    t.getInstallmentNumber(),
+                    t.getInstallmentCount(),
+                    Boolean.TRUE.equals(t.getAutoPay()),
+                    now,
+                    now,
+                    t.getGenerationKey()
+            }).toList());
+
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    inserted.add(chunk.get(i).getGenerationKey());
+                }
+            }
+        }
+        return inserted;
+    }
+
+    public Map<String, Long> findIdsByGenerationKeys(Collection<String> keys) {
+        Map<String, Long> ids = new HashMap<>(keys.size() * 2);
+        List<String> all = List.copyOf(keys);
+
+        for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+            var params = new MapSqlParameterSource("keys", all.subList(from, Math.min(from + BATCH_SIZE, all.size())));
+            namedParameterJdbcTemplate.query(
+                    "SELECT id, generation_key FROM accounts_payables WHERE generation_key IN (:keys)",
+                    params,
+                    rs -> {
+                        ids.put(rs.getString("generation_key"), rs.getLong("id"));
+                    });
+        }
+        return ids;
+    }
+
+    public Map<Long, TransactionState> findPendingStates(PendingFilter filter) {
+        Map<Long, TransactionState> states = new LinkedHashMap<>();
+        namedParameterJdbcTemplate.query("""
+                SELECT id, bank_account_id, category_id, transaction_type, status, amount, expiration_date, payment_date
+                FROM accounts_payables
+                """ + filter.where() + " ORDER BY id",
+                filter.parameters(),
+                rs -> {
+                    Date paymentDate = rs.getDate("payment_date");
+                    states.put(rs.getLong("id"), new TransactionState(
+                            rs.getLong("bank_account_id"),
+                            rs.getLong("category_id"),
+                            TransactionType.valueOf(rs.getString("transaction_type")),
+                            Status.valueOf(rs.getString("status")),
+                            rs.getBigDecimal("amount"),
+                            rs.getDate("expiration_date").toLocalDate(),
+                            paymentDate != null ? paymentDate.toLocalDate() : null));
+                });
+        return states;
+    }
+
+    /**
+     * Não trava nada: os ids são travados depois com {@link #lockAutoPayStates}.
+     *
+     * @return vencimento por id, na ordem do cursor
+     */
+    public Map<Long, LocalDate> findAutoPayDue(LocalDate dueDate, LocalDate afterDate, long afterId, int limit) {
+        Map<Long, LocalDate> due = new LinkedHashMap<>();
+        namedParameterJdbcTemplate.query("""
+                SELECT id, expiration_date
+                FROM accounts_payables
+                WHERE auto_pay = TRUE AND status = 'PENDING' AND expiration_date <= :dueDate
+                  AND (expiration_date > :afterDate OR (expiration_date = :afterDate AND id > :afterId))
+                ORDER BY expiration_date, id
+                LIMIT :limit
+                """,
+                new MapSqlParameterSource()
+                        .addValue("dueDate", dueDate)
+                        .addValue("afterDate", afterDate)
+                        .addValue("afterId", afterId)
+                        .addValue("limit", limit),
+                rs -> {
+                    due.put(rs.getLong("id"), rs.getDate("expiration_date").toLocalDate());
+                });
+        return due;
+    }
+
+    /** Separa os que ficaram de fora de {@link #lockAutoPayStates} por estarem travados dos que já foram pagos. */
+    public long countAutoPayPending(Collection<Long> ids) {
+        Long pending = namedParameterJdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM accounts_payables
+                WHERE id IN (:ids) AND auto_pay = TRUE AND status = 'PENDING'
+                """, new MapSqlParameterSource("ids", ids), Long.class);
+        return pending != null ? pending : 0;
+    }
+
+    /** O {@code LIMIT} fica na consulta do cursor porque o H2 o aplica antes de pular as linhas travadas. */
+    public Map<Long, TransactionState> lockAutoPayStates(Collection<Long> ids) {
+        Map<Long, TransactionState> states = new LinkedHashMap<>();
+        namedParameterJdbcTemplate.query("""
+                SELECT id, bank_account_id, category_id, transaction_type, status, amount, expiration_date, payment_date
+                FROM accounts_payables
+                WHERE id IN (:ids) AND auto_pay = TRUE AND status = 'PENDING'
+                ORDER BY expiration_date, id
+                FOR UPDATE SKIP LOCKED
+                """,
+                new MapSqlParameterSource("ids", ids),
+                rs -> {
+                    states.put(rs.getLong("id"), new TransactionState(
+                            rs.getLong("bank_account_id"),
+                            rs.getLong("category_id"),
+                            TransactionType.valueOf(rs.getString("transaction_type")),
+                            Status.valueOf(rs.getString("status")),
+                            rs.getBigDecimal("amount"),
+                            rs.getDate("expiration_date").toLocalDate(),
+                            null));
+                });
+        return states;
+    }
+
+    public AutoPayBacklog findAutoPayBacklog(LocalDate dueDate) {
+        return namedParameterJdbcTemplate.queryForObject("""
+                SELECT COUNT(*) AS pending, MIN(expiration_date) AS oldest
+                FROM accounts_payables
+                WHERE auto_pay = TRUE AND status = 'PENDING' AND expiration_date <= :dueDate
+                """,
+                new MapSqlParameterSource("dueDate", dueDate),
+                (rs, rowNum) -> {
+                    Date oldest = rs.getDate("oldest");
+                    return new AutoPayBacklog(rs.getLong("pending"), oldest != null ? oldest.toLocalDate() : null);
+                });
+    }
+
+    /** Destinos nulos ficam como estão. */
+    public int reassignPending(PendingFilter filter, Long categoryId, Long bankAccountId) {
+        MapSqlParameterSource params = filter.parameters()
+                .addValue("toCategoryId", categoryId)
+                .addValue("toBankAccountId", bankAccountId);
+        StringBuilder set = new StringBuilder("UPDATE accounts_payables SET updated_at = LOCALTIMESTAMP");
+        if (categoryId != null) {
+            set.append(", category_id = :toCategoryId");
+        }
+        if (bankAccountId != null) {
+            set.append(", bank_account_id = :toBankAccountId");
+        }
+        return namedParameterJdbcTemplate.update(set.append(' ').append(filter.where()).toString(), params);
+    }
+
+    /** Primeiro em dias e depois em meses, como em {@link TransactionRepository#shiftPendingInstallments}. */
+    public int shiftPending(PendingFilter filter, int days, int months) {
+        MapSqlParameterSource params = filter.parameters()
+                .addValue("days", days)
+                .addValue("months", months);
+        return namedParameterJdbcTemplate.update("""
+                UPDATE accounts_payables
+                SET expiration_date = DATEADD(MONTH, :months, DATEADD(DAY, :days, expiration_date)), updated_at = LOCALTIMESTAMP
+                """ + filter.where(), params);
+    }
+
+    /**
+     * Os que já não estão pendentes, ou cuja conta, valor ou tipo não são mais os de {@code pending}, não são alterados.
+     */
+    public int payPending(Map<Long, TransactionState> pending, Map<Long, LocalDate> paymentDates) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(paymentDates.size());
+        paymentDates.forEach((id, paymentDate) -> {
+            TransactionState state = pending.get(id);
+            rows.add(new Object[]{Date.valueOf(paymentDate), now, id,
+                    state.bankAccountId(), state.amount(), state.transactionType().name()});
+        });
+
+        int paid = 0;
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            int[] counts = jdbcTemplate.batchUpdate("""
+                    UPDATE accounts_payables SET status = 'PAID', payment_date = ?, updated_at = ?
+                    WHERE id = ? AND status = 'PENDING' AND bank_account_id = ? AND amount = ? AND transaction_type = ?
+                    """, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+            for (int count : counts) {
+                paid += count;
+            }
+        }
+        return paid;
+    }
+
+    public record AutoPayBacklog(long pending, LocalDate oldestDueDate) { }
+
+    /** Campos nulos não filtram. */
+    public record PendingFilter(Long categoryId, Long bankAccountId, TransactionType type,
+                                LocalDate startDate, LocalDate endDate) {
+
+        public boolean isEmpty() {
+            return categoryId == null && bankAccountId == null && type == null && startDate == null && endDate == null;
+        }
+
+        String where() {
+            StringBuilder where = new StringBuilder("WHERE status = 'PENDING'");
+            if (categoryId != null) {
+                where.append(" AND category_id = :categoryId");
+            }
+            if (bankAccountId != null) {
+                where.append(" AND bank_account_id = :bankAccountId");
+            }
+            if (type != null) {
+                where.append(" AND transaction_type = :type");
+            }
+            if (startDate != null) {
+                where.append(" AND expiration_date >= :startDate");
+            }
+            if (endDate != null) {
+                where.append(" AND expiration_date <= :endDate");
+            }
+            return where.toString();
+        }
+
+        MapSqlParameterSource parameters() {
+            return new MapSqlParameterSource()
+                    .addValue("categoryId", categoryId)
+                    .addValue("bankAccountId", bankAccountId)
+                    .addValue("type", type != null ? type.name() : null)
+                    .addValue("startDate", startDate)
+                    .addValue("endDate", endDate);
+        }
+    }
+}
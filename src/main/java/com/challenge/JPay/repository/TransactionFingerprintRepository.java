@@ -0,0 +1,76 @@
+package com.challenge.JPay.repository;
+
+import com.challenge.JPay.duplicate.TransactionFingerprint;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Repository
+public class TransactionFingerprintRepository {
+
+    private static final int FETCH_SIZE = 5000;
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public TransactionFingerprintRepository(JdbcTemplate jdbcTemplate, DataSource dataSource,
+                                            NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingTemplate = new JdbcTemplate(dataSource);
+        this.streamingTemplate.setFetchSize(FETCH_SIZE);
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts_payables", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    public void forEach(Consumer<TransactionFingerprint> consumer) {
+        streamingTemplate.query("SELECT description, amount, expiration_date, bank_account_id FROM accounts_payables",
+                rs -> {
+                    consumer.accept(toFingerprint(rs));
+                });
+    }
+
+    public List<TransactionFingerprint> findByIds(Collection<Long> ids) {
+        List<Long> all = List.copyOf(ids);
+        List<TransactionFingerprint> fingerprints = new ArrayList<>(all.size());
+        for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+            fingerprints.addAll(namedParameterJdbcTemplate.query("""
+                    SELECT description, amount, expiration_date, bank_account_id FROM accounts_payables WHERE id IN (:ids)
+                    """, new MapSqlParameterSource("ids", all.subList(from, Math.min(from + BATCH_SIZE, all.size()))),
+                    (rs, row) -> toFingerprint(rs)));
+        }
+        return fingerprints;
+    }
+
+    /** Id de um lançamento com a mesma impressão digital, ou {@code null}. */
+    public Long findDuplicate(TransactionFingerprint fingerprint) {
+        Long[] duplicate = {null};
+        jdbcTemplate.query("""
+                SELECT id, description FROM accounts_payables
+                WHERE bank_account_id = ? AND expiration_date = ? AND amount = ?
+                """, rs -> {
+            if (duplicate[0] == null && fingerprint.description().equals(TransactionFingerprint.normalize(rs.getString(2)))) {
+                duplicate[0] = rs.getLong(1);
+            }
+        }, fingerprint.bankAccountId(), fingerprint.expirationDate(), fingerprint.amount());
+        return duplicate[0];
+    }
+
+    private static TransactionFingerprint toFingerprint(ResultSet rs) throws SQLException {
+        return TransactionFingerprint.of(rs.getString(1), rs.getBigDecimal(2), rs.getDate(3).toLocalDate(), rs.getLong(4));
+    }
+}
@@ -3,21 +3,34 @@ package com.challenge.JPay.repository;
 import com.challenge.JPay.model.Transaction;
 import com.challenge.JPay.model.enums.Status;
 import com.challenge.JPay.model.enums.TransactionType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
     Page<Transaction> findByStatus(Status status, Pageable pageable);
 
+    /** A conta bancária é travada depois do lançamento, sempre nessa ordem. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Transaction a WHERE a.id = :id")
+    Optional<Transaction> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT a FROM Transaction a JOIN FETCH a.category JOIN FETCH a.bankAccount WHERE a.id = :id")
+    Optional<Transaction> findWithRelationsById(@Param("id") Long id);
+
     @Query("SELECT a FROM Transaction a WHERE a.expirationDate < :currentDate AND a.status = 'PENDING'")
     Page<Transaction> findByExpiredTransactions(@Param("currentDate") LocalDate currentDate, Pageable pageable);
 
@@ -28,4 +41,33 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
 
     @Query("SELECT SUM(a.amount) FROM Transaction a WHERE a.transactionType = :type")
     BigDecimal getTotalAmountByType(TransactionType type);
+
+    @Query("""
+        SELECT a FROM Transaction a
+        JOIN FETCH a.category
+        JOIN FETCH a.bankAccount
+        WHERE a.installmentGroup = :group
+        ORDER BY a.installmentNumber
+    """)
+    List<Transaction> findByInstallmentGroup(@Param("group") String group);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Transaction a SET a.status = :paid, a.paymentDate = :paymentDate, a.updatedAt = LOCAL DATETIME
+        WHERE a.installmentGroup = :group AND a.status = :pending
+    """)
+    int payPendingInstallments(@Param("group") String group, @Param("paymentDate") LocalDate paymentDate,
+                               @Param("pending") Status pending, @Param("paid") Status paid);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+        UPDATE accounts_payables
+        SET expiration_date = DATEADD(MONTH, :months, DATEADD(DAY, :days, expiration_date)), updated_at = LOCALTIMESTAMP
+        WHERE installment_group = :group AND status = 'PENDING'
+    """, nativeQuery = true)
+    int shiftPendingInstallments(@Param("group") String group, @Param("days") int days, @Param("months") int months);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Transaction a WHERE a.installmentGroup = :group AND a.status = :status")
+    int deleteInstallmentsByStatus(@Param("group") String group, @Param("status") Status status);
 }
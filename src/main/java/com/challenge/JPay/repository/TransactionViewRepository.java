@@ -0,0 +1,42 @@
+package com.challenge.JPay.repository;
+
+import com.challenge.JPay.model.TransactionView;
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.model.enums.TransactionType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TransactionViewRepository extends JpaRepository<TransactionView, Long> {
+
+    Page<TransactionView> findByStatus(Status status, Pageable pageable);
+
+    @Query("SELECT a FROM TransactionView a JOIN FETCH a.category JOIN FETCH a.bankAccount WHERE a.id = :id AND a.archived = true")
+    Optional<TransactionView> findArchivedWithRelationsById(@Param("id") Long id);
+
+    Page<TransactionView> findByExpirationDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    @Query("SELECT a FROM TransactionView a WHERE a.expirationDate BETWEEN :startDate AND :endDate AND a.transactionType = :type")
+    Page<TransactionView> findByExpirationDateBetweenAndType(LocalDate startDate, LocalDate endDate, TransactionType type, Pageable pageable);
+
+    @Query("SELECT SUM(a.amount) FROM TransactionView a WHERE a.transactionType = :type")
+    BigDecimal getTotalAmountByType(TransactionType type);
+
+    @Query("""
+        SELECT a FROM TransactionView a
+        JOIN FETCH a.category
+        JOIN FETCH a.bankAccount
+        WHERE a.installmentGroup = :group
+        ORDER BY a.installmentNumber
+    """)
+    List<TransactionView> findByInstallmentGroup(@Param("group") String group);
+}
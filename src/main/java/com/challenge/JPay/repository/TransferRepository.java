@@ -0,0 +1,20 @@
+package com.challenge.JPay.repository;
+
+import com.challenge.JPay.model.Transfer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TransferRepository extends JpaRepository<Transfer, Long> {
+
+    @Query("SELECT t FROM Transfer t WHERE t.source.id = :bankAccountId OR t.target.id = :bankAccountId")
+    Page<Transfer> findByBankAccount(@Param("bankAccountId") Long bankAccountId, Pageable pageable);
+
+    List<Transfer> findByBatchIdOrderById(String batchId);
+}
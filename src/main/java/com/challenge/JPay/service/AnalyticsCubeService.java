@@ -0,0 +1,178 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.analytics.CubeFilter;
+import com.challenge.JPay.analytics.CubeKey;
+import com.challenge.JPay.dto.response.CubeCellResponseDTO;
+import com.challenge.JPay.dto.response.CubeRebuildResponseDTO;
+import com.challenge.JPay.event.LifecycleEvent;
+import com.challenge.JPay.interfaces.LifecycleEventListener;
+import com.challenge.JPay.model.TransactionState;
+import com.challenge.JPay.model.enums.CubeDimension;
+import com.challenge.JPay.repository.AnalyticsRepository;
+import com.challenge.JPay.util.MoneyUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Os eventos ainda não despachados que uma reconstrução já reflete são descartados quando chegam. Não basta
+ * comparar com a marca d'água: uma transação pode gravar seu evento com id menor que o de outra que fez commit antes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalyticsCubeService implements LifecycleEventListener {
+
+    private static final long[] NO_EVENTS = new long[0];
+
+    private final AnalyticsRepository analyticsRepository;
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final ReentrantReadWriteLock cellsLock = new ReentrantReadWriteLock();
+
+    private Map<CubeKey, long[]> cells = new HashMap<>();
+    private long[] reflectedEventIds = NO_EVENTS;
+    private long highWaterMark;
+    private volatile LocalDateTime rebuiltAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread loader = new Thread(this::rebuild, "analytics-cube-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @Scheduled(cron = "${jpay.analytics.rebuild-cron:0 30 3 * * *}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    public CubeRebuildResponseDTO rebuild() {
+        log.info("Rebuilding analytics cube");
+        long start = System.currentTimeMillis();
+
+        updateLock.lock();
+        try {
+            Map<CubeKey, long[]> snapshot = new HashMap<>();
+            long[][] events = {new long[1024]};
+            int[] eventCount = {0};
+            long[] transactions = {0};
+            analyticsRepository.loadCubeSnapshot(
+                    (key, sumCents, count) -> {
+                        snapshot.put(key, new long[]{sumCents, count});
+                        transactions[0] += count;
+                    },
+                    id -> {
+                        if (eventCount[0] == events[0].length) {
+                            events[0] = Arrays.copyOf(events[0], events[0].length * 2);
+                        }
+                        events[0][eventCount[0]++] = id;
+                    });
+
+            long[] reflected = Arrays.copyOf(events[0], eventCount[0]);
+            Arrays.sort(reflected);
+
+            cellsLock.writeLock().lock();
+            try {
+                cells = snapshot;
+                reflectedEventIds = reflected;
+                highWaterMark = 0;
+                rebuiltAt = LocalDateTime.now();
+            } finally {
+                cellsLock.writeLock().unlock();
+            }
+
+            long elapsed = System.currentTimeMillis() - start;
+            log.info("Analytics cube rebuilt with {} cells ({} transactions) in {} ms", snapshot.size(), transactions[0], elapsed);
+
+            return CubeRebuildResponseDTO.builder()
+                    .cells(snapshot.size())
+                    .transactions(transactions[0])
+                    .elapsedMs(elapsed)
+                    .rebuiltAt(rebuiltAt)
+                    .build();
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    public List<CubeCellResponseDTO> query(CubeFilter filter, Set<CubeDimension> groupBy) {
+        Map<CubeKey, long[]> rows = new HashMap<>();
+
+        cellsLock.readLock().lock();
+        try {
+            for (Map.Entry<CubeKey, long[]> cell : cells.entrySet()) {
+                if (!filter.matches(cell.getKey())) {
+                    continue;
+                }
+                long[] row = rows.computeIfAbsent(cell.getKey().rollUp(groupBy), key -> new long[2]);
+                row[0] += cell.getValue()[0];
+                row[1] += cell.getValue()[1];
+            }
+        } finally {
+            cellsLock.readLock().unlock();
+        }
+
+        return rows.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(CubeKey.ORDER))
+                .map(row -> CubeCellResponseDTO.builder()
+                        .month(row.getKey().month())
+                        .categoryId(row.getKey().categoryId())
+                        .bankAccountId(row.getKey().bankAccountId())
+                        .type(row.getKey().type())
+                        .status(row.getKey().status())
+                        .total(MoneyUtils.fromCents(row.getValue()[0]))
+                        .count(row.getValue()[1])
+                        .build())
+                .toList();
+    }
+
+    public LocalDateTime rebuiltAt() {
+        return rebuiltAt;
+    }
+
+    @Override
+    public void onEvents(List<LifecycleEvent> events) {
+        updateLock.lock();
+        try {
+            cellsLock.writeLock().lock();
+            try {
+                for (LifecycleEvent event : events) {
+                    highWaterMark = Math.max(highWaterMark, event.id());
+                    if (reflectedEventIds.length > 0 && highWaterMark > reflectedEventIds[reflectedEventIds.length - 1]) {
+                        reflectedEventIds = NO_EVENTS;
+                    }
+                    if (!event.isTransactionEvent() || Arrays.binarySearch(reflectedEventIds, event.id()) >= 0) {
+                        continue;
+                    }
+                    apply(event.before(), -1);
+                    apply(event.after(), 1);
+                }
+            } finally {
+                cellsLock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private void apply(TransactionState state, int sign) {
+        if (state == null) {
+            return;
+        }
+        CubeKey key = CubeKey.of(state);
+        long[] cell = cells.computeIfAbsent(key, k -> new long[2]);
+        cell[0] += sign * MoneyUtils.toCents(state.amount());
+        cell[1] += sign;
+        if (cell[1] == 0 && cell[0] == 0) {
+            cells.remove(key);
+        }
+    }
+}
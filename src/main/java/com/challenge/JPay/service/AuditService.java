@@ -0,0 +1,85 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.audit.AuditJournal;
+import com.challenge.JPay.audit.AuditRecord;
+import com.challenge.JPay.dto.response.AuditRecordResponseDTO;
+import com.challenge.JPay.dto.response.AuditVerificationResponseDTO;
+import com.challenge.JPay.dto.response.AuditWriterStatusDTO;
+import com.challenge.JPay.exception.BusinessException;
+import com.challenge.JPay.util.MoneyUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditService {
+
+    private static final int MAX_LIMIT = 10_000;
+
+    private final AuditJournal auditJournal;
+
+    public List<AuditRecordResponseDTO> findRecords(LocalDateTime from, LocalDateTime to, Long bankAccountId, int limit) {
+        log.info("Scanning audit journal from {} to {} for bank account {} (limit {})", from, to, bankAccountId, limit);
+
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BusinessException("A data inicial não pode ser posterior à data final");
+        }
+
+        long fromMillis = from == null ? Long.MIN_VALUE : toMillis(from);
+        long toMillis = to == null ? Long.MAX_VALUE : toMillis(to);
+
+        return auditJournal.scan(fromMillis, toMillis, bankAccountId, Math.min(Math.max(limit, 1), MAX_LIMIT))
+                .stream().map(this::toResponseDTO).toList();
+    }
+
+    public AuditVerificationResponseDTO verify() {
+        log.info("Verifying audit journal checksum chain");
+
+        var verification = auditJournal.verify();
+        if (!verification.valid()) {
+            log.error("Audit journal checksum chain broken at sequence {}", verification.brokenAtSequence());
+        }
+
+        return AuditVerificationResponseDTO.builder()
+                .records(verification.records())
+                .valid(verification.valid())
+                .brokenAtSequence(verification.brokenAtSequence())
+                .build();
+    }
+
+    public AuditWriterStatusDTO writerStatus() {
+        var status = auditJournal.status();
+        return AuditWriterStatusDTO.builder()
+                .healthy(status.healthy())
+                .pendingRecords(status.pendingRecords())
+                .failingSince(status.failingSince() == null ? null
+                        : LocalDateTime.ofInstant(Instant.ofEpochMilli(status.failingSince()), ZoneId.systemDefault()))
+                .lastError(status.lastError())
+                .build();
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private AuditRecordResponseDTO toResponseDTO(AuditRecord record) {
+        return AuditRecordResponseDTO.builder()
+                .sequence(record.sequence())
+                .timestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(record.timestamp()), ZoneId.systemDefault()))
+                .type(record.type())
+                .transactionId(record.transactionId() == 0 ? null : record.transactionId())
+                .bankAccountId(record.bankAccountId() == 0 ? null : record.bankAccountId())
+                .oldValue(MoneyUtils.fromCents(record.oldValueCents()))
+                .newValue(MoneyUtils.fromCents(record.newValueCents()))
+                .oldStatus(record.oldStatus())
+                .newStatus(record.newStatus())
+                .build();
+    }
+}
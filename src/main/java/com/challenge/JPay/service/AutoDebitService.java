@@ -0,0 +1,263 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.dto.response.AutoDebitCycleDTO;
+import com.challenge.JPay.dto.response.AutoDebitStatsDTO;
+import com.challenge.JPay.model.BankAccount;
+import com.challenge.JPay.model.TransactionState;
+import com.challenge.JPay.model.enums.TransactionType;
+import com.challenge.JPay.repository.BankAccountRepository;
+import com.challenge.JPay.repository.TransactionBatchRepository;
+import com.challenge.JPay.repository.TransactionBatchRepository.AutoPayBacklog;
+import com.challenge.JPay.tenant.TenantContext;
+import com.challenge.JPay.tenant.TenantJobRunner;
+import com.challenge.JPay.util.MoneyUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Os lançamentos são travados com {@code SKIP LOCKED} e pagos por {@link TransactionService#payPending}, que só
+ * altera os ainda pendentes: duas execuções simultâneas, ou uma interrompida e repetida, nunca pagam o mesmo
+ * lançamento duas vezes.
+ */
+@Slf4j
+@Service
+public class AutoDebitService {
+
+    private static final LocalDate CURSOR_START = LocalDate.of(1900, 1, 1);
+
+    private final TransactionBatchRepository transactionBatchRepository;
+    private final BankAccountRepository bankAccountRepository;
+    private final TransactionService transactionService;
+    private final TransactionTemplate batchTemplate;
+    private final boolean scheduled;
+    private final long intervalMs;
+    private final int batchSize;
+    private final TenantJobRunner tenantJobRunner;
+    private final Map<String, Totals> totals = new ConcurrentHashMap<>();
+
+    public AutoDebitService(TransactionBatchRepository transactionBatchRepository,
+                            BankAccountRepository bankAccountRepository,
+                            TransactionService transactionService,
+                            PlatformTransactionManager transactionManager,
+                            TenantJobRunner tenantJobRunner,
+                            @Value("${jpay.auto-debit.enabled:true}") boolean scheduled,
+                            @Value("${jpay.auto-debit.interval-ms:60000}") long intervalMs,
+                            @Value("${jpay.auto-debit.batch-size:500}") int batchSize) {
+        this.transactionBatchRepository = transactionBatchRepository;
+        this.bankAccountRepository = bankAccountRepository;
+        this.transactionService = transactionService;
+        this.batchTemplate = new TransactionTemplate(transactionManager);
+        this.scheduled = scheduled;
+        this.intervalMs = intervalMs;
+        this.batchSize = batchSize;
+        this.tenantJobRunner = tenantJobRunner;
+    }
+
+    @Scheduled(fixedDelayString = "${jpay.auto-debit.interval-ms:60000}",
+            initialDelayString = "${jpay.auto-debit.interval-ms:60000}")
+    public void scheduledCycle() {
+        if (scheduled) {
+            tenantJobRunner.forEachTenant("auto-debit cycle", this::runCycle);
+        }
+    }
+
+    /** O cursor por (vencimento, id) faz com que os que ficaram para trás neste ciclo só sejam relidos no próximo. */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AutoDebitCycleDTO runCycle() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        Cycle cycle = new Cycle();
+
+        LocalDate afterDate = CURSOR_START;
+        long afterId = 0;
+        while (true) {
+            Map<Long, LocalDate> due = transactionBatchRepository.findAutoPayDue(today, afterDate, afterId, batchSize);
+            if (due.isEmpty()) {
+                break;
+            }
+            cycle.batches++;
+            cycle.candidates += due.size();
+            try {
+                cycle.add(batchTemplate.execute(status -> payBatch(due, today)));
+            } catch (RuntimeException e) {
+                cycle.failedBatches++;
+                log.warn("Auto-debit batch of {} transactions failed, they will be retried in the next cycle", due.size(), e);
+            }
+            for (Map.Entry<Long, LocalDate> entry : due.entrySet()) {
+                afterId = entry.getKey();
+                afterDate = entry.getValue();
+            }
+            if (due.size() < batchSize) {
+                break;
+            }
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        AutoDebitCycleDTO report = AutoDebitCycleDTO.builder()
+                .startedAt(startedAt)
+                .elapsedMs(elapsedMs)
+                .dueDate(today)
+                .batchSize(batchSize)
+                .batches(cycle.batches)
+                .candidates(cycle.candidates)
+                .paid(cycle.paid)
+                .skippedLocked(cycle.skippedLocked)
+                .insufficientBalance(cycle.insufficientBalance)
+                .inactiveAccount(cycle.inactiveAccount)
+                .failedBatches(cycle.failedBatches)
+                .debited(MoneyUtils.fromCents(cycle.debitedCents))
+                .credited(MoneyUtils.fromCents(cycle.creditedCents))
+                .paidPerSecond(cycle.paid * 1000.0 / Math.max(1, elapsedMs))
+                .averageLagDays(cycle.paid == 0 ? 0 : (double) cycle.lagDays / cycle.paid)
+                .maxLagDays(cycle.maxLagDays)
+                .build();
+        Totals tenantTotals = totals();
+        tenantTotals.cycles.incrementAndGet();
+        tenantTotals.paid.addAndGet(cycle.paid);
+        tenantTotals.insufficientBalance.addAndGet(cycle.insufficientBalance);
+        tenantTotals.inactiveAccount.addAndGet(cycle.inactiveAccount);
+        tenantTotals.failedBatches.addAndGet(cycle.failedBatches);
+        tenantTotals.lastCycle = report;
+        if (cycle.candidates > 0) {
+            log.info("Auto-debit cycle finished in {} ms: {} due, {} paid, {} locked, {} without balance, {} on inactive accounts, {} failed batches",
+                    elapsedMs, cycle.candidates, cycle.paid, cycle.skippedLocked, cycle.insufficientBalance,
+                    cycle.inactiveAccount, cycle.failedBatches);
+        }
+        return report;
+    }
+
+    public AutoDebitStatsDTO stats() {
+        LocalDate today = LocalDate.now();
+        AutoPayBacklog backlog = transactionBatchRepository.findAutoPayBacklog(today);
+        Totals tenantTotals = totals();
+        return AutoDebitStatsDTO.builder()
+                .enabled(scheduled)
+                .intervalMs(intervalMs)
+                .batchSize(batchSize)
+                .cycles(tenantTotals.cycles.get())
+                .paid(tenantTotals.paid.get())
+                .insufficientBalance(tenantTotals.insufficientBalance.get())
+                .inactiveAccount(tenantTotals.inactiveAccount.get())
+                .failedBatches(tenantTotals.failedBatches.get())
+                .backlog(backlog.pending())
+                .oldestDueDate(backlog.oldestDueDate())
+                .backlogLagDays(backlog.oldestDueDate() == null ? 0 : ChronoUnit.DAYS.between(backlog.oldestDueDate(), today))
+                .lastCycle(tenantTotals.lastCycle)
+                .build();
+    }
+
+    private Totals totals() {
+        return totals.computeIfAbsent(TenantContext.current(), tenant -> new Totals());
+    }
+
+    /** Os contadores do bloco só entram no ciclo depois do commit. */
+    private Cycle payBatch(Map<Long, LocalDate> due, LocalDate today) {
+        Map<Long, TransactionState> locked = transactionBatchRepository.lockAutoPayStates(due.keySet());
+        Cycle batch = new Cycle();
+        if (locked.size() < due.size()) {
+            // os que sumiram do bloco por terem sido pagos nesse meio tempo não contam como travados
+            List<Long> missing = due.keySet().stream().filter(id -> !locked.containsKey(id)).toList();
+            batch.skippedLocked = transactionBatchRepository.countAutoPayPending(missing);
+        }
+
+        SortedMap<Long, Map<Long, TransactionState>> byAccount = new TreeMap<>();
+        locked.forEach((id, state) -> byAccount.computeIfAbsent(state.bankAccountId(), account -> new LinkedHashMap<>()).put(id, state));
+
+        List<AccountPayment> payments = new ArrayList<>(byAccount.size());
+        for (Map.Entry<Long, Map<Long, TransactionState>> entry : byAccount.entrySet()) {
+            BankAccount account = bankAccountRepository.findByIdForUpdate(entry.getKey()).orElse(null);
+            if (account == null || !account.getActive()) {
+                batch.inactiveAccount += entry.getValue().size();
+                continue;
+            }
+
+            long balance = MoneyUtils.toCents(account.getCurrentBalance());
+            Map<Long, TransactionState> payable = new LinkedHashMap<>();
+            Map<Long, LocalDate> paymentDates = new LinkedHashMap<>();
+            for (Map.Entry<Long, TransactionState> transaction : entry.getValue().entrySet()) {
+                TransactionState state = transaction.getValue();
+                long cents = MoneyUtils.toCents(state.amount());
+                if (state.transactionType() == TransactionType.PASSIVO) {
+                    if (balance < cents) {
+                        batch.insufficientBalance++;
+                        continue;
+                    }
+                    balance -= cents;
+                    batch.debitedCents += cents;
+                } else {
+                    balance += cents;
+                    batch.creditedCents += cents;
+                }
+                long lag = ChronoUnit.DAYS.between(state.expirationDate(), today);
+                batch.lagDays += lag;
+                batch.maxLagDays = Math.max(batch.maxLagDays, lag);
+                payable.put(transaction.getKey(), state);
+                paymentDates.put(transaction.getKey(), today);
+            }
+            if (!paymentDates.isEmpty()) {
+                payments.add(new AccountPayment(account.getId(), payable, paymentDates));
+            }
+        }
+
+        for (AccountPayment payment : payments) {
+            transactionService.payPending(payment.bankAccountId(), payment.pending(), payment.paymentDates());
+            batch.paid += payment.paymentDates().size();
+        }
+        return batch;
+    }
+
+    private static final class Totals {
+        final AtomicLong cycles = new AtomicLong();
+        final AtomicLong paid = new AtomicLong();
+        final AtomicLong insufficientBalance = new AtomicLong();
+        final AtomicLong inactiveAccount = new AtomicLong();
+        final AtomicLong failedBatches = new AtomicLong();
+        volatile AutoDebitCycleDTO lastCycle;
+    }
+
+    private record AccountPayment(Long bankAccountId, Map<Long, TransactionState> pending, Map<Long, LocalDate> paymentDates) { }
+
+    private static final class Cycle {
+        int batches;
+        long candidates;
+        long paid;
+        long skippedLocked;
+        long insufficientBalance;
+        long inactiveAccount;
+        int failedBatches;
+        long debitedCents;
+        long creditedCents;
+        long lagDays;
+        long maxLagDays;
+
+        void add(Cycle batch) {
+            paid += batch.paid;
+            skippedLocked += batch.skippedLocked;
+            insufficientBalance += batch.insufficientBalance;
+            inactiveAccount += batch.inactiveAccount;
+            debitedCents += batch.debitedCents;
+            creditedCents += batch.creditedCents;
+            lagDays += batch.lagDays;
+            maxLagDays = Math.max(maxLagDays, batch.maxLagDays);
+        }
+    }
+}
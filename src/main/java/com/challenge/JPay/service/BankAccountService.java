@@ -1,11 +1,17 @@
 package com.challenge.JPay.service;
 
+import com.challenge.JPay.audit.AuditJournal;
+import com.challenge.JPay.cache.PaidTransactionCache;
 import com.challenge.JPay.dto.request.BankAccountRequestDTO;
 import com.challenge.JPay.dto.response.BankAccountResponseDTO;
+import com.challenge.JPay.dto.response.BulkOperationResponseDTO;
 import com.challenge.JPay.exception.BankAccountNotFoundException;
 import com.challenge.JPay.exception.BusinessException;
 import com.challenge.JPay.model.BankAccount;
+import com.challenge.JPay.model.PendingExposure;
 import com.challenge.JPay.repository.BankAccountRepository;
+import com.challenge.JPay.repository.FieldCatalog;
+import com.challenge.JPay.repository.SparseFieldRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -14,7 +20,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -23,6 +33,10 @@ import java.util.List;
 public class BankAccountService {
 
     private final BankAccountRepository bankAccountRepository;
+    private final AuditJournal auditJournal;
+    private final OutboxService outboxService;
+    private final SparseFieldRepository sparseFieldRepository;
+    private final PaidTransactionCache paidTransactionCache;
 
     public Page<BankAccountResponseDTO> findAll(Pageable pageable) {
         log.info("Finding all bank accounts with pagination: {}", pageable);
@@ -46,6 +60,19 @@ public class BankAccountService {
         return toResponseDTO(bankAccount);
     }
 
+    public Page<Map<String, Object>> findAll(String fields, Pageable pageable) {
+        log.info("Finding all bank accounts with fields [{}] and pagination: {}", fields, pageable);
+
+        return sparseFieldRepository.findAll(FieldCatalog.BANK_ACCOUNT, FieldCatalog.BANK_ACCOUNT.select(fields), pageable);
+    }
+
+    public Map<String, Object> findById(Long id, String fields) {
+        log.info("Finding bank account by id: {} with fields [{}]", id, fields);
+
+        return sparseFieldRepository.findById(FieldCatalog.BANK_ACCOUNT, FieldCatalog.BANK_ACCOUNT.select(fields), id)
+                .orElseThrow(() -> new BankAccountNotFoundException(id));
+    }
+
     public Page<BankAccountResponseDTO> findByBank(String bank, Pageable pageable) {
         log.info("Finding bank accounts by bank: {} with pagination: {}", bank, pageable);
 
@@ -68,9 +95,11 @@ public class BankAccountService {
                 .name(dto.name())
                 .bank(dto.bank())
                 .currentBalance(dto.currentBalance())
+                .openingBalance(dto.currentBalance())
                 .build();
 
         BankAccount createdBankAccount = bankAccountRepository.save(bankAccount);
+        outboxService.balanceChanged(createdBankAccount.getId(), null, createdBankAccount.getCurrentBalance());
         log.info("Bank account created successfully with id: {}", createdBankAccount.getId());
 
         return toResponseDTO(createdBankAccount);
@@ -80,14 +109,20 @@ public class BankAccountService {
     public BankAccountResponseDTO update(Long id, BankAccountRequestDTO dto) {
         log.info("Updating bank account with id: {}", id);
 
-        BankAccount bankAccount = bankAccountRepository.findById(id)
+        BankAccount bankAccount = bankAccountRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new BankAccountNotFoundException(id));
 
+        BigDecimal oldBalance = bankAccount.getCurrentBalance();
+        if (!Objects.equals(bankAccount.getName(), dto.name()) || !Objects.equals(bankAccount.getBank(), dto.bank())) {
+            paidTransactionCache.evictByBankAccount(id);
+        }
         bankAccount.setName(dto.name());
         bankAccount.setBank(dto.bank());
         bankAccount.setCurrentBalance(dto.currentBalance());
 
         BankAccount updatedBankAccount = bankAccountRepository.save(bankAccount);
+        auditJournal.recordBalanceChange(id, null, oldBalance, dto.currentBalance());
+        outboxService.balanceChanged(id, oldBalance, dto.currentBalance());
         log.info("Bank account updated successfully with id: {}", updatedBankAccount.getId());
 
         return toResponseDTO(updatedBankAccount);
@@ -97,15 +132,18 @@ public class BankAccountService {
     public BankAccountResponseDTO updateBalance(Long id, BigDecimal newBalance) {
         log.info("Updating balance for bank account id: {} to: {}", id, newBalance);
 
-        BankAccount bankAccount = bankAccountRepository.findById(id)
+        BankAccount bankAccount = bankAccountRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new BankAccountNotFoundException(id));
 
         if (newBalance.compareTo(BigDecimal.ZERO) < 0) {
             throw new BusinessException("Balance não pode ser menor que 0");
         }
 
+        BigDecimal oldBalance = bankAccount.getCurrentBalance();
         bankAccount.setCurrentBalance(newBalance);
         BankAccount updatedBankAccount = bankAccountRepository.save(bankAccount);
+        auditJournal.recordBalanceChange(id, null, oldBalance, newBalance);
+        outboxService.balanceChanged(id, oldBalance, newBalance);
         log.info("Bank account balance updated successfully for id: {}", updatedBankAccount.getId());
 
         return toResponseDTO(updatedBankAccount);
@@ -118,16 +156,55 @@ public class BankAccountService {
         BankAccount bankAccount = bankAccountRepository.findById(id)
                 .orElseThrow(() -> new BankAccountNotFoundException(id));
 
-        long pendingTransactionsCount = bankAccountRepository.countPendingTransactionsByBankAccount(id);
+        long pendingTransactionsCount = bankAccount.getPendingExposure().count();
         if (pendingTransactionsCount > 0) {
             throw new BusinessException("Não pode desativar a conta bancária, pois ela tem " + pendingTransactionsCount + " lançamentos pendentes");
         }
 
-        bankAccount.setActive(!bankAccount.getActive());
-        bankAccountRepository.save(bankAccount);
+        // UPDATE só da coluna active: salvar a entidade lida sem trava regravaria um current_balance desatualizado
+        List<Long> ids = List.of(id);
+        int updated = bankAccount.getActive() ? bankAccountRepository.deactivateAllWithoutPending(ids) : bankAccountRepository.activateAll(ids);
+        if (updated != 1) {
+            throw new BusinessException("A conta bancária " + id + " foi alterada durante a operação, tente novamente");
+        }
         log.info("Bank account deactivated successfully with id: {}", id);
     }
 
+    /** Para desativar, nenhuma pode ter lançamentos pendentes; o próprio UPDATE repete essa condição. */
+    @Transactional
+    public BulkOperationResponseDTO setActive(List<Long> ids, boolean active) {
+        log.info("Setting active={} for {} bank accounts", active, ids.size());
+
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        List<BankAccount> bankAccounts = bankAccountRepository.findAllById(requested);
+        if (bankAccounts.size() < requested.size()) {
+            bankAccounts.forEach(bankAccount -> requested.remove(bankAccount.getId()));
+            throw new BankAccountNotFoundException("IDs das contas bancárias não foram encontrados na base de dados (IDs: " + requested + ")");
+        }
+
+        if (!active) {
+            List<Long> withPending = bankAccounts.stream()
+                    .filter(bankAccount -> bankAccount.getPendingExposure().count() > 0)
+                    .map(BankAccount::getId)
+                    .toList();
+            if (!withPending.isEmpty()) {
+                throw new BusinessException("Não pode desativar as contas bancárias " + withPending + ", pois elas têm lançamentos pendentes");
+            }
+        }
+
+        long expected = bankAccounts.stream().filter(bankAccount -> bankAccount.getActive() != active).count();
+        int updated = active ? bankAccountRepository.activateAll(requested) : bankAccountRepository.deactivateAllWithoutPending(requested);
+        if (updated != expected) {
+            throw new BusinessException("As contas bancárias foram alteradas durante a operação, tente novamente");
+        }
+        log.info("{} bank accounts changed to active={}", updated, active);
+
+        return BulkOperationResponseDTO.builder()
+                .matched(requested.size())
+                .updated(updated)
+                .build();
+    }
+
     @Transactional
     public void delete(Long id) {
         log.info("Deleting bank account with id: {}", id);
@@ -135,7 +212,8 @@ public class BankAccountService {
         BankAccount bankAccount = bankAccountRepository.findById(id)
                 .orElseThrow(() -> new BankAccountNotFoundException(id));
 
-        long transactionsCount = bankAccountRepository.countTransactionsByBankAccount(id);
+        long transactionsCount = bankAccountRepository.countTransactionsByBankAccount(id)
+                + bankAccountRepository.countTransfersByBankAccount(id);
 
         if (transactionsCount > 0) {
             throw new BusinessException("Não é possível deletar a conta bancária pois ela possuí lançamentos pendentes e/ou transaões vinculadas, tente desativar");
@@ -146,6 +224,7 @@ public class BankAccountService {
     }
 
     private BankAccountResponseDTO toResponseDTO(BankAccount bankAccount) {
+        PendingExposure exposure = bankAccount.getPendingExposure();
 
         return BankAccountResponseDTO.builder()
                 .id(bankAccount.getId())
@@ -153,6 +232,10 @@ public class BankAccountService {
                 .bank(bankAccount.getBank())
                 .currentBalance(bankAccount.getCurrentBalance())
                 .active(bankAccount.getActive())
+                .pendingCount(exposure.count())
+                .pendingPayable(exposure.payable())
+                .pendingReceivable(exposure.receivable())
+                .projectedBalance(bankAccount.getCurrentBalance().add(exposure.receivable()).subtract(exposure.payable()))
                 .createdAt(bankAccount.getCreatedAt())
                 .updatedAt(bankAccount.getUpdatedAt())
                 .build();
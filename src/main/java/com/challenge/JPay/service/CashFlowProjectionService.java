@@ -0,0 +1,134 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.dto.response.CashFlowProjectionResponseDTO;
+import com.challenge.JPay.dto.response.CashFlowSeriesDTO;
+import com.challenge.JPay.exception.BankAccountNotFoundException;
+import com.challenge.JPay.exception.BusinessException;
+import com.challenge.JPay.model.enums.TransactionType;
+import com.challenge.JPay.repository.CashFlowRepository;
+import com.challenge.JPay.util.MoneyUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Pendências vencidas entram no primeiro dia da série. */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class CashFlowProjectionService {
+
+    static final int MAX_DAYS = 366;
+
+    private final CashFlowRepository cashFlowRepository;
+    private final BigDecimal defaultThreshold;
+
+    public CashFlowProjectionService(CashFlowRepository cashFlowRepository,
+                                     @Value("${jpay.projection.threshold:0}") BigDecimal defaultThreshold) {
+        this.cashFlowRepository = cashFlowRepository;
+        this.defaultThreshold = defaultThreshold;
+    }
+
+    public CashFlowProjectionResponseDTO project(int days, BigDecimal threshold, Long bankAccountId) {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new BusinessException("O horizonte da projeção precisa estar entre 1 e " + MAX_DAYS + " dias");
+        }
+        log.info("Projecting cash flow for {} days (bank account: {})", days, bankAccountId);
+
+        long start = System.currentTimeMillis();
+        BigDecimal effectiveThreshold = threshold == null ? defaultThreshold : threshold;
+        long thresholdCents = MoneyUtils.toCents(effectiveThreshold);
+        LocalDate today = LocalDate.now();
+        LocalDate horizon = today.plusDays(days - 1L);
+
+        List<Long> ids = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<Long> openings = new ArrayList<>();
+        cashFlowRepository.forEachActiveAccount(bankAccountId, (id, name, balanceCents) -> {
+            ids.add(id);
+            names.add(name);
+            openings.add(balanceCents);
+        });
+        if (bankAccountId != null && ids.isEmpty()) {
+            throw new BankAccountNotFoundException(bankAccountId);
+        }
+
+        Map<Long, Integer> rows = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i++) {
+            rows.put(ids.get(i), i);
+        }
+
+        long[][] deltas = new long[ids.size()][days];
+        cashFlowRepository.forEachPendingDailyTotal(horizon, bankAccountId, (id, date, type, cents) -> {
+            Integer row = rows.get(id);
+            if (row == null) {
+                return;
+            }
+            int day = (int) Math.max(0, ChronoUnit.DAYS.between(today, date));
+            deltas[row][day] += type == TransactionType.ATIVO ? cents : -cents;
+        });
+
+        long[] consolidated = new long[days];
+        long consolidatedOpening = 0;
+        List<CashFlowSeriesDTO> accounts = new ArrayList<>(ids.size());
+        for (int row = 0; row < ids.size(); row++) {
+            long[] balances = deltas[row];
+            long opening = openings.get(row);
+            long running = opening;
+            for (int day = 0; day < days; day++) {
+                running += balances[day];
+                balances[day] = running;
+                consolidated[day] += running;
+            }
+            consolidatedOpening += opening;
+            accounts.add(toSeries(ids.get(row), names.get(row), opening, balances, thresholdCents, today));
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Cash flow projected for {} accounts over {} days in {} ms", ids.size(), days, elapsed);
+
+        return CashFlowProjectionResponseDTO.builder()
+                .startDate(today)
+                .days(days)
+                .threshold(effectiveThreshold)
+                .consolidated(toSeries(null, null, consolidatedOpening, consolidated, thresholdCents, today))
+                .accounts(accounts)
+                .elapsedMs(elapsed)
+                .build();
+    }
+
+    private CashFlowSeriesDTO toSeries(Long bankAccountId, String name, long opening, long[] balances,
+                                       long thresholdCents, LocalDate today) {
+        int firstBelow = -1;
+        int minimumDay = 0;
+        List<BigDecimal> series = new ArrayList<>(balances.length);
+        for (int day = 0; day < balances.length; day++) {
+            if (firstBelow < 0 && balances[day] < thresholdCents) {
+                firstBelow = day;
+            }
+            if (balances[day] < balances[minimumDay]) {
+                minimumDay = day;
+            }
+            series.add(MoneyUtils.fromCents(balances[day]));
+        }
+
+        return CashFlowSeriesDTO.builder()
+                .bankAccountId(bankAccountId)
+                .name(name)
+                .currentBalance(MoneyUtils.fromCents(opening))
+                .finalBalance(series.get(series.size() - 1))
+                .minimumBalance(series.get(minimumDay))
+                .minimumBalanceDate(today.plusDays(minimumDay))
+                .firstDayBelowThreshold(firstBelow < 0 ? null : today.plusDays(firstBelow))
+                .balances(series)
+                .build();
+    }
+}
@@ -1,12 +1,16 @@
 package com.challenge.JPay.service;
 
+import com.challenge.JPay.cache.PaidTransactionCache;
 import com.challenge.JPay.dto.request.CategoryRequestDTO;
+import com.challenge.JPay.dto.response.BulkOperationResponseDTO;
 import com.challenge.JPay.dto.response.CategoryResponseDTO;
 import com.challenge.JPay.dto.response.CategoryTotalsResponseDTO;
 import com.challenge.JPay.exception.BusinessException;
 import com.challenge.JPay.exception.CategoryNotFoundException;
 import com.challenge.JPay.exception.ResourceDuplicateException;
 import com.challenge.JPay.model.Category;
+import com.challenge.JPay.repository.FieldCatalog;
+import com.challenge.JPay.repository.SparseFieldRepository;
 import com.challenge.JPay.repository.TransactionRepository;
 import com.challenge.JPay.repository.CategoryRepository;
 import lombok.extern.slf4j.Slf4j;
@@ -16,7 +20,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -27,6 +34,10 @@ public class CategoryService {
     private CategoryRepository repository;
     @Autowired
     private TransactionRepository transactionRepository;
+    @Autowired
+    private SparseFieldRepository sparseFieldRepository;
+    @Autowired
+    private PaidTransactionCache paidTransactionCache;
 
     public Page<CategoryResponseDTO> findAll(Pageable pageable) {
         log.info("Finding all categories with pagination: {}", pageable);
@@ -70,6 +81,19 @@ public class CategoryService {
         return toResponseDTO(category);
     }
 
+    public Page<Map<String, Object>> findAll(String fields, Pageable pageable) {
+        log.info("Finding all categories with fields [{}] and pagination: {}", fields, pageable);
+
+        return sparseFieldRepository.findAll(FieldCatalog.CATEGORY, FieldCatalog.CATEGORY.select(fields), pageable);
+    }
+
+    public Map<String, Object> findById(Long id, String fields) {
+        log.info("Finding category by id: {} with fields [{}]", id, fields);
+
+        return sparseFieldRepository.findById(FieldCatalog.CATEGORY, FieldCatalog.CATEGORY.select(fields), id)
+                .orElseThrow(() -> new CategoryNotFoundException(id));
+    }
+
     public Page<CategoryResponseDTO> findByNameContaining(String name, Pageable pageable) {
         log.info("Finding categories by name containing: {} with pagination: {}", name, pageable);
 
@@ -103,6 +127,9 @@ public class CategoryService {
             throw new ResourceDuplicateException("Categoria "+ dto.name() + " já existe");
         }
 
+        if (!category.getName().equals(dto.name())) {
+            paidTransactionCache.evictByCategory(id);
+        }
         category.setName(dto.name());
         category.setDescription(dto.description());
 
@@ -119,17 +146,54 @@ public class CategoryService {
         Category category = repository.findById(id)
                 .orElseThrow(() -> new CategoryNotFoundException(id));
 
-
-        long pendingTransactionsCount = repository.countPendingTransactionsByCategory(id);
+        long pendingTransactionsCount = category.getPendingExposure().count();
         if (pendingTransactionsCount > 0) {
             throw new BusinessException("Não é possivel desativar a categoria pois ela possuí " + pendingTransactionsCount + " lançamentos pendentes");
         }
 
-        category.setActive(!category.getActive());
-        repository.save(category);
+        List<Long> ids = List.of(id);
+        int updated = category.getActive() ? repository.deactivateAllWithoutPending(ids) : repository.activateAll(ids);
+        if (updated != 1) {
+            throw new BusinessException("A categoria " + id + " foi alterada durante a operação, tente novamente");
+        }
         log.info("Category active status change with successfully with id: {}", id);
     }
 
+    /** Para desativar, nenhuma pode ter lançamentos pendentes; se um surgir no meio da operação, ela é desfeita. */
+    @Transactional
+    public BulkOperationResponseDTO setActive(List<Long> ids, boolean active) {
+        log.info("Setting active={} for {} categories", active, ids.size());
+
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        List<Category> categories = repository.findAllById(requested);
+        if (categories.size() < requested.size()) {
+            categories.forEach(category -> requested.remove(category.getId()));
+            throw new CategoryNotFoundException("IDs das categorias não foram encontrados na base de dados (IDs: " + requested + ")");
+        }
+
+        if (!active) {
+            List<Long> withPending = categories.stream()
+                    .filter(category -> category.getPendingExposure().count() > 0)
+                    .map(Category::getId)
+                    .toList();
+            if (!withPending.isEmpty()) {
+                throw new BusinessException("Não é possível desativar as categorias " + withPending + " pois elas possuem lançamentos pendentes");
+            }
+        }
+
+        long expected = categories.stream().filter(category -> category.getActive() != active).count();
+        int updated = active ? repository.activateAll(requested) : repository.deactivateAllWithoutPending(requested);
+        if (updated != expected) {
+            throw new BusinessException("As categorias foram alteradas durante a operação, tente novamente");
+        }
+        log.info("{} categories changed to active={}", updated, active);
+
+        return BulkOperationResponseDTO.builder()
+                .matched(requested.size())
+                .updated(updated)
+                .build();
+    }
+
     @Transactional
     public void delete(Long id) {
         log.info("Deleting category with id: {}", id);
@@ -159,6 +223,9 @@ public class CategoryService {
                 .name(category.getName())
                 .description(category.getDescription())
                 .active(category.getActive())
+                .pendingCount(category.getPendingExposure().count())
+                .pendingPayable(category.getPendingExposure().payable())
+                .pendingReceivable(category.getPendingExposure().receivable())
                 .createdAt(category.getCreatedAt())
                 .updatedAt(category.getUpdatedAt())
                 .build();
@@ -0,0 +1,182 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.analytics.ColumnarAggregate;
+import com.challenge.JPay.analytics.ColumnarQuery;
+import com.challenge.JPay.analytics.ColumnarStore;
+import com.challenge.JPay.dto.response.ColumnarAggregateResponseDTO;
+import com.challenge.JPay.event.LifecycleEvent;
+import com.challenge.JPay.exception.BusinessException;
+import com.challenge.JPay.interfaces.LifecycleEventListener;
+import com.challenge.JPay.model.TransactionState;
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.model.enums.TransactionType;
+import com.challenge.JPay.repository.AnalyticsRepository;
+import com.challenge.JPay.util.MoneyUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Eventos que chegam durante a carga inicial são aplicados no fim; como cada um grava o estado final do
+ * lançamento, reaplicar um evento já refletido na carga não muda o resultado.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "jpay.columnar.enabled", havingValue = "true")
+public class ColumnarAnalyticsService implements LifecycleEventListener {
+
+    private static final int MAX_HISTOGRAM_BUCKETS = 1000;
+
+    private final AnalyticsRepository analyticsRepository;
+    private final ColumnarStore store;
+    private final ForkJoinPool pool;
+    private final Object monitor = new Object();
+
+    private List<LifecycleEvent> deferred;
+    private volatile boolean ready;
+
+    public ColumnarAnalyticsService(AnalyticsRepository analyticsRepository,
+                                    @Value("${jpay.columnar.segment-bits:20}") int segmentBits,
+                                    @Value("${jpay.columnar.slice-rows:65536}") int sliceRows,
+                                    @Value("${jpay.columnar.parallelism:0}") int parallelism) {
+        this.analyticsRepository = analyticsRepository;
+        this.store = new ColumnarStore(segmentBits, sliceRows);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread loader = new Thread(this::load, "columnar-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    public void load() {
+        synchronized (monitor) {
+            if (deferred != null) {
+                throw new BusinessException("O armazenamento colunar já está sendo carregado");
+            }
+            deferred = new ArrayList<>();
+            ready = false;
+        }
+
+        long start = System.currentTimeMillis();
+        log.info("Loading columnar transaction store");
+        try {
+            store.clear();
+            analyticsRepository.forEachTransaction((id, amountCents, expirationDate, paymentDate, categoryId, bankAccountId, type, status) ->
+                    store.put(id, amountCents, (int) expirationDate.toEpochDay(), epochDay(paymentDate), categoryId, bankAccountId, type, status));
+        } finally {
+            synchronized (monitor) {
+                deferred.forEach(this::apply);
+                log.info("Columnar store loaded with {} rows ({} MB off-heap, {} deferred events) in {} ms",
+                        store.rows(), store.offHeapBytes() >> 20, deferred.size(), System.currentTimeMillis() - start);
+                deferred = null;
+                ready = true;
+            }
+        }
+    }
+
+    public ColumnarAggregateResponseDTO aggregate(LocalDate expirationFrom, LocalDate expirationTo,
+                                                  LocalDate paymentFrom, LocalDate paymentTo,
+                                                  Long categoryId, Long bankAccountId, String type, String status,
+                                                  BigDecimal histogramWidth, int histogramBuckets) {
+        if (!ready) {
+            throw new BusinessException("O armazenamento colunar ainda está sendo carregado");
+        }
+        if (histogramWidth != null && (histogramWidth.signum() <= 0 || histogramBuckets < 1 || histogramBuckets > MAX_HISTOGRAM_BUCKETS)) {
+            throw new BusinessException("O histograma precisa de largura positiva e entre 1 e " + MAX_HISTOGRAM_BUCKETS + " faixas");
+        }
+
+        var query = new ColumnarQuery(
+                expirationFrom == null ? Integer.MIN_VALUE : (int) expirationFrom.toEpochDay(),
+                expirationTo == null ? Integer.MAX_VALUE : (int) expirationTo.toEpochDay(),
+                paymentFrom == null ? Integer.MIN_VALUE + 1 : (int) paymentFrom.toEpochDay(),
+                paymentTo == null ? Integer.MAX_VALUE : (int) paymentTo.toEpochDay(),
+                paymentFrom != null || paymentTo != null,
+                categoryId == null ? -1 : Math.toIntExact(categoryId),
+                bankAccountId == null ? -1 : Math.toIntExact(bankAccountId),
+                type == null ? -1 : Enum.valueOf(TransactionType.class, type).ordinal(),
+                status == null ? -1 : Enum.valueOf(Status.class, status).ordinal(),
+                histogramWidth == null ? 0 : MoneyUtils.toCents(histogramWidth),
+                histogramBuckets);
+
+        long start = System.nanoTime();
+        ColumnarAggregate aggregate = store.scan(query, pool);
+        long elapsedMicros = (System.nanoTime() - start) / 1000;
+
+        return ColumnarAggregateResponseDTO.builder()
+                .count(aggregate.count())
+                .total(MoneyUtils.fromCents(aggregate.sum()))
+                .min(MoneyUtils.fromCents(aggregate.min()))
+                .max(MoneyUtils.fromCents(aggregate.max()))
+                .average(aggregate.count() == 0 ? BigDecimal.ZERO
+                        : MoneyUtils.fromCents(aggregate.sum()).divide(BigDecimal.valueOf(aggregate.count()), 2, RoundingMode.HALF_EVEN))
+                .histogram(toHistogram(aggregate))
+                .storedRows(store.rows())
+                .elapsedMicros(elapsedMicros)
+                .build();
+    }
+
+    @Override
+    public void onEvents(List<LifecycleEvent> events) {
+        synchronized (monitor) {
+            for (LifecycleEvent event : events) {
+                if (!event.isTransactionEvent()) {
+                    continue;
+                }
+                if (deferred != null) {
+                    deferred.add(event);
+                } else {
+                    apply(event);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    private void apply(LifecycleEvent event) {
+        TransactionState state = event.after();
+        if (state == null) {
+            store.remove(event.transactionId());
+            return;
+        }
+        store.put(event.transactionId(), MoneyUtils.toCents(state.amount()), (int) state.expirationDate().toEpochDay(),
+                epochDay(state.paymentDate()), state.categoryId(), state.bankAccountId(), state.transactionType(), state.status());
+    }
+
+    private static int epochDay(LocalDate date) {
+        return date == null ? ColumnarStore.NO_DATE : (int) date.toEpochDay();
+    }
+
+    private static List<ColumnarAggregateResponseDTO.HistogramBucket> toHistogram(ColumnarAggregate aggregate) {
+        long[] histogram = aggregate.histogram();
+        if (histogram == null) {
+            return null;
+        }
+        List<ColumnarAggregateResponseDTO.HistogramBucket> buckets = new ArrayList<>(histogram.length);
+        for (int i = 0; i < histogram.length; i++) {
+            long from = i * aggregate.histogramWidth();
+            buckets.add(new ColumnarAggregateResponseDTO.HistogramBucket(
+                    MoneyUtils.fromCents(from),
+                    i == histogram.length - 1 ? null : MoneyUtils.fromCents(from + aggregate.histogramWidth()),
+                    histogram[i]));
+        }
+        return buckets;
+    }
+}
@@ -0,0 +1,343 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.duplicate.BloomFilter;
+import com.challenge.JPay.duplicate.DuplicateMode;
+import com.challenge.JPay.duplicate.TransactionFingerprint;
+import com.challenge.JPay.dto.response.DuplicateFilterStatsDTO;
+import com.challenge.JPay.exception.BusinessException;
+import com.challenge.JPay.exception.ResourceDuplicateException;
+import com.challenge.JPay.repository.TransactionFingerprintRepository;
+import com.challenge.JPay.tenant.TenantContext;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Impressões de lançamentos removidos ou alterados continuam no filtro e só custam uma consulta exata a mais.
+ * No modo {@code REJECT} a trava da impressão digital é desta instância: com várias instâncias sobre o mesmo
+ * banco, a recusa é best-effort.
+ */
+@Slf4j
+@Service
+public class DuplicateDetectionService {
+
+    /** Quanto tempo o filtro anterior ainda é consultado depois de uma recarga, para transações que estavam abertas. */
+    private static final long PREVIOUS_FILTER_GRACE_MS = TimeUnit.MINUTES.toMillis(10);
+    private static final int REJECT_LOCK_STRIPES = 1024;
+    private static final long REJECT_LOCK_TIMEOUT_MS = 5000;
+
+    private final TransactionFingerprintRepository repository;
+    private final DuplicateMode mode;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Map<String, TenantFilter> filters = new ConcurrentHashMap<>();
+    private final ReentrantLock[] rejectLocks = new ReentrantLock[REJECT_LOCK_STRIPES];
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "duplicate-filter-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DuplicateDetectionService(TransactionFingerprintRepository repository,
+                                     @Value("${jpay.duplicates.mode:WARN}") DuplicateMode mode,
+                                     @Value("${jpay.duplicates.expected-insertions:1000000}") long expectedInsertions,
+                                     @Value("${jpay.duplicates.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.repository = repository;
+        this.mode = mode;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        for (int i = 0; i < rejectLocks.length; i++) {
+            rejectLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (mode != DuplicateMode.OFF) {
+            filter();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        loader.shutdownNow();
+    }
+
+    public void verify(TransactionFingerprint fingerprint) {
+        if (mode == DuplicateMode.OFF) {
+            return;
+        }
+        if (mode == DuplicateMode.REJECT) {
+            lockUntilCompletion(List.of(fingerprint));
+        }
+        check(fingerprint);
+    }
+
+    public void verifyAll(Collection<TransactionFingerprint> fingerprints) {
+        if (mode == DuplicateMode.OFF) {
+            return;
+        }
+        if (mode == DuplicateMode.REJECT) {
+            lockUntilCompletion(fingerprints);
+        }
+        fingerprints.forEach(this::check);
+    }
+
+    private void check(TransactionFingerprint fingerprint) {
+        Long duplicate = filter().check(fingerprint);
+        if (duplicate == null) {
+            return;
+        }
+        if (mode == DuplicateMode.REJECT) {
+            throw new ResourceDuplicateException("Já existe um lançamento com a mesma descrição, valor, vencimento e conta bancária (ID: "
+                    + duplicate + ")");
+        }
+        log.warn("Possible duplicate of transaction {}: '{}', {} due {} on bank account {}", duplicate,
+                fingerprint.description(), fingerprint.amount(), fingerprint.expirationDate(), fingerprint.bankAccountId());
+    }
+
+    /** Em ordem crescente de faixa, para que duas criações em lote não se travem mutuamente. */
+    private void lockUntilCompletion(Collection<TransactionFingerprint> fingerprints) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        SortedSet<Integer> stripes = new TreeSet<>();
+        fingerprints.forEach(fingerprint -> stripes.add(Math.floorMod(Long.hashCode(fingerprint.hash()), REJECT_LOCK_STRIPES)));
+
+        List<ReentrantLock> acquired = new ArrayList<>(stripes.size());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                acquired.forEach(ReentrantLock::unlock);
+            }
+        });
+        for (int stripe : stripes) {
+            ReentrantLock lock = rejectLocks[stripe];
+            if (lock.isHeldByCurrentThread()) {
+                continue;
+            }
+            try {
+                if (!lock.tryLock(REJECT_LOCK_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    throw new BusinessException("Um lançamento igual está sendo criado por outra operação, tente novamente");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BusinessException("A verificação de duplicidade foi interrompida, tente novamente");
+            }
+            acquired.add(lock);
+        }
+    }
+
+    public void record(TransactionFingerprint fingerprint) {
+        if (mode != DuplicateMode.OFF) {
+            filter().put(fingerprint.hash());
+        }
+    }
+
+    public void recordAll(Collection<TransactionFingerprint> fingerprints) {
+        if (mode != DuplicateMode.OFF) {
+            TenantFilter filter = filter();
+            fingerprints.forEach(fingerprint -> filter.put(fingerprint.hash()));
+        }
+    }
+
+    public void recordIds(Collection<Long> ids) {
+        if (mode != DuplicateMode.OFF && !ids.isEmpty()) {
+            recordAll(repository.findByIds(ids));
+        }
+    }
+
+    public DuplicateFilterStatsDTO stats() {
+        return filter().stats();
+    }
+
+    private TenantFilter filter() {
+        return filters.computeIfAbsent(TenantContext.current(), tenant -> {
+            TenantFilter filter = new TenantFilter();
+            filter.rebuildAsync();
+            return filter;
+        });
+    }
+
+    private final class TenantFilter {
+
+        private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+        private final AtomicBoolean rebuilding = new AtomicBoolean();
+        private final Queue<Long> beforeFirstLoad = new ConcurrentLinkedQueue<>();
+        private final AtomicLong checks = new AtomicLong();
+        private final AtomicLong negatives = new AtomicLong();
+        private final AtomicLong unfiltered = new AtomicLong();
+        private final AtomicLong duplicates = new AtomicLong();
+        private final AtomicLong falsePositives = new AtomicLong();
+
+        private volatile BloomFilter current;
+        private volatile BloomFilter previous;
+        private volatile long previousUntil;
+        private BloomFilter loading;
+        private volatile LocalDateTime rebuiltAt;
+        private volatile long rebuildMs;
+        private volatile long loadedRows;
+
+        Long check(TransactionFingerprint fingerprint) {
+            checks.incrementAndGet();
+            BloomFilter filter = current;
+            if (filter != null && !mightContain(filter, fingerprint.hash())) {
+                negatives.incrementAndGet();
+                return null;
+            }
+            Long duplicate = repository.findDuplicate(fingerprint);
+            if (filter == null) {
+                unfiltered.incrementAndGet();
+            } else if (duplicate == null) {
+                falsePositives.incrementAndGet();
+            }
+            if (duplicate != null) {
+                duplicates.incrementAndGet();
+            }
+            return duplicate;
+        }
+
+        private boolean mightContain(BloomFilter filter, long hash) {
+            if (filter.mightContain(hash)) {
+                return true;
+            }
+            BloomFilter old = previous;
+            return old != null && System.currentTimeMillis() < previousUntil && old.mightContain(hash);
+        }
+
+        void put(long hash) {
+            BloomFilter filter;
+            swapLock.readLock().lock();
+            try {
+                filter = current;
+                if (filter != null) {
+                    filter.put(hash);
+                } else {
+                    beforeFirstLoad.add(hash);
+                }
+                if (loading != null) {
+                    loading.put(hash);
+                }
+            } finally {
+                swapLock.readLock().unlock();
+            }
+            if (filter != null && filter.isSaturated()) {
+                log.info("Duplicate filter of tenant {} is over its capacity of {}, rebuilding", TenantContext.current(), filter.capacity());
+                rebuildAsync();
+            }
+        }
+
+        void rebuildAsync() {
+            if (!rebuilding.compareAndSet(false, true)) {
+                return;
+            }
+            var task = TenantContext.propagate(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.error("Could not rebuild duplicate filter of tenant {}", TenantContext.current(), e);
+                } finally {
+                    rebuilding.set(false);
+                }
+                return null;
+            });
+            try {
+                loader.execute(() -> {
+                    try {
+                        task.call();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                rebuilding.set(false);
+            }
+        }
+
+        /** O que for registrado durante a carga entra nos dois filtros. */
+        private void rebuild() {
+            long start = System.nanoTime();
+            long rows = repository.count();
+            BloomFilter filter = new BloomFilter(Math.max(expectedInsertions, rows * 2), falsePositiveRate);
+            swapLock.writeLock().lock();
+            try {
+                loading = filter;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+
+            long[] loaded = {0};
+            repository.forEach(fingerprint -> {
+                filter.put(fingerprint.hash());
+                loaded[0]++;
+            });
+
+            swapLock.writeLock().lock();
+            try {
+                previous = current;
+                previousUntil = System.currentTimeMillis() + PREVIOUS_FILTER_GRACE_MS;
+                Long hash;
+                while ((hash = beforeFirstLoad.poll()) != null) {
+                    filter.put(hash);
+                }
+                current = filter;
+                loading = null;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            rebuiltAt = LocalDateTime.now();
+            rebuildMs = (System.nanoTime() - start) / 1_000_000;
+            loadedRows = loaded[0];
+            log.info("Duplicate filter of tenant {} loaded with {} transactions in {} ms ({} bits, {} hash functions)",
+                    TenantContext.current(), loaded[0], rebuildMs, filter.bits(), filter.hashFunctions());
+        }
+
+        DuplicateFilterStatsDTO stats() {
+            BloomFilter filter = current;
+            long negativeChecks = negatives.get() + falsePositives.get();
+            return DuplicateFilterStatsDTO.builder()
+                    .mode(mode.name())
+                    .tenant(TenantContext.current())
+                    .ready(filter != null)
+                    .rebuiltAt(rebuiltAt)
+                    .rebuildMs(rebuildMs)
+                    .loadedRows(loadedRows)
+                    .capacity(filter != null ? filter.capacity() : 0)
+                    .insertions(filter != null ? filter.insertions() : 0)
+                    .bits(filter != null ? filter.bits() : 0)
+                    .hashFunctions(filter != null ? filter.hashFunctions() : 0)
+                    .expectedFalsePositiveRate(filter != null ? filter.expectedFalsePositiveRate() : 0)
+                    .checks(checks.get())
+                    .lookupsAvoided(negatives.get())
+                    .exactLookups(checks.get() - negatives.get())
+                    .duplicates(duplicates.get())
+                    .falsePositives(falsePositives.get())
+                    .falsePositiveRate(negativeChecks == 0 ? 0 : (double) falsePositives.get() / negativeChecks)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.event.OutboxDispatcher;
+import com.challenge.JPay.model.OutboxEvent;
+import com.challenge.JPay.model.TransactionState;
+import com.challenge.JPay.model.enums.LifecycleEventType;
+import com.challenge.JPay.repository.OutboxEventRepository;
+import com.challenge.JPay.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** Só o tenant padrão tem outbox: as projeções em memória (stream, cubo, colunar) atendem apenas a base principal. */
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO outbox_events (event_type, transaction_id, bank_account_id,
+            before_bank_account_id, before_category_id, before_transaction_type, before_status,
+            before_amount, before_expiration_date, before_payment_date,
+            after_bank_account_id, after_category_id, after_transaction_type, after_status,
+            after_amount, after_expiration_date, after_payment_date,
+            previous_balance, balance, dispatched, created_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE, ?)
+        """;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDispatcher outboxDispatcher;
+    private final JdbcTemplate jdbcTemplate;
+
+    public void transactionChanged(LifecycleEventType type, Long transactionId, TransactionState before, TransactionState after) {
+        TransactionState current = after != null ? after : before;
+
+        append(OutboxEvent.builder()
+                .eventType(type)
+                .transactionId(transactionId)
+                .bankAccountId(current.bankAccountId())
+                .before(before)
+                .after(after)
+                .build());
+    }
+
+    public void balanceChanged(Long bankAccountId, BigDecimal previousBalance, BigDecimal balance) {
+        if (previousBalance != null && previousBalance.compareTo(balance) == 0) {
+            return;
+        }
+
+        append(OutboxEvent.builder()
+                .eventType(LifecycleEventType.BALANCE_CHANGED)
+                .bankAccountId(bankAccountId)
+                .previousBalance(previousBalance)
+                .balance(balance)
+                .build());
+    }
+
+    public void appendAll(List<OutboxEvent> events) {
+        if (events.isEmpty() || !TenantContext.isDefault()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, BATCH_SIZE, (ps, event) -> {
+            ps.setString(1, event.getEventType().name());
+            ps.setObject(2, event.getTransactionId(), Types.BIGINT);
+            ps.setObject(3, event.getBankAccountId(), Types.BIGINT);
+            setState(ps, 4, event.getBefore());
+            setState(ps, 11, event.getAfter());
+            ps.setBigDecimal(18, event.getPreviousBalance());
+            ps.setBigDecimal(19, event.getBalance());
+            ps.setTimestamp(20, now);
+        });
+        signalAfterCommit();
+    }
+
+    private void setState(PreparedStatement ps, int index, TransactionState state) throws SQLException {
+        boolean present = state != null;
+        ps.setObject(index, present ? state.bankAccountId() : null, Types.BIGINT);
+        ps.setObject(index + 1, present ? state.categoryId() : null, Types.BIGINT);
+        ps.setString(index + 2, present && state.transactionType() != null ? state.transactionType().name() : null);
+        ps.setString(index + 3, present && state.status() != null ? state.status().name() : null);
+        ps.setBigDecimal(index + 4, present ? state.amount() : null);
+        ps.setObject(index + 5, present ? state.expirationDate() : null, Types.DATE);
+        ps.setObject(index + 6, present ? state.paymentDate() : null, Types.DATE);
+    }
+
+    private void append(OutboxEvent event) {
+        if (!TenantContext.isDefault()) {
+            return;
+        }
+        outboxEventRepository.save(event);
+        signalAfterCommit();
+    }
+
+    private void signalAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxDispatcher.signal();
+            }
+        });
+    }
+}
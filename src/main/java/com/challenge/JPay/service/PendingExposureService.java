@@ -0,0 +1,107 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.model.OutboxEvent;
+import com.challenge.JPay.model.PendingExposure;
+import com.challenge.JPay.model.TransactionState;
+import com.challenge.JPay.repository.PendingExposureRepository;
+import com.challenge.JPay.repository.PendingExposureRepository.Owner;
+import com.challenge.JPay.tenant.TenantJobRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+@Slf4j
+@Service
+public class PendingExposureService {
+
+    private final PendingExposureRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final TenantJobRunner tenantJobRunner;
+
+    public PendingExposureService(PendingExposureRepository repository, PlatformTransactionManager transactionManager,
+                                  TenantJobRunner tenantJobRunner) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tenantJobRunner = tenantJobRunner;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void transactionChanged(TransactionState before, TransactionState after) {
+        Deltas deltas = new Deltas();
+        deltas.add(before, after);
+        deltas.apply();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyAll(List<OutboxEvent> events) {
+        Deltas deltas = new Deltas();
+        events.forEach(event -> deltas.add(event.getBefore(), event.getAfter()));
+        deltas.apply();
+    }
+
+    @Transactional
+    public void recalculateAll() {
+        int accounts = repository.recalculateAll(Owner.BANK_ACCOUNT);
+        int categories = repository.recalculateAll(Owner.CATEGORY);
+        log.info("Pending exposure recalculated for {} bank accounts and {} categories", accounts, categories);
+    }
+
+    @Scheduled(cron = "${jpay.exposure.verify-cron:0 45 3 * * *}")
+    public void scheduledVerification() {
+        tenantJobRunner.forEachTenant("pending exposure verification", this::verify);
+    }
+
+    /** @return quantidade de linhas corrigidas, cada uma na sua própria transação */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int verify() {
+        int repaired = 0;
+        for (Owner owner : Owner.values()) {
+            for (PendingExposureRepository.Drift drift : repository.findDrift(owner)) {
+                PendingExposure actual = transactionTemplate.execute(status -> {
+                    PendingExposure recalculated = repository.lockAndRecalculate(owner, drift.id());
+                    repository.set(owner, drift.id(), recalculated);
+                    return recalculated;
+                });
+                log.warn("Pending exposure drift repaired for {} {}: stored {}, recalculated {}", owner, drift.id(), drift.stored(), actual);
+                repaired++;
+            }
+        }
+        log.info("Pending exposure verification finished, {} rows repaired", repaired);
+        return repaired;
+    }
+
+    private final class Deltas {
+
+        private final SortedMap<Long, PendingExposure> accounts = new TreeMap<>();
+        private final SortedMap<Long, PendingExposure> categories = new TreeMap<>();
+
+        private void add(TransactionState before, TransactionState after) {
+            PendingExposure removed = PendingExposure.of(before);
+            if (!removed.isZero()) {
+                PendingExposure delta = PendingExposure.ZERO.minus(removed);
+                accounts.merge(before.bankAccountId(), delta, PendingExposure::plus);
+                categories.merge(before.categoryId(), delta, PendingExposure::plus);
+            }
+            PendingExposure added = PendingExposure.of(after);
+            if (!added.isZero()) {
+                accounts.merge(after.bankAccountId(), added, PendingExposure::plus);
+                categories.merge(after.categoryId(), added, PendingExposure::plus);
+            }
+        }
+
+        private void apply() {
+            accounts.values().removeIf(PendingExposure::isZero);
+            categories.values().removeIf(PendingExposure::isZero);
+            repository.add(Owner.BANK_ACCOUNT, accounts);
+            repository.add(Owner.CATEGORY, categories);
+        }
+    }
+}
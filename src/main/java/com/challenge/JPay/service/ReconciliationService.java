@@ -0,0 +1,239 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.audit.AuditJournal;
+import com.challenge.JPay.dto.response.AccountDriftDTO;
+import com.challenge.JPay.dto.response.ReconciliationReportDTO;
+import com.challenge.JPay.exception.BusinessException;
+import com.challenge.JPay.exception.ResourceNotFoundException;
+import com.challenge.JPay.repository.BankAccountRepository;
+import com.challenge.JPay.repository.ReconciliationRepository;
+import com.challenge.JPay.repository.ReconciliationRepository.AccountBalance;
+import com.challenge.JPay.repository.ReconciliationRepository.PaidTotals;
+import com.challenge.JPay.repository.ReconciliationRepository.TransferTotals;
+import com.challenge.JPay.tenant.TenantContext;
+import com.challenge.JPay.tenant.TenantJobRunner;
+import com.challenge.JPay.util.MoneyUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Com correção automática, cada conta divergente é travada e recalculada antes de o saldo ser sobrescrito, para
+ * não "corrigir" uma diferença causada por um pagamento ou transferência concorrente.
+ */
+@Slf4j
+@Service
+public class ReconciliationService {
+
+    private final ReconciliationRepository repository;
+    private final BankAccountRepository bankAccountRepository;
+    private final AuditJournal auditJournal;
+    private final OutboxService outboxService;
+    private final TransactionTemplate snapshotTemplate;
+    private final TransactionTemplate correctionTemplate;
+    private final ExecutorService workers;
+    private final int parallelism;
+    private final boolean scheduledAutoCorrect;
+    private final TenantJobRunner tenantJobRunner;
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final Map<String, ReconciliationReportDTO> lastReports = new ConcurrentHashMap<>();
+
+    public ReconciliationService(ReconciliationRepository repository,
+                                 BankAccountRepository bankAccountRepository,
+                                 AuditJournal auditJournal,
+                                 OutboxService outboxService,
+                                 PlatformTransactionManager transactionManager,
+                                 TenantJobRunner tenantJobRunner,
+                                 @Value("${jpay.reconciliation.parallelism:4}") int parallelism,
+                                 @Value("${jpay.reconciliation.auto-correct:false}") boolean scheduledAutoCorrect) {
+        this.repository = repository;
+        this.bankAccountRepository = bankAccountRepository;
+        this.auditJournal = auditJournal;
+        this.outboxService = outboxService;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.correctionTemplate = new TransactionTemplate(transactionManager);
+        this.parallelism = parallelism;
+        this.scheduledAutoCorrect = scheduledAutoCorrect;
+        this.tenantJobRunner = tenantJobRunner;
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "reconciliation-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Transactional
+    public void rebaseOpeningBalances() {
+        int accounts = bankAccountRepository.rebaseOpeningBalances();
+        log.info("Opening balances rebased for {} bank accounts", accounts);
+    }
+
+    public ReconciliationReportDTO findLastReport() {
+        ReconciliationReportDTO report = lastReports.get(TenantContext.current());
+        if (report == null) {
+            throw new ResourceNotFoundException("Nenhuma reconciliação de saldos foi executada ainda");
+        }
+        return report;
+    }
+
+    @Scheduled(cron = "${jpay.reconciliation.cron:0 15 4 * * *}")
+    public void scheduledReconciliation() {
+        if (runLock.isLocked()) {
+            log.info("Skipping scheduled balance reconciliation, another run is in progress");
+            return;
+        }
+        tenantJobRunner.forEachTenant("balance reconciliation", () -> reconcile(scheduledAutoCorrect));
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ReconciliationReportDTO reconcile(boolean autoCorrect) {
+        if (!runLock.tryLock()) {
+            throw new BusinessException("Já existe uma reconciliação de saldos em andamento");
+        }
+
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            long start = System.nanoTime();
+            List<Long> accountIds = repository.findAccountIds();
+            log.info("Reconciling {} bank accounts with {} workers (auto-correct: {})", accountIds.size(), parallelism, autoCorrect);
+
+            CompletionService<AccountResult> completion = new ExecutorCompletionService<>(workers);
+            List<Future<AccountResult>> futures = new ArrayList<>(accountIds.size());
+            for (Long accountId : accountIds) {
+                futures.add(completion.submit(TenantContext.propagate(() -> check(accountId, autoCorrect))));
+            }
+
+            long scanned = 0;
+            List<AccountDriftDTO> drifts = new ArrayList<>();
+            try {
+                for (int i = 0; i < futures.size(); i++) {
+                    AccountResult result = completion.take().get();
+                    scanned += result.scanned();
+                    if (result.drift() != null) {
+                        drifts.add(result.drift());
+                    }
+                }
+            } catch (InterruptedException e) {
+                futures.forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Balance reconciliation interrupted", e);
+            } catch (ExecutionException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw new IllegalStateException("Balance reconciliation failed", e.getCause());
+            }
+
+            drifts.sort(Comparator.comparing(AccountDriftDTO::bankAccountId));
+            ReconciliationReportDTO report = ReconciliationReportDTO.builder()
+                    .startedAt(startedAt)
+                    .elapsedMs((System.nanoTime() - start) / 1_000_000)
+                    .parallelism(parallelism)
+                    .autoCorrect(autoCorrect)
+                    .accountsChecked(accountIds.size())
+                    .transactionsScanned(scanned)
+                    .driftedAccounts(drifts.size())
+                    .correctedAccounts((int) drifts.stream().filter(AccountDriftDTO::corrected).count())
+                    .totalDrift(drifts.stream().map(AccountDriftDTO::drift).reduce(BigDecimal.ZERO, BigDecimal::add))
+                    .drifts(drifts)
+                    .build();
+            lastReports.put(TenantContext.current(), report);
+            log.info("Balance reconciliation finished in {} ms: {} accounts, {} paid transactions, {} drifted, {} corrected",
+                    report.elapsedMs(), report.accountsChecked(), scanned, report.driftedAccounts(), report.correctedAccounts());
+            return report;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private AccountResult check(long accountId, boolean autoCorrect) {
+        Snapshot snapshot = snapshotTemplate.execute(status -> read(accountId, repository.findBalance(accountId)));
+        if (!snapshot.drifted()) {
+            return new AccountResult(snapshot.paid().rows(), null);
+        }
+
+        if (!autoCorrect) {
+            log.warn("Balance drift on bank account {}: stored {}, expected {}", accountId,
+                    MoneyUtils.fromCents(snapshot.balance().currentCents()), MoneyUtils.fromCents(snapshot.expectedCents()));
+            return new AccountResult(snapshot.paid().rows(), toDriftDTO(snapshot, false));
+        }
+
+        Snapshot locked = correctionTemplate.execute(status -> {
+            Snapshot current = read(accountId, repository.lockBalance(accountId));
+            if (current.drifted()) {
+                BigDecimal stored = MoneyUtils.fromCents(current.balance().currentCents());
+                BigDecimal corrected = MoneyUtils.fromCents(current.expectedCents());
+                repository.setBalance(accountId, current.expectedCents());
+                auditJournal.recordBalanceChange(accountId, null, stored, corrected);
+                outboxService.balanceChanged(accountId, stored, corrected);
+            }
+            return current;
+        });
+        if (!locked.drifted()) {
+            log.debug("Balance drift on bank account {} was a concurrent change, nothing to correct", accountId);
+            return new AccountResult(snapshot.paid().rows(), null);
+        }
+        log.warn("Balance drift corrected on bank account {}: stored {}, expected {}", accountId,
+                MoneyUtils.fromCents(locked.balance().currentCents()), MoneyUtils.fromCents(locked.expectedCents()));
+        return new AccountResult(snapshot.paid().rows(), toDriftDTO(locked, true));
+    }
+
+    private Snapshot read(long accountId, AccountBalance balance) {
+        return new Snapshot(balance, repository.sumPaid(accountId), repository.sumTransfers(accountId));
+    }
+
+    private AccountDriftDTO toDriftDTO(Snapshot snapshot, boolean corrected) {
+        return AccountDriftDTO.builder()
+                .bankAccountId(snapshot.balance().id())
+                .openingBalance(MoneyUtils.fromCents(snapshot.balance().openingCents()))
+                .storedBalance(MoneyUtils.fromCents(snapshot.balance().currentCents()))
+                .expectedBalance(MoneyUtils.fromCents(snapshot.expectedCents()))
+                .drift(MoneyUtils.fromCents(snapshot.balance().currentCents() - snapshot.expectedCents()))
+                .paidTransactions(snapshot.paid().rows())
+                .transfers(snapshot.transfers().count())
+                .netTransfers(MoneyUtils.fromCents(snapshot.transfers().netCents()))
+                .corrected(corrected)
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private record Snapshot(AccountBalance balance, PaidTotals paid, TransferTotals transfers) {
+
+        long expectedCents() {
+            return balance.openingCents() + paid.netCents() + transfers.netCents();
+        }
+
+        boolean drifted() {
+            return expectedCents() != balance.currentCents();
+        }
+    }
+
+    private record AccountResult(long scanned, AccountDriftDTO drift) { }
+}
@@ -0,0 +1,291 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.audit.AuditJournal;
+import com.challenge.JPay.duplicate.TransactionFingerprint;
+import com.challenge.JPay.dto.request.RecurrenceRequestDTO;
+import com.challenge.JPay.dto.response.RecurrenceGenerationResponseDTO;
+import com.challenge.JPay.dto.response.RecurrenceResponseDTO;
+import com.challenge.JPay.exception.BusinessException;
+import com.challenge.JPay.exception.ResourceDuplicateException;
+import com.challenge.JPay.exception.ResourceNotFoundException;
+import com.challenge.JPay.exception.TransactionNotFoundException;
+import com.challenge.JPay.model.OutboxEvent;
+import com.challenge.JPay.model.RecurrenceRule;
+import com.challenge.JPay.model.Transaction;
+import com.challenge.JPay.model.TransactionState;
+import com.challenge.JPay.model.enums.LifecycleEventType;
+import com.challenge.JPay.model.enums.RecurrenceFrequency;
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.repository.RecurrenceRuleRepository;
+import com.challenge.JPay.repository.TransactionBatchRepository;
+import com.challenge.JPay.repository.TransactionRepository;
+import com.challenge.JPay.tenant.TenantJobRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class RecurrenceService {
+
+    private final RecurrenceRuleRepository recurrenceRuleRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionBatchRepository transactionBatchRepository;
+    private final OutboxService outboxService;
+    private final PendingExposureService pendingExposureService;
+    private final AuditJournal auditJournal;
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final TransactionTemplate transactionTemplate;
+    private final int horizonDays;
+    private final int rulesPerChunk;
+    private final TenantJobRunner tenantJobRunner;
+    private final ReentrantLock generationLock = new ReentrantLock();
+
+    public RecurrenceService(RecurrenceRuleRepository recurrenceRuleRepository,
+                             TransactionRepository transactionRepository,
+                             TransactionBatchRepository transactionBatchRepository,
+                             OutboxService outboxService,
+                             PendingExposureService pendingExposureService,
+                             AuditJournal auditJournal,
+                             DuplicateDetectionService duplicateDetectionService,
+                             PlatformTransactionManager transactionManager,
+                             TenantJobRunner tenantJobRunner,
+                             @Value("${jpay.recurrence.horizon-days:90}") int horizonDays,
+                             @Value("${jpay.recurrence.rules-per-chunk:500}") int rulesPerChunk) {
+        this.recurrenceRuleRepository = recurrenceRuleRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionBatchRepository = transactionBatchRepository;
+        this.outboxService = outboxService;
+        this.pendingExposureService = pendingExposureService;
+        this.auditJournal = auditJournal;
+        this.duplicateDetectionService = duplicateDetectionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.horizonDays = horizonDays;
+        this.rulesPerChunk = rulesPerChunk;
+        this.tenantJobRunner = tenantJobRunner;
+    }
+
+    public Page<RecurrenceResponseDTO> findAll(Pageable pageable) {
+        log.info("Finding all recurrence rules with pagination: {}", pageable);
+
+        return recurrenceRuleRepository.findAllWithTemplate(pageable).map(this::toResponseDTO);
+    }
+
+    public RecurrenceResponseDTO findById(Long id) {
+        log.info("Finding recurrence rule by id: {}", id);
+
+        return toResponseDTO(findRule(id));
+    }
+
+    @Transactional
+    public RecurrenceResponseDTO create(RecurrenceRequestDTO dto) {
+        log.info("Creating recurrence rule for template transaction id: {}", dto.templateTransactionId());
+
+        Transaction template = transactionRepository.findById(dto.templateTransactionId())
+                .orElseThrow(() -> new TransactionNotFoundException(dto.templateTransactionId()));
+
+        if (recurrenceRuleRepository.existsByTemplateId(template.getId())) {
+            throw new ResourceDuplicateException("O lançamento " + template.getId() + " já possui uma recorrência");
+        }
+
+        if (template.getGenerationKey() != null) {
+            throw new BusinessException("Uma ocorrência gerada não pode ser usada como modelo de recorrência");
+        }
+
+        RecurrenceFrequency frequency = Enum.valueOf(RecurrenceFrequency.class, dto.frequency());
+        if (frequency == RecurrenceFrequency.DAY_OF_MONTH && dto.dayOfMonth() == null) {
+            throw new BusinessException("O dia do mês é obrigatório para a frequência DAY_OF_MONTH");
+        }
+
+        if (dto.endDate() != null && !dto.endDate().isAfter(template.getExpirationDate())) {
+            throw new BusinessException("A data final precisa ser posterior ao vencimento do lançamento modelo");
+        }
+
+        RecurrenceRule rule = recurrenceRuleRepository.save(RecurrenceRule.builder()
+                .template(template)
+                .frequency(frequency)
+                .interval(dto.interval() == null ? 1 : dto.interval())
+                .dayOfMonth(dto.dayOfMonth())
+                .endDate(dto.endDate())
+                .maxOccurrences(dto.maxOccurrences())
+                .build());
+
+        int created = generateOccurrences(List.of(rule), LocalDate.now().plusDays(horizonDays));
+        log.info("Recurrence rule created successfully with id: {} ({} occurrences generated)", rule.getId(), created);
+
+        return toResponseDTO(rule);
+    }
+
+    @Transactional
+    public void deactivate(Long id) {
+        log.info("Deactivating recurrence rule with id: {}", id);
+
+        RecurrenceRule rule = findRule(id);
+        rule.setActive(false);
+        recurrenceRuleRepository.save(rule);
+        log.info("Recurrence rule deactivated successfully with id: {}", id);
+    }
+
+    @Scheduled(cron = "${jpay.recurrence.cron:0 0 2 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void scheduledGeneration() {
+        if (generationLock.isLocked()) {
+            log.info("Skipping scheduled recurrence generation, another run is in progress");
+            return;
+        }
+        tenantJobRunner.forEachTenant("recurrence generation", () -> generate(horizonDays));
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public RecurrenceGenerationResponseDTO generate(int days) {
+        if (days < 1 || days > 3660) {
+            throw new BusinessException("O horizonte precisa estar entre 1 e 3660 dias");
+        }
+        if (!generationLock.tryLock()) {
+            throw new BusinessException("Já existe uma geração de recorrências em andamento");
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            LocalDate horizon = LocalDate.now().plusDays(days);
+            log.info("Generating recurring occurrences up to {}", horizon);
+
+            int rules = 0;
+            int created = 0;
+            long lastId = 0L;
+            while (true) {
+                long afterId = lastId;
+                ChunkResult chunk = transactionTemplate.execute(status -> {
+                    List<RecurrenceRule> due = recurrenceRuleRepository.findDueForGeneration(afterId, horizon, PageRequest.of(0, rulesPerChunk));
+                    if (due.isEmpty()) {
+                        return null;
+                    }
+                    return new ChunkResult(due.size(), generateOccurrences(due, horizon), due.get(due.size() - 1).getId());
+                });
+                if (chunk == null) {
+                    break;
+                }
+                rules += chunk.rules();
+                created += chunk.created();
+                lastId = chunk.lastId();
+            }
+
+            long elapsed = System.currentTimeMillis() - start;
+            log.info("Recurring generation finished: {} rules, {} occurrences in {} ms", rules, created, elapsed);
+
+            return RecurrenceGenerationResponseDTO.builder()
+                    .horizon(horizon)
+                    .rulesProcessed(rules)
+                    .occurrencesCreated(created)
+                    .elapsedMs(elapsed)
+                    .build();
+        } finally {
+            generationLock.unlock();
+        }
+    }
+
+    private int generateOccurrences(List<RecurrenceRule> rules, LocalDate horizon) {
+        List<Transaction> occurrences = new ArrayList<>();
+
+        for (RecurrenceRule rule : rules) {
+            Transaction template = rule.getTemplate();
+            if (!template.getCategory().getActive() || !template.getBankAccount().getActive()) {
+                log.warn("Skipping recurrence rule {}: template category or bank account is inactive", rule.getId());
+                continue;
+            }
+
+            LocalDate base = template.getExpirationDate();
+            int index = rule.getGeneratedCount() + 1;
+            while (true) {
+                LocalDate date = rule.occurrenceDate(base, index);
+                if (rule.isExhausted(index, date)) {
+                    rule.setActive(false);
+                    break;
+                }
+                if (date.isAfter(horizon)) {
+                    break;
+                }
+                occurrences.add(Transaction.builder()
+                        .description(template.getDescription())
+                        .amount(template.getAmount())
+                        .expirationDate(date)
+                        .status(Status.PENDING)
+                        .transactionType(template.getTransactionType())
+                        .category(template.getCategory())
+                        .bankAccount(template.getBankAccount())
+                        .autoPay(template.getAutoPay())
+                        .generationKey("R" + rule.getId() + "-" + index)
+                        .build());
+                index++;
+            }
+            rule.setGeneratedCount(index - 1);
+            rule.setGeneratedUntil(horizon);
+        }
+
+        if (occurrences.isEmpty()) {
+            return 0;
+        }
+
+        List<String> insertedKeys = transactionBatchRepository.insertIfAbsent(occurrences);
+        Map<String, Long> ids = transactionBatchRepository.findIdsByGenerationKeys(insertedKeys);
+
+        List<OutboxEvent> events = new ArrayList<>(insertedKeys.size());
+        for (Transaction occurrence : occurrences) {
+            Long id = ids.get(occurrence.getGenerationKey());
+            if (id == null) {
+                continue;
+            }
+            events.add(OutboxEvent.builder()
+                    .eventType(LifecycleEventType.TRANSACTION_CREATED)
+                    .transactionId(id)
+                    .bankAccountId(occurrence.getBankAccount().getId())
+                    .after(TransactionState.of(occurrence))
+                    .build());
+            auditJournal.recordStatusChange(id, occurrence.getBankAccount().getId(), occurrence.getAmount(), null, Status.PENDING);
+            duplicateDetectionService.record(TransactionFingerprint.of(occurrence));
+        }
+        outboxService.appendAll(events);
+        pendingExposureService.applyAll(events);
+
+        return insertedKeys.size();
+    }
+
+    private record ChunkResult(int rules, int created, long lastId) { }
+
+    private RecurrenceRule findRule(Long id) {
+        return recurrenceRuleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Recorrência não encontrada na base de dados (ID: " + id + ")"));
+    }
+
+    private RecurrenceResponseDTO toResponseDTO(RecurrenceRule rule) {
+        return RecurrenceResponseDTO.builder()
+                .id(rule.getId())
+                .templateTransactionId(rule.getTemplate().getId())
+                .description(rule.getTemplate().getDescription())
+                .frequency(rule.getFrequency())
+                .interval(rule.getInterval())
+                .dayOfMonth(rule.getDayOfMonth())
+                .endDate(rule.getEndDate())
+                .maxOccurrences(rule.getMaxOccurrences())
+                .generatedCount(rule.getGeneratedCount())
+                .generatedUntil(rule.getGeneratedUntil())
+                .active(rule.getActive())
+                .createdAt(rule.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.dto.response.StatementImportResponseDTO;
+import com.challenge.JPay.dto.response.StatementLineDTO;
+import com.challenge.JPay.exception.BankAccountNotFoundException;
+import com.challenge.JPay.exception.BusinessException;
+import com.challenge.JPay.model.BankAccount;
+import com.challenge.JPay.model.TransactionState;
+import com.challenge.JPay.repository.BankAccountRepository;
+import com.challenge.JPay.repository.TransactionBatchRepository;
+import com.challenge.JPay.statement.StatementFormat;
+import com.challenge.JPay.statement.StatementLine;
+import com.challenge.JPay.statement.StatementMatcher;
+import com.challenge.JPay.statement.StatementReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class StatementImportService {
+
+    private static final int MAX_TOLERANCE_DAYS = 31;
+
+    private final BankAccountRepository bankAccountRepository;
+    private final TransactionBatchRepository transactionBatchRepository;
+    private final TransactionService transactionService;
+    private final int defaultToleranceDays;
+
+    public StatementImportService(BankAccountRepository bankAccountRepository,
+                                  TransactionBatchRepository transactionBatchRepository,
+                                  TransactionService transactionService,
+                                  @Value("${jpay.statement.tolerance-days:3}") int defaultToleranceDays) {
+        this.bankAccountRepository = bankAccountRepository;
+        this.transactionBatchRepository = transactionBatchRepository;
+        this.transactionService = transactionService;
+        this.defaultToleranceDays = defaultToleranceDays;
+    }
+
+    @Transactional
+    public StatementImportResponseDTO importStatement(Long bankAccountId, StatementFormat format, InputStream content,
+                                                      Charset charset, Integer toleranceDays, boolean dryRun) {
+        int tolerance = toleranceDays != null ? toleranceDays : defaultToleranceDays;
+        if (tolerance < 0 || tolerance > MAX_TOLERANCE_DAYS) {
+            throw new BusinessException("A tolerância deve estar entre 0 e " + MAX_TOLERANCE_DAYS + " dias");
+        }
+        BankAccount bankAccount = bankAccountRepository.findById(bankAccountId)
+                .orElseThrow(() -> new BankAccountNotFoundException(bankAccountId));
+        if (!dryRun && !bankAccount.getActive()) {
+            throw new BusinessException("Não é possível pagar com uma conta bancária inativa");
+        }
+
+        long start = System.nanoTime();
+        Map<Long, TransactionState> pending = transactionBatchRepository.findPendingStates(
+                new TransactionBatchRepository.PendingFilter(null, bankAccountId, null, null, null));
+        StatementMatcher matcher = new StatementMatcher(pending, tolerance);
+
+        Map<Long, LocalDate> paymentDates = new LinkedHashMap<>();
+        List<StatementLineDTO> matches = new ArrayList<>();
+        List<StatementLineDTO> unmatched = new ArrayList<>();
+        List<StatementLineDTO> invalid = new ArrayList<>();
+        try (InputStreamReader reader = new InputStreamReader(content, charset)) {
+            StatementReader.read(reader, format, new StatementReader.Listener() {
+                @Override
+                public void line(StatementLine line) {
+                    Long transactionId = matcher.match(line);
+                    if (transactionId != null) {
+                        paymentDates.put(transactionId, line.date());
+                        matches.add(toDTO(line, transactionId));
+                    } else {
+                        unmatched.add(toDTO(line, null));
+                    }
+                }
+
+                @Override
+                public void invalid(int number, String reason) {
+                    invalid.add(StatementLineDTO.builder().line(number).reason(reason).build());
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read statement of bank account " + bankAccountId, e);
+        }
+        if (matches.isEmpty() && unmatched.isEmpty() && invalid.isEmpty()) {
+            throw new BusinessException("O extrato não possui lançamentos");
+        }
+
+        BigDecimal balanceChange = BigDecimal.ZERO;
+        if (!dryRun && !paymentDates.isEmpty()) {
+            balanceChange = transactionService.payPending(bankAccountId, pending, paymentDates);
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Statement imported into bank account {} in {} ms: {} lines matched, {} unmatched, {} invalid (dry run: {})",
+                bankAccountId, elapsedMs, matches.size(), unmatched.size(), invalid.size(), dryRun);
+
+        return StatementImportResponseDTO.builder()
+                .bankAccountId(bankAccountId)
+                .format(format.name())
+                .dryRun(dryRun)
+                .toleranceDays(tolerance)
+                .lines(matches.size() + unmatched.size() + invalid.size())
+                .matched(matches.size())
+                .unmatched(unmatched.size())
+                .invalid(invalid.size())
+                .balanceChange(balanceChange)
+                .elapsedMs(elapsedMs)
+                .matches(matches)
+                .unmatchedLines(unmatched)
+                .invalidLines(invalid)
+                .build();
+    }
+
+    private static StatementLineDTO toDTO(StatementLine line, Long transactionId) {
+        return StatementLineDTO.builder()
+                .line(line.number())
+                .date(line.date())
+                .amount(line.amount())
+                .description(line.description())
+                .transactionId(transactionId)
+                .build();
+    }
+}
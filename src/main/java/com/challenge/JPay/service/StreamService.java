@@ -0,0 +1,306 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.dto.response.StreamUpdateDTO;
+import com.challenge.JPay.event.LifecycleEvent;
+import com.challenge.JPay.interfaces.LifecycleEventListener;
+import com.challenge.JPay.model.TransactionState;
+import com.challenge.JPay.model.enums.LifecycleEventType;
+import com.challenge.JPay.repository.BankAccountRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+public class StreamService implements LifecycleEventListener {
+
+    private static final String TOTAL_BALANCE_KEY = "total-balance";
+
+    private final BankAccountRepository bankAccountRepository;
+    private final ObjectMapper objectMapper;
+    private final long emitterTimeoutMs;
+    private final long writeTimeoutNanos;
+    private final int bufferCapacity;
+    private final ExecutorService sender;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public StreamService(BankAccountRepository bankAccountRepository,
+                         ObjectMapper objectMapper,
+                         @Value("${jpay.stream.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                         @Value("${jpay.stream.write-timeout-ms:10000}") long writeTimeoutMs,
+                         @Value("${jpay.stream.buffer-capacity:256}") int bufferCapacity,
+                         @Value("${jpay.stream.sender-threads:4}") int senderThreads) {
+        this.bankAccountRepository = bankAccountRepository;
+        this.objectMapper = objectMapper;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+        this.bufferCapacity = bufferCapacity;
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void subscribe(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("text/event-stream");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("Cache-Control", "no-cache");
+
+        AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(asyncContext, response.getOutputStream());
+        asyncContext.addListener(subscriber);
+        subscribers.add(subscriber);
+        subscriber.output.setWriteListener(subscriber);
+        log.info("New stream subscriber ({} connected)", subscribers.size());
+
+        subscriber.offer(TOTAL_BALANCE_KEY, new Update(TOTAL_BALANCE_KEY, totalBalance()));
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void onEvents(List<LifecycleEvent> events) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        Map<String, Update> updates = new LinkedHashMap<>();
+        boolean balanceChanged = false;
+        for (LifecycleEvent event : events) {
+            if (event.type() == LifecycleEventType.BALANCE_CHANGED) {
+                balanceChanged = true;
+                updates.put("balance:" + event.bankAccountId(), new Update("balance", StreamUpdateDTO.builder()
+                        .eventType(event.type())
+                        .bankAccountId(event.bankAccountId())
+                        .balance(event.balance())
+                        .build()));
+            } else {
+                updates.put("transaction:" + event.transactionId(), new Update("transaction", toUpdateDTO(event)));
+            }
+        }
+        if (balanceChanged) {
+            updates.put(TOTAL_BALANCE_KEY, new Update(TOTAL_BALANCE_KEY, totalBalance()));
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            updates.forEach(subscriber::offer);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jpay.stream.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer("heartbeat", Update.HEARTBEAT);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jpay.stream.write-timeout-ms:10000}")
+    public void evictStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.stalledFor(now) > writeTimeoutNanos) {
+                log.warn("Dropping stream subscriber that has not read for {} ms", TimeUnit.NANOSECONDS.toMillis(subscriber.stalledFor(now)));
+                subscriber.close();
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(Subscriber::close);
+        sender.shutdown();
+    }
+
+    private StreamUpdateDTO totalBalance() {
+        BigDecimal total = bankAccountRepository.sumCurrentBalanceByActiveTrue().orElse(BigDecimal.ZERO);
+        return StreamUpdateDTO.builder().totalBalance(total).build();
+    }
+
+    private StreamUpdateDTO toUpdateDTO(LifecycleEvent event) {
+        TransactionState state = event.after() != null ? event.after() : event.before();
+        return StreamUpdateDTO.builder()
+                .eventType(event.type())
+                .transactionId(event.transactionId())
+                .bankAccountId(state.bankAccountId())
+                .categoryId(state.categoryId())
+                .amount(state.amount())
+                .type(state.transactionType())
+                .status(state.status())
+                .expirationDate(state.expirationDate())
+                .paymentDate(state.paymentDate())
+                .deleted(event.after() == null ? Boolean.TRUE : null)
+                .build();
+    }
+
+    private record Update(String name, Object data) {
+        static final Update HEARTBEAT = new Update(null, null);
+        static final Update RESYNC = new Update("resync", Map.of());
+    }
+
+    /**
+     * Buffer limitado e coalescido por chave; ao estourar, os pendentes são descartados e um evento "resync" é enviado.
+     * Só se escreve enquanto {@link ServletOutputStream#isReady()}: um cliente que parou de ler nunca prende uma thread.
+     */
+    private final class Subscriber implements WriteListener, AsyncListener {
+
+        private final AsyncContext asyncContext;
+        private final ServletOutputStream output;
+        private final Map<String, Update> pending = new LinkedHashMap<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private boolean unflushed;
+        private volatile long stalledSince;
+
+        private Subscriber(AsyncContext asyncContext, ServletOutputStream output) {
+            this.asyncContext = asyncContext;
+            this.output = output;
+        }
+
+        void offer(String key, Update update) {
+            synchronized (pending) {
+                pending.remove(key);
+                if (pending.size() >= bufferCapacity) {
+                    pending.clear();
+                    pending.put("resync", Update.RESYNC);
+                } else {
+                    pending.put(key, update);
+                }
+            }
+            if (scheduled.compareAndSet(false, true)) {
+                sender.execute(() -> {
+                    scheduled.set(false);
+                    drain();
+                });
+            }
+        }
+
+        long stalledFor(long now) {
+            long since = stalledSince;
+            return since == 0 ? 0 : now - since;
+        }
+
+        @Override
+        public void onWritePossible() {
+            drain();
+        }
+
+        private synchronized void drain() {
+            if (closed.get()) {
+                return;
+            }
+            try {
+                while (output.isReady()) {
+                    Update update = poll();
+                    if (update != null) {
+                        output.write(encode(update));
+                        unflushed = true;
+                    } else if (unflushed) {
+                        output.flush();
+                        unflushed = false;
+                    } else {
+                        stalledSince = 0;
+                        return;
+                    }
+                }
+                if (stalledSince == 0) {
+                    stalledSince = System.nanoTime();
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Stream subscriber write failed: {}", e.getMessage());
+                close();
+            }
+        }
+
+        private Update poll() {
+            synchronized (pending) {
+                Iterator<Update> iterator = pending.values().iterator();
+                if (!iterator.hasNext()) {
+                    return null;
+                }
+                Update update = iterator.next();
+                iterator.remove();
+                return update;
+            }
+        }
+
+        private byte[] encode(Update update) throws JsonProcessingException {
+            String frame = update == Update.HEARTBEAT
+                    ? ": heartbeat\n\n"
+                    : "event: " + update.name() + "\ndata: " + objectMapper.writeValueAsString(update.data()) + "\n\n";
+            return frame.getBytes(StandardCharsets.UTF_8);
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                complete();
+            }
+        }
+
+        /**
+         * Também chamado em timeout ou erro: sem o {@code complete()} o container despacharia para a página de erro.
+         */
+        private void complete() {
+            closed.set(true);
+            subscribers.remove(this);
+            try {
+                asyncContext.complete();
+            } catch (IllegalStateException e) {
+                log.debug("Stream subscriber already completed: {}", e.getMessage());
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            close();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            complete();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            complete();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            closed.set(true);
+            subscribers.remove(this);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.dto.response.ArchiveReportDTO;
+import com.challenge.JPay.exception.BusinessException;
+import com.challenge.JPay.exception.ResourceNotFoundException;
+import com.challenge.JPay.repository.ArchivedTransactionRepository;
+import com.challenge.JPay.tenant.TenantContext;
+import com.challenge.JPay.tenant.TenantJobRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Um lançamento arquivado mantém o id e não pode mais ser alterado, só removido. O horizonte do arquivo é relido
+ * do banco periodicamente, para enxergar arquivamentos de outra instância, e elevado antes do primeiro bloco de um
+ * arquivamento desta.
+ */
+@Slf4j
+@Service
+public class TransactionArchiveService {
+
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final TransactionTemplate chunkTemplate;
+    private final boolean scheduled;
+    private final int minAgeDays;
+    private final int chunkSize;
+    private final long horizonTtlMs;
+    private final TenantJobRunner tenantJobRunner;
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final Map<String, Horizon> horizons = new ConcurrentHashMap<>();
+    private final Map<String, LocalDate> archiving = new ConcurrentHashMap<>();
+    private final Map<String, ArchiveReportDTO> lastReports = new ConcurrentHashMap<>();
+
+    public TransactionArchiveService(ArchivedTransactionRepository archivedTransactionRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     TenantJobRunner tenantJobRunner,
+                                     @Value("${jpay.archive.enabled:true}") boolean scheduled,
+                                     @Value("${jpay.archive.min-age-days:365}") int minAgeDays,
+                                     @Value("${jpay.archive.chunk-size:1000}") int chunkSize,
+                                     @Value("${jpay.archive.horizon-ttl-ms:5000}") long horizonTtlMs) {
+        this.archivedTransactionRepository = archivedTransactionRepository;
+        this.chunkTemplate = new TransactionTemplate(transactionManager);
+        this.scheduled = scheduled;
+        this.minAgeDays = minAgeDays;
+        this.chunkSize = chunkSize;
+        this.horizonTtlMs = horizonTtlMs;
+        this.tenantJobRunner = tenantJobRunner;
+    }
+
+    private record Horizon(LocalDate latest, long loadedAt) { }
+
+    /** {@code startDate} nulo significa sem limite. */
+    public boolean reaches(LocalDate startDate) {
+        String tenant = TenantContext.current();
+        long now = System.currentTimeMillis();
+        Horizon horizon = horizons.get(tenant);
+        if (horizon == null || now - horizon.loadedAt() >= horizonTtlMs) {
+            horizon = new Horizon(findLatestArchived(), now);
+            horizons.put(tenant, horizon);
+        }
+        LocalDate latest = max(horizon.latest(), archiving.getOrDefault(tenant, LocalDate.MIN));
+        return latest != LocalDate.MIN && (startDate == null || !startDate.isAfter(latest));
+    }
+
+    public ArchiveReportDTO findLastReport() {
+        ArchiveReportDTO report = lastReports.get(TenantContext.current());
+        if (report == null) {
+            throw new ResourceNotFoundException("Nenhum arquivamento de lançamentos foi executado ainda");
+        }
+        return report;
+    }
+
+    @Scheduled(cron = "${jpay.archive.cron:0 45 2 * * *}")
+    public void scheduledArchive() {
+        if (!scheduled) {
+            return;
+        }
+        if (runLock.isLocked()) {
+            log.info("Skipping scheduled transaction archival, another run is in progress");
+            return;
+        }
+        tenantJobRunner.forEachTenant("transaction archival", () -> archive(null));
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ArchiveReportDTO archive(Integer olderThanDays) {
+        int days = olderThanDays == null ? minAgeDays : olderThanDays;
+        if (days < 1) {
+            throw new BusinessException("Só é possível arquivar lançamentos pagos há pelo menos 1 dia");
+        }
+        if (!runLock.tryLock()) {
+            throw new BusinessException("Já existe um arquivamento de lançamentos em andamento");
+        }
+
+        String tenant = TenantContext.current();
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            long start = System.nanoTime();
+            LocalDate cutoff = cutoff(days);
+            // o horizonte sobe antes do primeiro bloco, para que nenhuma leitura deixe de olhar o arquivo
+            archiving.put(tenant, cutoff.minusDays(1));
+            log.info("Archiving transactions paid and due before {} in chunks of {}", cutoff, chunkSize);
+
+            int chunks = 0;
+            long archived = 0;
+            int moved;
+            while ((moved = chunkTemplate.execute(status -> moveChunk(cutoff))) > 0) {
+                chunks++;
+                archived += moved;
+            }
+
+            ArchiveReportDTO report = ArchiveReportDTO.builder()
+                    .startedAt(startedAt)
+                    .elapsedMs((System.nanoTime() - start) / 1_000_000)
+                    .olderThanDays(days)
+                    .cutoff(cutoff)
+                    .chunkSize(chunkSize)
+                    .chunks(chunks)
+                    .archived(archived)
+                    .build();
+            lastReports.put(tenant, report);
+            log.info("Transaction archival finished in {} ms: {} transactions in {} chunks", report.elapsedMs(), archived, chunks);
+            return report;
+        } finally {
+            horizons.put(tenant, new Horizon(findLatestArchived(), System.currentTimeMillis()));
+            archiving.remove(tenant);
+            runLock.unlock();
+        }
+    }
+
+    private int moveChunk(LocalDate cutoff) {
+        List<Long> ids = archivedTransactionRepository.lockArchivable(cutoff, chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int copied = archivedTransactionRepository.copyToArchive(ids, LocalDateTime.now());
+        int deleted = archivedTransactionRepository.deleteFromHot(ids);
+        if (copied != ids.size() || deleted != ids.size()) {
+            throw new IllegalStateException("Archive chunk changed while moving: " + ids.size() + " locked, "
+                    + copied + " copied, " + deleted + " deleted");
+        }
+        return ids.size();
+    }
+
+    private LocalDate findLatestArchived() {
+        LocalDate latest = archivedTransactionRepository.findLatestExpirationDate();
+        return latest != null ? latest : LocalDate.MIN;
+    }
+
+    private static LocalDate cutoff(int days) {
+        return LocalDate.now().minusDays(days);
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -1,27 +1,56 @@
 package com.challenge.JPay.service;
 
+import com.challenge.JPay.audit.AuditJournal;
+import com.challenge.JPay.cache.PaidTransactionCache;
+import com.challenge.JPay.duplicate.TransactionFingerprint;
+import com.challenge.JPay.dto.request.BulkReassignRequestDTO;
+import com.challenge.JPay.dto.request.BulkRescheduleRequestDTO;
+import com.challenge.JPay.dto.request.InstallmentRequestDTO;
+import com.challenge.JPay.dto.request.InstallmentRescheduleRequestDTO;
 import com.challenge.JPay.dto.request.TransactionRequestDTO;
 import com.challenge.JPay.dto.request.PaymentRequestDTO;
+import com.challenge.JPay.dto.response.BulkOperationResponseDTO;
 import com.challenge.JPay.dto.response.TransactionResponseDTO;
 import com.challenge.JPay.dto.response.BankAccountResponseDTO;
 import com.challenge.JPay.dto.response.CategoryResponseDTO;
 import com.challenge.JPay.exception.*;
 import com.challenge.JPay.model.Transaction;
 import com.challenge.JPay.model.BankAccount;
+import com.challenge.JPay.model.OutboxEvent;
+import com.challenge.JPay.model.RecurrenceRule;
+import com.challenge.JPay.model.TransactionState;
+import com.challenge.JPay.model.TransactionView;
+import com.challenge.JPay.model.enums.LifecycleEventType;
+import com.challenge.JPay.model.enums.RecurrenceFrequency;
 import com.challenge.JPay.model.enums.Status;
 import com.challenge.JPay.model.enums.TransactionType;
+import com.challenge.JPay.repository.ArchivedTransactionRepository;
+import com.challenge.JPay.repository.FieldCatalog;
+import com.challenge.JPay.repository.SparseFieldRepository;
+import com.challenge.JPay.repository.RecurrenceRuleRepository;
+import com.challenge.JPay.repository.TransactionBatchRepository;
 import com.challenge.JPay.repository.TransactionRepository;
+import com.challenge.JPay.repository.TransactionViewRepository;
 import com.challenge.JPay.repository.BankAccountRepository;
 import com.challenge.JPay.repository.CategoryRepository;
+import com.challenge.JPay.util.MoneyUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
 
 @Slf4j
 @Service
@@ -30,29 +59,70 @@ import java.time.LocalDate;
 public class TransactionService {
 
     private final TransactionRepository transactionRepository;
+    private final TransactionBatchRepository transactionBatchRepository;
     private final CategoryRepository categoryRepository;
     private final BankAccountRepository bankAccountRepository;
+    private final AuditJournal auditJournal;
+    private final OutboxService outboxService;
+    private final PendingExposureService pendingExposureService;
+    private final SparseFieldRepository sparseFieldRepository;
+    private final PaidTransactionCache paidTransactionCache;
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final TransactionViewRepository transactionViewRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final TransactionArchiveService transactionArchiveService;
+    private final RecurrenceRuleRepository recurrenceRuleRepository;
 
     public Page<TransactionResponseDTO> findAll(Pageable pageable) {
         log.info("Finding all transactions with pagination: {}", pageable);
 
-        return transactionRepository.findAll(pageable)
-                .map(this::toResponseDTO);
+        long stamp = paidTransactionCache.stamp();
+        Page<Transaction> transactions = transactionArchiveService.reaches(null)
+                ? transactionViewRepository.findAll(pageable).map(TransactionView::toTransaction)
+                : transactionRepository.findAll(pageable);
+        return transactions.map(transaction -> toCachedResponseDTO(transaction, stamp));
     }
 
+    /** Lançamentos pagos em cache são devolvidos sem abrir conexão; os demais vêm da tabela ativa ou do arquivo. */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public TransactionResponseDTO findById(Long id) {
         log.info("Finding transaction by id: {}", id);
 
-        var transaction = transactionRepository.findById(id)
+        TransactionResponseDTO cached = paidTransactionCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = paidTransactionCache.stamp();
+        var transaction = transactionRepository.findWithRelationsById(id)
+                .or(() -> transactionViewRepository.findArchivedWithRelationsById(id).map(TransactionView::toTransaction))
+                .orElseThrow(() -> new TransactionNotFoundException(id));
+        return paidTransactionCache.admit(toResponseDTO(transaction), stamp);
+    }
+
+    public Page<Map<String, Object>> findAll(String fields, Pageable pageable) {
+        log.info("Finding all transactions with fields [{}] and pagination: {}", fields, pageable);
+
+        FieldCatalog catalog = transactionArchiveService.reaches(null) ? FieldCatalog.TRANSACTION_WITH_ARCHIVE : FieldCatalog.TRANSACTION;
+        return sparseFieldRepository.findAll(catalog, catalog.select(fields), pageable);
+    }
+
+    public Map<String, Object> findById(Long id, String fields) {
+        log.info("Finding transaction by id: {} with fields [{}]", id, fields);
+
+        var selection = FieldCatalog.TRANSACTION.select(fields);
+        return sparseFieldRepository.findById(FieldCatalog.TRANSACTION, selection, id)
+                .or(() -> sparseFieldRepository.findById(FieldCatalog.TRANSACTION_WITH_ARCHIVE, selection, id))
                 .orElseThrow(() -> new TransactionNotFoundException(id));
-        return toResponseDTO(transaction);
     }
 
     public Page<TransactionResponseDTO> findByStatus(Status status, Pageable pageable) {
         log.info("Finding transactions by status: {} with pagination: {}", status, pageable);
 
-        return transactionRepository.findByStatus(status, pageable)
-                .map(this::toResponseDTO);
+        long stamp = paidTransactionCache.stamp();
+        Page<Transaction> transactions = status == Status.PAID && transactionArchiveService.reaches(null)
+                ? transactionViewRepository.findByStatus(status, pageable).map(TransactionView::toTransaction)
+                : transactionRepository.findByStatus(status, pageable);
+        return transactions.map(transaction -> toCachedResponseDTO(transaction, stamp));
     }
 
     public Page<TransactionResponseDTO> findByExpiredTransactions(Pageable pageable) {
@@ -65,20 +135,31 @@ public class TransactionService {
     public Page<TransactionResponseDTO> findByExpirationDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable) {
         log.info("Finding transactions by expiration date date between {} and {} with pagination: {}", startDate, endDate, pageable);
 
-        return transactionRepository.findByExpirationDateBetween(startDate, endDate, pageable)
-                .map(this::toResponseDTO);
+        long stamp = paidTransactionCache.stamp();
+        Page<Transaction> transactions = transactionArchiveService.reaches(startDate)
+                ? transactionViewRepository.findByExpirationDateBetween(startDate, endDate, pageable).map(TransactionView::toTransaction)
+                : transactionRepository.findByExpirationDateBetween(startDate, endDate, pageable);
+        return transactions.map(transaction -> toCachedResponseDTO(transaction, stamp));
     }
 
     public Page<TransactionResponseDTO> findByExpirationDateBetweenAndType(LocalDate startDate, LocalDate endDate, String type, Pageable pageable) {
         log.info("Finding transactions by expiration date date between {} and {} and type {} with pagination: {}", startDate, endDate, type, pageable);
 
-        return transactionRepository.findByExpirationDateBetweenAndType(startDate, endDate, Enum.valueOf(TransactionType.class, type), pageable).map(this::toResponseDTO);
+        long stamp = paidTransactionCache.stamp();
+        TransactionType transactionType = Enum.valueOf(TransactionType.class, type);
+        Page<Transaction> transactions = transactionArchiveService.reaches(startDate)
+                ? transactionViewRepository.findByExpirationDateBetweenAndType(startDate, endDate, transactionType, pageable).map(TransactionView::toTransaction)
+                : transactionRepository.findByExpirationDateBetweenAndType(startDate, endDate, transactionType, pageable);
+        return transactions.map(transaction -> toCachedResponseDTO(transaction, stamp));
     }
 
     public BigDecimal getTotalAmountByType(String type) {
         log.info("Calculating total amount by type: {}", type);
 
-        return transactionRepository.getTotalAmountByType(Enum.valueOf(TransactionType.class, type));
+        TransactionType transactionType = Enum.valueOf(TransactionType.class, type);
+        return transactionArchiveService.reaches(null)
+                ? transactionViewRepository.getTotalAmountByType(transactionType)
+                : transactionRepository.getTotalAmountByType(transactionType);
     }
 
     @Transactional
@@ -99,17 +180,32 @@ public class TransactionService {
             throw new BusinessException("Não pode criar uma conta a pagar com uma conta bancária inativa");
         }
 
+        var fingerprint = TransactionFingerprint.of(dto.description(), dto.amount(), dto.expirationDate(), bankAccount.getId());
+        duplicateDetectionService.verify(fingerprint);
+
+        Status status = dto.status() == null ? Status.PENDING : Enum.valueOf(Status.class, dto.status());
         var transaction = Transaction.builder()
                 .description(dto.description())
                 .amount(dto.amount())
                 .expirationDate(dto.expirationDate())
                 .transactionType(Enum.valueOf(TransactionType.class,dto.type()))
-                .status(dto.status() == null ? Status.PENDING : Enum.valueOf(Status.class, dto.status()))
+                .status(status)
+                .paymentDate(status == Status.PAID ? LocalDate.now() : null)
+                .autoPay(Boolean.TRUE.equals(dto.autoPay()))
                 .category(category)
                 .bankAccount(bankAccount)
                 .build();
 
         var createdTransaction = transactionRepository.save(transaction);
+        auditJournal.recordStatusChange(createdTransaction.getId(), bankAccount.getId(), createdTransaction.getAmount(),
+                null, createdTransaction.getStatus());
+        TransactionState after = TransactionState.of(createdTransaction);
+        outboxService.transactionChanged(LifecycleEventType.TRANSACTION_CREATED, createdTransaction.getId(), null, after);
+        pendingExposureService.transactionChanged(null, after);
+        duplicateDetectionService.record(fingerprint);
+        if (status == Status.PAID) {
+            applyBalanceChange(bankAccount.getId(), createdTransaction.getId(), createdTransaction.balanceEffect());
+        }
         log.info("Transaction created successfully with id: {}", createdTransaction.getId());
 
         return toResponseDTO(createdTransaction);
@@ -119,8 +215,8 @@ public class TransactionService {
     public TransactionResponseDTO update(Long id, TransactionRequestDTO dto) {
         log.info("Updating transaction with id: {}", id);
 
-        var transaction = transactionRepository.findById(id)
-                .orElseThrow(() -> new TransactionNotFoundException(id));
+        var transaction = transactionRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> notFoundOrArchived(id));
 
         if (transaction.getStatus() == Status.PAID) {
             throw new BusinessException("Não é possível modificar uma conta depois de paga");
@@ -132,74 +228,542 @@ public class TransactionService {
         BankAccount bankAccount = bankAccountRepository.findById(dto.bankAccountId())
                 .orElseThrow(() -> new BankAccountNotFoundException(dto.bankAccountId()));
 
+        Status oldStatus = transaction.getStatus();
+        TransactionState before = TransactionState.of(transaction);
         transaction.setDescription(dto.description());
         transaction.setAmount(dto.amount());
         transaction.setTransactionType(Enum.valueOf(TransactionType.class, dto.type()));
         transaction.setStatus(Enum.valueOf(Status.class, dto.status()));
+        transaction.setPaymentDate(transaction.getStatus() == Status.PAID ? LocalDate.now() : null);
         transaction.setExpirationDate(dto.expirationDate());
+        if (dto.autoPay() != null) {
+            transaction.setAutoPay(dto.autoPay());
+        }
         transaction.setCategory(category);
         transaction.setBankAccount(bankAccount);
 
         var updatedTransaction = transactionRepository.save(transaction);
+        auditJournal.recordStatusChange(id, bankAccount.getId(), updatedTransaction.getAmount(),
+                oldStatus, updatedTransaction.getStatus());
+        TransactionState after = TransactionState.of(updatedTransaction);
+        outboxService.transactionChanged(LifecycleEventType.TRANSACTION_UPDATED, id, before, after);
+        pendingExposureService.transactionChanged(before, after);
+        duplicateDetectionService.record(TransactionFingerprint.of(updatedTransaction));
+        if (updatedTransaction.getStatus() == Status.PAID) {
+            applyBalanceChange(bankAccount.getId(), id, updatedTransaction.balanceEffect());
+        }
         log.info("transaction updated successfully with id: {}", updatedTransaction.getId());
 
         return toResponseDTO(updatedTransaction);
     }
 
+    /**
+     * Um lançamento pendente pago por outra conta passa a pertencer a ela; o estorno só pode ser feito na conta em
+     * que o lançamento foi pago.
+     */
     @Transactional
     public TransactionResponseDTO payTransaction(PaymentRequestDTO dto) {
         log.info("Processing payment for transaction id: {}", dto.transactionId());
 
-        var transaction = transactionRepository.findById(dto.transactionId())
-                .orElseThrow(() -> new TransactionNotFoundException(dto.transactionId()));
-
-        BankAccount bankAccount = bankAccountRepository.findById(dto.bankAccountId())
-                .orElseThrow(() -> new BankAccountNotFoundException(dto.bankAccountId()));
-
-        BigDecimal currentBalance = bankAccount.getCurrentBalance();
-        BigDecimal newBalance = currentBalance.subtract(transaction.getAmount());
-        transaction.markAsPaid();
-
-        bankAccount.setCurrentBalance(newBalance);
-        bankAccountRepository.save(bankAccount);
-        var paidTransaction = transactionRepository.save(transaction);
-        log.info("Transaction paid successfully with id: {}", paidTransaction.getId());
-
-        return toResponseDTO(paidTransaction);
+        var transaction = transactionRepository.findByIdForUpdate(dto.transactionId())
+                .orElseThrow(() -> notFoundOrArchived(dto.transactionId()));
+
+        if (!transaction.getBankAccount().getId().equals(dto.bankAccountId())) {
+            if (transaction.getStatus() == Status.PAID) {
+                throw new BusinessException("O estorno deve ser feito na conta bancária em que o lançamento foi pago");
+            }
+            BankAccount bankAccount = bankAccountRepository.findById(dto.bankAccountId())
+                    .orElseThrow(() -> new BankAccountNotFoundException(dto.bankAccountId()));
+            if (!bankAccount.getActive()) {
+                throw new BusinessException("Não é possível pagar com uma conta bancária inativa");
+            }
+            TransactionState before = TransactionState.of(transaction);
+            transaction.setBankAccount(bankAccount);
+            duplicateDetectionService.record(TransactionFingerprint.of(transaction));
+            return togglePayment(transaction, before);
+        }
+        return togglePayment(transaction, TransactionState.of(transaction));
     }
 
     @Transactional
     public TransactionResponseDTO payTransaction(Long id) {
         log.info("Processing payment for transaction id: {}",id);
 
-        var transaction = transactionRepository.findById(id)
-                .orElseThrow(() -> new TransactionNotFoundException(id));
+        var transaction = transactionRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> notFoundOrArchived(id));
+        return togglePayment(transaction, TransactionState.of(transaction));
+    }
 
-        var bankAccount = bankAccountRepository.findById(transaction.getBankAccount().getId())
-                .orElseThrow(() -> new BankAccountNotFoundException(id));
-        BigDecimal currentBalance = bankAccount.getCurrentBalance();
-        BigDecimal newBalance = currentBalance.subtract(transaction.getAmount());
+    private TransactionResponseDTO togglePayment(Transaction transaction, TransactionState before) {
+        Status oldStatus = transaction.getStatus();
         transaction.markAsPaid();
+        BigDecimal effect = transaction.getStatus() == Status.PAID
+                ? transaction.balanceEffect()
+                : transaction.balanceEffect().negate();
 
-        bankAccount.setCurrentBalance(newBalance);
-        bankAccountRepository.save(bankAccount);
         var paidTransaction = transactionRepository.save(transaction);
-        log.info("Transaction paid successfully with id: {}", paidTransaction.getId());
+        if (oldStatus == Status.PAID) {
+            paidTransactionCache.evict(paidTransaction.getId());
+        }
+        Long bankAccountId = paidTransaction.getBankAccount().getId();
+        auditJournal.recordStatusChange(paidTransaction.getId(), bankAccountId, paidTransaction.getAmount(),
+                oldStatus, paidTransaction.getStatus());
+        TransactionState after = TransactionState.of(paidTransaction);
+        outboxService.transactionChanged(LifecycleEventType.TRANSACTION_STATUS_CHANGED, paidTransaction.getId(), before, after);
+        pendingExposureService.transactionChanged(before, after);
+        applyBalanceChange(bankAccountId, paidTransaction.getId(), effect);
+        log.info("Transaction {} is now {}", paidTransaction.getId(), paidTransaction.getStatus());
 
         return toResponseDTO(paidTransaction);
     }
 
+    private void applyBalanceChange(Long bankAccountId, Long transactionId, BigDecimal delta) {
+        if (bankAccountRepository.addToBalance(bankAccountId, delta) == 0) {
+            throw new BankAccountNotFoundException(bankAccountId);
+        }
+        BigDecimal newBalance = bankAccountRepository.findCurrentBalance(bankAccountId)
+                .orElseThrow(() -> new BankAccountNotFoundException(bankAccountId));
+        BigDecimal currentBalance = newBalance.subtract(delta);
+
+        auditJournal.recordBalanceChange(bankAccountId, transactionId, currentBalance, newBalance);
+        outboxService.balanceChanged(bankAccountId, currentBalance, newBalance);
+    }
+
     @Transactional
     public void delete(Long id) {
         log.info("Deleting transaction with id: {}", id);
 
-        var transaction = transactionRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
+        if (recurrenceRuleRepository.existsByTemplateId(id)) {
+            throw new BusinessException("O lançamento " + id + " é modelo de uma recorrência e não pode ser removido");
+        }
+
+        var transaction = transactionRepository.findByIdForUpdate(id).orElse(null);
+        if (transaction == null) {
+            deleteArchived(id);
+            return;
+        }
 
+        TransactionState before = TransactionState.of(transaction);
         transactionRepository.delete(transaction);
+        outboxService.transactionChanged(LifecycleEventType.TRANSACTION_DELETED, id, before, null);
+        pendingExposureService.transactionChanged(before, null);
+        auditJournal.recordDeletion(id, transaction.getBankAccount().getId(), transaction.getAmount(), transaction.getStatus());
+        if (transaction.getStatus() == Status.PAID) {
+            paidTransactionCache.evict(id);
+            applyBalanceChange(transaction.getBankAccount().getId(), id, transaction.balanceEffect().negate());
+        }
         log.info("Transaction deleted successfully with id: {}", id);
     }
 
+    private void deleteArchived(Long id) {
+        var archived = archivedTransactionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
+        if (archivedTransactionRepository.deleteArchived(id) == 0) {
+            throw new ResourceNotFoundException("Transaction not found with id: " + id);
+        }
+
+        Long bankAccountId = archived.getBankAccount().getId();
+        TransactionState before = new TransactionState(bankAccountId, archived.getCategory().getId(),
+                archived.getTransactionType(), archived.getStatus(), archived.getAmount(), archived.getExpirationDate(),
+                archived.getPaymentDate());
+        outboxService.transactionChanged(LifecycleEventType.TRANSACTION_DELETED, id, before, null);
+        auditJournal.recordDeletion(id, bankAccountId, archived.getAmount(), archived.getStatus());
+        paidTransactionCache.evict(id);
+        BigDecimal effect = archived.getTransactionType() == TransactionType.ATIVO ? archived.getAmount() : archived.getAmount().negate();
+        applyBalanceChange(bankAccountId, id, effect.negate());
+        log.info("Archived transaction deleted successfully with id: {}", id);
+    }
+
+    public List<TransactionResponseDTO> findInstallments(String group) {
+        log.info("Finding installments of group: {}", group);
+
+        if (!transactionArchiveService.reaches(null)) {
+            return findInstallmentGroup(group).stream().map(this::toResponseDTO).toList();
+        }
+        List<TransactionView> installments = transactionViewRepository.findByInstallmentGroup(group);
+        if (installments.isEmpty()) {
+            throw new ResourceNotFoundException("Parcelamento não encontrado na base de dados (grupo: " + group + ")");
+        }
+        return installments.stream().map(installment -> toResponseDTO(installment.toTransaction())).toList();
+    }
+
+    /** A sobra da divisão em centavos vai para as primeiras parcelas: a soma é sempre igual ao total. */
+    @Transactional
+    public List<TransactionResponseDTO> createInstallments(InstallmentRequestDTO dto) {
+        log.info("Creating {} installments for transaction: {}", dto.installments(), dto.description());
+
+        var category = categoryRepository.findById(dto.categoryId())
+                .orElseThrow(() -> new CategoryNotFoundException(dto.categoryId()));
+
+        BankAccount bankAccount = bankAccountRepository.findById(dto.bankAccountId())
+                .orElseThrow(() -> new BankAccountNotFoundException(dto.bankAccountId()));
+
+        if (!category.getActive()) {
+            throw new BusinessException("Não pode criar uma conta a pagar com uma categoria inativa");
+        }
+
+        if (!bankAccount.getActive()) {
+            throw new BusinessException("Não pode criar uma conta a pagar com uma conta bancária inativa");
+        }
+
+        int count = dto.installments();
+        long totalCents = MoneyUtils.toCents(dto.amount());
+        if (totalCents < count) {
+            throw new BusinessException("O valor total não pode ser menor que um centavo por parcela");
+        }
+
+        RecurrenceFrequency frequency = dto.frequency() == null
+                ? RecurrenceFrequency.MONTHLY
+                : Enum.valueOf(RecurrenceFrequency.class, dto.frequency());
+        if (frequency == RecurrenceFrequency.DAY_OF_MONTH) {
+            throw new BusinessException("Parcelamentos aceitam apenas as frequências WEEKLY e MONTHLY");
+        }
+        RecurrenceRule schedule = RecurrenceRule.builder()
+                .frequency(frequency)
+                .interval(dto.interval() == null ? 1 : dto.interval())
+                .build();
+
+        String group = UUID.randomUUID().toString();
+        TransactionType type = Enum.valueOf(TransactionType.class, dto.type());
+        long baseCents = totalCents / count;
+        long remainder = totalCents % count;
+
+        List<Transaction> installments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            installments.add(Transaction.builder()
+                    .description(dto.description() + " (" + (i + 1) + "/" + count + ")")
+                    .amount(MoneyUtils.fromCents(baseCents + (i < remainder ? 1 : 0)))
+                    .expirationDate(schedule.occurrenceDate(dto.expirationDate(), i))
+                    .status(Status.PENDING)
+                    .transactionType(type)
+                    .category(category)
+                    .bankAccount(bankAccount)
+                    .generationKey("I" + group + "-" + (i + 1))
+                    .installmentGroup(group)
+                    .installmentNumber(i + 1)
+                    .installmentCount(count)
+                    .autoPay(Boolean.TRUE.equals(dto.autoPay()))
+                    .build());
+        }
+
+        List<TransactionFingerprint> fingerprints = installments.stream().map(TransactionFingerprint::of).toList();
+        duplicateDetectionService.verifyAll(fingerprints);
+
+        List<String> keys = transactionBatchRepository.insertIfAbsent(installments);
+        Map<String, Long> ids = transactionBatchRepository.findIdsByGenerationKeys(keys);
+
+        List<OutboxEvent> events = new ArrayList<>(count);
+        for (Transaction installment : installments) {
+            Long id = ids.get(installment.getGenerationKey());
+            events.add(OutboxEvent.builder()
+                    .eventType(LifecycleEventType.TRANSACTION_CREATED)
+                    .transactionId(id)
+                    .bankAccountId(bankAccount.getId())
+                    .after(TransactionState.of(installment))
+                    .build());
+            auditJournal.recordStatusChange(id, bankAccount.getId(), installment.getAmount(), null, Status.PENDING);
+        }
+        outboxService.appendAll(events);
+        pendingExposureService.applyAll(events);
+        duplicateDetectionService.recordAll(fingerprints);
+        log.info("Installment group {} created successfully with {} installments", group, count);
+
+        return findInstallments(group);
+    }
+
+    /** Se outra operação pagou ou removeu alguma parcela nesse meio tempo, nada é aplicado. */
+    @Transactional
+    public List<TransactionResponseDTO> payRemainingInstallments(String group) {
+        log.info("Paying remaining installments of group: {}", group);
+
+        List<Transaction> pending = findPendingInstallments(group);
+        LocalDate paymentDate = LocalDate.now();
+        int paid = transactionRepository.payPendingInstallments(group, paymentDate, Status.PENDING, Status.PAID);
+        if (paid != pending.size()) {
+            throw new BusinessException("As parcelas do grupo " + group + " foram alteradas por outra operação, tente novamente");
+        }
+
+        SortedMap<Long, BigDecimal> totals = new TreeMap<>();
+        List<OutboxEvent> events = new ArrayList<>(pending.size());
+        for (Transaction installment : pending) {
+            Long bankAccountId = installment.getBankAccount().getId();
+            totals.merge(bankAccountId, installment.balanceEffect(), BigDecimal::add);
+            TransactionState before = TransactionState.of(installment);
+            installment.setStatus(Status.PAID);
+            installment.setPaymentDate(paymentDate);
+            events.add(OutboxEvent.builder()
+                    .eventType(LifecycleEventType.TRANSACTION_STATUS_CHANGED)
+                    .transactionId(installment.getId())
+                    .bankAccountId(bankAccountId)
+                    .before(before)
+                    .after(TransactionState.of(installment))
+                    .build());
+            auditJournal.recordStatusChange(installment.getId(), bankAccountId, installment.getAmount(), Status.PENDING, Status.PAID);
+        }
+
+        outboxService.appendAll(events);
+        pendingExposureService.applyAll(events);
+        totals.forEach((bankAccountId, total) -> applyBalanceChange(bankAccountId, null, total));
+        log.info("{} installments of group {} paid successfully", pending.size(), group);
+
+        return findInstallments(group);
+    }
+
+    @Transactional
+    public List<TransactionResponseDTO> rescheduleRemainingInstallments(String group, InstallmentRescheduleRequestDTO dto) {
+        log.info("Rescheduling remaining installments of group: {}", group);
+
+        int days = dto.days() == null ? 0 : dto.days();
+        int months = dto.months() == null ? 0 : dto.months();
+        if (days == 0 && months == 0) {
+            throw new BusinessException("Informe um deslocamento em dias ou meses");
+        }
+
+        List<Transaction> pending = findPendingInstallments(group);
+        Map<Long, TransactionState> before = new HashMap<>(pending.size() * 2);
+        pending.forEach(installment -> before.put(installment.getId(), TransactionState.of(installment)));
+
+        int shifted = transactionRepository.shiftPendingInstallments(group, days, months);
+        if (shifted != pending.size()) {
+            throw new BusinessException("As parcelas do grupo " + group + " foram alteradas por outra operação, tente novamente");
+        }
+
+        List<Transaction> installments = findInstallmentGroup(group);
+        List<OutboxEvent> events = new ArrayList<>(pending.size());
+        for (Transaction installment : installments) {
+            TransactionState previous = before.get(installment.getId());
+            if (previous != null) {
+                events.add(OutboxEvent.builder()
+                        .eventType(LifecycleEventType.TRANSACTION_UPDATED)
+                        .transactionId(installment.getId())
+                        .bankAccountId(installment.getBankAccount().getId())
+                        .before(previous)
+                        .after(TransactionState.of(installment))
+                        .build());
+            }
+        }
+        outboxService.appendAll(events);
+        pendingExposureService.applyAll(events);
+        duplicateDetectionService.recordAll(installments.stream()
+                .filter(installment -> before.containsKey(installment.getId()))
+                .map(TransactionFingerprint::of)
+                .toList());
+        log.info("{} installments of group {} rescheduled successfully", pending.size(), group);
+
+        return findInstallments(group);
+    }
+
+    @Transactional
+    public void cancelRemainingInstallments(String group) {
+        log.info("Cancelling remaining installments of group: {}", group);
+
+        List<Transaction> pending = findPendingInstallments(group);
+        int deleted = transactionRepository.deleteInstallmentsByStatus(group, Status.PENDING);
+        if (deleted != pending.size()) {
+            throw new BusinessException("As parcelas do grupo " + group + " foram alteradas por outra operação, tente novamente");
+        }
+
+        List<OutboxEvent> events = new ArrayList<>(pending.size());
+        for (Transaction installment : pending) {
+            Long bankAccountId = installment.getBankAccount().getId();
+            events.add(OutboxEvent.builder()
+                    .eventType(LifecycleEventType.TRANSACTION_DELETED)
+                    .transactionId(installment.getId())
+                    .bankAccountId(bankAccountId)
+                    .before(TransactionState.of(installment))
+                    .build());
+            auditJournal.recordDeletion(installment.getId(), bankAccountId, installment.getAmount(), Status.PENDING);
+        }
+        outboxService.appendAll(events);
+        pendingExposureService.applyAll(events);
+        log.info("{} installments of group {} cancelled successfully", pending.size(), group);
+    }
+
+    /**
+     * {@code pending} é lido antes e sem trava; se algum deles mudou nesse meio tempo, nada é aplicado.
+     *
+     * @return efeito total no saldo da conta
+     */
+    @Transactional
+    public BigDecimal payPending(Long bankAccountId, Map<Long, TransactionState> pending, Map<Long, LocalDate> paymentDates) {
+        int paid = transactionBatchRepository.payPending(pending, paymentDates);
+        if (paid != paymentDates.size()) {
+            throw new BusinessException("Os lançamentos foram alterados durante a operação, tente novamente");
+        }
+
+        long total = 0;
+        List<OutboxEvent> events = new ArrayList<>(paymentDates.size());
+        for (Map.Entry<Long, LocalDate> payment : paymentDates.entrySet()) {
+            TransactionState before = pending.get(payment.getKey());
+            long cents = MoneyUtils.toCents(before.amount());
+            total += before.transactionType() == TransactionType.ATIVO ? cents : -cents;
+            events.add(OutboxEvent.builder()
+                    .eventType(LifecycleEventType.TRANSACTION_STATUS_CHANGED)
+                    .transactionId(payment.getKey())
+                    .bankAccountId(bankAccountId)
+                    .before(before)
+                    .after(new TransactionState(bankAccountId, before.categoryId(), before.transactionType(), Status.PAID,
+                            before.amount(), before.expirationDate(), payment.getValue()))
+                    .build());
+            auditJournal.recordStatusChange(payment.getKey(), bankAccountId, before.amount(), Status.PENDING, Status.PAID);
+        }
+
+        outboxService.appendAll(events);
+        pendingExposureService.applyAll(events);
+        BigDecimal effect = MoneyUtils.fromCents(total);
+        applyBalanceChange(bankAccountId, null, effect);
+        log.info("{} pending transactions of bank account {} paid in batch", paid, bankAccountId);
+        return effect;
+    }
+
+    /** Lançamentos pagos não são movidos e os destinos precisam estar ativos. */
+    @Transactional
+    public BulkOperationResponseDTO reassignPending(BulkReassignRequestDTO dto) {
+        log.info("Reassigning pending transactions: {}", dto);
+
+        if (dto.fromCategoryId() == null && dto.fromBankAccountId() == null) {
+            throw new BusinessException("Informe a categoria e/ou a conta bancária de origem");
+        }
+        if (dto.toCategoryId() == null && dto.toBankAccountId() == null) {
+            throw new BusinessException("Informe a categoria e/ou a conta bancária de destino");
+        }
+        if (dto.toCategoryId() != null) {
+            var category = categoryRepository.findById(dto.toCategoryId())
+                    .orElseThrow(() -> new CategoryNotFoundException(dto.toCategoryId()));
+            if (!category.getActive()) {
+                throw new BusinessException("Não pode mover lançamentos para uma categoria inativa");
+            }
+        }
+        if (dto.toBankAccountId() != null) {
+            BankAccount bankAccount = bankAccountRepository.findById(dto.toBankAccountId())
+                    .orElseThrow(() -> new BankAccountNotFoundException(dto.toBankAccountId()));
+            if (!bankAccount.getActive()) {
+                throw new BusinessException("Não pode mover lançamentos para uma conta bancária inativa");
+            }
+        }
+
+        var filter = new TransactionBatchRepository.PendingFilter(dto.fromCategoryId(), dto.fromBankAccountId(), null, null, null);
+        Map<Long, TransactionState> before = findPendingStates(filter);
+        int updated = transactionBatchRepository.reassignPending(filter, dto.toCategoryId(), dto.toBankAccountId());
+
+        List<OutboxEvent> events = new ArrayList<>(before.size());
+        before.forEach((id, state) -> {
+            Long bankAccountId = dto.toBankAccountId() != null ? dto.toBankAccountId() : state.bankAccountId();
+            Long categoryId = dto.toCategoryId() != null ? dto.toCategoryId() : state.categoryId();
+            events.add(updatedEvent(id, state, new TransactionState(bankAccountId, categoryId, state.transactionType(),
+                    state.status(), state.amount(), state.expirationDate(), state.paymentDate())));
+        });
+        BulkOperationResponseDTO response = completeBulkUpdate(before.size(), updated, events);
+        if (dto.toBankAccountId() != null) {
+            duplicateDetectionService.recordIds(before.keySet());
+        }
+        return response;
+    }
+
+    @Transactional
+    public BulkOperationResponseDTO reschedulePending(BulkRescheduleRequestDTO dto) {
+        log.info("Rescheduling pending transactions: {}", dto);
+
+        int days = dto.days() == null ? 0 : dto.days();
+        int months = dto.months() == null ? 0 : dto.months();
+        if (days == 0 && months == 0) {
+            throw new BusinessException("Informe um deslocamento em dias ou meses");
+        }
+
+        var filter = new TransactionBatchRepository.PendingFilter(dto.categoryId(), dto.bankAccountId(),
+                dto.type() == null ? null : Enum.valueOf(TransactionType.class, dto.type()),
+                dto.startDate(), dto.endDate());
+        if (filter.isEmpty()) {
+            throw new BusinessException("Informe ao menos um filtro (categoria, conta bancária, tipo ou período)");
+        }
+
+        Map<Long, TransactionState> before = findPendingStates(filter);
+        int updated = transactionBatchRepository.shiftPending(filter, days, months);
+
+        List<OutboxEvent> events = new ArrayList<>(before.size());
+        before.forEach((id, state) -> events.add(updatedEvent(id, state, new TransactionState(state.bankAccountId(),
+                state.categoryId(), state.transactionType(), state.status(), state.amount(),
+                state.expirationDate().plusDays(days).plusMonths(months), state.paymentDate()))));
+        BulkOperationResponseDTO response = completeBulkUpdate(before.size(), updated, events);
+        duplicateDetectionService.recordIds(before.keySet());
+        return response;
+    }
+
+    private Map<Long, TransactionState> findPendingStates(TransactionBatchRepository.PendingFilter filter) {
+        Map<Long, TransactionState> states = transactionBatchRepository.findPendingStates(filter);
+        if (states.isEmpty()) {
+            throw new BusinessException("Nenhum lançamento pendente atende os filtros informados");
+        }
+        return states;
+    }
+
+    private OutboxEvent updatedEvent(Long id, TransactionState before, TransactionState after) {
+        return OutboxEvent.builder()
+                .eventType(LifecycleEventType.TRANSACTION_UPDATED)
+                .transactionId(id)
+                .bankAccountId(after.bankAccountId())
+                .before(before)
+                .after(after)
+                .build();
+    }
+
+    /**
+     * Se o número de linhas alteradas difere dos estados lidos antes, algum lançamento mudou no meio da operação
+     * e ela é desfeita.
+     */
+    private BulkOperationResponseDTO completeBulkUpdate(int matched, int updated, List<OutboxEvent> events) {
+        if (updated != matched) {
+            throw new BusinessException("Os lançamentos foram alterados durante a operação, tente novamente");
+        }
+        outboxService.appendAll(events);
+        pendingExposureService.applyAll(events);
+        log.info("{} pending transactions updated in bulk", updated);
+
+        return BulkOperationResponseDTO.builder()
+                .matched(matched)
+                .updated(updated)
+                .build();
+    }
+
+    private List<Transaction> findInstallmentGroup(String group) {
+        List<Transaction> installments = transactionRepository.findByInstallmentGroup(group);
+        if (installments.isEmpty()) {
+            throw new ResourceNotFoundException("Parcelamento não encontrado na base de dados (grupo: " + group + ")");
+        }
+        return installments;
+    }
+
+    private List<Transaction> findPendingInstallments(String group) {
+        List<Transaction> installments = transactionRepository.findByInstallmentGroup(group);
+        if (installments.isEmpty()) {
+            findInstallments(group); // 404 se o grupo também não está no arquivo
+        }
+        List<Transaction> pending = installments.stream()
+                .filter(installment -> installment.getStatus() == Status.PENDING)
+                .toList();
+        if (pending.isEmpty()) {
+            throw new BusinessException("O parcelamento não possui parcelas pendentes");
+        }
+        return pending;
+    }
+
+    /** Arquivados existem, mas não podem mais ser alterados. */
+    private RuntimeException notFoundOrArchived(Long id) {
+        if (archivedTransactionRepository.existsById(id)) {
+            return new BusinessException("O lançamento " + id + " está arquivado e não pode mais ser alterado");
+        }
+        return new TransactionNotFoundException(id);
+    }
+
+    /** {@code stamp} deve ser tomado antes da consulta. */
+    private TransactionResponseDTO toCachedResponseDTO(Transaction transaction, long stamp) {
+        if (transaction.getStatus() != Status.PAID) {
+            return toResponseDTO(transaction);
+        }
+        TransactionResponseDTO cached = paidTransactionCache.get(transaction.getId());
+        return cached != null ? cached : paidTransactionCache.admit(toResponseDTO(transaction), stamp);
+    }
+
     private TransactionResponseDTO toResponseDTO(Transaction transaction) {
         return TransactionResponseDTO.builder()
                 .id(transaction.getId())
@@ -210,6 +774,7 @@ public class TransactionService {
                 .status(transaction.getStatus())
                 .type(transaction.getTransactionType())
                 .isExpired(transaction.isExpired())
+                .autoPay(Boolean.TRUE.equals(transaction.getAutoPay()))
                 .category(CategoryResponseDTO.builder()
                         .id(transaction.getCategory().getId())
                         .name(transaction.getCategory().getName())
@@ -219,6 +784,9 @@ public class TransactionService {
                         .name(transaction.getBankAccount().getName())
                         .bank(transaction.getBankAccount().getBank())
                         .build())
+                .installmentGroup(transaction.getInstallmentGroup())
+                .installmentNumber(transaction.getInstallmentNumber())
+                .installmentCount(transaction.getInstallmentCount())
                 .createdAt(transaction.getCreatedAt())
                 .updatedAt(transaction.getUpdatedAt())
                 .build();
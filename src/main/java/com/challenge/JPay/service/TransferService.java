@@ -0,0 +1,135 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.audit.AuditJournal;
+import com.challenge.JPay.dto.request.BatchTransferRequestDTO;
+import com.challenge.JPay.dto.request.TransferRequestDTO;
+import com.challenge.JPay.dto.response.TransferResponseDTO;
+import com.challenge.JPay.exception.BankAccountNotFoundException;
+import com.challenge.JPay.exception.BusinessException;
+import com.challenge.JPay.exception.ResourceNotFoundException;
+import com.challenge.JPay.model.BankAccount;
+import com.challenge.JPay.model.Transfer;
+import com.challenge.JPay.repository.BankAccountRepository;
+import com.challenge.JPay.repository.TransferRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * As contas envolvidas são travadas em ordem crescente de id antes de qualquer saldo mudar, para que transferências
+ * cruzadas em sentidos opostos não entrem em deadlock. O lote é atômico.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TransferService {
+
+    private final TransferRepository transferRepository;
+    private final BankAccountRepository bankAccountRepository;
+    private final AuditJournal auditJournal;
+    private final OutboxService outboxService;
+
+    public TransferResponseDTO findById(Long id) {
+        log.info("Finding transfer by id: {}", id);
+
+        return transferRepository.findById(id)
+                .map(this::toResponseDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Transferência não encontrada com id: " + id));
+    }
+
+    public Page<TransferResponseDTO> findByBankAccount(Long bankAccountId, Pageable pageable) {
+        log.info("Finding transfers of bank account {} with pagination: {}", bankAccountId, pageable);
+
+        return transferRepository.findByBankAccount(bankAccountId, pageable).map(this::toResponseDTO);
+    }
+
+    @Transactional
+    public TransferResponseDTO transfer(TransferRequestDTO dto) {
+        log.info("Transferring {} from bank account {} to {}", dto.amount(), dto.sourceBankAccountId(), dto.targetBankAccountId());
+
+        return execute(List.of(dto), null).get(0);
+    }
+
+    @Transactional
+    public List<TransferResponseDTO> transferAll(BatchTransferRequestDTO dto) {
+        String batchId = UUID.randomUUID().toString();
+        log.info("Executing batch {} with {} transfers", batchId, dto.transfers().size());
+
+        return execute(dto.transfers(), batchId);
+    }
+
+    private List<TransferResponseDTO> execute(List<TransferRequestDTO> requests, String batchId) {
+        SortedMap<Long, BankAccount> accounts = new TreeMap<>();
+        for (TransferRequestDTO request : requests) {
+            if (request.sourceBankAccountId().equals(request.targetBankAccountId())) {
+                throw new BusinessException("A conta bancária de origem e a de destino precisam ser diferentes");
+            }
+            accounts.put(request.sourceBankAccountId(), null);
+            accounts.put(request.targetBankAccountId(), null);
+        }
+        for (Long id : accounts.keySet()) {
+            BankAccount account = bankAccountRepository.findByIdForUpdate(id)
+                    .orElseThrow(() -> new BankAccountNotFoundException(id));
+            if (!account.getActive()) {
+                throw new BusinessException("Não é possível transferir de ou para uma conta bancária inativa (ID: " + id + ")");
+            }
+            accounts.put(id, account);
+        }
+
+        Map<Long, BigDecimal> previousBalances = new HashMap<>(accounts.size() * 2);
+        accounts.forEach((id, account) -> previousBalances.put(id, account.getCurrentBalance()));
+
+        List<Transfer> transfers = new ArrayList<>(requests.size());
+        for (TransferRequestDTO request : requests) {
+            BankAccount source = accounts.get(request.sourceBankAccountId());
+            BankAccount target = accounts.get(request.targetBankAccountId());
+            if (source.getCurrentBalance().compareTo(request.amount()) < 0) {
+                throw new BusinessException("Saldo insuficiente na conta bancária de origem (ID: " + source.getId() + ")");
+            }
+            source.setCurrentBalance(source.getCurrentBalance().subtract(request.amount()));
+            target.setCurrentBalance(target.getCurrentBalance().add(request.amount()));
+            transfers.add(Transfer.builder()
+                    .source(source)
+                    .target(target)
+                    .amount(request.amount())
+                    .description(request.description())
+                    .batchId(batchId)
+                    .build());
+        }
+
+        List<Transfer> saved = transferRepository.saveAll(transfers);
+        accounts.forEach((id, account) -> {
+            BigDecimal previous = previousBalances.get(id);
+            auditJournal.recordBalanceChange(id, null, previous, account.getCurrentBalance());
+            outboxService.balanceChanged(id, previous, account.getCurrentBalance());
+        });
+        log.info("{} transfers executed across {} bank accounts", saved.size(), accounts.size());
+
+        return saved.stream().map(this::toResponseDTO).toList();
+    }
+
+    private TransferResponseDTO toResponseDTO(Transfer transfer) {
+        return TransferResponseDTO.builder()
+                .id(transfer.getId())
+                .sourceBankAccountId(transfer.getSource().getId())
+                .targetBankAccountId(transfer.getTarget().getId())
+                .amount(transfer.getAmount())
+                .description(transfer.getDescription())
+                .batchId(transfer.getBatchId())
+                .createdAt(transfer.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package com.challenge.JPay.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/** Um lote JDBC conta como um único comando. */
+public class SqlStatisticsDataSource extends DelegatingDataSource {
+
+    public SqlStatisticsDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, obtainTargetDataSource().getConnection(), new ConnectionHandler());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, obtainTargetDataSource().getConnection(username, password), new ConnectionHandler());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, T target, Handler handler) {
+        handler.target = target;
+        return (T) Proxy.newProxyInstance(SqlStatisticsDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private abstract static class Handler implements InvocationHandler {
+
+        Object target;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            try {
+                return handle(method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    private static final class ConnectionHandler extends Handler {
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = method.invoke(target, args);
+            return switch (method.getName()) {
+                case "createStatement" -> wrap(Statement.class, (Statement) result, new StatementHandler(null));
+                case "prepareStatement" -> wrap(PreparedStatement.class, (PreparedStatement) result, new StatementHandler((String) args[0]));
+                case "prepareCall" -> wrap(CallableStatement.class, (CallableStatement) result, new StatementHandler((String) args[0]));
+                default -> result;
+            };
+        }
+    }
+
+    private static final class StatementHandler extends Handler {
+
+        private final String preparedSql;
+
+        private StatementHandler(String preparedSql) {
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            SqlStatistics statistics = SqlStatistics.current();
+            if (statistics == null || !name.startsWith("execute") && !name.equals("getResultSet")) {
+                return method.invoke(target, args);
+            }
+            if (name.equals("getResultSet")) {
+                return wrapResultSet((ResultSet) method.invoke(target, args), statistics);
+            }
+
+            long start = System.nanoTime();
+            Object result = method.invoke(target, args);
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            statistics.statementExecuted(sql, System.nanoTime() - start);
+            return result instanceof ResultSet resultSet ? wrapResultSet(resultSet, statistics) : result;
+        }
+
+        private static ResultSet wrapResultSet(ResultSet resultSet, SqlStatistics statistics) {
+            return resultSet == null ? null : wrap(ResultSet.class, resultSet, new ResultSetHandler(statistics));
+        }
+    }
+
+    private static final class ResultSetHandler extends Handler {
+
+        private final SqlStatistics statistics;
+
+        private ResultSetHandler(SqlStatistics statistics) {
+            this.statistics = statistics;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = method.invoke(target, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                statistics.rowFetched();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.challenge.JPay.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Respostas com corpo já recebem os headers do {@link SqlStatisticsResponseAdvice}; aqui eles só são gravados se a
+ * resposta ainda não foi enviada.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jpay.sql-stats.enabled", havingValue = "true")
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String ROWS_HEADER = "X-SQL-Rows";
+    public static final String ENTITIES_HEADER = "X-SQL-Entities";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+    public static final String MAX_REPEATS_HEADER = "X-SQL-Max-Repeats";
+
+    private final int repeatThreshold;
+
+    public SqlStatisticsFilter(@Value("${jpay.sql-stats.repeat-threshold:10}") int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatistics statistics = SqlStatistics.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlStatistics.end();
+            if (!response.isCommitted()) {
+                writeHeaders(statistics, response::setHeader);
+            }
+            report(request, statistics);
+        }
+    }
+
+    static void writeHeaders(SqlStatistics statistics, BiConsumer<String, String> header) {
+        Map.Entry<String, Integer> repeated = statistics.mostRepeated();
+        header.accept(STATEMENTS_HEADER, String.valueOf(statistics.statements()));
+        header.accept(ROWS_HEADER, String.valueOf(statistics.rows()));
+        header.accept(ENTITIES_HEADER, String.valueOf(statistics.entityLoads()));
+        header.accept(TIME_HEADER, String.valueOf(statistics.jdbcMillis()));
+        header.accept(MAX_REPEATS_HEADER, String.valueOf(repeated == null ? 0 : repeated.getValue()));
+    }
+
+    private void report(HttpServletRequest request, SqlStatistics statistics) {
+        if (statistics.statements() == 0) {
+            return;
+        }
+        Map.Entry<String, Integer> repeated = statistics.mostRepeated();
+        if (repeated.getValue() > repeatThreshold) {
+            log.warn("Possible N+1 on {} {}: statement repeated {} times ({} statements in total): {}",
+                    request.getMethod(), request.getRequestURI(), repeated.getValue(), statistics.statements(), repeated.getKey());
+        }
+        log.debug("SQL on {} {}: {} statements, {} rows, {} entities, {} ms", request.getMethod(), request.getRequestURI(),
+                statistics.statements(), statistics.rows(), statistics.entityLoads(), statistics.jdbcMillis());
+    }
+}
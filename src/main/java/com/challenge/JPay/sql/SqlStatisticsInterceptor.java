@@ -0,0 +1,16 @@
+package com.challenge.JPay.sql;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+public class SqlStatisticsInterceptor implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null) {
+            statistics.entityLoaded();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,27 @@
+package com.challenge.JPay.statement;
+
+import com.challenge.JPay.exception.BusinessException;
+
+import java.util.Locale;
+
+public enum StatementFormat {
+    CSV,
+    OFX;
+
+    /** Na falta do formato informado, ele é deduzido da extensão do arquivo. */
+    public static StatementFormat of(String format, String filename) {
+        String name = format;
+        if (name == null && filename != null && filename.lastIndexOf('.') >= 0) {
+            name = filename.substring(filename.lastIndexOf('.') + 1);
+        }
+        if (name != null) {
+            for (StatementFormat candidate : values()) {
+                if (candidate.name().equalsIgnoreCase(name.trim())) {
+                    return candidate;
+                }
+            }
+        }
+        throw new BusinessException("Formato de extrato não suportado" + (name != null ? ": " + name.toLowerCase(Locale.ROOT) : "")
+                + " (use csv ou ofx)");
+    }
+}
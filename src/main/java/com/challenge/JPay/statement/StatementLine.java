@@ -0,0 +1,12 @@
+package com.challenge.JPay.statement;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** Valores negativos são débitos; {@code number} é a linha (CSV) ou a posição (OFX) no extrato. */
+public record StatementLine(
+        int number,
+        LocalDate date,
+        BigDecimal amount,
+        String description
+) { }
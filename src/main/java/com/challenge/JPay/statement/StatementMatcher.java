@@ -0,0 +1,61 @@
+package com.challenge.JPay.statement;
+
+import com.challenge.JPay.model.TransactionState;
+import com.challenge.JPay.model.enums.TransactionType;
+import com.challenge.JPay.util.MoneyUtils;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Cada linha fica com o pendente de mesmo valor cujo vencimento está mais perto, dentro da tolerância (no empate, o
+ * mais antigo); um pendente é usado uma única vez.
+ */
+public class StatementMatcher {
+
+    private final Map<Long, TreeMap<Long, ArrayDeque<Long>>> pending;
+    private final int toleranceDays;
+
+    public StatementMatcher(Map<Long, TransactionState> states, int toleranceDays) {
+        this.pending = new HashMap<>(states.size() * 2);
+        this.toleranceDays = toleranceDays;
+        states.forEach((id, state) -> pending
+                .computeIfAbsent(signedCents(state), cents -> new TreeMap<>())
+                .computeIfAbsent(state.expirationDate().toEpochDay(), day -> new ArrayDeque<>())
+                .add(id));
+    }
+
+    public Long match(StatementLine line) {
+        TreeMap<Long, ArrayDeque<Long>> byDueDate = pending.get(MoneyUtils.toCents(line.amount()));
+        if (byDueDate == null) {
+            return null;
+        }
+        long day = line.date().toEpochDay();
+        Map.Entry<Long, ArrayDeque<Long>> before = byDueDate.floorEntry(day);
+        Map.Entry<Long, ArrayDeque<Long>> after = byDueDate.ceilingEntry(day);
+        Map.Entry<Long, ArrayDeque<Long>> closest;
+        if (before == null) {
+            closest = after;
+        } else if (after == null) {
+            closest = before;
+        } else {
+            closest = after.getKey() - day < day - before.getKey() ? after : before;
+        }
+        if (closest == null || Math.abs(closest.getKey() - day) > toleranceDays) {
+            return null;
+        }
+
+        Long id = closest.getValue().poll();
+        if (closest.getValue().isEmpty()) {
+            byDueDate.remove(closest.getKey());
+        }
+        return id;
+    }
+
+    private static long signedCents(TransactionState state) {
+        long cents = MoneyUtils.toCents(state.amount());
+        return state.transactionType() == TransactionType.PASSIVO ? -cents : cents;
+    }
+}
@@ -0,0 +1,240 @@
+package com.challenge.JPay.statement;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Sem cabeçalho, as colunas do CSV são data, descrição e valor, nessa ordem. Do OFX (SGML ou XML) são lidos os
+ * {@code <STMTTRN>}.
+ */
+public final class StatementReader {
+
+    private static final Set<String> DATE_HEADERS = Set.of("data", "date", "dt", "data lancamento", "data movimento");
+    private static final Set<String> DESCRIPTION_HEADERS = Set.of("descricao", "description", "historico", "memo", "lancamento");
+    private static final Set<String> AMOUNT_HEADERS = Set.of("valor", "amount", "value", "valor (r$)");
+    private static final DateTimeFormatter BRAZILIAN_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter DASHED_DATE = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    private StatementReader() {
+    }
+
+    public interface Listener {
+
+        void line(StatementLine line);
+
+        void invalid(int number, String reason);
+    }
+
+    public static void read(Reader reader, StatementFormat format, Listener listener) throws IOException {
+        BufferedReader buffered = reader instanceof BufferedReader b ? b : new BufferedReader(reader, 64 * 1024);
+        if (format == StatementFormat.OFX) {
+            readOfx(buffered, listener);
+        } else {
+            readCsv(buffered, listener);
+        }
+    }
+
+    private static void readCsv(BufferedReader reader, Listener listener) throws IOException {
+        char separator = 0;
+        int dateColumn = 0;
+        int descriptionColumn = 1;
+        int amountColumn = 2;
+        int number = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            number++;
+            if (text.isBlank()) {
+                continue;
+            }
+            if (separator == 0) {
+                separator = text.indexOf(';') >= 0 ? ';' : ',';
+                List<String> header = split(text, separator);
+                int date = indexOf(header, DATE_HEADERS);
+                int amount = indexOf(header, AMOUNT_HEADERS);
+                if (date >= 0 && amount >= 0) {
+                    dateColumn = date;
+                    amountColumn = amount;
+                    descriptionColumn = indexOf(header, DESCRIPTION_HEADERS);
+                    continue;
+                }
+            }
+
+            List<String> columns = split(text, separator);
+            if (columns.size() <= Math.max(dateColumn, amountColumn)) {
+                listener.invalid(number, "Colunas insuficientes");
+                continue;
+            }
+            LocalDate date = parseDate(columns.get(dateColumn));
+            if (date == null) {
+                listener.invalid(number, "Data inválida: " + columns.get(dateColumn));
+                continue;
+            }
+            BigDecimal amount = parseAmount(columns.get(amountColumn));
+            if (amount == null || amount.signum() == 0) {
+                listener.invalid(number, "Valor inválido: " + columns.get(amountColumn));
+                continue;
+            }
+            String description = descriptionColumn >= 0 && descriptionColumn < columns.size() ? columns.get(descriptionColumn) : null;
+            listener.line(new StatementLine(number, date, amount, description));
+        }
+    }
+
+    private static void readOfx(BufferedReader reader, Listener listener) throws IOException {
+        StringBuilder buffer = new StringBuilder();
+        String tag = null;
+        OfxTransaction current = null;
+        int number = 0;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c != '<') {
+                buffer.append((char) c);
+                continue;
+            }
+            if (current != null && tag != null) {
+                current.set(tag, buffer.toString().trim());
+            }
+            buffer.setLength(0);
+            while ((c = reader.read()) != -1 && c != '>') {
+                buffer.append((char) c);
+            }
+            tag = buffer.toString().trim().toUpperCase(Locale.ROOT);
+            buffer.setLength(0);
+
+            if (tag.equals("STMTTRN")) {
+                if (current != null) {
+                    current.emit(listener);
+                }
+                current = new OfxTransaction(++number);
+            } else if (current != null && (tag.equals("/STMTTRN") || tag.equals("/BANKTRANLIST"))) {
+                current.emit(listener);
+                current = null;
+            }
+        }
+        if (current != null) {
+            current.emit(listener);
+        }
+    }
+
+    private static final class OfxTransaction {
+
+        private final int number;
+        private String posted;
+        private String amount;
+        private String memo;
+        private String name;
+
+        private OfxTransaction(int number) {
+            this.number = number;
+        }
+
+        void set(String tag, String value) {
+            switch (tag) {
+                case "DTPOSTED" -> posted = value;
+                case "TRNAMT" -> amount = value;
+                case "MEMO" -> memo = value;
+                case "NAME" -> name = value;
+                default -> { }
+            }
+        }
+
+        void emit(Listener listener) {
+            LocalDate date = null;
+            if (posted != null && posted.length() >= 8) {
+                try {
+                    date = LocalDate.parse(posted.substring(0, 8), DateTimeFormatter.BASIC_ISO_DATE);
+                } catch (DateTimeParseException e) {
+                    // tratado abaixo
+                }
+            }
+            if (date == null) {
+                listener.invalid(number, "DTPOSTED inválido: " + posted);
+                return;
+            }
+            BigDecimal value = amount != null ? parseAmount(amount) : null;
+            if (value == null || value.signum() == 0) {
+                listener.invalid(number, "TRNAMT inválido: " + amount);
+                return;
+            }
+            listener.line(new StatementLine(number, date, value, memo != null && !memo.isEmpty() ? memo : name));
+        }
+    }
+
+    private static List<String> split(String text, char separator) {
+        List<String> columns = new ArrayList<>(4);
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    column.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == separator && !quoted) {
+                columns.add(column.toString().trim());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        columns.add(column.toString().trim());
+        return columns;
+    }
+
+    private static int indexOf(List<String> header, Set<String> names) {
+        for (int i = 0; i < header.size(); i++) {
+            String name = Normalizer.normalize(header.get(i), Normalizer.Form.NFD)
+                    .replaceAll("\\p{M}", "")
+                    .toLowerCase(Locale.ROOT);
+            if (names.contains(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Escolhe o formato pela posição do primeiro separador, sem pagar uma exceção por tentativa. */
+    private static LocalDate parseDate(String value) {
+        DateTimeFormatter format;
+        if (value.length() == 10 && value.charAt(4) == '-') {
+            format = DateTimeFormatter.ISO_LOCAL_DATE;
+        } else if (value.length() == 10 && value.charAt(2) == '/') {
+            format = BRAZILIAN_DATE;
+        } else if (value.length() == 10 && value.charAt(2) == '-') {
+            format = DASHED_DATE;
+        } else {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value, format);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /** O último separador é o decimal e os demais são de milhar. */
+    static BigDecimal parseAmount(String value) {
+        String text = value.replace("R$", "").replace(" ", "").replace(" ", "");
+        int decimal = Math.max(text.lastIndexOf(','), text.lastIndexOf('.'));
+        if (decimal >= 0) {
+            text = text.substring(0, decimal).replace(".", "").replace(",", "") + "." + text.substring(decimal + 1);
+        }
+        try {
+            return new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.challenge.JPay.tenant;
+
+import com.challenge.JPay.exception.BusinessException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * O estado em memória alimentado pelo outbox não é separado por tenant: os demais tenants veriam o do tenant padrão.
+ */
+public class DefaultTenantOnlyInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!TenantContext.isDefault()) {
+            throw new BusinessException("Recurso disponível apenas para o tenant " + TenantContext.DEFAULT_TENANT);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,57 @@
+package com.challenge.JPay.tenant;
+
+import java.util.concurrent.Callable;
+
+/** Threads sem tenant definido trabalham no tenant padrão; os jobs agendados usam {@link TenantJobRunner}. */
+public final class TenantContext {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String current() {
+        String tenant = CURRENT.get();
+        return tenant == null ? DEFAULT_TENANT : tenant;
+    }
+
+    public static boolean isDefault() {
+        return DEFAULT_TENANT.equals(current());
+    }
+
+    /** 0 para o tenant padrão; a configuração recusa dois tenants com o mesmo identificador. */
+    public static int key(String tenant) {
+        return DEFAULT_TENANT.equals(tenant) ? 0 : tenant.hashCode();
+    }
+
+    /** Para tarefas executadas por outra thread, como os workers de um job paralelo. */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        return propagate(CURRENT.get(), task);
+    }
+
+    public static <T> Callable<T> propagate(String tenant, Callable<T> task) {
+        return () -> {
+            String previous = CURRENT.get();
+            CURRENT.set(tenant);
+            try {
+                return task.call();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    static void set(String tenant) {
+        CURRENT.set(tenant);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
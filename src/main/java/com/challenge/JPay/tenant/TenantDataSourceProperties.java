@@ -0,0 +1,20 @@
+package com.challenge.JPay.tenant;
+
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.util.Map;
+
+/** Sem {@code url} o tenant fica num schema próprio da base principal. */
+public record TenantDataSourceProperties(String url, String schema, String username, String password, Integer poolSize) {
+
+    public static final String PREFIX = "jpay.tenancy.tenants";
+
+    /** Sem o tenant padrão. */
+    public static Map<String, TenantDataSourceProperties> bindAll(Environment environment) {
+        return Binder.get(environment)
+                .bind(PREFIX, Bindable.mapOf(String.class, TenantDataSourceProperties.class))
+                .orElse(Map.of());
+    }
+}
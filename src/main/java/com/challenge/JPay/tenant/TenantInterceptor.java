@@ -0,0 +1,38 @@
+package com.challenge.JPay.tenant;
+
+import com.challenge.JPay.exception.TenantNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Set;
+
+/** Um tenant sem datasource configurado é recusado antes de chegar ao controller. */
+public class TenantInterceptor implements HandlerInterceptor {
+
+    private final String header;
+    private final Set<String> tenants;
+
+    public TenantInterceptor(String header, Set<String> tenants) {
+        this.header = header;
+        this.tenants = Set.copyOf(tenants);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String tenant = request.getHeader(header);
+        if (tenant == null || tenant.isBlank()) {
+            tenant = TenantContext.DEFAULT_TENANT;
+        }
+        if (!tenant.equals(TenantContext.DEFAULT_TENANT) && !tenants.contains(tenant)) {
+            throw new TenantNotFoundException(tenant);
+        }
+        TenantContext.set(tenant);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        TenantContext.clear();
+    }
+}
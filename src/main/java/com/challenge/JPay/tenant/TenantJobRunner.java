@@ -0,0 +1,43 @@
+package com.challenge.JPay.tenant;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/** A falha em um tenant é registrada no log e não impede os demais. */
+@Slf4j
+@Component
+public class TenantJobRunner {
+
+    private final List<String> tenants;
+
+    public TenantJobRunner(Environment environment) {
+        List<String> tenants = new ArrayList<>();
+        tenants.add(TenantContext.DEFAULT_TENANT);
+        if (environment.getProperty("jpay.tenancy.enabled", Boolean.class, false)) {
+            tenants.addAll(new TreeSet<>(TenantDataSourceProperties.bindAll(environment).keySet()));
+        }
+        this.tenants = List.copyOf(tenants);
+    }
+
+    public List<String> tenants() {
+        return tenants;
+    }
+
+    public void forEachTenant(String job, Runnable task) {
+        for (String tenant : tenants) {
+            try {
+                TenantContext.propagate(tenant, () -> {
+                    task.run();
+                    return null;
+                }).call();
+            } catch (Exception e) {
+                log.error("Scheduled {} failed for tenant {}", job, tenant, e);
+            }
+        }
+    }
+}
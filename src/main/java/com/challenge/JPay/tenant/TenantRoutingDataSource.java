@@ -0,0 +1,24 @@
+package com.challenge.JPay.tenant;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+public class TenantRoutingDataSource extends AbstractRoutingDataSource {
+
+    public TenantRoutingDataSource(DataSource defaultDataSource, Map<String, DataSource> tenants) {
+        Map<Object, Object> targets = new HashMap<>(tenants);
+        targets.put(TenantContext.DEFAULT_TENANT, defaultDataSource);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(defaultDataSource);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TenantContext.current();
+    }
+}
@@ -0,0 +1,53 @@
+package com.challenge.JPay.throttle;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Recusa a rajada na entrada em vez de deixar as threads do Tomcat esperando uma conexão até o timeout do Hikari. */
+@Slf4j
+public class ConcurrencyLimiter {
+
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final long waitMs;
+    private final LongAdder shed = new LongAdder();
+
+    public ConcurrencyLimiter(int maxConcurrent, long waitMs) {
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+        this.waitMs = waitMs;
+    }
+
+    public boolean tryAcquire() {
+        boolean acquired = permits.tryAcquire();
+        if (!acquired && waitMs > 0) {
+            try {
+                acquired = permits.tryAcquire(waitMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!acquired) {
+            shed.increment();
+        }
+        return acquired;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    @Scheduled(fixedDelayString = "${jpay.throttle.eviction-interval-ms:60000}",
+            initialDelayString = "${jpay.throttle.eviction-interval-ms:60000}")
+    public void report() {
+        long count = shed.sumThenReset();
+        if (count > 0) {
+            log.warn("Load shedding rejected {} requests since the last check (limit of {} concurrent requests reached)",
+                    count, maxConcurrent);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.challenge.JPay.throttle;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/** Leituras sem regra própria não são limitadas; as escritas sem regra usam a regra padrão de escrita. */
+@Slf4j
+public class RequestThrottle {
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final Route UNLIMITED = new Route(null);
+
+    private final Map<String, ThrottleRule> rules;
+    private final ThrottleRule writeDefault;
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+
+    public RequestThrottle(Collection<ThrottleRule> rules, ThrottleRule writeDefault) {
+        this.rules = rules.stream().collect(Collectors.toUnmodifiableMap(ThrottleRule::route, Function.identity()));
+        this.writeDefault = writeDefault;
+    }
+
+    /**
+     * @return 0 se a requisição pode seguir, ou quantos nanossegundos o cliente deve esperar
+     */
+    public long tryAcquire(String method, String pattern, String client) {
+        String key = method + " " + pattern;
+        Route route = routes.get(key);
+        if (route == null) {
+            route = routes.computeIfAbsent(key, k -> resolve(method, k));
+        }
+        if (route == UNLIMITED) {
+            return 0;
+        }
+
+        long now = System.nanoTime();
+        long wait = route.bucket(client, now).tryConsume(now);
+        if (wait > 0) {
+            rejected.increment();
+        }
+        return wait;
+    }
+
+    private Route resolve(String method, String route) {
+        ThrottleRule rule = rules.get(route);
+        if (rule == null && writeDefault != null && isWrite(method)) {
+            rule = writeDefault;
+        }
+        return rule == null ? UNLIMITED : new Route(rule);
+    }
+
+    static boolean isWrite(String method) {
+        return WRITE_METHODS.contains(method);
+    }
+
+    @Scheduled(fixedDelayString = "${jpay.throttle.eviction-interval-ms:60000}",
+            initialDelayString = "${jpay.throttle.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        int clients = 0;
+        for (Route route : routes.values()) {
+            if (route != UNLIMITED) {
+                route.buckets.values().removeIf(bucket -> bucket.isFull(now));
+                clients += route.buckets.size();
+            }
+        }
+        long count = rejected.sumThenReset();
+        if (count > 0) {
+            log.info("Rate limiting rejected {} requests since the last check ({} client buckets active)", count, clients);
+        }
+    }
+
+    private static final class Route {
+
+        private final ThrottleRule rule;
+        private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+        private Route(ThrottleRule rule) {
+            this.rule = rule;
+        }
+
+        private TokenBucket bucket(String client, long now) {
+            TokenBucket bucket = buckets.get(client);
+            return bucket != null ? bucket : buckets.computeIfAbsent(client, c -> new TokenBucket(rule, now));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.challenge.JPay.throttle;
+
+import com.challenge.JPay.exception.ServiceOverloadedException;
+import com.challenge.JPay.exception.TooManyRequestsException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * O header de cliente só é aceito de um proxy de {@code jpay.throttle.trusted-proxies}: de qualquer outra origem,
+ * bastaria trocar o valor a cada requisição para ganhar um bucket novo.
+ */
+public class ThrottleInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ThrottleInterceptor.class.getName() + ".permit";
+
+    private final RequestThrottle throttle;
+    private final ConcurrencyLimiter limiter;
+    private final String clientHeader;
+    private final Set<String> trustedProxies;
+    private final long overloadRetryAfterSeconds;
+
+    public ThrottleInterceptor(RequestThrottle throttle, ConcurrencyLimiter limiter, String clientHeader,
+                               Set<String> trustedProxies, long overloadRetryAfterSeconds) {
+        this.throttle = throttle;
+        this.limiter = limiter;
+        this.clientHeader = clientHeader;
+        this.trustedProxies = Set.copyOf(trustedProxies);
+        this.overloadRetryAfterSeconds = overloadRetryAfterSeconds;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            long waitNanos = throttle.tryAcquire(request.getMethod(), pattern.toString(), client(request));
+            if (waitNanos > 0) {
+                throw new TooManyRequestsException(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999)));
+            }
+        }
+
+        if (!RequestThrottle.isWrite(request.getMethod())) {
+            return true;
+        }
+        if (!limiter.tryAcquire()) {
+            throw new ServiceOverloadedException(overloadRetryAfterSeconds);
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            limiter.release();
+        }
+    }
+
+    private String client(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        if (!trustedProxies.contains(address)) {
+            return address;
+        }
+        String client = request.getHeader(clientHeader);
+        return client == null || client.isBlank() ? address : client;
+    }
+}
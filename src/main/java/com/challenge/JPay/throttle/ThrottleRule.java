@@ -0,0 +1,22 @@
+package com.challenge.JPay.throttle;
+
+import java.util.concurrent.TimeUnit;
+
+/** {@code path} é a rota como declarada no controller (ex.: {@code POST /api/transactions/{id}/pay}). */
+public record ThrottleRule(String method, String path, int capacity, double refillPerSecond) {
+
+    public ThrottleRule {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Throttle rule for " + method + " " + path
+                    + " needs capacity >= 1 and refill-per-second > 0");
+        }
+    }
+
+    long intervalNanos() {
+        return Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+    }
+
+    String route() {
+        return method.toUpperCase() + " " + path;
+    }
+}
@@ -0,0 +1,41 @@
+package com.challenge.JPay.throttle;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Formulação GCRA: o balde guarda só o instante teórico ({@code tat}) em que estaria cheio de novo. */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(ThrottleRule rule, long now) {
+        this.intervalNanos = rule.intervalNanos();
+        this.burstNanos = rule.intervalNanos() * rule.capacity();
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * @return 0 se o token foi consumido, ou quantos nanossegundos faltam para haver um token disponível
+     */
+    long tryConsume(long now) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Balde cheio equivale a um balde novo, então pode ser descartado.
+     */
+    boolean isFull(long now) {
+        return theoreticalArrival.get() - now <= 0;
+    }
+}
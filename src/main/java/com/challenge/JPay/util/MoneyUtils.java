@@ -0,0 +1,21 @@
+package com.challenge.JPay.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public final class MoneyUtils {
+
+    private MoneyUtils() {
+    }
+
+    public static long toCents(BigDecimal value) {
+        if (value == null) {
+            return 0L;
+        }
+        return value.setScale(2, RoundingMode.HALF_EVEN).movePointRight(2).longValueExact();
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
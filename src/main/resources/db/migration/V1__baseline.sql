@@ -0,0 +1,97 @@
+-- Baseline schema for the "persistent" profile.
+-- The in-memory mode still lets Hibernate generate the schema (ddl-auto=update); every entity change needs a
+-- new V<n>__*.sql migration here so that ddl-auto=validate keeps passing in the persistent mode.
+
+CREATE TABLE categories (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name        VARCHAR(100) NOT NULL,
+    description VARCHAR(255),
+    active      BOOLEAN      NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT pk_categories PRIMARY KEY (id),
+    CONSTRAINT uk_categories_name UNIQUE (name)
+);
+
+CREATE TABLE bank_accounts (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name            VARCHAR(100)   NOT NULL,
+    bank            VARCHAR(100)   NOT NULL,
+    current_balance NUMERIC(12, 2) NOT NULL,
+    active          BOOLEAN        NOT NULL,
+    created_at      TIMESTAMP(6)   NOT NULL,
+    updated_at      TIMESTAMP(6),
+    CONSTRAINT pk_bank_accounts PRIMARY KEY (id),
+    CONSTRAINT uk_bank_accounts_name UNIQUE (name)
+);
+
+CREATE TABLE accounts_payables (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    description        VARCHAR(255)               NOT NULL,
+    amount             NUMERIC(12, 2)             NOT NULL,
+    expiration_date    DATE                       NOT NULL,
+    payment_date       DATE,
+    status             ENUM ('PAID', 'PENDING')   NOT NULL,
+    transaction_type   ENUM ('ATIVO', 'PASSIVO')  NOT NULL,
+    category_id        BIGINT                     NOT NULL,
+    bank_account_id    BIGINT                     NOT NULL,
+    generation_key     VARCHAR(64),
+    installment_group  VARCHAR(36),
+    installment_number INTEGER,
+    installment_count  INTEGER,
+    created_at         TIMESTAMP(6)               NOT NULL,
+    updated_at         TIMESTAMP(6),
+    CONSTRAINT pk_accounts_payables PRIMARY KEY (id),
+    CONSTRAINT uk_accounts_payables_generation_key UNIQUE (generation_key),
+    CONSTRAINT fk_accounts_payables_category FOREIGN KEY (category_id) REFERENCES categories (id),
+    CONSTRAINT fk_accounts_payables_bank_account FOREIGN KEY (bank_account_id) REFERENCES bank_accounts (id)
+);
+
+CREATE INDEX idx_accounts_payables_installment_group ON accounts_payables (installment_group);
+
+CREATE TABLE outbox_events (
+    id                      BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    event_type              ENUM ('BALANCE_CHANGED', 'TRANSACTION_CREATED', 'TRANSACTION_DELETED',
+                                  'TRANSACTION_STATUS_CHANGED', 'TRANSACTION_UPDATED') NOT NULL,
+    transaction_id          BIGINT,
+    bank_account_id         BIGINT,
+    before_bank_account_id  BIGINT,
+    before_category_id      BIGINT,
+    before_transaction_type ENUM ('ATIVO', 'PASSIVO'),
+    before_status           ENUM ('PAID', 'PENDING'),
+    before_amount           NUMERIC(12, 2),
+    before_expiration_date  DATE,
+    before_payment_date     DATE,
+    after_bank_account_id   BIGINT,
+    after_category_id       BIGINT,
+    after_transaction_type  ENUM ('ATIVO', 'PASSIVO'),
+    after_status            ENUM ('PAID', 'PENDING'),
+    after_amount            NUMERIC(12, 2),
+    after_expiration_date   DATE,
+    after_payment_date      DATE,
+    previous_balance        NUMERIC(12, 2),
+    balance                 NUMERIC(12, 2),
+    dispatched              BOOLEAN      NOT NULL,
+    created_at              TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_outbox_events PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_outbox_events_dispatched ON outbox_events (dispatched, id);
+
+CREATE TABLE recurrence_rules (
+    id                      BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    template_transaction_id BIGINT                                     NOT NULL,
+    frequency               ENUM ('DAY_OF_MONTH', 'MONTHLY', 'WEEKLY') NOT NULL,
+    repeat_interval         INTEGER                                    NOT NULL,
+    day_of_month            INTEGER,
+    end_date                DATE,
+    max_occurrences         INTEGER,
+    generated_count         INTEGER                                    NOT NULL,
+    generated_until         DATE,
+    active                  BOOLEAN                                    NOT NULL,
+    created_at              TIMESTAMP(6)                               NOT NULL,
+    updated_at              TIMESTAMP(6),
+    CONSTRAINT pk_recurrence_rules PRIMARY KEY (id),
+    CONSTRAINT uk_recurrence_rules_template UNIQUE (template_transaction_id),
+    CONSTRAINT fk_recurrence_rules_template FOREIGN KEY (template_transaction_id) REFERENCES accounts_payables (id)
+);
@@ -0,0 +1,26 @@
+-- Pending exposure counters (count, payable and receivable amounts of PENDING transactions), kept up to date by
+-- relative UPDATEs in every transaction write and checked by the PendingExposureService verification job.
+
+ALTER TABLE bank_accounts ADD COLUMN pending_count BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE bank_accounts ADD COLUMN pending_payable NUMERIC(14, 2) DEFAULT 0 NOT NULL;
+ALTER TABLE bank_accounts ADD COLUMN pending_receivable NUMERIC(14, 2) DEFAULT 0 NOT NULL;
+
+ALTER TABLE categories ADD COLUMN pending_count BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE categories ADD COLUMN pending_payable NUMERIC(14, 2) DEFAULT 0 NOT NULL;
+ALTER TABLE categories ADD COLUMN pending_receivable NUMERIC(14, 2) DEFAULT 0 NOT NULL;
+
+UPDATE bank_accounts b SET
+    pending_count = (SELECT COUNT(*) FROM accounts_payables a
+                     WHERE a.bank_account_id = b.id AND a.status = 'PENDING'),
+    pending_payable = (SELECT COALESCE(SUM(a.amount), 0) FROM accounts_payables a
+                       WHERE a.bank_account_id = b.id AND a.status = 'PENDING' AND a.transaction_type = 'PASSIVO'),
+    pending_receivable = (SELECT COALESCE(SUM(a.amount), 0) FROM accounts_payables a
+                          WHERE a.bank_account_id = b.id AND a.status = 'PENDING' AND a.transaction_type = 'ATIVO');
+
+UPDATE categories c SET
+    pending_count = (SELECT COUNT(*) FROM accounts_payables a
+                     WHERE a.category_id = c.id AND a.status = 'PENDING'),
+    pending_payable = (SELECT COALESCE(SUM(a.amount), 0) FROM accounts_payables a
+                       WHERE a.category_id = c.id AND a.status = 'PENDING' AND a.transaction_type = 'PASSIVO'),
+    pending_receivable = (SELECT COALESCE(SUM(a.amount), 0) FROM accounts_payables a
+                          WHERE a.category_id = c.id AND a.status = 'PENDING' AND a.transaction_type = 'ATIVO');
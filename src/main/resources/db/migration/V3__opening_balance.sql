@@ -0,0 +1,12 @@
+-- Opening balance used by the balance reconciliation: expected balance = opening_balance + paid ATIVO - paid PASSIVO.
+-- Existing accounts get the opening balance that reconciles them with their current balance at migration time.
+
+ALTER TABLE bank_accounts ADD COLUMN opening_balance NUMERIC(12, 2) DEFAULT 0 NOT NULL;
+
+UPDATE bank_accounts b SET opening_balance = b.current_balance - (
+    SELECT COALESCE(SUM(CASE WHEN a.transaction_type = 'ATIVO' THEN a.amount ELSE -a.amount END), 0)
+    FROM accounts_payables a
+    WHERE a.bank_account_id = b.id AND a.status = 'PAID');
+
+-- Paid rows of one account are streamed by the reconciliation with an index range scan
+CREATE INDEX idx_accounts_payables_account_status ON accounts_payables (bank_account_id, status);
@@ -0,0 +1,18 @@
+-- Transfers between bank accounts: each row is a paired debit (source) and credit (target) of the same amount.
+
+CREATE TABLE transfers (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    source_account_id BIGINT         NOT NULL,
+    target_account_id BIGINT         NOT NULL,
+    amount            NUMERIC(12, 2) NOT NULL,
+    description       VARCHAR(255),
+    batch_id          VARCHAR(36),
+    created_at        TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT pk_transfers PRIMARY KEY (id),
+    CONSTRAINT fk_transfers_source_account FOREIGN KEY (source_account_id) REFERENCES bank_accounts (id),
+    CONSTRAINT fk_transfers_target_account FOREIGN KEY (target_account_id) REFERENCES bank_accounts (id)
+);
+
+CREATE INDEX idx_transfers_source_account ON transfers (source_account_id);
+CREATE INDEX idx_transfers_target_account ON transfers (target_account_id);
+CREATE INDEX idx_transfers_batch ON transfers (batch_id);
@@ -0,0 +1,2 @@
+-- Exact duplicate lookup on create (same bank account, due date and amount; descriptions compared in the application)
+CREATE INDEX idx_accounts_payables_duplicate_lookup ON accounts_payables (bank_account_id, expiration_date, amount);
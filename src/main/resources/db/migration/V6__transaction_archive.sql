@@ -0,0 +1,31 @@
+-- Cold storage for old PAID transactions: the archival job moves them here in chunks (same id and columns), and
+-- reads whose date range reaches the archive union both tables. (status, expiration_date) drives both the
+-- archival scan and the overdue/due-date lookups on the hot table.
+
+CREATE TABLE accounts_payables_archive (
+    id                 BIGINT                     NOT NULL,
+    description        VARCHAR(255)               NOT NULL,
+    amount             NUMERIC(12, 2)             NOT NULL,
+    expiration_date    DATE                       NOT NULL,
+    payment_date       DATE,
+    status             ENUM ('PAID', 'PENDING')   NOT NULL,
+    transaction_type   ENUM ('ATIVO', 'PASSIVO')  NOT NULL,
+    category_id        BIGINT                     NOT NULL,
+    bank_account_id    BIGINT                     NOT NULL,
+    generation_key     VARCHAR(64),
+    installment_group  VARCHAR(36),
+    installment_number INTEGER,
+    installment_count  INTEGER,
+    created_at         TIMESTAMP(6)               NOT NULL,
+    updated_at         TIMESTAMP(6),
+    archived_at        TIMESTAMP(6)               NOT NULL,
+    CONSTRAINT pk_accounts_payables_archive PRIMARY KEY (id),
+    CONSTRAINT uk_accounts_payables_archive_generation_key UNIQUE (generation_key),
+    CONSTRAINT fk_accounts_payables_archive_category FOREIGN KEY (category_id) REFERENCES categories (id),
+    CONSTRAINT fk_accounts_payables_archive_bank_account FOREIGN KEY (bank_account_id) REFERENCES bank_accounts (id)
+);
+
+CREATE INDEX idx_accounts_payables_archive_expiration ON accounts_payables_archive (expiration_date);
+CREATE INDEX idx_accounts_payables_archive_installment_group ON accounts_payables_archive (installment_group);
+
+CREATE INDEX idx_accounts_payables_status_expiration ON accounts_payables (status, expiration_date);
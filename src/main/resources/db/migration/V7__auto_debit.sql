@@ -0,0 +1,7 @@
+-- Auto-debit: PENDING transactions flagged auto_pay are paid by the scheduler on their due date. The index
+-- serves the scheduler's scan (auto_pay, status, due date) and its backlog count.
+
+ALTER TABLE accounts_payables ADD COLUMN auto_pay BOOLEAN DEFAULT FALSE NOT NULL;
+ALTER TABLE accounts_payables_archive ADD COLUMN auto_pay BOOLEAN DEFAULT FALSE NOT NULL;
+
+CREATE INDEX idx_accounts_payables_auto_pay ON accounts_payables (auto_pay, status, expiration_date);
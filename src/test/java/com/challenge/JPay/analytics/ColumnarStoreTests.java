@@ -0,0 +1,99 @@
+package com.challenge.JPay.analytics;
+
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.model.enums.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A varredura paralela, dividida em fatias que atravessam segmentos esparsos, dá o mesmo resultado que filtrar as
+ * linhas uma a uma; regravar um id substitui a linha e remover a tira das varreduras.
+ */
+class ColumnarStoreTests {
+
+    private static final int SEGMENT_BITS = 4;
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void aParallelScanMatchesFilteringEveryRow() {
+        ColumnarStore store = new ColumnarStore(SEGMENT_BITS, 5);
+        Map<Long, Row> rows = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            long id = 1 + random.nextInt(400) + (random.nextBoolean() ? 0 : 4096);
+            int payment = random.nextInt(3) == 0 ? ColumnarStore.NO_DATE : 19_000 + random.nextInt(60);
+            Row row = new Row(1 + random.nextInt(100_000), 19_000 + random.nextInt(60), payment, 1 + random.nextInt(4),
+                    1 + random.nextInt(3), TransactionType.values()[random.nextInt(2)], Status.values()[random.nextInt(2)]);
+            if (random.nextInt(10) == 0) {
+                store.remove(id);
+                rows.remove(id);
+            } else {
+                store.put(id, row.amount, row.expiration, row.payment, row.category, row.account, row.type, row.status);
+                rows.put(id, row);
+            }
+        }
+
+        assertThat(store.rows()).isEqualTo(rows.size());
+        for (ColumnarQuery query : new ColumnarQuery[] {
+                query(19_000, 19_059, false, -1, -1, -1),
+                query(19_010, 19_030, false, 2, -1, Status.PENDING.ordinal()),
+                query(19_000, 19_059, true, -1, 3, Status.PAID.ordinal()),
+        }) {
+            ColumnarAggregate aggregate = store.scan(query, pool);
+            ColumnarAggregate expected = new ColumnarAggregate(query);
+            rows.values().stream().filter(row -> row.matches(query)).forEach(row -> expected.add(row.amount));
+
+            assertThat(aggregate.count()).isEqualTo(expected.count()).isPositive();
+            assertThat(aggregate.sum()).isEqualTo(expected.sum());
+            assertThat(aggregate.min()).isEqualTo(expected.min());
+            assertThat(aggregate.max()).isEqualTo(expected.max());
+            assertThat(aggregate.histogram()).containsExactly(expected.histogram());
+        }
+    }
+
+    @Test
+    void rewritingAnIdReplacesItsRow() {
+        ColumnarStore store = new ColumnarStore(SEGMENT_BITS, 5);
+        store.put(7, 1000, 19_000, ColumnarStore.NO_DATE, 1, 1, TransactionType.PASSIVO, Status.PENDING);
+        store.put(7, 2500, 19_000, 19_001, 1, 1, TransactionType.PASSIVO, Status.PAID);
+
+        ColumnarAggregate all = store.scan(query(19_000, 19_000, false, -1, -1, -1), pool);
+        assertThat(all.count()).isEqualTo(1);
+        assertThat(all.sum()).isEqualTo(2500);
+        assertThat(store.scan(query(19_000, 19_000, false, -1, -1, Status.PENDING.ordinal()), pool).count()).isZero();
+
+        store.remove(7);
+        assertThat(store.rows()).isZero();
+        assertThat(store.scan(query(19_000, 19_000, false, -1, -1, -1), pool).count()).isZero();
+    }
+
+    private static ColumnarQuery query(int from, int to, boolean paid, int categoryId, int bankAccountId, int statusOrdinal) {
+        return new ColumnarQuery(from, to, paid ? from : 0, paid ? to : 0, paid, categoryId, bankAccountId, -1, statusOrdinal, 10_000, 8);
+    }
+
+    private record Row(long amount, int expiration, int payment, int category, int account, TransactionType type, Status status) {
+
+        boolean matches(ColumnarQuery query) {
+            return expiration >= query.expirationFrom() && expiration <= query.expirationTo()
+                    && (!query.filtersPayment()
+                        || payment != ColumnarStore.NO_DATE && payment >= query.paymentFrom() && payment <= query.paymentTo())
+                    && (query.categoryId() < 0 || category == query.categoryId())
+                    && (query.bankAccountId() < 0 || account == query.bankAccountId())
+                    && (query.typeOrdinal() < 0 || type.ordinal() == query.typeOrdinal())
+                    && (query.statusOrdinal() < 0 || status.ordinal() == query.statusOrdinal());
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.challenge.JPay.audit;
+
+import com.challenge.JPay.model.enums.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A cadeia de checksums atravessa os segmentos e acusa o primeiro registro adulterado; registros gravados depois
+ * da última atualização do cabeçalho são recuperados na abertura; e um lote que falha ao ser gravado é regravado
+ * em vez de descartado.
+ */
+class AuditJournalTests {
+
+    private static final int RECORDS_PER_SEGMENT = 1024 * 1024 / AuditRecord.SIZE;
+
+    @TempDir
+    Path directory;
+
+    private AuditJournal journal;
+
+    @AfterEach
+    void stop() throws Exception {
+        if (journal != null) {
+            journal.stop();
+        }
+    }
+
+    @Test
+    void theChainSpansSegmentsAndSurvivesARestart() throws Exception {
+        journal = open();
+        record(RECORDS_PER_SEGMENT + 10);
+        awaitWritten(RECORDS_PER_SEGMENT + 10);
+        assertThat(segmentFiles()).hasSize(2);
+
+        reopen();
+        record(5);
+        awaitWritten(RECORDS_PER_SEGMENT + 15);
+
+        AuditJournal.AuditVerification verification = journal.verify();
+        assertThat(verification.valid()).isTrue();
+        assertThat(verification.records()).isEqualTo(RECORDS_PER_SEGMENT + 15);
+        List<AuditRecord> tail = journal.scan(Long.MIN_VALUE, Long.MAX_VALUE, 7L, Integer.MAX_VALUE);
+        assertThat(tail).extracting(AuditRecord::sequence).contains((long) RECORDS_PER_SEGMENT + 15);
+    }
+
+    @Test
+    void verifyReportsTheFirstTamperedRecord() throws Exception {
+        journal = open();
+        record(20);
+        awaitWritten(20);
+        journal.stop();
+
+        Path segment = segmentFiles().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {42}), AuditSegment.HEADER_SIZE + 12L * AuditRecord.SIZE + 40);
+        }
+        journal = open();
+
+        AuditJournal.AuditVerification verification = journal.verify();
+        assertThat(verification.valid()).isFalse();
+        assertThat(verification.brokenAtSequence()).isEqualTo(13L);
+    }
+
+    @Test
+    void recordsAfterTheLastHeaderUpdateAreRecoveredOnOpen() throws Exception {
+        journal = open();
+        record(30);
+        awaitWritten(30);
+        journal.stop();
+
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES), 32);
+        }
+        journal = open();
+        record(1);
+        awaitWritten(31);
+
+        assertThat(journal.verify().valid()).isTrue();
+        assertThat(journal.scan(Long.MIN_VALUE, Long.MAX_VALUE, null, Integer.MAX_VALUE))
+                .extracting(AuditRecord::sequence).endsWith(30L, 31L);
+    }
+
+    @Test
+    void aBatchThatFailsIsRetriedUntilItIsWritten() throws Exception {
+        journal = open();
+        Path obstacle = AuditSegment.fileName(directory, RECORDS_PER_SEGMENT + 1);
+        Files.createDirectories(obstacle);
+        Files.createFile(obstacle.resolve("busy"));
+
+        record(RECORDS_PER_SEGMENT + 100);
+        await(() -> !journal.status().healthy());
+        assertThat(journal.status().lastError()).isNotNull();
+        assertThat(journal.status().pendingRecords()).isGreaterThanOrEqualTo(100);
+
+        Files.delete(obstacle.resolve("busy"));
+        Files.delete(obstacle);
+        await(() -> journal.status().healthy());
+        awaitWritten(RECORDS_PER_SEGMENT + 100);
+
+        assertThat(journal.verify().valid()).isTrue();
+        assertThat(journal.status().pendingRecords()).isZero();
+    }
+
+    private AuditJournal open() throws IOException {
+        AuditJournal opened = new AuditJournal(directory.toString(), 1, 65536, false);
+        opened.start();
+        return opened;
+    }
+
+    private void reopen() throws Exception {
+        journal.stop();
+        journal = open();
+    }
+
+    private void record(int count) {
+        for (int i = 0; i < count; i++) {
+            journal.recordStatusChange((long) i + 1, 7L, BigDecimal.TEN, Status.PENDING, Status.PAID);
+        }
+    }
+
+    private void awaitWritten(long records) throws InterruptedException {
+        await(() -> journal.verify().records() >= records);
+        assertThat(journal.verify().records()).isEqualTo(records);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(AuditSegment.SUFFIX) && Files.isRegularFile(path))
+                    .sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.challenge.JPay.benchmark;
+
+import com.challenge.JPay.JPayApplication;
+import com.challenge.JPay.dto.request.BankAccountRequestDTO;
+import com.challenge.JPay.dto.request.CategoryRequestDTO;
+import com.challenge.JPay.dto.response.ArchiveReportDTO;
+import com.challenge.JPay.dto.response.ReconciliationReportDTO;
+import com.challenge.JPay.model.BankAccount;
+import com.challenge.JPay.model.Category;
+import com.challenge.JPay.model.Transaction;
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.model.enums.TransactionType;
+import com.challenge.JPay.repository.TransactionBatchRepository;
+import com.challenge.JPay.service.BankAccountService;
+import com.challenge.JPay.service.CategoryService;
+import com.challenge.JPay.service.PendingExposureService;
+import com.challenge.JPay.service.ReconciliationService;
+import com.challenge.JPay.service.TransactionArchiveService;
+import com.challenge.JPay.service.TransactionService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Lançamentos de vários anos, a maioria pagos há mais de um ano, e as leituras típicas (período recente,
+ * pendentes, vencidos, totais) antes e depois do arquivamento. Confere que os totais e a reconciliação não
+ * mudam com o arquivamento e mostra o custo de uma leitura cujo período alcança o arquivo. Não é um teste do
+ * Surefire; execute com:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.challenge.JPay.benchmark.ArchiveBenchmark [-Dexec.args="300000 30000"]
+ * </pre>
+ * Argumentos: lançamentos antigos (pagos de 1 a 4 anos atrás) e recentes (últimos e próximos 60 dias).
+ */
+public class ArchiveBenchmark {
+
+    private static final int RUNS = 15;
+
+    public static void main(String[] args) throws Exception {
+        int oldRows = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+        int recentRows = args.length > 1 ? Integer.parseInt(args[1]) : 30_000;
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(JPayApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN", "logging.level.org.hibernate.SQL=WARN", "spring.jpa.show-sql=false",
+                        "jpay.audit.directory=" + Files.createTempDirectory("jpay-audit"))
+                .run();
+        try {
+            run(context, oldRows, recentRows);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void run(ConfigurableApplicationContext context, int oldRows, int recentRows) {
+        Long bankAccountId = context.getBean(BankAccountService.class)
+                .create(new BankAccountRequestDTO("Benchmark", "Benchmark", new BigDecimal("1000000.00"))).id();
+        Long categoryId = context.getBean(CategoryService.class)
+                .create(new CategoryRequestDTO("Benchmark " + System.nanoTime(), null)).id();
+
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        List<Transaction> transactions = new ArrayList<>(oldRows + recentRows);
+        for (int i = 0; i < oldRows + recentRows; i++) {
+            boolean old = i < oldRows;
+            LocalDate dueDate = old ? today.minusDays(366 + random.nextInt(3 * 365)) : today.plusDays(random.nextInt(120) - 60);
+            boolean paid = old || random.nextBoolean();
+            transactions.add(Transaction.builder()
+                    .description("Lançamento " + i)
+                    .amount(BigDecimal.valueOf(100 + random.nextInt(100_000), 2))
+                    .expirationDate(dueDate)
+                    .status(paid ? Status.PAID : Status.PENDING)
+                    .paymentDate(paid ? dueDate : null)
+                    .transactionType(random.nextInt(5) == 0 ? TransactionType.ATIVO : TransactionType.PASSIVO)
+                    .category(Category.builder().id(categoryId).build())
+                    .bankAccount(BankAccount.builder().id(bankAccountId).build())
+                    .generationKey("archive-benchmark-" + i)
+                    .build());
+        }
+        context.getBean(TransactionBatchRepository.class).insertIfAbsent(transactions);
+        context.getBean(PendingExposureService.class).recalculateAll();
+        ReconciliationService reconciliationService = context.getBean(ReconciliationService.class);
+        reconciliationService.rebaseOpeningBalances();
+        System.out.printf("transactions: %d old (paid 1-4 years ago), %d recent%n", oldRows, recentRows);
+
+        TransactionService transactionService = context.getBean(TransactionService.class);
+        Pageable page = PageRequest.of(0, 20, Sort.by("expirationDate"));
+        List<Query> queries = List.of(
+                new Query("due in the last/next 30 days", () -> transactionService.findByExpirationDateBetween(
+                        today.minusDays(30), today.plusDays(30), page).getTotalElements()),
+                new Query("pending, by due date", () -> transactionService.findByStatus(Status.PENDING, page).getTotalElements()),
+                new Query("overdue", () -> transactionService.findByExpiredTransactions(page).getTotalElements()),
+                new Query("due 2 years ago (archive)", () -> transactionService.findByExpirationDateBetween(
+                        today.minusYears(2).minusDays(15), today.minusYears(2).plusDays(15), page).getTotalElements()),
+                new Query("total PASSIVO", () -> transactionService.getTotalAmountByType("PASSIVO")));
+
+        List<Object> before = measure("before archival", queries);
+        ArchiveReportDTO archive = context.getBean(TransactionArchiveService.class).archive(365);
+        System.out.printf("archival: %d transactions in %d chunks, %d ms (%.0f rows/s)%n", archive.archived(), archive.chunks(),
+                archive.elapsedMs(), archive.archived() * 1000.0 / Math.max(1, archive.elapsedMs()));
+        List<Object> after = measure("after archival", queries);
+
+        ReconciliationReportDTO reconciliation = reconciliationService.reconcile(false);
+        System.out.printf("results unchanged: %s, reconciliation drifts: %d%n", equal(before, after), reconciliation.driftedAccounts());
+    }
+
+    private static List<Object> measure(String label, List<Query> queries) {
+        System.out.println(label + ":");
+        List<Object> results = new ArrayList<>(queries.size());
+        for (Query query : queries) {
+            Object result = null;
+            long[] micros = new long[RUNS];
+            for (int i = 0; i < RUNS; i++) {
+                long start = System.nanoTime();
+                result = query.run().get();
+                micros[i] = (System.nanoTime() - start) / 1_000;
+            }
+            Arrays.sort(micros);
+            results.add(result);
+            System.out.printf("  %-30s median %7.2f ms  (result %s)%n", query.name(), micros[RUNS / 2] / 1000.0, result);
+        }
+        return results;
+    }
+
+    private static boolean equal(List<Object> before, List<Object> after) {
+        for (int i = 0; i < before.size(); i++) {
+            Object a = before.get(i);
+            Object b = after.get(i);
+            boolean same = a instanceof BigDecimal x && b instanceof BigDecimal y ? x.compareTo(y) == 0 : a.equals(b);
+            if (!same) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record Query(String name, Supplier<Object> run) { }
+}
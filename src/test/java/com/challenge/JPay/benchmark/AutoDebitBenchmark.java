@@ -0,0 +1,142 @@
+package com.challenge.JPay.benchmark;
+
+import com.challenge.JPay.JPayApplication;
+import com.challenge.JPay.dto.request.BankAccountRequestDTO;
+import com.challenge.JPay.dto.request.CategoryRequestDTO;
+import com.challenge.JPay.dto.response.AutoDebitCycleDTO;
+import com.challenge.JPay.dto.response.AutoDebitStatsDTO;
+import com.challenge.JPay.dto.response.ReconciliationReportDTO;
+import com.challenge.JPay.model.BankAccount;
+import com.challenge.JPay.model.Category;
+import com.challenge.JPay.model.Transaction;
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.model.enums.TransactionType;
+import com.challenge.JPay.repository.TransactionBatchRepository;
+import com.challenge.JPay.service.AutoDebitService;
+import com.challenge.JPay.service.BankAccountService;
+import com.challenge.JPay.service.CategoryService;
+import com.challenge.JPay.service.PendingExposureService;
+import com.challenge.JPay.service.ReconciliationService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Lançamentos em débito automático vencidos nos últimos 30 dias, espalhados por algumas contas cujo saldo não
+ * cobre todos, pagos por vários ciclos simultâneos. Mostra a vazão e o atraso e confere no fim que nenhum
+ * lançamento foi pago duas vezes (a soma dos pagos pelos ciclos é igual aos pagos no banco), que o que sobrou
+ * pendente é só o que faltou saldo para pagar e que a reconciliação não encontra divergências. Não é um teste
+ * do Surefire; execute com:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.challenge.JPay.benchmark.AutoDebitBenchmark [-Dexec.args="50000 20 4"]
+ * </pre>
+ * Argumentos: lançamentos, contas e ciclos simultâneos.
+ */
+public class AutoDebitBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int accountCount = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int runners = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(JPayApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN", "logging.level.org.hibernate.SQL=WARN", "spring.jpa.show-sql=false",
+                        "jpay.auto-debit.enabled=false",
+                        "jpay.audit.directory=" + Files.createTempDirectory("jpay-audit"))
+                .run();
+        try {
+            run(context, rows, accountCount, runners);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void run(ConfigurableApplicationContext context, int rows, int accountCount, int runners) throws InterruptedException {
+        BankAccountService bankAccountService = context.getBean(BankAccountService.class);
+        List<Long> accounts = new ArrayList<>(accountCount);
+        for (int i = 0; i < accountCount; i++) {
+            // saldo para cerca de 80% dos débitos de cada conta
+            BigDecimal balance = BigDecimal.valueOf(rows / accountCount * 400L);
+            accounts.add(bankAccountService.create(new BankAccountRequestDTO("Benchmark " + i, "Benchmark", balance)).id());
+        }
+        Long categoryId = context.getBean(CategoryService.class)
+                .create(new CategoryRequestDTO("Benchmark " + System.nanoTime(), null)).id();
+
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        List<Transaction> transactions = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            boolean receivable = random.nextInt(10) == 0;
+            transactions.add(Transaction.builder()
+                    .description("Débito automático " + i)
+                    .amount(BigDecimal.valueOf(receivable ? 100 + random.nextInt(200) : 300 + random.nextInt(400)))
+                    .expirationDate(today.minusDays(random.nextInt(30)))
+                    .status(Status.PENDING)
+                    .transactionType(receivable ? TransactionType.ATIVO : TransactionType.PASSIVO)
+                    .autoPay(true)
+                    .category(Category.builder().id(categoryId).build())
+                    .bankAccount(BankAccount.builder().id(accounts.get(random.nextInt(accountCount))).build())
+                    .generationKey("auto-debit-benchmark-" + i)
+                    .build());
+        }
+        context.getBean(TransactionBatchRepository.class).insertIfAbsent(transactions);
+        context.getBean(PendingExposureService.class).recalculateAll();
+        System.out.printf("transactions: %d auto-pay due in the last 30 days, accounts: %d, concurrent cycles: %d%n",
+                rows, accountCount, runners);
+
+        AutoDebitService autoDebitService = context.getBean(AutoDebitService.class);
+        List<AutoDebitCycleDTO> cycles = new ArrayList<>();
+        CountDownLatch ready = new CountDownLatch(runners);
+        CountDownLatch done = new CountDownLatch(runners);
+        long start = System.nanoTime();
+        for (int r = 0; r < runners; r++) {
+            new Thread(() -> {
+                ready.countDown();
+                try {
+                    ready.await();
+                    AutoDebitCycleDTO cycle = autoDebitService.runCycle();
+                    synchronized (cycles) {
+                        cycles.add(cycle);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "auto-debit-" + r).start();
+        }
+        done.await();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        long paid = 0;
+        for (AutoDebitCycleDTO cycle : cycles) {
+            paid += cycle.paid();
+            System.out.printf("  cycle: %d ms, %d batches, %d paid, %d locked by another cycle, %d without balance, %d failed batches, lag avg %.1f max %d days%n",
+                    cycle.elapsedMs(), cycle.batches(), cycle.paid(), cycle.skippedLocked(), cycle.insufficientBalance(),
+                    cycle.failedBatches(), cycle.averageLagDays(), cycle.maxLagDays());
+        }
+        System.out.printf("paid: %d in %d ms (%.0f/s)%n", paid, elapsedMs, paid * 1000.0 / Math.max(1, elapsedMs));
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Long paidRows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM accounts_payables WHERE auto_pay = TRUE AND status = 'PAID' AND generation_key LIKE 'auto-debit-benchmark-%'", Long.class);
+        AutoDebitCycleDTO retry = autoDebitService.runCycle();
+        AutoDebitStatsDTO stats = autoDebitService.stats();
+        ReconciliationReportDTO reconciliation = context.getBean(ReconciliationService.class).reconcile(false);
+        System.out.printf("paid rows: %d (%s), retry cycle: %d paid, %d without balance; backlog %d (oldest %s)%n", paidRows,
+                paidRows == paid ? "no double payment" : "MISMATCH", retry.paid(), retry.insufficientBalance(),
+                stats.backlog(), stats.oldestDueDate());
+        System.out.printf("reconciliation drifts: %d%n", reconciliation.driftedAccounts());
+    }
+}
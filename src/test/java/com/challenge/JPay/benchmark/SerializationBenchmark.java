@@ -0,0 +1,105 @@
+package com.challenge.JPay.benchmark;
+
+import com.challenge.JPay.config.BinaryFormatsConfig;
+import com.challenge.JPay.dto.response.BankAccountResponseDTO;
+import com.challenge.JPay.dto.response.CategoryResponseDTO;
+import com.challenge.JPay.dto.response.TransactionResponseDTO;
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.model.enums.TransactionType;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compara tamanho e vazão de serialização de uma página de lançamentos em JSON, CBOR e Smile, e confere
+ * que datas e valores voltam idênticos na desserialização. Não é um teste do Surefire; execute com:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.challenge.JPay.benchmark.SerializationBenchmark [-Dexec.args="1000 5"]
+ * </pre>
+ */
+public class SerializationBenchmark {
+
+    private static final TypeReference<List<TransactionResponseDTO>> PAGE = new TypeReference<>() { };
+
+    public static void main(String[] args) throws Exception {
+        int pageSize = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        List<TransactionResponseDTO> page = samplePage(pageSize);
+
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", new Jackson2ObjectMapperBuilder().build());
+        mappers.put("cbor", BinaryFormatsConfig.cborMapper(new Jackson2ObjectMapperBuilder()));
+        mappers.put("smile", BinaryFormatsConfig.smileMapper(new Jackson2ObjectMapperBuilder()));
+
+        System.out.printf("%-6s %12s %10s %16s %16s%n", "format", "bytes", "vs json", "serialize/s", "deserialize/s");
+        int jsonSize = 0;
+        for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+            ObjectMapper mapper = entry.getValue();
+            byte[] payload = mapper.writeValueAsBytes(page);
+            if (!page.equals(mapper.readValue(payload, PAGE))) {
+                throw new IllegalStateException(entry.getKey() + " does not round-trip the page exactly");
+            }
+            if (jsonSize == 0) {
+                jsonSize = payload.length;
+            }
+
+            double serialize = throughput(seconds, () -> mapper.writeValueAsBytes(page));
+            double deserialize = throughput(seconds, () -> mapper.readValue(payload, PAGE));
+            System.out.printf("%-6s %12d %9.1f%% %16.1f %16.1f%n", entry.getKey(), payload.length,
+                    100.0 * payload.length / jsonSize, serialize, deserialize);
+        }
+    }
+
+    private static double throughput(int seconds, Operation operation) throws Exception {
+        long warmUpEnd = System.nanoTime() + 1_000_000_000L;
+        while (System.nanoTime() < warmUpEnd) {
+            operation.run();
+        }
+        long operations = 0;
+        long start = System.nanoTime();
+        long end = start + seconds * 1_000_000_000L;
+        while (System.nanoTime() < end) {
+            operation.run();
+            operations++;
+        }
+        return operations / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static List<TransactionResponseDTO> samplePage(int size) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<TransactionResponseDTO> page = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            boolean paid = i % 3 == 0;
+            page.add(TransactionResponseDTO.builder()
+                    .id((long) i + 1)
+                    .description("Conta de energia elétrica " + i)
+                    .amount(new BigDecimal(String.format("%d.%02d", 10 + i * 7 % 5000, i % 100)))
+                    .expirationDate(LocalDate.of(2026, 1, 1).plusDays(i % 365))
+                    .paymentDate(paid ? LocalDate.of(2026, 1, 1).plusDays(i % 365) : null)
+                    .type(i % 4 == 0 ? TransactionType.ATIVO : TransactionType.PASSIVO)
+                    .status(paid ? Status.PAID : Status.PENDING)
+                    .isExpired(i % 7 == 0)
+                    .category(CategoryResponseDTO.builder().id((long) i % 8 + 1).name("Categoria " + i % 8).build())
+                    .bankAccount(BankAccountResponseDTO.builder().id((long) i % 3 + 1).name("Conta " + i % 3).bank("Banco " + i % 3).build())
+                    .createdAt(now.minusDays(i % 30))
+                    .updatedAt(now)
+                    .build());
+        }
+        return page;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,113 @@
+package com.challenge.JPay.benchmark;
+
+import com.challenge.JPay.JPayApplication;
+import com.challenge.JPay.dto.request.BankAccountRequestDTO;
+import com.challenge.JPay.dto.request.CategoryRequestDTO;
+import com.challenge.JPay.dto.response.ReconciliationReportDTO;
+import com.challenge.JPay.dto.response.StatementImportResponseDTO;
+import com.challenge.JPay.model.BankAccount;
+import com.challenge.JPay.model.Category;
+import com.challenge.JPay.model.Transaction;
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.model.enums.TransactionType;
+import com.challenge.JPay.repository.TransactionBatchRepository;
+import com.challenge.JPay.service.BankAccountService;
+import com.challenge.JPay.service.CategoryService;
+import com.challenge.JPay.service.PendingExposureService;
+import com.challenge.JPay.service.ReconciliationService;
+import com.challenge.JPay.service.StatementImportService;
+import com.challenge.JPay.statement.StatementFormat;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Importa um extrato CSV grande numa conta com o mesmo número de lançamentos pendentes: 90% das linhas têm
+ * um pendente de mesmo valor com vencimento até 3 dias antes ou depois, as demais não têm par. Mostra o tempo
+ * da importação (leitura, conciliação e pagamento em lote) e confere no fim a reconciliação de saldos. Não é
+ * um teste do Surefire; execute com:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.challenge.JPay.benchmark.StatementImportBenchmark [-Dexec.args="100000"]
+ * </pre>
+ */
+public class StatementImportBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(JPayApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN", "logging.level.org.hibernate.SQL=WARN", "spring.jpa.show-sql=false",
+                        "jpay.audit.directory=" + Files.createTempDirectory("jpay-audit"))
+                .run();
+        try {
+            run(context, lines);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void run(ConfigurableApplicationContext context, int lines) throws Exception {
+        Long bankAccountId = context.getBean(BankAccountService.class)
+                .create(new BankAccountRequestDTO("Benchmark", "Benchmark", new BigDecimal("1000000.00"))).id();
+        Long categoryId = context.getBean(CategoryService.class)
+                .create(new CategoryRequestDTO("Benchmark " + System.nanoTime(), null)).id();
+
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        List<Transaction> pending = new ArrayList<>(lines);
+        Path statement = Files.createTempFile("statement", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(statement, StandardCharsets.UTF_8)) {
+            writer.write("Data;Descrição;Valor\n");
+            for (int i = 0; i < lines; i++) {
+                BigDecimal amount = BigDecimal.valueOf(100 + random.nextInt(1_000_000), 2);
+                boolean payable = random.nextInt(5) != 0;
+                LocalDate dueDate = today.plusDays(random.nextInt(365));
+                pending.add(Transaction.builder()
+                        .description("Pendente " + i)
+                        .amount(amount)
+                        .expirationDate(dueDate)
+                        .status(Status.PENDING)
+                        .transactionType(payable ? TransactionType.PASSIVO : TransactionType.ATIVO)
+                        .category(Category.builder().id(categoryId).build())
+                        .bankAccount(BankAccount.builder().id(bankAccountId).build())
+                        .generationKey("statement-benchmark-" + i)
+                        .build());
+
+                boolean matching = random.nextInt(10) != 0;
+                BigDecimal lineAmount = matching ? amount : amount.add(new BigDecimal("0.01"));
+                writer.write(dueDate.plusDays(random.nextInt(7) - 3) + ";Linha " + i + ";"
+                        + (payable ? lineAmount.negate() : lineAmount).toPlainString().replace('.', ',') + "\n");
+            }
+        }
+        context.getBean(TransactionBatchRepository.class).insertIfAbsent(pending);
+        context.getBean(PendingExposureService.class).recalculateAll();
+        System.out.printf("statement: %d lines, %d KB; pending transactions: %d%n", lines, Files.size(statement) / 1024, lines);
+
+        StatementImportService importService = context.getBean(StatementImportService.class);
+        long start = System.nanoTime();
+        StatementImportResponseDTO report;
+        try (InputStream content = Files.newInputStream(statement)) {
+            report = importService.importStatement(bankAccountId, StatementFormat.CSV, content, StandardCharsets.UTF_8, null, false);
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        Files.delete(statement);
+
+        ReconciliationReportDTO reconciliation = context.getBean(ReconciliationService.class).reconcile(false);
+        System.out.printf("import: %d ms (%.0f lines/s); matched %d, unmatched %d, invalid %d, balance change %s%n",
+                elapsedMs, lines * 1000.0 / elapsedMs, report.matched(), report.unmatched(), report.invalid(), report.balanceChange());
+        System.out.printf("reconciliation drifts: %d%n", reconciliation.driftedAccounts());
+    }
+}
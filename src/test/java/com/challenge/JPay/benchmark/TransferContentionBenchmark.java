@@ -0,0 +1,169 @@
+package com.challenge.JPay.benchmark;
+
+import com.challenge.JPay.JPayApplication;
+import com.challenge.JPay.dto.request.BankAccountRequestDTO;
+import com.challenge.JPay.dto.request.BatchTransferRequestDTO;
+import com.challenge.JPay.dto.request.TransferRequestDTO;
+import com.challenge.JPay.dto.response.ReconciliationReportDTO;
+import com.challenge.JPay.exception.BusinessException;
+import com.challenge.JPay.model.BankAccount;
+import com.challenge.JPay.repository.BankAccountRepository;
+import com.challenge.JPay.service.BankAccountService;
+import com.challenge.JPay.service.ReconciliationService;
+import com.challenge.JPay.service.TransferService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Transferências concorrentes entre poucas contas, em sentidos opostos e em lotes que cruzam as mesmas
+ * contas. Mostra a vazão por segundo, os deadlocks/timeouts de trava e confere no fim que o saldo total não
+ * mudou e que a reconciliação não encontra divergências. Com {@code unordered} as travas são tomadas na ordem
+ * da requisição (origem e depois destino), para comparação. Não é um teste do Surefire; execute com:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.challenge.JPay.benchmark.TransferContentionBenchmark [-Dexec.args="8 4 10 ordered"]
+ * </pre>
+ * Argumentos: threads, contas, segundos e {@code ordered|unordered}.
+ */
+public class TransferContentionBenchmark {
+
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00");
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int accountCount = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        boolean ordered = args.length <= 3 || !"unordered".equals(args[3]);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(JPayApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN", "logging.level.org.hibernate.SQL=WARN", "spring.jpa.show-sql=false",
+                        "jpay.audit.directory=" + Files.createTempDirectory("jpay-audit"))
+                .run();
+        try {
+            run(context, threads, accountCount, seconds, ordered);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void run(ConfigurableApplicationContext context, int threads, int accountCount, int seconds,
+                            boolean ordered) throws InterruptedException {
+        BankAccountService bankAccountService = context.getBean(BankAccountService.class);
+        BankAccountRepository bankAccountRepository = context.getBean(BankAccountRepository.class);
+        TransferService transferService = context.getBean(TransferService.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        List<Long> accounts = new ArrayList<>(accountCount);
+        for (int i = 0; i < accountCount; i++) {
+            accounts.add(bankAccountService.create(new BankAccountRequestDTO("Benchmark " + i, "Benchmark", INITIAL_BALANCE)).id());
+        }
+        BigDecimal totalBefore = total(bankAccountRepository, accounts);
+
+        AtomicLongArray perSecond = new AtomicLongArray(seconds);
+        AtomicLong deadlocks = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        long start = System.nanoTime();
+        long end = start + seconds * 1_000_000_000L;
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < end) {
+                    List<TransferRequestDTO> transfers = randomTransfers(random, accounts);
+                    try {
+                        if (ordered) {
+                            execute(transferService, transfers);
+                        } else {
+                            transactionTemplate.executeWithoutResult(status -> {
+                                transfers.forEach(transfer -> {
+                                    bankAccountRepository.findByIdForUpdate(transfer.sourceBankAccountId()).orElseThrow();
+                                    bankAccountRepository.findByIdForUpdate(transfer.targetBankAccountId()).orElseThrow();
+                                });
+                                execute(transferService, transfers);
+                            });
+                        }
+                        int second = (int) ((System.nanoTime() - start) / 1_000_000_000L);
+                        if (second < seconds) {
+                            perSecond.addAndGet(second, transfers.size());
+                        }
+                    } catch (PessimisticLockingFailureException e) {
+                        deadlocks.incrementAndGet();
+                    } catch (BusinessException e) {
+                        rejected.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            }, "transfer-" + t);
+            worker.start();
+        }
+        done.await();
+
+        long transfers = 0;
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        for (int i = 0; i < seconds; i++) {
+            transfers += perSecond.get(i);
+            min = Math.min(min, perSecond.get(i));
+            max = Math.max(max, perSecond.get(i));
+        }
+        BigDecimal totalAfter = total(bankAccountRepository, accounts);
+        ReconciliationReportDTO report = context.getBean(ReconciliationService.class).reconcile(false);
+
+        System.out.printf("locking: %s, threads: %d, accounts: %d, seconds: %d%n", ordered ? "ordered" : "unordered", threads, accountCount, seconds);
+        System.out.printf("transfers: %d (%.1f/s, per second min %d max %d)%n", transfers, (double) transfers / seconds, min, max);
+        System.out.printf("deadlocks/lock timeouts: %d, rejected: %d, other failures: %d%n", deadlocks.get(), rejected.get(), failed.get());
+        System.out.printf("total balance: %s -> %s (%s), reconciliation drifts: %d%n", totalBefore, totalAfter,
+                totalBefore.compareTo(totalAfter) == 0 ? "conserved" : "CHANGED", report.driftedAccounts());
+    }
+
+    private static void execute(TransferService transferService, List<TransferRequestDTO> transfers) {
+        if (transfers.size() == 1) {
+            transferService.transfer(transfers.get(0));
+        } else {
+            transferService.transferAll(new BatchTransferRequestDTO(transfers));
+        }
+    }
+
+    /**
+     * Uma transferência simples em 3 de cada 4 iterações; nas demais, um lote de 2 a 5 transferências entre
+     * contas sorteadas, em qualquer sentido.
+     */
+    private static List<TransferRequestDTO> randomTransfers(ThreadLocalRandom random, List<Long> accounts) {
+        int size = random.nextInt(4) == 0 ? 2 + random.nextInt(4) : 1;
+        List<TransferRequestDTO> transfers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int source = random.nextInt(accounts.size());
+            int target = (source + 1 + random.nextInt(accounts.size() - 1)) % accounts.size();
+            transfers.add(TransferRequestDTO.builder()
+                    .sourceBankAccountId(accounts.get(source))
+                    .targetBankAccountId(accounts.get(target))
+                    .amount(BigDecimal.valueOf(1 + random.nextInt(10_000), 2))
+                    .build());
+        }
+        return transfers;
+    }
+
+    private static BigDecimal total(BankAccountRepository repository, List<Long> accounts) {
+        return repository.findAllById(accounts).stream()
+                .map(BankAccount::getCurrentBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
@@ -0,0 +1,98 @@
+package com.challenge.JPay.cache;
+
+import com.challenge.JPay.datasource.ReplicaPool;
+import com.challenge.JPay.datasource.SessionWriteTracker;
+import com.challenge.JPay.dto.response.TransactionResponseDTO;
+import com.challenge.JPay.model.enums.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Um estorno tira o lançamento do cache, uma leitura que concorreu com ele não o devolve, e uma leitura de
+ * réplica só é aceita se a réplica foi sincronizada depois da última invalidação.
+ */
+class PaidTransactionCacheTests {
+
+    private final ReplicaPool.Replica replica = new ReplicaPool.Replica("replica-0", null, false);
+    private final ReplicaPool replicaPool = new ReplicaPool(null, List.of(replica), new SessionWriteTracker("X-Session-Id", 0));
+
+    @AfterEach
+    void clearReadOnly() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void evictingAPaidTransactionRemovesIt() {
+        PaidTransactionCache cache = cache(false);
+
+        cache.admit(paid(1), cache.stamp());
+        assertThat(cache.get(1)).isNotNull();
+
+        cache.evict(1);
+
+        assertThat(cache.get(1)).isNull();
+    }
+
+    @Test
+    void aReadThatRacedWithAnInvalidationIsNotAdmitted() {
+        PaidTransactionCache cache = cache(false);
+
+        long stamp = cache.stamp();
+        cache.evict(1);
+        cache.admit(paid(1), stamp);
+
+        assertThat(cache.get(1)).isNull();
+    }
+
+    @Test
+    void pendingTransactionsAreNotAdmitted() {
+        PaidTransactionCache cache = cache(false);
+
+        cache.admit(TransactionResponseDTO.builder().id(1L).amount(BigDecimal.TEN).status(Status.PENDING).build(), cache.stamp());
+
+        assertThat(cache.get(1)).isNull();
+    }
+
+    @Test
+    void aReplicaReadIsAdmittedOnlyAfterTheReplicaSyncedPastTheLastInvalidation() {
+        PaidTransactionCache cache = cache(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        cache.admit(paid(1), cache.stamp());
+        assertThat(cache.get(1)).as("replica never synced").isNull();
+
+        replica.synced(System.nanoTime());
+        cache.admit(paid(1), cache.stamp());
+        assertThat(cache.get(1)).isNotNull();
+
+        cache.evict(2);
+        cache.admit(paid(3), cache.stamp());
+        assertThat(cache.get(3)).as("replica synced before the last invalidation").isNull();
+
+        replica.synced(System.nanoTime());
+        cache.admit(paid(3), cache.stamp());
+        assertThat(cache.get(3)).isNotNull();
+    }
+
+    private PaidTransactionCache cache(boolean replicasEnabled) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of(
+                "objectMapper", JsonMapper.builder().findAndAddModules().build(),
+                "replicaPool", replicaPool));
+        return new PaidTransactionCache(beanFactory.getBeanProvider(ObjectMapper.class), beanFactory.getBeanProvider(ReplicaPool.class),
+                1024 * 1024, replicasEnabled, true);
+    }
+
+    private static TransactionResponseDTO paid(long id) {
+        return TransactionResponseDTO.builder().id(id).amount(BigDecimal.TEN).status(Status.PAID).build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.challenge.JPay.controller;
+
+import com.challenge.JPay.support.SqlStatementAssertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Fixa a quantidade de SQL de endpoints de leitura sobre os dados do DataLoader, para que um N+1 novo quebre o
+ * build em vez de aparecer só no log.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jpay-sql-stats;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "jpay.audit.directory=target/test-audit/sql-stats"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class SqlStatementCountTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void listingBankAccountsRunsASingleQuery() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/bank-accounts"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        SqlStatementAssertions.of(result).hasStatements(1).hasNoRepeatsAbove(1);
+    }
+
+    @Test
+    void findingATransactionLoadsCategoryAndAccountInTheSameQuery() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/transactions/1"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        SqlStatementAssertions.of(result).hasStatements(1).hasRowsAtMost(1);
+    }
+}
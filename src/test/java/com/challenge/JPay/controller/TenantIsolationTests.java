@@ -0,0 +1,78 @@
+package com.challenge.JPay.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cada tenant lê e grava apenas no seu datasource (base separada ou schema próprio); tenants não configurados são
+ * recusados e os endpoints servidos por estado em memória do tenant padrão ficam fechados para os demais.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jpay-tenancy;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "jpay.audit.directory=target/test-audit/tenancy",
+        "jpay.auto-debit.enabled=false",
+        "jpay.tenancy.enabled=true",
+        "jpay.tenancy.tenants.acme.url=jdbc:h2:mem:jpay-tenancy-acme;DB_CLOSE_DELAY=-1",
+        "jpay.tenancy.tenants.globex.schema=GLOBEX"
+})
+@AutoConfigureMockMvc
+class TenantIsolationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void eachTenantOnlySeesItsOwnRows() throws Exception {
+        mockMvc.perform(tenant(post("/api/categories"), "acme")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Somente ACME\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(tenant(post("/api/categories"), "globex")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Somente ACME\"}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(tenant(get("/api/categories"), "acme"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", contains("Somente ACME")));
+        mockMvc.perform(tenant(get("/api/categories"), "globex"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", contains("Somente ACME")));
+        mockMvc.perform(get("/api/categories"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", not(hasItem("Somente ACME"))));
+    }
+
+    @Test
+    void anUnknownTenantIsRejected() throws Exception {
+        mockMvc.perform(tenant(get("/api/categories"), "initech"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void inMemoryEndpointsAreOnlyServedToTheDefaultTenant() throws Exception {
+        mockMvc.perform(tenant(get("/api/analytics/cube"), "acme"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(tenant(get("/api/stream"), "globex"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/api/analytics/cube"))
+                .andExpect(status().isOk());
+    }
+
+    private static MockHttpServletRequestBuilder tenant(MockHttpServletRequestBuilder request, String tenant) {
+        return request.header("X-Tenant-Id", tenant);
+    }
+}
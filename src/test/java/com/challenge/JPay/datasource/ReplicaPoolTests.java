@@ -0,0 +1,116 @@
+package com.challenge.JPay.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Leituras vão para uma réplica disponível e caem no primário quando ela está suspensa ou fora do ar, ou quando a
+ * mesma sessão escreveu há pouco.
+ */
+class ReplicaPoolTests {
+
+    private static final String PRIMARY = "jdbc:h2:mem:replica-pool-primary";
+    private static final String REPLICA = "jdbc:h2:mem:replica-pool-replica";
+
+    private final HikariDataSource replicaDataSource = dataSource(REPLICA);
+    private final ReplicaPool.Replica replica = new ReplicaPool.Replica("replica-0", replicaDataSource, false);
+    private final SessionWriteTracker writeTracker = new SessionWriteTracker("X-Session-Id", 60_000);
+    private final ReplicaPool pool = new ReplicaPool(dataSource(PRIMARY), List.of(replica), writeTracker);
+
+    @AfterEach
+    void close() {
+        pool.destroy();
+    }
+
+    @Test
+    void readsGoToAnAvailableReplicaAndFallBackWhileItIsSuspended() throws SQLException {
+        assertThat(readUrl()).isEqualTo(REPLICA);
+
+        replica.suspend();
+        assertThat(readUrl()).isEqualTo(PRIMARY);
+
+        replica.resume();
+        assertThat(readUrl()).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void aReplicaThatFailsToConnectIsSkipped() throws SQLException {
+        replicaDataSource.close();
+
+        assertThat(readUrl()).isEqualTo(PRIMARY);
+        assertThat(replica.available()).isFalse();
+    }
+
+    @Test
+    void aSessionReadsFromThePrimaryRightAfterItWrote() throws Exception {
+        assertThat(readInRequest("cliente-a")).isEqualTo(REPLICA);
+
+        request("cliente-a", () -> {
+            try (Connection connection = pool.writeDataSource().getConnection()) {
+                connection.createStatement().execute("SELECT 1");
+            }
+            return null;
+        });
+
+        assertThat(readInRequest("cliente-a")).isEqualTo(PRIMARY);
+        assertThat(readInRequest("cliente-b")).isEqualTo(REPLICA);
+        assertThat(readUrl()).isEqualTo(REPLICA);
+    }
+
+    private String readUrl() throws SQLException {
+        return url(pool.readOnlyDataSource());
+    }
+
+    private String readInRequest(String session) throws Exception {
+        return request(session, this::readUrl);
+    }
+
+    private String request(String session, SqlCall call) throws Exception {
+        AtomicReference<String> result = new AtomicReference<>();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+        request.addHeader("X-Session-Id", session);
+        writeTracker.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) {
+                try {
+                    result.set(call.run());
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }));
+        return result.get();
+    }
+
+    private static String url(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getURL();
+        }
+    }
+
+    private static HikariDataSource dataSource(String url) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setMaximumPoolSize(2);
+        return dataSource;
+    }
+
+    private interface SqlCall {
+        String run() throws SQLException;
+    }
+}
@@ -0,0 +1,100 @@
+package com.challenge.JPay.event;
+
+import com.challenge.JPay.interfaces.LifecycleEventListener;
+import com.challenge.JPay.model.enums.LifecycleEventType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Um lote que falha é reenviado, em ordem, até ser processado; enquanto isso a sequência do consumidor não avança
+ * e o {@link OutboxDispatcher} não marca os eventos como despachados.
+ */
+class EventBusTests {
+
+    private EventBus eventBus;
+
+    @AfterEach
+    void stop() {
+        if (eventBus != null) {
+            eventBus.stop();
+        }
+    }
+
+    @Test
+    void aFailingBatchIsRedeliveredInOrderAndIsNeverSkipped() throws InterruptedException {
+        FlakyListener listener = new FlakyListener();
+        eventBus = start(listener);
+
+        eventBus.publish(events(0, 10));
+        TimeUnit.MILLISECONDS.sleep(300);
+
+        assertThat(listener.attempts).isGreaterThan(1);
+        assertThat(eventBus.minimumConsumerSequence()).isEqualTo(-1);
+
+        listener.failing = false;
+        awaitProcessed(9);
+
+        assertThat(listener.processed).containsExactlyElementsOf(LongStream.range(0, 10).boxed().toList());
+    }
+
+    @Test
+    void eventsPublishedWhileABatchIsFailingAreDeliveredAfterIt() throws InterruptedException {
+        FlakyListener listener = new FlakyListener();
+        eventBus = start(listener);
+
+        eventBus.publish(events(0, 5));
+        TimeUnit.MILLISECONDS.sleep(50);
+        eventBus.publish(events(5, 10));
+        listener.failing = false;
+        awaitProcessed(9);
+
+        assertThat(listener.processed).containsExactlyElementsOf(LongStream.range(0, 10).boxed().toList());
+    }
+
+    private static EventBus start(LifecycleEventListener listener) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("listener", listener);
+        EventBus eventBus = new EventBus(16, 4, beanFactory.getBeanProvider(LifecycleEventListener.class));
+        eventBus.start();
+        return eventBus;
+    }
+
+    private void awaitProcessed(long sequence) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (eventBus.minimumConsumerSequence() < sequence && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        assertThat(eventBus.minimumConsumerSequence()).isEqualTo(sequence);
+    }
+
+    private static List<LifecycleEvent> events(long from, long to) {
+        return LongStream.range(from, to)
+                .mapToObj(id -> new LifecycleEvent(id, LifecycleEventType.BALANCE_CHANGED, null, 1L, null, null, null, null, LocalDateTime.now()))
+                .toList();
+    }
+
+    private static final class FlakyListener implements LifecycleEventListener {
+
+        private final List<Long> processed = new CopyOnWriteArrayList<>();
+        private volatile boolean failing = true;
+        private volatile int attempts;
+
+        @Override
+        public void onEvents(List<LifecycleEvent> events) {
+            attempts++;
+            if (failing) {
+                throw new IllegalStateException("listener indisponível");
+            }
+            events.forEach(event -> processed.add(event.id()));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.analytics.CubeFilter;
+import com.challenge.JPay.dto.request.BankAccountRequestDTO;
+import com.challenge.JPay.dto.request.CategoryRequestDTO;
+import com.challenge.JPay.dto.request.PaymentRequestDTO;
+import com.challenge.JPay.dto.request.TransactionRequestDTO;
+import com.challenge.JPay.dto.response.CubeCellResponseDTO;
+import com.challenge.JPay.dto.response.TransactionResponseDTO;
+import com.challenge.JPay.model.enums.CubeDimension;
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.model.enums.TransactionType;
+import com.challenge.JPay.repository.OutboxEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * O cubo mantido pelos eventos do outbox é igual ao reconstruído do banco, e os agrupamentos somam as células
+ * das dimensões que ficaram de fora. Eventos que a reconstrução já refletiu não são contados de novo.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jpay-analytics-cube;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "jpay.audit.directory=target/test-audit/analytics-cube",
+        "jpay.auto-debit.enabled=false"
+})
+class AnalyticsCubeTests {
+
+    @Autowired
+    private AnalyticsCubeService analyticsCubeService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void rollupsFollowTheEventsAndMatchARebuild() throws InterruptedException {
+        Long bankAccountId = bankAccountService.create(new BankAccountRequestDTO("Cubo", "Banco", new BigDecimal("1000.00"))).id();
+        Long categoryId = categoryService.create(new CategoryRequestDTO("Cubo", null)).id();
+        TransactionResponseDTO rent = create("Aluguel", "100.00", LocalDate.of(2030, 1, 10), "PASSIVO", categoryId, bankAccountId);
+        create("Internet", "50.00", LocalDate.of(2030, 1, 20), "PASSIVO", categoryId, bankAccountId);
+        create("Reembolso", "30.00", LocalDate.of(2030, 2, 5), "ATIVO", categoryId, bankAccountId);
+
+        analyticsCubeService.rebuild();
+        awaitDispatched();
+        transactionService.payTransaction(new PaymentRequestDTO(rent.id(), bankAccountId, rent.id()));
+        awaitDispatched();
+
+        CubeFilter filter = new CubeFilter(null, null, null, bankAccountId, null, null);
+        List<CubeCellResponseDTO> byStatus = analyticsCubeService.query(filter, Set.of(CubeDimension.STATUS));
+        assertThat(byStatus).extracting(CubeCellResponseDTO::status, CubeCellResponseDTO::total, CubeCellResponseDTO::count)
+                .containsExactly(
+                        tuple(Status.PENDING, new BigDecimal("80.00"), 2L),
+                        tuple(Status.PAID, new BigDecimal("100.00"), 1L));
+
+        List<CubeCellResponseDTO> byMonthAndType = analyticsCubeService.query(filter, Set.of(CubeDimension.MONTH, CubeDimension.TYPE));
+        assertThat(byMonthAndType).extracting(CubeCellResponseDTO::month, CubeCellResponseDTO::type, CubeCellResponseDTO::total)
+                .containsExactly(
+                        tuple(YearMonth.of(2030, 1), TransactionType.PASSIVO, new BigDecimal("150.00")),
+                        tuple(YearMonth.of(2030, 2), TransactionType.ATIVO, new BigDecimal("30.00")));
+
+        Set<CubeDimension> all = Set.of(CubeDimension.values());
+        List<CubeCellResponseDTO> maintained = analyticsCubeService.query(filter, all);
+        analyticsCubeService.rebuild();
+        assertThat(analyticsCubeService.query(filter, all)).isEqualTo(maintained);
+    }
+
+    private TransactionResponseDTO create(String description, String amount, LocalDate expirationDate, String type,
+                                          Long categoryId, Long bankAccountId) {
+        return transactionService.create(new TransactionRequestDTO(description, new BigDecimal(amount), expirationDate,
+                categoryId, bankAccountId, type, "PENDING", false));
+    }
+
+    private void awaitDispatched() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!outboxEventRepository.findUndispatchedIds(PageRequest.of(0, 1)).isEmpty() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        assertThat(outboxEventRepository.findUndispatchedIds(PageRequest.of(0, 1))).isEmpty();
+    }
+}
@@ -0,0 +1,114 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.dto.request.BankAccountRequestDTO;
+import com.challenge.JPay.dto.request.CategoryRequestDTO;
+import com.challenge.JPay.dto.request.PaymentRequestDTO;
+import com.challenge.JPay.dto.request.TransactionRequestDTO;
+import com.challenge.JPay.dto.request.TransferRequestDTO;
+import com.challenge.JPay.dto.response.AccountDriftDTO;
+import com.challenge.JPay.dto.response.ReconciliationReportDTO;
+import com.challenge.JPay.dto.response.TransactionResponseDTO;
+import com.challenge.JPay.repository.BankAccountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pagamentos e transferências mantêm o saldo igual ao de abertura mais os lançamentos pagos e as transferências; uma
+ * divergência é apenas relatada sem correção automática e, com ela, o saldo é sobrescrito pelo esperado.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jpay-reconciliation;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "jpay.audit.directory=target/test-audit/reconciliation",
+        "jpay.auto-debit.enabled=false"
+})
+class BalanceReconciliationTests {
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void paymentsAndTransfersKeepBalancesReconciled() {
+        Long source = account("Conciliada origem");
+        Long target = account("Conciliada destino");
+        pay(create("Fornecedor", "120.00", "PASSIVO", source), source);
+        pay(create("Cliente", "45.50", "ATIVO", target), target);
+        transferService.transfer(new TransferRequestDTO(source, target, new BigDecimal("300.00"), "Reserva"));
+
+        ReconciliationReportDTO report = reconciliationService.reconcile(false);
+
+        assertThat(report.drifts()).extracting(AccountDriftDTO::bankAccountId).doesNotContain(source, target);
+        assertBalance(source, "580.00");
+        assertBalance(target, "1345.50");
+    }
+
+    @Test
+    void aDriftIsReportedAndOnlyCorrectedWhenAsked() {
+        Long bankAccountId = account("Divergente");
+        pay(create("Mercado", "200.00", "PASSIVO", bankAccountId), bankAccountId);
+        jdbcTemplate.update("UPDATE bank_accounts SET current_balance = current_balance + 15.25 WHERE id = ?", bankAccountId);
+
+        AccountDriftDTO reported = drift(reconciliationService.reconcile(false), bankAccountId);
+        assertThat(reported.drift()).isEqualByComparingTo("15.25");
+        assertThat(reported.expectedBalance()).isEqualByComparingTo("800.00");
+        assertThat(reported.corrected()).isFalse();
+        assertBalance(bankAccountId, "815.25");
+
+        AccountDriftDTO corrected = drift(reconciliationService.reconcile(true), bankAccountId);
+        assertThat(corrected.corrected()).isTrue();
+        assertBalance(bankAccountId, "800.00");
+
+        assertThat(reconciliationService.reconcile(false).drifts()).extracting(AccountDriftDTO::bankAccountId)
+                .doesNotContain(bankAccountId);
+    }
+
+    private static AccountDriftDTO drift(ReconciliationReportDTO report, Long bankAccountId) {
+        return report.drifts().stream()
+                .filter(drift -> drift.bankAccountId().equals(bankAccountId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Long account(String name) {
+        return bankAccountService.create(new BankAccountRequestDTO(name, "Banco", new BigDecimal("1000.00"))).id();
+    }
+
+    private TransactionResponseDTO create(String description, String amount, String type, Long bankAccountId) {
+        Long categoryId = categoryService.create(new CategoryRequestDTO(description, null)).id();
+        return transactionService.create(new TransactionRequestDTO(description, new BigDecimal(amount), LocalDate.now().plusDays(5),
+                categoryId, bankAccountId, type, "PENDING", false));
+    }
+
+    private void pay(TransactionResponseDTO transaction, Long bankAccountId) {
+        transactionService.payTransaction(new PaymentRequestDTO(transaction.id(), bankAccountId, transaction.id()));
+    }
+
+    private void assertBalance(Long bankAccountId, String expected) {
+        assertThat(bankAccountRepository.findCurrentBalance(bankAccountId)).hasValueSatisfying(
+                balance -> assertThat(balance).isEqualByComparingTo(expected));
+    }
+}
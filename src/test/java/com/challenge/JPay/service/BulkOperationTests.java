@@ -0,0 +1,105 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.dto.request.BankAccountRequestDTO;
+import com.challenge.JPay.dto.request.BulkReassignRequestDTO;
+import com.challenge.JPay.dto.request.BulkRescheduleRequestDTO;
+import com.challenge.JPay.dto.request.CategoryRequestDTO;
+import com.challenge.JPay.dto.request.TransactionRequestDTO;
+import com.challenge.JPay.dto.response.BulkOperationResponseDTO;
+import com.challenge.JPay.dto.response.TransactionResponseDTO;
+import com.challenge.JPay.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * As operações em massa seguem as mesmas regras das operações unitárias: só lançamentos pendentes são movidos,
+ * destinos inativos e contas com pendências são recusados, e uma recusa não altera nenhuma das linhas.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jpay-bulk-operations;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "jpay.audit.directory=target/test-audit/bulk-operations",
+        "jpay.auto-debit.enabled=false"
+})
+class BulkOperationTests {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Test
+    void reassigningMovesOnlyPendingTransactions() {
+        Long from = category("Origem");
+        Long to = category("Destino");
+        Long bankAccountId = account("Reatribuição");
+        TransactionResponseDTO pending = create("Pendente", from, bankAccountId, "PENDING");
+        TransactionResponseDTO paid = create("Pago", from, bankAccountId, "PAID");
+
+        BulkOperationResponseDTO response = transactionService.reassignPending(new BulkReassignRequestDTO(from, null, to, null));
+
+        assertThat(response.matched()).isEqualTo(1);
+        assertThat(response.updated()).isEqualTo(1);
+        assertThat(transactionService.findById(pending.id()).category().id()).isEqualTo(to);
+        assertThat(transactionService.findById(paid.id()).category().id()).isEqualTo(from);
+    }
+
+    @Test
+    void reassigningToAnInactiveDestinationIsRejected() {
+        Long from = category("Origem ativa");
+        Long inactive = category("Destino inativo");
+        categoryService.setActive(List.of(inactive), false);
+        Long bankAccountId = account("Destino inativo");
+        TransactionResponseDTO pending = create("Pendente", from, bankAccountId, "PENDING");
+
+        assertThatThrownBy(() -> transactionService.reassignPending(new BulkReassignRequestDTO(from, null, inactive, null)))
+                .isInstanceOf(BusinessException.class);
+        assertThat(transactionService.findById(pending.id()).category().id()).isEqualTo(from);
+    }
+
+    @Test
+    void deactivatingAccountsIsAllOrNothing() {
+        Long idle = account("Sem pendências");
+        Long busy = account("Com pendências");
+        create("Pendente", category("Desativação"), busy, "PENDING");
+
+        assertThatThrownBy(() -> bankAccountService.setActive(List.of(idle, busy), false))
+                .isInstanceOf(BusinessException.class);
+        assertThat(bankAccountService.findById(idle).active()).isTrue();
+        assertThat(bankAccountService.findById(busy).active()).isTrue();
+
+        BulkOperationResponseDTO response = bankAccountService.setActive(List.of(idle), false);
+        assertThat(response.updated()).isEqualTo(1);
+        assertThat(bankAccountService.findById(idle).active()).isFalse();
+    }
+
+    @Test
+    void reschedulingRequiresAFilter() {
+        assertThatThrownBy(() -> transactionService.reschedulePending(new BulkRescheduleRequestDTO(null, null, null, null, null, 5, null)))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    private Long account(String name) {
+        return bankAccountService.create(new BankAccountRequestDTO(name, "Banco", new BigDecimal("1000.00"))).id();
+    }
+
+    private Long category(String name) {
+        return categoryService.create(new CategoryRequestDTO(name, null)).id();
+    }
+
+    private TransactionResponseDTO create(String description, Long categoryId, Long bankAccountId, String status) {
+        return transactionService.create(new TransactionRequestDTO(description, new BigDecimal("75.00"), LocalDate.now().plusDays(7),
+                categoryId, bankAccountId, "PASSIVO", status, false));
+    }
+}
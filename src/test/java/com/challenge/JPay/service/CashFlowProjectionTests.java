@@ -0,0 +1,66 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.dto.request.BankAccountRequestDTO;
+import com.challenge.JPay.dto.request.CategoryRequestDTO;
+import com.challenge.JPay.dto.request.TransactionRequestDTO;
+import com.challenge.JPay.dto.response.CashFlowProjectionResponseDTO;
+import com.challenge.JPay.dto.response.CashFlowSeriesDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * O saldo projetado de cada dia é o saldo atual somado aos pendentes que vencem até aquele dia (ATIVO soma, PASSIVO
+ * subtrai); pendências vencidas entram no primeiro dia e lançamentos pagos já estão no saldo atual.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jpay-cash-flow;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "jpay.audit.directory=target/test-audit/cash-flow",
+        "jpay.auto-debit.enabled=false"
+})
+class CashFlowProjectionTests {
+
+    @Autowired
+    private CashFlowProjectionService cashFlowProjectionService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Test
+    void eachDayIsTheCurrentBalancePlusThePendingItemsDueUntilThatDay() {
+        Long bankAccountId = bankAccountService.create(new BankAccountRequestDTO("Projeção", "Banco", new BigDecimal("1000.00"))).id();
+        Long categoryId = categoryService.create(new CategoryRequestDTO("Projeção", null)).id();
+        create("Vencido", "50.00", -3, "PASSIVO", "PENDING", categoryId, bankAccountId);
+        create("Aluguel", "300.00", 2, "PASSIVO", "PENDING", categoryId, bankAccountId);
+        create("Salário", "100.00", 4, "ATIVO", "PENDING", categoryId, bankAccountId);
+        create("Já pago", "200.00", 3, "PASSIVO", "PAID", categoryId, bankAccountId);
+
+        CashFlowProjectionResponseDTO projection = cashFlowProjectionService.project(6, new BigDecimal("700.00"), bankAccountId);
+
+        CashFlowSeriesDTO series = projection.accounts().get(0);
+        assertThat(series.currentBalance()).isEqualByComparingTo("800.00");
+        assertThat(series.balances()).usingElementComparator(BigDecimal::compareTo).containsExactly(
+                new BigDecimal("750.00"), new BigDecimal("750.00"), new BigDecimal("450.00"),
+                new BigDecimal("450.00"), new BigDecimal("550.00"), new BigDecimal("550.00"));
+        assertThat(series.firstDayBelowThreshold()).isEqualTo(LocalDate.now().plusDays(2));
+        assertThat(series.minimumBalance()).isEqualByComparingTo("450.00");
+        assertThat(series.minimumBalanceDate()).isEqualTo(LocalDate.now().plusDays(2));
+        assertThat(projection.consolidated().balances()).isEqualTo(series.balances());
+    }
+
+    private void create(String description, String amount, int dueInDays, String type, String status, Long categoryId, Long bankAccountId) {
+        transactionService.create(new TransactionRequestDTO(description, new BigDecimal(amount), LocalDate.now().plusDays(dueInDays),
+                categoryId, bankAccountId, type, status, false));
+    }
+}
@@ -0,0 +1,98 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.dto.request.BankAccountRequestDTO;
+import com.challenge.JPay.dto.request.CategoryRequestDTO;
+import com.challenge.JPay.dto.request.TransactionRequestDTO;
+import com.challenge.JPay.dto.response.DuplicateFilterStatsDTO;
+import com.challenge.JPay.dto.response.TransactionResponseDTO;
+import com.challenge.JPay.exception.ResourceDuplicateException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * No modo {@code REJECT}, um acerto do filtro de Bloom só recusa a criação se a consulta exata encontrar o
+ * lançamento: a impressão digital antiga de um lançamento alterado continua no filtro, mas criar outro com os
+ * valores antigos é aceito e contado como falso positivo.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jpay-duplicate-detection;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "jpay.audit.directory=target/test-audit/duplicate-detection",
+        "jpay.auto-debit.enabled=false",
+        "jpay.duplicates.mode=REJECT"
+})
+class DuplicateDetectionTests {
+
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private Long bankAccountId;
+    private Long categoryId;
+
+    @BeforeEach
+    void awaitFilter() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!duplicateDetectionService.stats().ready() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        assertThat(duplicateDetectionService.stats().ready()).isTrue();
+        bankAccountId = bankAccountService.create(new BankAccountRequestDTO("Duplicidade " + System.nanoTime(), "Banco",
+                new BigDecimal("1000.00"))).id();
+        categoryId = categoryService.create(new CategoryRequestDTO("Duplicidade " + System.nanoTime(), null)).id();
+    }
+
+    @Test
+    void anExactDuplicateIsRejected() {
+        transactionService.create(request("Condomínio", "480.00"));
+
+        assertThatThrownBy(() -> transactionService.create(request("  condominio ", "480.00")))
+                .isInstanceOf(ResourceDuplicateException.class);
+    }
+
+    @Test
+    void aFilterHitWithoutAMatchingRowFallsBackToTheExactLookupAndIsAccepted() {
+        TransactionResponseDTO original = transactionService.create(request("Seguro", "150.00"));
+        transactionService.update(original.id(), request("Seguro do carro", "150.00"));
+        DuplicateFilterStatsDTO before = duplicateDetectionService.stats();
+
+        TransactionResponseDTO created = transactionService.create(request("Seguro", "150.00"));
+
+        DuplicateFilterStatsDTO after = duplicateDetectionService.stats();
+        assertThat(created.id()).isNotEqualTo(original.id());
+        assertThat(after.falsePositives()).isEqualTo(before.falsePositives() + 1);
+        assertThat(after.duplicates()).isEqualTo(before.duplicates());
+    }
+
+    @Test
+    void aFilterMissSkipsTheExactLookup() {
+        DuplicateFilterStatsDTO before = duplicateDetectionService.stats();
+
+        transactionService.create(request("Academia", "99.90"));
+
+        DuplicateFilterStatsDTO after = duplicateDetectionService.stats();
+        assertThat(after.lookupsAvoided()).isEqualTo(before.lookupsAvoided() + 1);
+        assertThat(after.exactLookups()).isEqualTo(before.exactLookups());
+    }
+
+    private TransactionRequestDTO request(String description, String amount) {
+        return new TransactionRequestDTO(description, new BigDecimal(amount), LocalDate.now().plusDays(12),
+                categoryId, bankAccountId, "PASSIVO", "PENDING", false);
+    }
+}
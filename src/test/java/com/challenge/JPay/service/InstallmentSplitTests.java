@@ -0,0 +1,72 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.dto.request.BankAccountRequestDTO;
+import com.challenge.JPay.dto.request.CategoryRequestDTO;
+import com.challenge.JPay.dto.request.InstallmentRequestDTO;
+import com.challenge.JPay.dto.response.TransactionResponseDTO;
+import com.challenge.JPay.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * As parcelas somam exatamente o valor total: a sobra da divisão em centavos vai, um centavo por vez, para as
+ * primeiras parcelas.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jpay-installment-split;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "jpay.audit.directory=target/test-audit/installment-split",
+        "jpay.auto-debit.enabled=false"
+})
+class InstallmentSplitTests {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Test
+    void theRemainderCentsGoToTheFirstInstallments() {
+        List<TransactionResponseDTO> installments = transactionService.createInstallments(request("Notebook", "100.00", 3));
+
+        assertThat(installments).extracting(TransactionResponseDTO::installmentNumber).containsExactly(1, 2, 3);
+        assertThat(installments).extracting(TransactionResponseDTO::amount)
+                .containsExactly(new BigDecimal("33.34"), new BigDecimal("33.33"), new BigDecimal("33.33"));
+    }
+
+    @Test
+    void theInstallmentsAlwaysAddUpToTheTotal() {
+        List<TransactionResponseDTO> installments = transactionService.createInstallments(request("Geladeira", "1234.57", 7));
+
+        assertThat(installments).hasSize(7);
+        assertThat(installments.stream().map(TransactionResponseDTO::amount).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .isEqualByComparingTo("1234.57");
+        assertThat(installments).extracting(TransactionResponseDTO::expirationDate)
+                .containsExactlyElementsOf(IntStream.range(0, 7).mapToObj(i -> LocalDate.now().plusDays(5).plusMonths(i)).toList());
+    }
+
+    @Test
+    void aTotalSmallerThanOneCentPerInstallmentIsRejected() {
+        assertThatThrownBy(() -> transactionService.createInstallments(request("Chiclete", "0.02", 3)))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    private InstallmentRequestDTO request(String description, String amount, int installments) {
+        Long bankAccountId = bankAccountService.create(new BankAccountRequestDTO(description, "Banco", new BigDecimal("1000.00"))).id();
+        Long categoryId = categoryService.create(new CategoryRequestDTO(description, null)).id();
+        return new InstallmentRequestDTO(description, new BigDecimal(amount), LocalDate.now().plusDays(5), categoryId, bankAccountId,
+                "PASSIVO", installments, null, null, false);
+    }
+}
@@ -0,0 +1,108 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.dto.request.BankAccountRequestDTO;
+import com.challenge.JPay.dto.request.BulkReassignRequestDTO;
+import com.challenge.JPay.dto.request.CategoryRequestDTO;
+import com.challenge.JPay.dto.request.InstallmentRequestDTO;
+import com.challenge.JPay.dto.request.PaymentRequestDTO;
+import com.challenge.JPay.dto.request.TransactionRequestDTO;
+import com.challenge.JPay.dto.response.BankAccountResponseDTO;
+import com.challenge.JPay.dto.response.CategoryResponseDTO;
+import com.challenge.JPay.dto.response.TransactionResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Os contadores de pendências de contas e categorias acompanham criação, pagamento, parcelamento, movimentação em
+ * massa e exclusão sem divergir dos lançamentos; uma divergência introduzida por fora é corrigida pela verificação.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jpay-pending-exposure;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "jpay.audit.directory=target/test-audit/pending-exposure",
+        "jpay.auto-debit.enabled=false"
+})
+class PendingExposureTests {
+
+    @Autowired
+    private PendingExposureService pendingExposureService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void countersFollowEveryKindOfWriteWithoutDrift() {
+        Long bankAccountId = account("Exposição");
+        Long bills = category("Contas");
+        Long purchases = category("Compras");
+
+        TransactionResponseDTO rent = create("Aluguel", "100.00", "PASSIVO", "PENDING", bills, bankAccountId);
+        create("Reembolso", "40.00", "ATIVO", "PENDING", bills, bankAccountId);
+        create("Luz", "30.00", "PASSIVO", "PAID", bills, bankAccountId);
+        List<TransactionResponseDTO> installments = transactionService.createInstallments(new InstallmentRequestDTO("Sofá",
+                new BigDecimal("90.00"), LocalDate.now().plusDays(10), purchases, bankAccountId, "PASSIVO", 3, null, null, false));
+        assertExposure(bankAccountId, 5, "190.00", "40.00");
+
+        transactionService.payTransaction(new PaymentRequestDTO(rent.id(), bankAccountId, rent.id()));
+        transactionService.delete(installments.get(0).id());
+        assertExposure(bankAccountId, 3, "60.00", "40.00");
+
+        transactionService.reassignPending(new BulkReassignRequestDTO(bills, null, purchases, null));
+        CategoryResponseDTO billsAfter = categoryService.findById(bills);
+        CategoryResponseDTO purchasesAfter = categoryService.findById(purchases);
+        assertThat(billsAfter.pendingCount()).isZero();
+        assertThat(purchasesAfter.pendingCount()).isEqualTo(3);
+        assertThat(purchasesAfter.pendingPayable()).isEqualByComparingTo("60.00");
+        assertThat(purchasesAfter.pendingReceivable()).isEqualByComparingTo("40.00");
+
+        assertThat(pendingExposureService.verify()).isZero();
+    }
+
+    @Test
+    void verificationRepairsACounterThatDrifted() {
+        Long bankAccountId = account("Divergente");
+        create("Internet", "80.00", "PASSIVO", "PENDING", category("Divergente"), bankAccountId);
+        jdbcTemplate.update("UPDATE bank_accounts SET pending_count = 9, pending_payable = 1.00 WHERE id = ?", bankAccountId);
+
+        assertThat(pendingExposureService.verify()).isEqualTo(1);
+
+        assertExposure(bankAccountId, 1, "80.00", "0.00");
+        assertThat(pendingExposureService.verify()).isZero();
+    }
+
+    private void assertExposure(Long bankAccountId, long count, String payable, String receivable) {
+        BankAccountResponseDTO bankAccount = bankAccountService.findById(bankAccountId);
+        assertThat(bankAccount.pendingCount()).isEqualTo(count);
+        assertThat(bankAccount.pendingPayable()).isEqualByComparingTo(payable);
+        assertThat(bankAccount.pendingReceivable()).isEqualByComparingTo(receivable);
+    }
+
+    private Long account(String name) {
+        return bankAccountService.create(new BankAccountRequestDTO(name, "Banco", new BigDecimal("1000.00"))).id();
+    }
+
+    private Long category(String name) {
+        return categoryService.create(new CategoryRequestDTO(name, null)).id();
+    }
+
+    private TransactionResponseDTO create(String description, String amount, String type, String status, Long categoryId, Long bankAccountId) {
+        return transactionService.create(new TransactionRequestDTO(description, new BigDecimal(amount), LocalDate.now().plusDays(5),
+                categoryId, bankAccountId, type, status, false));
+    }
+}
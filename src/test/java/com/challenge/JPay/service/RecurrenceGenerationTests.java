@@ -0,0 +1,90 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.dto.request.BankAccountRequestDTO;
+import com.challenge.JPay.dto.request.CategoryRequestDTO;
+import com.challenge.JPay.dto.request.RecurrenceRequestDTO;
+import com.challenge.JPay.dto.request.TransactionRequestDTO;
+import com.challenge.JPay.dto.response.RecurrenceResponseDTO;
+import com.challenge.JPay.model.RecurrenceRule;
+import com.challenge.JPay.repository.RecurrenceRuleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Gerar as ocorrências de novo para o mesmo horizonte não cria lançamentos repetidos, nem quando o contador da regra
+ * ficou para trás das ocorrências que já foram gravadas.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jpay-recurrence-generation;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "jpay.audit.directory=target/test-audit/recurrence-generation",
+        "jpay.auto-debit.enabled=false",
+        "jpay.recurrence.horizon-days=30"
+})
+class RecurrenceGenerationTests {
+
+    @Autowired
+    private RecurrenceService recurrenceService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private RecurrenceRuleRepository recurrenceRuleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void generatingTheSameHorizonTwiceCreatesNothingTheSecondTime() {
+        RecurrenceResponseDTO rule = weeklyRule("Semanal");
+
+        int first = recurrenceService.generate(120).occurrencesCreated();
+        int second = recurrenceService.generate(120).occurrencesCreated();
+
+        assertThat(first).isPositive();
+        assertThat(second).isZero();
+        assertThat(occurrences(rule.id())).isEqualTo((long) recurrenceService.findById(rule.id()).generatedCount());
+    }
+
+    @Test
+    void occurrencesAlreadyStoredAreNotInsertedAgainWhenTheRuleFellBehind() {
+        RecurrenceResponseDTO rule = weeklyRule("Contador atrasado");
+        recurrenceService.generate(120);
+        long stored = occurrences(rule.id());
+
+        RecurrenceRule behind = recurrenceRuleRepository.findById(rule.id()).orElseThrow();
+        behind.setGeneratedCount(0);
+        behind.setGeneratedUntil(null);
+        recurrenceRuleRepository.save(behind);
+
+        assertThat(recurrenceService.generate(120).occurrencesCreated()).isZero();
+        assertThat(occurrences(rule.id())).isEqualTo(stored);
+        assertThat(recurrenceService.findById(rule.id()).generatedCount()).isEqualTo((int) stored);
+    }
+
+    private RecurrenceResponseDTO weeklyRule(String name) {
+        Long bankAccountId = bankAccountService.create(new BankAccountRequestDTO(name, "Banco", new BigDecimal("1000.00"))).id();
+        Long categoryId = categoryService.create(new CategoryRequestDTO(name, null)).id();
+        Long templateId = transactionService.create(new TransactionRequestDTO(name, new BigDecimal("80.00"), LocalDate.now().plusDays(1),
+                categoryId, bankAccountId, "PASSIVO", "PENDING", false)).id();
+        return recurrenceService.create(new RecurrenceRequestDTO(templateId, "WEEKLY", 1, null, null, null));
+    }
+
+    private long occurrences(Long ruleId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts_payables WHERE generation_key LIKE ?", Long.class,
+                "R" + ruleId + "-%");
+    }
+}
@@ -0,0 +1,86 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.dto.request.BankAccountRequestDTO;
+import com.challenge.JPay.dto.request.CategoryRequestDTO;
+import com.challenge.JPay.dto.request.TransactionRequestDTO;
+import com.challenge.JPay.dto.response.TransactionResponseDTO;
+import com.challenge.JPay.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Com {@code fields=} a resposta traz apenas os campos pedidos, na ordem do pedido e com os mesmos valores e
+ * formatos do DTO completo; campos desconhecidos são recusados.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jpay-sparse-fields;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "jpay.audit.directory=target/test-audit/sparse-fields",
+        "jpay.auto-debit.enabled=false"
+})
+class SparseFieldTests {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Test
+    void onlyTheRequestedFieldsAreReturnedInTheRequestedOrder() {
+        TransactionResponseDTO transaction = create();
+
+        Map<String, Object> sparse = transactionService.findById(transaction.id(), "status,amount,category.name,bankAccount.id,createdAt");
+
+        assertThat(sparse).containsExactly(
+                Map.entry("status", transaction.status()),
+                Map.entry("amount", transaction.amount()),
+                Map.entry("category", Map.of("name", transaction.category().name())),
+                Map.entry("bankAccount", Map.of("id", transaction.bankAccount().id())),
+                Map.entry("createdAt", DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").format(transaction.createdAt())));
+    }
+
+    @Test
+    void aNestedFieldWithoutSubfieldsReturnsAllOfThem() {
+        TransactionResponseDTO transaction = create();
+
+        Map<String, Object> sparse = transactionService.findById(transaction.id(), "bankAccount");
+
+        assertThat(sparse).containsOnlyKeys("bankAccount");
+        assertThat(sparse.get("bankAccount")).isEqualTo(Map.of(
+                "id", transaction.bankAccount().id(),
+                "name", transaction.bankAccount().name(),
+                "bank", transaction.bankAccount().bank()));
+    }
+
+    @Test
+    void unknownFieldsAreRejected() {
+        TransactionResponseDTO transaction = create();
+
+        assertThatThrownBy(() -> transactionService.findById(transaction.id(), "amount,secret"))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> transactionService.findById(transaction.id(), "category.balance"))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> transactionService.findById(transaction.id(), "amount.value"))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    private TransactionResponseDTO create() {
+        Long bankAccountId = bankAccountService.create(new BankAccountRequestDTO("Campos " + System.nanoTime(), "Banco",
+                new BigDecimal("1000.00"))).id();
+        Long categoryId = categoryService.create(new CategoryRequestDTO("Campos " + System.nanoTime(), null)).id();
+        return transactionService.create(new TransactionRequestDTO("Campos", new BigDecimal("42.50"), LocalDate.now().plusDays(3),
+                categoryId, bankAccountId, "PASSIVO", "PENDING", false));
+    }
+}
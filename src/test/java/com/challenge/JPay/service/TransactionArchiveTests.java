@@ -0,0 +1,100 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.dto.request.BankAccountRequestDTO;
+import com.challenge.JPay.dto.request.CategoryRequestDTO;
+import com.challenge.JPay.dto.request.TransactionRequestDTO;
+import com.challenge.JPay.dto.response.AccountDriftDTO;
+import com.challenge.JPay.dto.response.ArchiveReportDTO;
+import com.challenge.JPay.dto.response.TransactionResponseDTO;
+import com.challenge.JPay.exception.BusinessException;
+import com.challenge.JPay.model.enums.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Lançamentos pagos e vencidos antes do corte saem da tabela ativa para o arquivo; as leituras continuam
+ * encontrando-os pela view que une as duas tabelas, eles não podem mais ser alterados e o saldo da conta continua
+ * conciliado. Pendentes antigos ficam na tabela ativa.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jpay-transaction-archive;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "jpay.audit.directory=target/test-audit/transaction-archive",
+        "jpay.auto-debit.enabled=false",
+        "jpay.archive.enabled=false",
+        "jpay.archive.chunk-size=2"
+})
+class TransactionArchiveTests {
+
+    @Autowired
+    private TransactionArchiveService transactionArchiveService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void oldPaidTransactionsMoveToTheArchiveAndStayReadable() {
+        Long bankAccountId = bankAccountService.create(new BankAccountRequestDTO("Arquivo", "Banco", new BigDecimal("1000.00"))).id();
+        Long categoryId = categoryService.create(new CategoryRequestDTO("Arquivo", null)).id();
+        LocalDate old = LocalDate.now().minusYears(2);
+        Long first = createOld("Antigo 1", "PAID", old, categoryId, bankAccountId);
+        Long second = createOld("Antigo 2", "PAID", old.plusDays(1), categoryId, bankAccountId);
+        Long third = createOld("Antigo 3", "PAID", old.plusDays(2), categoryId, bankAccountId);
+        Long pending = createOld("Antigo pendente", "PENDING", old, categoryId, bankAccountId);
+
+        ArchiveReportDTO report = transactionArchiveService.archive(365);
+
+        assertThat(report.archived()).isEqualTo(3);
+        assertThat(report.chunks()).isEqualTo(2);
+        assertThat(count("accounts_payables", first, second, third)).isZero();
+        assertThat(count("accounts_payables_archive", first, second, third)).isEqualTo(3);
+        assertThat(count("accounts_payables", pending)).isEqualTo(1);
+
+        TransactionResponseDTO archived = transactionService.findById(second);
+        assertThat(archived.status()).isEqualTo(Status.PAID);
+        assertThat(archived.amount()).isEqualByComparingTo("10.00");
+        assertThat(archived.bankAccount().id()).isEqualTo(bankAccountId);
+        assertThat(transactionService.findAll(PageRequest.of(0, 1000)).getContent())
+                .extracting(TransactionResponseDTO::id).contains(first, second, third, pending);
+
+        assertThatThrownBy(() -> transactionService.update(first, new TransactionRequestDTO("Alterado", new BigDecimal("10.00"),
+                old, categoryId, bankAccountId, "PASSIVO", "PAID", false)))
+                .isInstanceOf(BusinessException.class);
+        assertThat(reconciliationService.reconcile(false).drifts()).extracting(AccountDriftDTO::bankAccountId)
+                .doesNotContain(bankAccountId);
+    }
+
+    private Long createOld(String description, String status, LocalDate date, Long categoryId, Long bankAccountId) {
+        Long id = transactionService.create(new TransactionRequestDTO(description, new BigDecimal("10.00"), date,
+                categoryId, bankAccountId, "PASSIVO", status, false)).id();
+        jdbcTemplate.update("UPDATE accounts_payables SET payment_date = CASE WHEN status = 'PAID' THEN ? END WHERE id = ?", date, id);
+        return id;
+    }
+
+    private long count(String table, Long... ids) {
+        String placeholders = String.join(", ", Collections.nCopies(ids.length, "?"));
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE id IN (" + placeholders + ")", Long.class,
+                (Object[]) ids);
+    }
+}
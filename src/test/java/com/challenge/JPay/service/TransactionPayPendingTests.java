@@ -0,0 +1,105 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.dto.request.BankAccountRequestDTO;
+import com.challenge.JPay.dto.request.CategoryRequestDTO;
+import com.challenge.JPay.dto.request.TransactionRequestDTO;
+import com.challenge.JPay.exception.BusinessException;
+import com.challenge.JPay.model.TransactionState;
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.repository.BankAccountRepository;
+import com.challenge.JPay.repository.TransactionBatchRepository;
+import com.challenge.JPay.repository.TransactionBatchRepository.PendingFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link TransactionService#payPending} recebe o estado lido antes, sem trava, por
+ * {@link TransactionBatchRepository#findPendingStates}: um lançamento editado entre essa leitura e o pagamento
+ * não pode ser pago com o valor, o tipo ou a conta antigos.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jpay-pay-pending;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "jpay.audit.directory=target/test-audit/pay-pending",
+        "jpay.auto-debit.enabled=false"
+})
+class TransactionPayPendingTests {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionBatchRepository transactionBatchRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Test
+    void payingATransactionEditedAfterItWasReadIsRejected() {
+        Long bankAccountId = bankAccountService.create(new BankAccountRequestDTO("Pagamento editado", "Banco", new BigDecimal("1000.00"))).id();
+        Long categoryId = categoryService.create(new CategoryRequestDTO("Pagamento editado", null)).id();
+        Long transactionId = transactionService.create(request("100.00", categoryId, bankAccountId)).id();
+
+        Map<Long, TransactionState> pending = transactionBatchRepository.findPendingStates(
+                new PendingFilter(null, bankAccountId, null, null, null));
+        transactionService.update(transactionId, request("900.00", categoryId, bankAccountId));
+
+        assertThatThrownBy(() -> transactionService.payPending(bankAccountId, pending, Map.of(transactionId, LocalDate.now())))
+                .isInstanceOf(BusinessException.class);
+        assertThat(transactionService.findById(transactionId).status()).isEqualTo(Status.PENDING);
+        assertThat(bankAccountRepository.findCurrentBalance(bankAccountId)).hasValueSatisfying(
+                balance -> assertThat(balance).isEqualByComparingTo("1000.00"));
+    }
+
+    @Test
+    void payingATransactionMovedToAnotherAccountAfterItWasReadIsRejected() {
+        Long bankAccountId = bankAccountService.create(new BankAccountRequestDTO("Pagamento movido", "Banco", new BigDecimal("1000.00"))).id();
+        Long otherAccountId = bankAccountService.create(new BankAccountRequestDTO("Pagamento destino", "Banco", new BigDecimal("1000.00"))).id();
+        Long categoryId = categoryService.create(new CategoryRequestDTO("Pagamento movido", null)).id();
+        Long transactionId = transactionService.create(request("100.00", categoryId, bankAccountId)).id();
+
+        Map<Long, TransactionState> pending = transactionBatchRepository.findPendingStates(
+                new PendingFilter(null, bankAccountId, null, null, null));
+        transactionService.update(transactionId, request("100.00", categoryId, otherAccountId));
+
+        assertThatThrownBy(() -> transactionService.payPending(bankAccountId, pending, Map.of(transactionId, LocalDate.now())))
+                .isInstanceOf(BusinessException.class);
+        assertThat(bankAccountRepository.findCurrentBalance(bankAccountId)).hasValueSatisfying(
+                balance -> assertThat(balance).isEqualByComparingTo("1000.00"));
+        assertThat(bankAccountRepository.findCurrentBalance(otherAccountId)).hasValueSatisfying(
+                balance -> assertThat(balance).isEqualByComparingTo("1000.00"));
+    }
+
+    @Test
+    void payingAnUnchangedTransactionUpdatesTheBalance() {
+        Long bankAccountId = bankAccountService.create(new BankAccountRequestDTO("Pagamento intacto", "Banco", new BigDecimal("1000.00"))).id();
+        Long categoryId = categoryService.create(new CategoryRequestDTO("Pagamento intacto", null)).id();
+        Long transactionId = transactionService.create(request("100.00", categoryId, bankAccountId)).id();
+
+        Map<Long, TransactionState> pending = transactionBatchRepository.findPendingStates(
+                new PendingFilter(null, bankAccountId, null, null, null));
+        transactionService.payPending(bankAccountId, pending, Map.of(transactionId, LocalDate.now()));
+
+        assertThat(transactionService.findById(transactionId).status()).isEqualTo(Status.PAID);
+        assertThat(bankAccountRepository.findCurrentBalance(bankAccountId)).hasValueSatisfying(
+                balance -> assertThat(balance).isEqualByComparingTo("900.00"));
+    }
+
+    private static TransactionRequestDTO request(String amount, Long categoryId, Long bankAccountId) {
+        return new TransactionRequestDTO("Conta de luz", new BigDecimal(amount), LocalDate.now().plusDays(10),
+                categoryId, bankAccountId, "PASSIVO", "PENDING", false);
+    }
+}
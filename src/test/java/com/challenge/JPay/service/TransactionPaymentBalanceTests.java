@@ -0,0 +1,129 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.dto.request.BankAccountRequestDTO;
+import com.challenge.JPay.dto.request.CategoryRequestDTO;
+import com.challenge.JPay.dto.request.PaymentRequestDTO;
+import com.challenge.JPay.dto.request.TransactionRequestDTO;
+import com.challenge.JPay.dto.response.TransactionResponseDTO;
+import com.challenge.JPay.model.enums.Status;
+import com.challenge.JPay.repository.BankAccountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pagar um ATIVO credita a conta e pagar um PASSIVO debita; estornar, excluir ou mover o lançamento desfaz o efeito
+ * na conta em que ele foi aplicado.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jpay-payment-balance;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "jpay.audit.directory=target/test-audit/payment-balance",
+        "jpay.auto-debit.enabled=false"
+})
+class TransactionPaymentBalanceTests {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Test
+    void payingAnAtivoCreditsTheAccount() {
+        Long bankAccountId = account("Crédito ATIVO");
+        TransactionResponseDTO transaction = transactionService.create(request("250.00", "ATIVO", "PENDING", bankAccountId));
+
+        transactionService.payTransaction(payment(transaction, bankAccountId));
+
+        assertThat(transactionService.findById(transaction.id()).status()).isEqualTo(Status.PAID);
+        assertBalance(bankAccountId, "1250.00");
+    }
+
+    @Test
+    void payingAPassivoDebitsTheAccount() {
+        Long bankAccountId = account("Débito PASSIVO");
+        TransactionResponseDTO transaction = transactionService.create(request("250.00", "PASSIVO", "PENDING", bankAccountId));
+
+        transactionService.payTransaction(payment(transaction, bankAccountId));
+
+        assertBalance(bankAccountId, "750.00");
+    }
+
+    @Test
+    void unpayingRevertsTheBalanceAndClearsThePaymentDate() {
+        Long bankAccountId = account("Estorno");
+        TransactionResponseDTO transaction = transactionService.create(request("250.00", "PASSIVO", "PENDING", bankAccountId));
+
+        transactionService.payTransaction(payment(transaction, bankAccountId));
+        transactionService.payTransaction(payment(transaction, bankAccountId));
+
+        TransactionResponseDTO reverted = transactionService.findById(transaction.id());
+        assertThat(reverted.status()).isEqualTo(Status.PENDING);
+        assertThat(reverted.paymentDate()).isNull();
+        assertBalance(bankAccountId, "1000.00");
+    }
+
+    @Test
+    void payingFromAnotherAccountMovesTheTransactionThere() {
+        Long bankAccountId = account("Origem");
+        Long otherAccountId = account("Destino");
+        TransactionResponseDTO transaction = transactionService.create(request("250.00", "PASSIVO", "PENDING", bankAccountId));
+
+        transactionService.payTransaction(payment(transaction, otherAccountId));
+
+        assertThat(transactionService.findById(transaction.id()).bankAccount().id()).isEqualTo(otherAccountId);
+        assertBalance(bankAccountId, "1000.00");
+        assertBalance(otherAccountId, "750.00");
+    }
+
+    @Test
+    void creatingAsPaidAppliesTheBalance() {
+        Long bankAccountId = account("Criado pago");
+
+        TransactionResponseDTO transaction = transactionService.create(request("250.00", "ATIVO", "PAID", bankAccountId));
+
+        assertThat(transaction.paymentDate()).isNotNull();
+        assertBalance(bankAccountId, "1250.00");
+    }
+
+    @Test
+    void deletingAPaidTransactionRevertsTheBalance() {
+        Long bankAccountId = account("Excluído pago");
+        TransactionResponseDTO transaction = transactionService.create(request("250.00", "PASSIVO", "PAID", bankAccountId));
+        assertBalance(bankAccountId, "750.00");
+
+        transactionService.delete(transaction.id());
+
+        assertBalance(bankAccountId, "1000.00");
+    }
+
+    private Long account(String name) {
+        return bankAccountService.create(new BankAccountRequestDTO(name, "Banco", new BigDecimal("1000.00"))).id();
+    }
+
+    private TransactionRequestDTO request(String amount, String type, String status, Long bankAccountId) {
+        Long categoryId = categoryService.create(new CategoryRequestDTO("Saldo " + bankAccountId, null)).id();
+        return new TransactionRequestDTO("Lançamento " + bankAccountId, new BigDecimal(amount), LocalDate.now().plusDays(10),
+                categoryId, bankAccountId, type, status, false);
+    }
+
+    private static PaymentRequestDTO payment(TransactionResponseDTO transaction, Long bankAccountId) {
+        return new PaymentRequestDTO(transaction.id(), bankAccountId, transaction.id());
+    }
+
+    private void assertBalance(Long bankAccountId, String expected) {
+        assertThat(bankAccountRepository.findCurrentBalance(bankAccountId)).hasValueSatisfying(
+                balance -> assertThat(balance).isEqualByComparingTo(expected));
+    }
+}
@@ -0,0 +1,82 @@
+package com.challenge.JPay.service;
+
+import com.challenge.JPay.dto.request.BankAccountRequestDTO;
+import com.challenge.JPay.dto.request.BatchTransferRequestDTO;
+import com.challenge.JPay.dto.request.TransferRequestDTO;
+import com.challenge.JPay.repository.BankAccountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Transferências concorrentes em sentidos opostos, avulsas ou em lotes que cruzam as mesmas contas, travam as
+ * contas sempre na mesma ordem: todas terminam sem deadlock e o saldo final de cada conta é o esperado.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jpay-transfer-lock-order;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "jpay.audit.directory=target/test-audit/transfer-lock-order",
+        "jpay.auto-debit.enabled=false"
+})
+class TransferLockOrderTests {
+
+    private static final int ROUNDS = 50;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Test
+    void opposingConcurrentTransfersAllComplete() throws Exception {
+        Long a = account("Contenção A");
+        Long b = account("Contenção B");
+        Long c = account("Contenção C");
+
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < ROUNDS; i++) {
+                futures.add(executor.submit(() -> transferService.transfer(transfer(a, b, "1.00"))));
+                futures.add(executor.submit(() -> transferService.transfer(transfer(b, a, "2.00"))));
+                futures.add(executor.submit(() -> transferService.transfer(transfer(c, a, "3.00"))));
+                futures.add(executor.submit(() -> transferService.transferAll(new BatchTransferRequestDTO(List.of(
+                        transfer(b, c, "1.00"), transfer(a, b, "1.00"), transfer(c, a, "1.00"))))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertBalance(a, 1000 + ROUNDS * (-1 + 2 + 3 - 1 + 1));
+        assertBalance(b, 1000 + ROUNDS * (1 - 2 - 1 + 1));
+        assertBalance(c, 1000 + ROUNDS * (-3 + 1 - 1));
+    }
+
+    private static TransferRequestDTO transfer(Long source, Long target, String amount) {
+        return new TransferRequestDTO(source, target, new BigDecimal(amount), "Contenção");
+    }
+
+    private Long account(String name) {
+        return bankAccountService.create(new BankAccountRequestDTO(name, "Banco", new BigDecimal("1000.00"))).id();
+    }
+
+    private void assertBalance(Long bankAccountId, int expected) {
+        assertThat(bankAccountRepository.findCurrentBalance(bankAccountId)).hasValueSatisfying(
+                balance -> assertThat(balance).isEqualByComparingTo(BigDecimal.valueOf(expected)));
+    }
+}
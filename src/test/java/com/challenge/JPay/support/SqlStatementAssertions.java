@@ -0,0 +1,99 @@
+package com.challenge.JPay.support;
+
+import com.challenge.JPay.sql.SqlStatistics;
+import com.challenge.JPay.sql.SqlStatisticsFilter;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Asserções sobre a quantidade de SQL executada, para fixar o custo esperado de um endpoint ou serviço e
+ * pegar regressões de N+1 nos testes. Requer {@code jpay.sql-stats.enabled=true}.
+ * <pre>
+ * MvcResult result = mockMvc.perform(get("/api/transactions")).andReturn();
+ * SqlStatementAssertions.of(result).hasStatements(1).hasNoRepeatsAbove(1);
+ *
+ * SqlStatementAssertions.capture(() -> transactionService.findAll(pageable)).hasStatementsAtMost(2);
+ * </pre>
+ */
+public final class SqlStatementAssertions {
+
+    private final int statements;
+    private final long rows;
+    private final int entities;
+    private final int maxRepeats;
+    private final String repeatedShape;
+
+    private SqlStatementAssertions(int statements, long rows, int entities, int maxRepeats, String repeatedShape) {
+        this.statements = statements;
+        this.rows = rows;
+        this.entities = entities;
+        this.maxRepeats = maxRepeats;
+        this.repeatedShape = repeatedShape;
+    }
+
+    /**
+     * Lê os headers {@code X-SQL-*} de uma requisição feita com MockMvc (com os filtros registrados).
+     */
+    public static SqlStatementAssertions of(MvcResult result) {
+        String statements = result.getResponse().getHeader(SqlStatisticsFilter.STATEMENTS_HEADER);
+        assertThat(statements)
+                .as("header %s ausente; a instrumentação de SQL está habilitada?", SqlStatisticsFilter.STATEMENTS_HEADER)
+                .isNotNull();
+
+        return new SqlStatementAssertions(
+                Integer.parseInt(statements),
+                Long.parseLong(result.getResponse().getHeader(SqlStatisticsFilter.ROWS_HEADER)),
+                Integer.parseInt(result.getResponse().getHeader(SqlStatisticsFilter.ENTITIES_HEADER)),
+                Integer.parseInt(result.getResponse().getHeader(SqlStatisticsFilter.MAX_REPEATS_HEADER)),
+                null);
+    }
+
+    /**
+     * Executa o bloco na thread corrente contando o SQL que ele dispara.
+     */
+    public static SqlStatementAssertions capture(Block block) throws Exception {
+        SqlStatistics statistics = SqlStatistics.begin();
+        try {
+            block.run();
+        } finally {
+            SqlStatistics.end();
+        }
+        Map.Entry<String, Integer> repeated = statistics.mostRepeated();
+        return new SqlStatementAssertions(statistics.statements(), statistics.rows(), statistics.entityLoads(),
+                repeated == null ? 0 : repeated.getValue(), repeated == null ? null : repeated.getKey());
+    }
+
+    public SqlStatementAssertions hasStatements(int expected) {
+        assertThat(statements).as("statements SQL executados").isEqualTo(expected);
+        return this;
+    }
+
+    public SqlStatementAssertions hasStatementsAtMost(int max) {
+        assertThat(statements).as("statements SQL executados").isLessThanOrEqualTo(max);
+        return this;
+    }
+
+    public SqlStatementAssertions hasRowsAtMost(long max) {
+        assertThat(rows).as("linhas lidas").isLessThanOrEqualTo(max);
+        return this;
+    }
+
+    public SqlStatementAssertions hasEntityLoadsAtMost(int max) {
+        assertThat(entities).as("entidades carregadas").isLessThanOrEqualTo(max);
+        return this;
+    }
+
+    public SqlStatementAssertions hasNoRepeatsAbove(int max) {
+        assertThat(maxRepeats).as("repetições do mesmo statement%s", repeatedShape == null ? "" : ": " + repeatedShape)
+                .isLessThanOrEqualTo(max);
+        return this;
+    }
+
+    @FunctionalInterface
+    public interface Block {
+        void run() throws Exception;
+    }
+}
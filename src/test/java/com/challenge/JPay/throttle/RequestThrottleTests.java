@@ -0,0 +1,87 @@
+package com.challenge.JPay.throttle;
+
+import com.challenge.JPay.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * O balde GCRA libera {@code capacity} requisições seguidas e depois uma a cada intervalo; baldes são por cliente
+ * e por rota, leituras sem regra não são limitadas e o limite de concorrência só conta escritas.
+ */
+class RequestThrottleTests {
+
+    private static final ThrottleRule WRITE = new ThrottleRule("*", "*", 3, 10);
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void bucketAllowsTheBurstAndThenOneRequestPerInterval() {
+        long now = 0;
+        TokenBucket bucket = new TokenBucket(WRITE, now);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryConsume(now)).isZero();
+        }
+        assertThat(bucket.tryConsume(now)).isEqualTo(INTERVAL);
+        assertThat(bucket.tryConsume(now + INTERVAL - 1)).isEqualTo(1);
+        assertThat(bucket.tryConsume(now + INTERVAL)).isZero();
+        assertThat(bucket.isFull(now + 4 * INTERVAL)).isTrue();
+    }
+
+    @Test
+    void writesAreLimitedPerClientAndReadsAreNot() {
+        RequestThrottle throttle = new RequestThrottle(List.of(), WRITE);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(throttle.tryAcquire("POST", "/api/transactions", "10.0.0.1")).isZero();
+        }
+        assertThat(throttle.tryAcquire("POST", "/api/transactions", "10.0.0.1")).isPositive();
+        assertThat(throttle.tryAcquire("POST", "/api/transactions", "10.0.0.2")).isZero();
+        assertThat(throttle.tryAcquire("PUT", "/api/transactions/{id}", "10.0.0.1")).isZero();
+        for (int i = 0; i < 100; i++) {
+            assertThat(throttle.tryAcquire("GET", "/api/transactions", "10.0.0.1")).isZero();
+        }
+    }
+
+    @Test
+    void aRouteRuleOverridesTheWriteDefault() {
+        RequestThrottle throttle = new RequestThrottle(List.of(new ThrottleRule("post", "/api/transactions/pay", 1, 1)), WRITE);
+
+        assertThat(throttle.tryAcquire("POST", "/api/transactions/pay", "10.0.0.1")).isZero();
+        assertThat(throttle.tryAcquire("POST", "/api/transactions/pay", "10.0.0.1")).isPositive();
+        assertThat(throttle.tryAcquire("POST", "/api/transactions", "10.0.0.1")).isZero();
+    }
+
+    @Test
+    void onlyWritesTakeAConcurrencyPermit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 0);
+        ThrottleInterceptor interceptor = new ThrottleInterceptor(new RequestThrottle(List.of(), null), limiter,
+                "X-Client-Id", Set.of(), 1);
+        assertThat(limiter.tryAcquire()).isTrue();
+
+        assertThat(interceptor.preHandle(request("GET"), new MockHttpServletResponse(), null)).isTrue();
+        assertThatThrownBy(() -> interceptor.preHandle(request("POST"), new MockHttpServletResponse(), null))
+                .isInstanceOf(ServiceOverloadedException.class);
+
+        limiter.release();
+        MockHttpServletRequest write = request("POST");
+        assertThat(interceptor.preHandle(write, new MockHttpServletResponse(), null)).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        interceptor.afterCompletion(write, new MockHttpServletResponse(), null, null);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    private static MockHttpServletRequest request(String method) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/transactions");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/transactions");
+        return request;
+    }
+}